@@ -37,6 +37,7 @@ public enum CommandType {
     RESTORE_NEXT(DATABASE),
     PREPARE_RESTORE(DATABASE),
     MIGRATE_STORE(DATABASE),
+    DEFRAGMENT_RELATIONSHIP_GROUPS(DATABASE),
     UPLOAD(DATABASE),
     AGGREGATE_NEXT(DATABASE),
 
@@ -63,6 +63,22 @@ public enum Group {
     INDEX_POPULATION_WORK("IndexPopulationWork", ExecutorServiceFactory.cached()),
     /** Background index sampling */
     INDEX_SAMPLING("IndexSampling"),
+    /**
+     * Workers scanning partitions of a single index being sampled.
+     * Not limited on its own, since it is effectively limited by internal.dbms.index_sampling.parallelism times
+     * internal.dbms.index_sampling.workers.
+     */
+    INDEX_SAMPLING_WORK("IndexSamplingWork", ExecutorServiceFactory.cached()),
+    /**
+     * Partitioned store scans computing the property schema for db.schema.nodeTypeProperties/relTypeProperties.
+     * Limited to internal.dbms.schema_calculation.workers threads, shared by all calls to these procedures.
+     */
+    SCHEMA_CALCULATION("SchemaCalculation", ExecutorServiceFactory.cached()),
+    /**
+     * Partitioned store scans writing the files of db.export.nodes/relationships.
+     * Limited to internal.dbms.columnar_export.workers threads, shared by all calls to these procedures.
+     */
+    COLUMNAR_EXPORT("ColumnarExport", ExecutorServiceFactory.cached()),
     /** Background index update applier, for eventually consistent indexes. */
     INDEX_UPDATING(
             "IndexUpdating",
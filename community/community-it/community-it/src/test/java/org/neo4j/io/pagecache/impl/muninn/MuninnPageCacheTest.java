@@ -120,7 +120,12 @@ import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer.Fault;
 import org.neo4j.io.pagecache.tracing.version.FileTruncateEvent;
 import org.neo4j.memory.DefaultScopedMemoryTracker;
 import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.test.Race;
+import org.neo4j.test.scheduler.JobSchedulerAdapter;
 
 public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
     private static final long X = 0xCAFEBABEDEADBEEFL;
@@ -2519,6 +2524,118 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
         }
     }
 
+    @Test
+    void prefetchShouldLoadPagesInTheBackground() throws Exception {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer(true);
+        var contextFactory = new CursorContextFactory(tracer, EMPTY_CONTEXT_SUPPLIER);
+        getPageCache(fs, 1000, tracer);
+        Path file = file("a");
+        int toPrefetch = 16;
+        generateFile(file, toPrefetch * 4);
+
+        try (var pf = map(file, filePageSize)) {
+            var initialFaults = tracer.faults();
+            try (var context = contextFactory.create("testPrefetch")) {
+                pf.prefetch(2, toPrefetch, context);
+            }
+            assertEventually(
+                    tracer::faults, f -> f == initialFaults + toPrefetch, SHORT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+            try (var context = contextFactory.create("testPrefetch");
+                    var cursor = pf.io(0, PF_SHARED_READ_LOCK | PF_NO_FAULT, context)) {
+                for (int i = 2; i < 2 + toPrefetch; i++) {
+                    assertTrue(cursor.next(i));
+                    int valueInPage;
+                    do {
+                        valueInPage = cursor.getInt();
+                    } while (cursor.shouldRetry());
+                    assertThat(valueInPage).isEqualTo(i);
+                }
+            }
+            assertThat(tracer.faults()).isEqualTo(initialFaults + toPrefetch);
+        }
+    }
+
+    @Test
+    void prefetchShouldLoadPagesOfEverySingleHint() throws Exception {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer(true);
+        var contextFactory = new CursorContextFactory(tracer, EMPTY_CONTEXT_SUPPLIER);
+        getPageCache(fs, 1000, tracer);
+        Path file = file("a");
+        int toPrefetch = 16;
+        generateFile(file, toPrefetch * 4);
+
+        try (var pf = map(file, filePageSize)) {
+            var initialFaults = tracer.faults();
+            try (var context = contextFactory.create("testPrefetch")) {
+                for (int i = 0; i < toPrefetch; i++) {
+                    pf.prefetch(i * 3, 1, context);
+                }
+            }
+            assertEventually(
+                    tracer::faults, f -> f == initialFaults + toPrefetch, SHORT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    void prefetchMustIgnorePagesOutsideOfFile() throws Exception {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer(true);
+        var contextFactory = new CursorContextFactory(tracer, EMPTY_CONTEXT_SUPPLIER);
+        getPageCache(fs, 1000, tracer);
+        Path file = file("a");
+        int pages = 8;
+        generateFile(file, pages);
+
+        var sizeBefore = fs.getFileSize(file);
+        try (var pf = map(file, filePageSize);
+                var context = contextFactory.create("testPrefetch")) {
+            var initialFaults = tracer.faults();
+            pf.prefetch(pages, 4, context);
+            pf.prefetch(-1, 4, context);
+            pf.prefetch(pages - 1, 4, context);
+            assertEventually(tracer::faults, f -> f == initialFaults + 1, SHORT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        assertThat(fs.getFileSize(file)).isEqualTo(sizeBefore);
+    }
+
+    @Test
+    void prefetchHintsOfJobThatNeverRanMustBeDroppedWhenFileIsClosed() throws Exception {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer(true);
+        var contextFactory = new CursorContextFactory(tracer, EMPTY_CONTEXT_SUPPLIER);
+        List<Runnable> discardedJobs = new CopyOnWriteArrayList<>();
+        JobScheduler discardingScheduler = new JobSchedulerAdapter() {
+            @Override
+            public JobHandle<?> schedule(Group group, JobMonitoringParams monitoredJobParams, Runnable job) {
+                if (group == Group.PAGE_CACHE_PRE_FETCHER) {
+                    // Like a saturated pre-fetcher pool, which silently discards the job
+                    discardedJobs.add(job);
+                    return JobHandle.EMPTY;
+                }
+                return jobScheduler.schedule(group, monitoredJobParams, job);
+            }
+        };
+        Path file = file("a");
+        generateFile(file, 8);
+
+        try (var pageCache = fixture.createPageCache(
+                new SingleFilePageSwapperFactory(fs, tracer, EmptyMemoryTracker.INSTANCE),
+                1000,
+                tracer,
+                discardingScheduler,
+                DISABLED_BUFFER_FACTORY)) {
+            try (var pf = map(pageCache, file, filePageSize);
+                    var context = contextFactory.create("testPrefetch")) {
+                pf.prefetch(0, 4, context);
+            }
+            assertThat(discardedJobs).hasSize(1);
+
+            // A job that only gets to run after the file has been closed has nothing left to do
+            var faults = tracer.faults();
+            discardedJobs.forEach(Runnable::run);
+            assertThat(tracer.faults()).isEqualTo(faults);
+        }
+    }
+
     @Test
     void touchWhenSomePagesAlreadyLoaded() throws Exception {
         DefaultPageCacheTracer tracer = new DefaultPageCacheTracer(true);
@@ -109,8 +109,9 @@ class CheckCommandIT {
 
                         check [-h] [--expand-commands] [--force] [--verbose] [--check-counts[=true|false]] [--check-graph[=true|false]]
                               [--check-indexes[=true|false]] [--check-property-owners[=true|false]] [--additional-config=<file>]
-                              [--max-off-heap-memory=<size>] [--report-path=<path>] [--threads=<number of threads>] [[--from-path-data=<path>
-                              --from-path-txn=<path>] | [--from-path=<path> [--temp-path=<path>]]] <database>
+                              [--incremental-after-transaction=<transaction id>] [--max-off-heap-memory=<size>] [--report-path=<path>]
+                              [--threads=<number of threads>] [[--from-path-data=<path> --from-path-txn=<path>] | [--from-path=<path>
+                              [--temp-path=<path>]]] <database>
 
                         DESCRIPTION
 
@@ -159,6 +160,10 @@ class CheckCommandIT {
                               --threads=<number of threads>
                                                      Number of threads used to check the consistency. Default: The number of CPUs on the
                                                        machine.
+                              --incremental-after-transaction=<transaction id>
+                                                     Only check the parts of the database touched by the transactions committed after the given
+                                                       transaction. These transactions have to be available in the transaction logs. Counts, id
+                                                       generators and index structures are not checked in this mode.
                               --from-path-data=<path>
                                                      Path to the databases directory, containing the database directory to source from.
                                                        Default: <config: server.directories.data>/databases
@@ -292,6 +297,18 @@ class CheckCommandIT {
                         .withoutCheckCounts());
     }
 
+    @Test
+    void passesOnIncrementalCheckTransaction() {
+        final var consistencyCheckService =
+                new TrackingConsistencyCheckService(ConsistencyCheckService.Result.success(null, null));
+
+        final var checkCommand = new CheckCommand(new ExecutionContext(homeDir, confPath), consistencyCheckService);
+        CommandLine.populateCommand(checkCommand, "--incremental-after-transaction=42", dbName);
+        checkCommand.execute();
+
+        consistencyCheckService.verifyArgument(Long.class, 42L);
+    }
+
     @Test
     void passesOnImplicitCheckGraph() {
         final var consistencyCheckService =
@@ -650,6 +667,13 @@ class CheckCommandIT {
             return new TrackingConsistencyCheckService(this);
         }
 
+        @Override
+        public ConsistencyCheckService withIncrementalCheckAfter(long transactionId) {
+            arguments.put(Long.class, transactionId);
+            super.withIncrementalCheckAfter(transactionId);
+            return new TrackingConsistencyCheckService(this);
+        }
+
         @Override
         public Result runFullConsistencyCheck() {
             if (runnable != null) {
@@ -813,6 +813,28 @@ class ImportCommandTest {
         }
     }
 
+    @Test
+    void shouldWriteStageTelemetry() throws Exception {
+        // GIVEN
+        List<String> nodeIds = nodeIds();
+        Path dbConfig = prepareDefaultConfigFile();
+        Path telemetryFile = testDirectory.file("telemetry.json");
+
+        // WHEN
+        runImport(
+                "--additional-config", dbConfig.toAbsolutePath().toString(),
+                "--stage-telemetry", telemetryFile.toAbsolutePath().toString(),
+                "--nodes",
+                        nodeData(true, Configuration.COMMAS, nodeIds, TRUE)
+                                .toAbsolutePath()
+                                .toString());
+
+        // THEN
+        List<String> lines = Files.readAllLines(telemetryFile);
+        assertThat(lines).isNotEmpty().allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+        assertThat(lines).anyMatch(line -> line.contains("\"event\":\"stage_start\""));
+    }
+
     @Test
     void failOnInvalidDatabaseName() throws Exception {
         List<String> nodeIds = nodeIds();
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.configuration.GraphDatabaseSettings.load_csv_file_url_root;
+import static org.neo4j.graphdb.Label.label;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.DbmsExtension;
+import org.neo4j.test.extension.ExtensionCallback;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.utils.TestDirectory;
+
+@DbmsExtension(configurationCallback = "configure")
+class ImportProceduresIT {
+    @Inject
+    private GraphDatabaseAPI db;
+
+    @Inject
+    private TestDirectory directory;
+
+    private Path importDirectory;
+
+    @ExtensionCallback
+    void configure(TestDatabaseManagementServiceBuilder builder) {
+        importDirectory = directory.directory("import");
+        builder.setConfig(load_csv_file_url_root, importDirectory);
+    }
+
+    @BeforeEach
+    void createIndex() {
+        try (Transaction tx = db.beginTx()) {
+            tx.schema().indexFor(label("Person")).on("id").create();
+            tx.commit();
+        }
+        try (Transaction tx = db.beginTx()) {
+            tx.schema().awaitIndexesOnline(1, MINUTES);
+        }
+    }
+
+    @Test
+    void shouldImportCsvFilesFromImportDirectory() throws IOException {
+        // given
+        Files.writeString(
+                importDirectory.resolve("people.csv"), "id:ID(Person){label:Person}|name|:LABEL\n1|Alice|Person\n");
+        Files.writeString(
+                importDirectory.resolve("knows.csv"),
+                ":START_ID(Person)|:END_ID(Person)|:TYPE\n1|1|KNOWS\n1|1|KNOWS\n");
+        String query =
+                "CALL db.import.csv(['people.csv'], ['knows.csv'], " + "{delimiter: '|', mergeRelationships: true})";
+
+        // when
+        Map<String, Object> first = execute(query);
+        Map<String, Object> second = execute(query);
+
+        // then
+        assertThat(first).containsEntry("nodesCreated", 1L).containsEntry("relationshipsCreated", 2L);
+        assertThat(second)
+                .containsEntry("nodesUpdated", 1L)
+                .containsEntry("relationshipsCreated", 0L)
+                .containsEntry("relationshipsUpdated", 2L)
+                .containsEntry("badEntries", 0L);
+        try (Transaction tx = db.beginTx()) {
+            assertThat(tx.findNode(label("Person"), "id", "1").getProperty("name"))
+                    .isEqualTo("Alice");
+            assertThat(tx.getAllRelationships().stream().count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldNotReadFilesOutsideOfImportDirectory() {
+        assertThatThrownBy(() -> execute("CALL db.import.csv(['../people.csv'], [])"))
+                .hasMessageContaining("must point to a file within the import directory");
+    }
+
+    @Test
+    void shouldRejectUnknownConfig() {
+        assertThatThrownBy(() -> execute("CALL db.import.csv([], [], {parallel: true})"))
+                .hasMessageContaining("Unknown config key 'parallel'");
+    }
+
+    private Map<String, Object> execute(String query) {
+        try (Transaction tx = db.beginTx()) {
+            Map<String, Object> row = tx.execute(query).next();
+            tx.commit();
+            return row;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.graphdb.Direction.OUTGOING;
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.graphdb.RelationshipType.withName;
+import static org.neo4j.internal.batchimport.input.BadCollector.UNLIMITED_TOLERANCE;
+import static org.neo4j.internal.batchimport.input.Collectors.silentBadCollector;
+import static org.neo4j.internal.batchimport.input.InputEntityDecorators.NO_DECORATOR;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.data;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.defaultFormatNodeFileHeader;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.defaultFormatRelationshipFileHeader;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.csv.reader.Readables;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.input.Collector;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.Input;
+import org.neo4j.internal.batchimport.input.csv.CsvInput;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.extension.ImpermanentDbmsExtension;
+import org.neo4j.test.extension.Inject;
+
+@ImpermanentDbmsExtension
+class OnlineIncrementalImporterTest {
+    private static final String NODES_HEADER = "id:ID(Person){label:Person},name,:LABEL\n";
+    private static final String RELATIONSHIPS_HEADER = ":START_ID(Person),:END_ID(Person),:TYPE,since:int\n";
+
+    @Inject
+    private GraphDatabaseAPI db;
+
+    @BeforeEach
+    void createIndex() {
+        try (Transaction tx = db.beginTx()) {
+            tx.schema().indexFor(label("Person")).on("id").create();
+            tx.commit();
+        }
+        try (Transaction tx = db.beginTx()) {
+            tx.schema().awaitIndexesOnline(1, MINUTES);
+        }
+    }
+
+    @Test
+    void shouldImportIntoOnlineDatabase() throws Exception {
+        // given
+        Input input = csv(NODES_HEADER + "1,Alice,Person\n2,Bob,Person\n", RELATIONSHIPS_HEADER + "1,2,KNOWS,2020\n");
+
+        // when
+        OnlineIncrementalImporter.Result result =
+                importer(silentBadCollector(UNLIMITED_TOLERANCE), false).importData(input);
+
+        // then
+        assertThat(result.nodesCreated()).isEqualTo(2);
+        assertThat(result.relationshipsCreated()).isEqualTo(1);
+        assertThat(result.badEntries()).isZero();
+        try (Transaction tx = db.beginTx()) {
+            Node alice = tx.findNode(label("Person"), "id", "1");
+            Node bob = tx.findNode(label("Person"), "id", "2");
+            assertThat(alice.getProperty("name")).isEqualTo("Alice");
+            Relationship knows = alice.getSingleRelationship(withName("KNOWS"), OUTGOING);
+            assertThat(knows.getEndNode()).isEqualTo(bob);
+            assertThat(knows.getProperty("since")).isEqualTo(2020);
+        }
+    }
+
+    @Test
+    void shouldMergeWhenImportingSameDataAgain() throws Exception {
+        // given
+        importer(silentBadCollector(UNLIMITED_TOLERANCE), true)
+                .importData(csv(
+                        NODES_HEADER + "1,Alice,Person\n2,Bob,Person\n", RELATIONSHIPS_HEADER + "1,2,KNOWS,2020\n"));
+
+        // when
+        OnlineIncrementalImporter.Result result = importer(silentBadCollector(UNLIMITED_TOLERANCE), true)
+                .importData(csv(
+                        NODES_HEADER + "1,Alicia,Person\n2,Bob,Person\n3,Carol,Person\n",
+                        RELATIONSHIPS_HEADER + "1,2,KNOWS,2021\n2,3,KNOWS,2022\n"));
+
+        // then
+        assertThat(result.nodesCreated()).isEqualTo(1);
+        assertThat(result.nodesUpdated()).isEqualTo(2);
+        assertThat(result.relationshipsCreated()).isEqualTo(1);
+        assertThat(result.relationshipsUpdated()).isEqualTo(1);
+        try (Transaction tx = db.beginTx()) {
+            assertThat(tx.getAllNodes().stream().count()).isEqualTo(3);
+            assertThat(tx.getAllRelationships().stream().count()).isEqualTo(2);
+            Node alice = tx.findNode(label("Person"), "id", "1");
+            assertThat(alice.getProperty("name")).isEqualTo("Alicia");
+            assertThat(alice.getSingleRelationship(withName("KNOWS"), OUTGOING).getProperty("since"))
+                    .isEqualTo(2021);
+        }
+    }
+
+    @Test
+    void shouldKeepParallelRelationshipsWhenMerging() throws Exception {
+        // given
+        String nodes = NODES_HEADER + "1,Alice,Person\n2,Bob,Person\n";
+        OnlineIncrementalImporter.Result first = importer(silentBadCollector(UNLIMITED_TOLERANCE), true)
+                .importData(csv(nodes, RELATIONSHIPS_HEADER + "1,2,KNOWS,2020\n1,2,KNOWS,2021\n"));
+
+        // when
+        OnlineIncrementalImporter.Result second = importer(silentBadCollector(UNLIMITED_TOLERANCE), true)
+                .importData(csv(nodes, RELATIONSHIPS_HEADER + "1,2,KNOWS,2022\n1,2,KNOWS,2023\n"));
+
+        // then
+        assertThat(first.relationshipsCreated()).isEqualTo(2);
+        assertThat(second.relationshipsCreated()).isZero();
+        assertThat(second.relationshipsUpdated()).isEqualTo(2);
+        try (Transaction tx = db.beginTx()) {
+            Node alice = tx.findNode(label("Person"), "id", "1");
+            try (var relationships = alice.getRelationships(OUTGOING, withName("KNOWS"))) {
+                assertThat(relationships.stream().map(relationship -> relationship.getProperty("since")))
+                        .containsExactlyInAnyOrder(2022, 2023);
+            }
+        }
+    }
+
+    @Test
+    void shouldCollectRelationshipsReferringToMissingNodes() throws Exception {
+        // given
+        Collector collector = silentBadCollector(UNLIMITED_TOLERANCE);
+        Input input = csv(NODES_HEADER + "1,Alice,Person\n", RELATIONSHIPS_HEADER + "1,2,KNOWS,2020\n1,1,KNOWS,2021\n");
+
+        // when
+        OnlineIncrementalImporter.Result result = importer(collector, false).importData(input);
+
+        // then
+        assertThat(result.relationshipsCreated()).isEqualTo(1);
+        assertThat(result.badEntries()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectActualIds() {
+        Input input = new CsvInput(
+                singletonList(data(NO_DECORATOR, () -> Readables.wrap("nodes", ":ID\n1\n"))),
+                defaultFormatNodeFileHeader(),
+                singletonList(data(NO_DECORATOR, () -> Readables.wrap("relationships", ":START_ID,:END_ID,:TYPE\n"))),
+                defaultFormatRelationshipFileHeader(),
+                IdType.ACTUAL,
+                csvConfig(),
+                false,
+                CsvInput.NO_MONITOR,
+                INSTANCE);
+
+        assertThatThrownBy(() -> importer(silentBadCollector(0), false).importData(input))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private OnlineIncrementalImporter importer(Collector collector, boolean mergeRelationships) {
+        return OnlineIncrementalImporter.forDatabase(db, Configuration.DEFAULT, collector, mergeRelationships);
+    }
+
+    private static Input csv(String nodes, String relationships) {
+        return new CsvInput(
+                singletonList(data(NO_DECORATOR, () -> Readables.wrap("nodes", nodes))),
+                defaultFormatNodeFileHeader(),
+                singletonList(data(NO_DECORATOR, () -> Readables.wrap("relationships", relationships))),
+                defaultFormatRelationshipFileHeader(),
+                IdType.STRING,
+                csvConfig(),
+                false,
+                CsvInput.NO_MONITOR,
+                INSTANCE);
+    }
+
+    private static org.neo4j.csv.reader.Configuration csvConfig() {
+        return org.neo4j.csv.reader.Configuration.COMMAS;
+    }
+}
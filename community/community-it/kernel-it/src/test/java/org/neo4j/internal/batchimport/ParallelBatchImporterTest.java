@@ -123,6 +123,7 @@ public class ParallelBatchImporterTest {
     private DatabaseLayout databaseLayout;
 
     private InputIdGenerator inputIdGenerator;
+    private RelationshipLinkingStrategy linkingStrategy;
     private final Configuration config = new Configuration() {
         @Override
         public int batchSize() {
@@ -146,20 +147,31 @@ public class ParallelBatchImporterTest {
             long mebi = mebiBytes(1);
             return random.nextInt((int) (ratio * mebi / 2), (int) (ratio * mebi));
         }
+
+        @Override
+        public RelationshipLinkingStrategy relationshipLinkingStrategy() {
+            return linkingStrategy;
+        }
     };
 
     private static Stream<Arguments> params() {
         return Stream.of(
                 // Long input ids, actual node id input
-                arguments(new LongInputIdGenerator(), IdType.INTEGER),
+                arguments(new LongInputIdGenerator(), IdType.INTEGER, RelationshipLinkingStrategy.NODE_CACHE),
                 // String input ids, generate ids from stores
-                arguments(new StringInputIdGenerator(), IdType.STRING));
+                arguments(new StringInputIdGenerator(), IdType.STRING, RelationshipLinkingStrategy.NODE_CACHE),
+                // Sparse relationship chains linked from sorted runs instead of the node cache
+                arguments(new LongInputIdGenerator(), IdType.INTEGER, RelationshipLinkingStrategy.SORTED_RUNS),
+                arguments(new StringInputIdGenerator(), IdType.STRING, RelationshipLinkingStrategy.SORTED_RUNS));
     }
 
     @ParameterizedTest
     @MethodSource("params")
-    void shouldImportCsvData(InputIdGenerator inputIdGenerator, IdType idType) throws Exception {
+    void shouldImportCsvData(
+            InputIdGenerator inputIdGenerator, IdType idType, RelationshipLinkingStrategy linkingStrategy)
+            throws Exception {
         this.inputIdGenerator = inputIdGenerator;
+        this.linkingStrategy = linkingStrategy;
 
         // GIVEN
         ExecutionMonitor processorAssigner =
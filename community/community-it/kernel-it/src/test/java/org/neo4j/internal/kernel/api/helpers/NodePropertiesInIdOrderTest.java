@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.kernel.api.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.kernel.api.KernelTransaction.Type.IMPLICIT;
+import static org.neo4j.storageengine.api.PropertySelection.ALL_PROPERTIES;
+import static org.neo4j.values.storable.Values.NO_VALUE;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.exceptions.KernelException;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.internal.kernel.api.security.LoginContext;
+import org.neo4j.kernel.api.Kernel;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.DbmsExtension;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.values.storable.Value;
+
+@DbmsExtension
+@ExtendWith(RandomExtension.class)
+class NodePropertiesInIdOrderTest {
+    private static final int NODE_COUNT = 2_000;
+
+    @Inject
+    private Kernel kernel;
+
+    @Inject
+    private RandomSupport random;
+
+    private long[] nodes;
+    private int name;
+    private int age;
+    private int missing;
+
+    @BeforeEach
+    void createNodes() throws KernelException {
+        nodes = new long[NODE_COUNT];
+        try (KernelTransaction tx = kernel.beginTransaction(IMPLICIT, LoginContext.AUTH_DISABLED)) {
+            name = tx.tokenWrite().propertyKeyGetOrCreateForName("name");
+            age = tx.tokenWrite().propertyKeyGetOrCreateForName("age");
+            missing = tx.tokenWrite().propertyKeyGetOrCreateForName("missing");
+            int other = tx.tokenWrite().propertyKeyGetOrCreateForName("other");
+            Write write = tx.dataWrite();
+            for (int i = 0; i < NODE_COUNT; i++) {
+                nodes[i] = write.nodeCreate();
+                write.nodeSetProperty(nodes[i], other, stringValue("other" + i));
+                write.nodeSetProperty(nodes[i], name, stringValue("node" + i));
+                if (i % 3 != 0) {
+                    write.nodeSetProperty(nodes[i], age, intValue(i));
+                }
+            }
+            tx.commit();
+        }
+    }
+
+    @Test
+    void shouldReadSequentialBatch() throws KernelException {
+        assertBatchReadsSameAsSingleReads(Arrays.copyOfRange(nodes, 100, 600));
+    }
+
+    @Test
+    void shouldReadRandomBatch() throws KernelException {
+        long[] batch = new long[1_000];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = nodes[random.nextInt(nodes.length)];
+        }
+        assertBatchReadsSameAsSingleReads(batch);
+    }
+
+    @Test
+    void shouldReadBatchWithNonExistentNodes() throws KernelException {
+        assertBatchReadsSameAsSingleReads(new long[] {nodes[5], Long.MAX_VALUE >>> 8, nodes[1], -1, nodes[5]});
+    }
+
+    @Test
+    void shouldSeeChangesInTransactionState() throws KernelException {
+        try (KernelTransaction tx = kernel.beginTransaction(IMPLICIT, LoginContext.AUTH_DISABLED);
+                NodeCursor nodeCursor = tx.cursors().allocateNodeCursor(tx.cursorContext());
+                PropertyCursor propertyCursor =
+                        tx.cursors().allocatePropertyCursor(tx.cursorContext(), tx.memoryTracker())) {
+            // given
+            Write write = tx.dataWrite();
+            long created = write.nodeCreate();
+            write.nodeSetProperty(created, name, stringValue("created"));
+            write.nodeSetProperty(nodes[1], name, stringValue("changed"));
+            write.nodeRemoveProperty(nodes[2], age);
+            write.nodeSetProperty(nodes[3], age, intValue(-3));
+            write.nodeDelete(nodes[4]);
+
+            // when
+            long[] batch = {nodes[4], nodes[3], created, nodes[2], nodes[1]};
+            Value[][] values = new Value[2][batch.length];
+            tx.dataRead().nodePropertiesInIdOrder(batch, new int[] {name, age}, nodeCursor, propertyCursor, values);
+
+            // then
+            assertThat(values[0])
+                    .containsExactly(
+                            NO_VALUE,
+                            stringValue("node3"),
+                            stringValue("created"),
+                            stringValue("node2"),
+                            stringValue("changed"));
+            assertThat(values[1]).containsExactly(NO_VALUE, intValue(-3), NO_VALUE, NO_VALUE, intValue(1));
+        }
+    }
+
+    @Test
+    void shouldRejectTooSmallBuffer() throws KernelException {
+        try (KernelTransaction tx = kernel.beginTransaction(IMPLICIT, LoginContext.AUTH_DISABLED);
+                NodeCursor nodeCursor = tx.cursors().allocateNodeCursor(tx.cursorContext());
+                PropertyCursor propertyCursor =
+                        tx.cursors().allocatePropertyCursor(tx.cursorContext(), tx.memoryTracker())) {
+            assertThatThrownBy(() -> tx.dataRead()
+                            .nodePropertiesInIdOrder(
+                                    new long[] {nodes[0], nodes[1]},
+                                    new int[] {name, age},
+                                    nodeCursor,
+                                    propertyCursor,
+                                    new Value[2][1]))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void shouldFindDistinctNodeReferencesInIdOrder() {
+        long[] references = new long[random.nextInt(1, 500)];
+        for (int i = 0; i < references.length; i++) {
+            references[i] = random.nextLong(100);
+        }
+
+        long[] distinct = NodePropertiesInIdOrder.distinctInIdOrder(references);
+
+        assertThat(distinct)
+                .isEqualTo(Arrays.stream(references).distinct().sorted().toArray());
+    }
+
+    private void assertBatchReadsSameAsSingleReads(long[] batch) throws KernelException {
+        int[] keys = {age, missing, name};
+        try (KernelTransaction tx = kernel.beginTransaction(IMPLICIT, LoginContext.AUTH_DISABLED);
+                NodeCursor nodeCursor = tx.cursors().allocateNodeCursor(tx.cursorContext());
+                PropertyCursor propertyCursor =
+                        tx.cursors().allocatePropertyCursor(tx.cursorContext(), tx.memoryTracker())) {
+            Read read = tx.dataRead();
+            Value[][] values = new Value[keys.length][batch.length];
+            read.nodePropertiesInIdOrder(batch, keys, nodeCursor, propertyCursor, values);
+
+            for (int i = 0; i < batch.length; i++) {
+                for (int k = 0; k < keys.length; k++) {
+                    assertThat(values[k][i])
+                            .as("node %d key %d", batch[i], keys[k])
+                            .isEqualTo(singleRead(read, nodeCursor, propertyCursor, batch[i], keys[k]));
+                }
+            }
+        }
+    }
+
+    private static Value singleRead(
+            Read read, NodeCursor nodeCursor, PropertyCursor propertyCursor, long node, int key) {
+        read.singleNode(node, nodeCursor);
+        if (nodeCursor.next()) {
+            nodeCursor.properties(propertyCursor, ALL_PROPERTIES);
+            while (propertyCursor.next()) {
+                if (propertyCursor.propertyKey() == key) {
+                    return propertyCursor.propertyValue();
+                }
+            }
+        }
+        return NO_VALUE;
+    }
+}
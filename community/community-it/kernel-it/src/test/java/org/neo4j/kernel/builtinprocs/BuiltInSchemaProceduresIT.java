@@ -775,6 +775,58 @@ class BuiltInSchemaProceduresIT extends KernelIntegrationTest {
         }
     }
 
+    @Test
+    void testPropertiesSpreadOverManyStorePartitions() throws Throwable {
+        // Given
+
+        // 1000 x (:A {name: "a<i>"}) where every 100th node also has {age: <i>}
+        // 1000 x ()-[:R {weight: <i>}]->() where every 100th relationship also has {note: "r<i>"}
+
+        KernelTransaction transaction = newTransaction(AnonymousContext.writeToken());
+        int labelA = transaction.tokenWrite().labelGetOrCreateForName("A");
+        int typeR = transaction.tokenWrite().relationshipTypeGetOrCreateForName("R");
+        int name = transaction.tokenWrite().propertyKeyGetOrCreateForName("name");
+        int age = transaction.tokenWrite().propertyKeyGetOrCreateForName("age");
+        int weight = transaction.tokenWrite().propertyKeyGetOrCreateForName("weight");
+        int note = transaction.tokenWrite().propertyKeyGetOrCreateForName("note");
+        for (int i = 0; i < 1000; i++) {
+            long nodeId = transaction.dataWrite().nodeCreate();
+            transaction.dataWrite().nodeAddLabel(nodeId, labelA);
+            transaction.dataWrite().nodeSetProperty(nodeId, name, stringValue("a" + i));
+            long relId = transaction.dataWrite().relationshipCreate(nodeId, typeR, nodeId);
+            transaction.dataWrite().relationshipSetProperty(relId, weight, Values.intValue(i));
+            if (i % 100 == 0) {
+                transaction.dataWrite().nodeSetProperty(nodeId, age, Values.intValue(i));
+                transaction.dataWrite().relationshipSetProperty(relId, note, stringValue("r" + i));
+            }
+        }
+        commit();
+
+        // When
+        Procedures procs = procs();
+        try (var statement = kernelTransaction.acquireStatement()) {
+
+            RawIterator<AnyValue[], ProcedureException> nodeStream = procs.procedureCallRead(
+                    procs.procedureGet(procedureName(nodesProcedureName)).id(),
+                    new AnyValue[0],
+                    ProcedureCallContext.EMPTY);
+            RawIterator<AnyValue[], ProcedureException> relStream = procs.procedureCallRead(
+                    procs.procedureGet(procedureName(relsProcedureName)).id(),
+                    new AnyValue[0],
+                    ProcedureCallContext.EMPTY);
+
+            // Then
+            assertThat(asList(nodeStream))
+                    .containsExactlyInAnyOrder(
+                            nodeEntry(":`A`", singletonList("A"), "name", singletonList("String"), true),
+                            nodeEntry(":`A`", singletonList("A"), "age", singletonList("Integer"), false));
+            assertThat(asList(relStream))
+                    .containsExactlyInAnyOrder(
+                            relEntry(":`R`", "weight", singletonList("Integer"), true),
+                            relEntry(":`R`", "note", singletonList("String"), false));
+        }
+    }
+
     private static AnyValue[] nodeEntry(
             String escapedLabels,
             List<String> labels,
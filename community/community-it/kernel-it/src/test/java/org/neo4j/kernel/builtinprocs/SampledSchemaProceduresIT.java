@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.builtinprocs;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.internal.helpers.collection.Iterators.asList;
+import static org.neo4j.internal.kernel.api.procs.ProcedureSignature.procedureName;
+import static org.neo4j.values.storable.Values.stringOrNoValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.internal.kernel.api.Procedures;
+import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.security.AnonymousContext;
+import org.neo4j.kernel.impl.api.integrationtest.KernelIntegrationTest;
+import org.neo4j.kernel.impl.util.ValueUtils;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
+
+class SampledSchemaProceduresIT extends KernelIntegrationTest {
+    @Override
+    protected TestDatabaseManagementServiceBuilder configure(
+            TestDatabaseManagementServiceBuilder databaseManagementServiceBuilder) {
+        return databaseManagementServiceBuilder
+                .setConfig(GraphDatabaseInternalSettings.schema_calculation_workers, 2)
+                .setConfig(GraphDatabaseInternalSettings.schema_calculation_sample_fraction, 0.25);
+    }
+
+    @Test
+    void shouldFindPropertiesWhenOnlySamplingStorePartitions() throws Throwable {
+        // Given
+
+        // 5000 x (:A {name: "a<i>", age: <i>})-[:R {weight: <i>}]->(self)
+
+        KernelTransaction transaction = newTransaction(AnonymousContext.writeToken());
+        int labelA = transaction.tokenWrite().labelGetOrCreateForName("A");
+        int typeR = transaction.tokenWrite().relationshipTypeGetOrCreateForName("R");
+        int name = transaction.tokenWrite().propertyKeyGetOrCreateForName("name");
+        int age = transaction.tokenWrite().propertyKeyGetOrCreateForName("age");
+        int weight = transaction.tokenWrite().propertyKeyGetOrCreateForName("weight");
+        for (int i = 0; i < 5000; i++) {
+            long nodeId = transaction.dataWrite().nodeCreate();
+            transaction.dataWrite().nodeAddLabel(nodeId, labelA);
+            transaction.dataWrite().nodeSetProperty(nodeId, name, stringValue("a" + i));
+            transaction.dataWrite().nodeSetProperty(nodeId, age, Values.intValue(i));
+            long relId = transaction.dataWrite().relationshipCreate(nodeId, typeR, nodeId);
+            transaction.dataWrite().relationshipSetProperty(relId, weight, Values.intValue(i));
+        }
+        commit();
+
+        // When
+        Procedures procs = procs();
+        try (var statement = kernelTransaction.acquireStatement()) {
+            var nodeStream = procs.procedureCallRead(
+                    procs.procedureGet(procedureName("db", "schema", "nodeTypeProperties"))
+                            .id(),
+                    new AnyValue[0],
+                    ProcedureCallContext.EMPTY);
+            var relStream = procs.procedureCallRead(
+                    procs.procedureGet(procedureName("db", "schema", "relTypeProperties"))
+                            .id(),
+                    new AnyValue[0],
+                    ProcedureCallContext.EMPTY);
+
+            // Then
+            assertThat(asList(nodeStream))
+                    .containsExactlyInAnyOrder(nodeEntry("name", "String"), nodeEntry("age", "Integer"));
+            assertThat(asList(relStream)).containsExactlyInAnyOrder(new AnyValue[] {
+                stringOrNoValue(":`R`"), stringOrNoValue("weight"), ValueUtils.of(singletonList("Integer")), Values.TRUE
+            });
+        }
+    }
+
+    private static AnyValue[] nodeEntry(String propertyName, String propertyValueType) {
+        return new AnyValue[] {
+            stringValue(":`A`"),
+            ValueUtils.asListValue(List.of("A")),
+            stringOrNoValue(propertyName),
+            ValueUtils.of(singletonList(propertyValueType)),
+            Values.TRUE
+        };
+    }
+}
@@ -21,21 +21,28 @@ package org.neo4j.kernel.impl.api.integrationtest;
 
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.configuration.GraphDatabaseSettings.SYSTEM_DATABASE_NAME;
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.graphdb.RelationshipType.withName;
 import static org.neo4j.internal.helpers.collection.Iterators.asList;
 import static org.neo4j.internal.kernel.api.procs.ProcedureCallContext.EMPTY;
 import static org.neo4j.internal.kernel.api.procs.ProcedureSignature.procedureName;
 import static org.neo4j.values.storable.Values.stringValue;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.FutureTask;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.neo4j.collection.RawIterator;
 import org.neo4j.cypher.internal.QueryCacheTracer;
+import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Resource;
 import org.neo4j.internal.kernel.api.IndexMonitor;
 import org.neo4j.internal.kernel.api.Procedures;
@@ -268,6 +275,77 @@ class BuiltInProceduresIT extends KernelIntegrationTest implements ProcedureITBa
         assertThat(mode.millisToWaitForCompletion()).isGreaterThan(0L);
     }
 
+    @Test
+    void exportNodesShouldWriteEveryNodeWithLabelOnce() {
+        // Given
+        try (org.neo4j.graphdb.Transaction transaction = db.beginTx()) {
+            for (int i = 0; i < 1000; i++) {
+                Node node = transaction.createNode(i % 10 == 0 ? label("Other") : label("Person"));
+                node.setProperty("age", i);
+                node.setProperty("name", "person" + i);
+            }
+            transaction.commit();
+        }
+
+        // When
+        List<Map<String, Object>> files;
+        try (org.neo4j.graphdb.Transaction transaction = db.beginTx()) {
+            files = transaction.execute("CALL db.export.nodes('Person', ['name', 'age'], 'people')").stream()
+                    .toList();
+            transaction.commit();
+        }
+
+        // Then
+        assertThat(files.stream().mapToLong(file -> (long) file.get("rows")).sum())
+                .isEqualTo(900L);
+        for (Map<String, Object> file : files) {
+            Path path = Path.of((String) file.get("file"));
+            assertThat(path.getFileName().toString()).startsWith("people-");
+            assertThat(testDir.getFileSystem().fileExists(path)).isTrue();
+            assertThat((long) file.get("bytes")).isPositive();
+        }
+    }
+
+    @Test
+    void exportRelationshipsShouldWriteEveryRelationshipWithTypeOnce() {
+        // Given
+        try (org.neo4j.graphdb.Transaction transaction = db.beginTx()) {
+            Node node = transaction.createNode();
+            for (int i = 0; i < 100; i++) {
+                node.createRelationshipTo(transaction.createNode(), withName(i % 2 == 0 ? "KNOWS" : "LIKES"))
+                        .setProperty("since", i);
+            }
+            transaction.commit();
+        }
+
+        // When
+        List<Map<String, Object>> files;
+        try (org.neo4j.graphdb.Transaction transaction = db.beginTx()) {
+            files = transaction.execute("CALL db.export.relationships('KNOWS', ['since'], 'knows')").stream()
+                    .toList();
+            transaction.commit();
+        }
+
+        // Then
+        assertThat(files.stream().mapToLong(file -> (long) file.get("rows")).sum())
+                .isEqualTo(50L);
+    }
+
+    @Test
+    void exportShouldNotWriteOutsideOfExportDirectory() {
+        try (org.neo4j.graphdb.Transaction transaction = db.beginTx()) {
+            transaction.createNode(label("Person"));
+            transaction.commit();
+        }
+
+        try (org.neo4j.graphdb.Transaction transaction = db.beginTx()) {
+            assertThatThrownBy(() -> transaction
+                            .execute("CALL db.export.nodes('Person', [], '../people')")
+                            .resultAsString())
+                    .hasMessageContaining("must point to a file within the export directory");
+        }
+    }
+
     private ReplanMonitor replanMonitor() {
         Monitors monitors = dependencyResolver.resolveDependency(Monitors.class);
 
@@ -259,6 +259,39 @@ public interface ProcedureITBase {
                         "Provides attached transaction metadata.",
                         stringArray("reader", "editor", "publisher", "architect", "admin"),
                         "DBMS"),
+                proc(
+                        "db.export.nodes",
+                        "(label :: STRING, properties :: LIST<STRING>, fileName :: STRING) :: "
+                                + "(file :: STRING, rows :: INTEGER, bytes :: INTEGER)",
+                        "Export the nodes with the given label, together with all their labels and the given "
+                                + "properties, to columnar files in the export directory. The store is scanned in "
+                                + "parallel and every worker writes its own file, named after the given file name.",
+                        stringArray("admin"),
+                        "READ"),
+                proc(
+                        "db.export.relationships",
+                        "(relationshipType :: STRING, properties :: LIST<STRING>, fileName :: STRING) :: "
+                                + "(file :: STRING, rows :: INTEGER, bytes :: INTEGER)",
+                        "Export the relationships of the given type, together with their start and end nodes and "
+                                + "the given properties, to columnar files in the export directory. The store is "
+                                + "scanned in parallel and every worker writes its own file, named after the given "
+                                + "file name.",
+                        stringArray("admin"),
+                        "READ"),
+                proc(
+                        "db.import.csv",
+                        "(nodeFiles :: LIST<STRING>, relationshipFiles :: LIST<STRING>, config = {} :: MAP) :: "
+                                + "(nodesCreated :: INTEGER, nodesUpdated :: INTEGER, relationshipsCreated :: INTEGER, "
+                                + "relationshipsUpdated :: INTEGER, transactions :: INTEGER, badEntries :: INTEGER, "
+                                + "durationMillis :: INTEGER)",
+                        "Import nodes and relationships from csv files, in the format of neo4j-admin database import, "
+                                + "into this database while it is online. The files are read from the import directory "
+                                + "and imported in one write transaction per chunk of input, and chunks already "
+                                + "committed stay committed if the import fails. Nodes are merged on the label and property referenced by their ID group, which need a range "
+                                + "index. Valid config keys are 'delimiter', 'arrayDelimiter', 'quote', "
+                                + "'mergeRelationships' and 'badTolerance'.",
+                        stringArray("admin"),
+                        "WRITE"),
                 proc(
                         "db.ping",
                         "() :: (success :: BOOLEAN)",
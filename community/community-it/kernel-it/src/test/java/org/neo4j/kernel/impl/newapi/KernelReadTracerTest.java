@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.impl.newapi;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphdb.Label.label;
@@ -72,6 +73,7 @@ import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.impl.coreapi.schema.IndexDefinitionImpl;
 import org.neo4j.kernel.impl.newapi.TestKernelReadTracer.TraceEvent;
 import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.storageengine.api.PropertySelection;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class KernelReadTracerTest extends KernelAPIReadTestBase<ReadTestSupport> {
@@ -407,6 +409,48 @@ public class KernelReadTracerTest extends KernelAPIReadTestBase<ReadTestSupport>
         }
     }
 
+    @Test
+    void shouldTracePropertyStorageVisitedForSelectedProperties() {
+        // given
+        TestKernelReadTracer tracer = new TestKernelReadTracer();
+
+        try (NodeCursor nodeCursor = cursors.allocateNodeCursor(NULL_CONTEXT);
+                PropertyCursor propertyCursor = cursors.allocatePropertyCursor(NULL_CONTEXT, INSTANCE)) {
+            // when
+            propertyCursor.setTracer(tracer);
+            read.singleNode(foo, nodeCursor);
+            assertTrue(nodeCursor.next());
+            nodeCursor.properties(propertyCursor);
+            List<Integer> keys = new ArrayList<>();
+            while (propertyCursor.next()) {
+                keys.add(propertyCursor.propertyKey());
+            }
+
+            // then
+            assertThat(keys).hasSize(4);
+            tracer.assertPropertyStorageVisited(1, 4);
+
+            // when
+            tracer.clear();
+            int firstKey = keys.get(0);
+            nodeCursor.properties(propertyCursor, PropertySelection.selection(firstKey));
+            assertTrue(propertyCursor.next());
+            assertFalse(propertyCursor.next());
+
+            // then
+            tracer.assertEvents(propertyEvent(firstKey));
+            tracer.assertPropertyStorageVisited(1, 1);
+
+            // when
+            propertyCursor.removeTracer();
+            nodeCursor.properties(propertyCursor);
+            while (propertyCursor.next()) {}
+
+            // then
+            tracer.assertPropertyStorageVisited(0, 0);
+        }
+    }
+
     @Test
     void shouldTraceLabelCheck() {
         // given
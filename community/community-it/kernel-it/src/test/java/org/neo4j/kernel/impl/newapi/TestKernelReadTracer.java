@@ -31,6 +31,8 @@ public class TestKernelReadTracer implements KernelReadTracer {
     static final TraceEvent ON_ALL_NODES_SCAN = new TraceEvent(TraceEventKind.AllNodesScan);
 
     private final List<TraceEvent> traceEvents;
+    private int propertyRecords;
+    private int propertyBlocks;
 
     TestKernelReadTracer() {
         traceEvents = new ArrayList<>();
@@ -71,6 +73,16 @@ public class TestKernelReadTracer implements KernelReadTracer {
         traceEvents.add(propertyEvent(propertyKey));
     }
 
+    @Override
+    public void onPropertyRecord() {
+        propertyRecords++;
+    }
+
+    @Override
+    public void onPropertyBlock(int propertyKey) {
+        propertyBlocks++;
+    }
+
     @Override
     public void onHasLabel(int label) {
         traceEvents.add(hasLabelEvent(label));
@@ -95,6 +107,13 @@ public class TestKernelReadTracer implements KernelReadTracer {
         clear();
     }
 
+    void assertPropertyStorageVisited(int records, int blocks) {
+        assertThat(propertyRecords).as("property records").isEqualTo(records);
+        assertThat(propertyBlocks).as("property blocks").isEqualTo(blocks);
+        propertyRecords = 0;
+        propertyBlocks = 0;
+    }
+
     void clear() {
         traceEvents.clear();
     }
@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.neo4j.internal.recordstorage.RecordCursorTypes.RELATIONSHIP_CURSOR;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
 import static org.neo4j.io.pagecache.context.FixedVersionContextSupplier.EMPTY_CONTEXT_SUPPLIER;
+import static org.neo4j.kernel.impl.store.record.Record.NULL_REFERENCE;
 import static org.neo4j.test.mockito.mock.Property.property;
 import static org.neo4j.test.mockito.mock.Property.set;
 
@@ -74,6 +75,7 @@ import org.neo4j.kernel.lifecycle.Lifespan;
 import org.neo4j.logging.NullLog;
 import org.neo4j.memory.MemoryPools;
 import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.TransactionIdStore;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.Neo4jLayoutExtension;
 import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
@@ -196,6 +198,60 @@ public class ConsistencyCheckServiceIntegrationTest {
                 .isFalse();
     }
 
+    @Test
+    void shouldFindInconsistenciesTouchedByTransactionsOfIncrementalCheck() throws Exception {
+        // given
+        long lastTransactionBeforeBreaking = lastCommittedTransactionId();
+        breakNodeStore();
+
+        // when
+        final var result = consistencyCheckService()
+                .with(testDirectory.file("incremental.report"))
+                .withIncrementalCheckAfter(lastTransactionBeforeBreaking)
+                .runFullConsistencyCheck();
+
+        // then
+        assertThat(result.isSuccessful()).isFalse();
+        assertThat(result.summary().getTotalInconsistencyCount()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldOnlyCheckWhatTransactionsTouchedInIncrementalCheck() throws Exception {
+        // given
+        breakNodeStore();
+        long lastTransactionAfterBreaking = lastCommittedTransactionId();
+        createNodeFarAwayFromBrokenNode();
+
+        // when
+        final var incrementalResult = consistencyCheckService()
+                .with(testDirectory.file("incremental.report"))
+                .withIncrementalCheckAfter(lastTransactionAfterBreaking)
+                .runFullConsistencyCheck();
+        final var fullResult = consistencyCheckService()
+                .with(testDirectory.file("full.report"))
+                .runFullConsistencyCheck();
+
+        // then
+        assertThat(incrementalResult.isSuccessful()).isTrue();
+        assertThat(fullResult.isSuccessful()).isFalse();
+    }
+
+    @Test
+    void shouldCheckNothingIfNoTransactionsCommittedSinceIncrementalCheckTransaction() throws Exception {
+        // given
+        breakNodeStore();
+        long lastTransaction = lastCommittedTransactionId();
+
+        // when
+        final var result = consistencyCheckService()
+                .with(testDirectory.file("incremental.report"))
+                .withIncrementalCheckAfter(lastTransaction)
+                .runFullConsistencyCheck();
+
+        // then
+        assertThat(result.isSuccessful()).isTrue();
+    }
+
     @Nested
     class ShouldFailIfTheStoreIsInconsistent {
         Path logsDir;
@@ -402,6 +458,24 @@ public class ConsistencyCheckServiceIntegrationTest {
         });
     }
 
+    private void createNodeFarAwayFromBrokenNode() throws KernelException {
+        fixture.apply(new GraphStoreFixture.Transaction() {
+            @Override
+            protected void transactionData(
+                    GraphStoreFixture.TransactionDataBuilder tx, GraphStoreFixture.IdGenerator next) {
+                tx.create(new NodeRecord(1_000)
+                        .initialize(true, NULL_REFERENCE.longValue(), false, NULL_REFERENCE.longValue(), 0));
+            }
+        });
+    }
+
+    private long lastCommittedTransactionId() {
+        return fixture.database()
+                .getDependencyResolver()
+                .resolveDependency(TransactionIdStore.class)
+                .getLastCommittedTransactionId();
+    }
+
     private ConsistencyCheckService consistencyCheckService() {
         fixture.close();
         return new ConsistencyCheckService(fixture.databaseLayout())
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.consistency.checker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.FixedVersionContextSupplier.EMPTY_CONTEXT_SUPPLIER;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.consistency.checking.ConsistencyFlags;
+import org.neo4j.consistency.report.ConsistencySummaryStatistics;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.internal.helpers.progress.ProgressMonitorFactory;
+import org.neo4j.internal.id.IdGeneratorFactory;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.api.index.IndexProviderMap;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.kernel.impl.transaction.CommittedCommandBatch;
+import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointer;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.SimpleTriggerInfo;
+import org.neo4j.logging.NullLog;
+import org.neo4j.storageengine.api.TransactionIdStore;
+
+class IncrementalConsistencyCheckIT extends CheckerTestBase {
+    private static final int NUMBER_OF_NODES = 3_000;
+    private static final RelationshipType TYPE = RelationshipType.withName("TYPE");
+
+    private final List<Long> nodeIds = new ArrayList<>();
+    private long denseNode;
+
+    private void createGraph() {
+        try (var tx = db.beginTx()) {
+            List<Node> nodes = new ArrayList<>();
+            for (int i = 0; i < NUMBER_OF_NODES; i++) {
+                Node node = tx.createNode();
+                node.setProperty("id", i);
+                nodes.add(node);
+                nodeIds.add(node.getId());
+            }
+            for (int i = 0; i < NUMBER_OF_NODES; i++) {
+                // Relationships between nodes that are far apart in id space
+                nodes.get(i).createRelationshipTo(nodes.get((i * 7 + 1_000) % NUMBER_OF_NODES), TYPE);
+            }
+            Node dense = nodes.get(5);
+            for (int i = 0; i < 200; i++) {
+                dense.createRelationshipTo(nodes.get((i * 13) % NUMBER_OF_NODES), TYPE);
+            }
+            denseNode = dense.getId();
+            tx.commit();
+        }
+    }
+
+    @Test
+    void shouldNotReportInconsistenciesInConsistentStore() throws Exception {
+        createGraph();
+        IncrementalCheckScope scope = new IncrementalCheckScope.Builder()
+                .node(denseNode)
+                .node(nodeIds.get(2_500))
+                .relationship(10)
+                .build(neoStores, contextFactory());
+
+        assertThat(check(scope).isConsistent()).isTrue();
+    }
+
+    @Test
+    void shouldReportInconsistencyInScope() throws Exception {
+        createGraph();
+        long node = nodeIds.get(2_500);
+        corruptNode(node);
+
+        IncrementalCheckScope scope =
+                new IncrementalCheckScope.Builder().node(node).build(neoStores, contextFactory());
+        assertThat(check(scope).getTotalInconsistencyCount()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldOnlyCheckEntitiesInScope() throws Exception {
+        createGraph();
+        corruptNode(nodeIds.get(2_500));
+
+        IncrementalCheckScope scope =
+                new IncrementalCheckScope.Builder().node(nodeIds.get(10)).build(neoStores, contextFactory());
+        assertThat(check(scope).isConsistent()).isTrue();
+        assertThat(check(IncrementalCheckScope.FULL).isConsistent()).isFalse();
+    }
+
+    @Test
+    void shouldCollectEntitiesTouchedByTransactionsFromLog() throws Exception {
+        createGraph();
+        long lastCommittedBefore = db.getDependencyResolver()
+                .resolveDependency(TransactionIdStore.class)
+                .getLastCommittedTransactionId();
+        long touched = nodeIds.get(2_900);
+        try (var tx = db.beginTx()) {
+            tx.getNodeById(touched).setProperty("touched", true);
+            tx.getNodeById(touched).createRelationshipTo(tx.getNodeById(nodeIds.get(1)), TYPE);
+            tx.commit();
+        }
+        corruptNode(touched);
+        corruptNode(nodeIds.get(1_500));
+
+        IncrementalCheckScope.Builder builder = new IncrementalCheckScope.Builder();
+        try (var batches = db.getDependencyResolver()
+                .resolveDependency(LogicalTransactionStore.class)
+                .getCommandBatches(lastCommittedBefore + 1)) {
+            while (batches.next()) {
+                CommittedCommandBatch batch = batches.get();
+                batch.commandBatch().accept(command -> {
+                    builder.collect(command);
+                    return false;
+                });
+            }
+        }
+
+        long inconsistencies = check(builder.build(neoStores, contextFactory())).getTotalInconsistencyCount();
+        // Only the touched node is reported, the other corrupt node is outside of the scope
+        long touchedNodeInconsistencies = check(
+                        new IncrementalCheckScope.Builder().node(touched).build(neoStores, contextFactory()))
+                .getTotalInconsistencyCount();
+        assertThat(inconsistencies).isGreaterThan(0).isEqualTo(touchedNodeInconsistencies);
+        assertThat(check(IncrementalCheckScope.FULL).getTotalInconsistencyCount())
+                .isGreaterThan(inconsistencies);
+    }
+
+    private void corruptNode(long nodeId) {
+        NodeRecord record = nodeStore.newRecord();
+        try (var cursor = nodeStore.openPageCursorForReading(nodeId, NULL_CONTEXT)) {
+            nodeStore.getRecordByCursor(nodeId, record, RecordLoad.NORMAL, cursor);
+        }
+        record.setNextProp(propertyStore.getIdGenerator().getHighId() + 10);
+        try (var storeCursor = storeCursors.writeCursor(NODE_CURSOR)) {
+            nodeStore.updateRecord(record, storeCursor, NULL_CONTEXT, storeCursors);
+        }
+    }
+
+    private ConsistencySummaryStatistics check(IncrementalCheckScope scope) throws Exception {
+        var dependencies = db.getDependencyResolver();
+        dependencies.resolveDependency(CheckPointer.class).forceCheckPoint(new SimpleTriggerInfo("Incremental check"));
+        ConsistencySummaryStatistics summary = new ConsistencySummaryStatistics();
+        try (RecordStorageConsistencyChecker checker = new RecordStorageConsistencyChecker(
+                dependencies.resolveDependency(FileSystemAbstraction.class),
+                RecordDatabaseLayout.convert(db.databaseLayout()),
+                dependencies.resolveDependency(PageCache.class),
+                neoStores,
+                dependencies.resolveDependency(IndexProviderMap.class),
+                dependencies.resolveDependency(IdGeneratorFactory.class),
+                summary,
+                ProgressMonitorFactory.NONE,
+                Config.defaults(),
+                NUMBER_OF_THREADS,
+                NullLog.getInstance(),
+                NullLog.getInstance(),
+                false,
+                ConsistencyFlags.DEFAULT,
+                EntityBasedMemoryLimiter.defaultMemoryLimiter(Long.MAX_VALUE / 2),
+                INSTANCE,
+                contextFactory(),
+                PageCacheTracer.NULL,
+                scope)) {
+            checker.check();
+        }
+        return summary;
+    }
+
+    private static CursorContextFactory contextFactory() {
+        return new CursorContextFactory(PageCacheTracer.NULL, EMPTY_CONTEXT_SUPPLIER);
+    }
+}
@@ -533,6 +533,24 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .addConstraint(min(0))
             .build();
 
+    @Internal
+    @Description("Set the number of threads used to scan a single range or point index when sampling it. "
+            + "The index is split into partitions that are scanned in parallel.")
+    public static final Setting<Integer> index_sampling_workers = newBuilder(
+                    "internal.dbms.index_sampling.workers", INT, 1)
+            .addConstraint(min(1))
+            .dynamic()
+            .build();
+
+    @Internal
+    @Description("Fraction of a range or point index that is read when sampling it. A value below 1.0 reads evenly "
+            + "spread partitions of the index only, which makes the sampled index size and selectivity estimates.")
+    public static final Setting<Double> index_sampling_sample_fraction = newBuilder(
+                    "internal.dbms.index_sampling.sample_fraction", DOUBLE, 1.0D)
+            .addConstraint(range(0.0001D, 1.0D))
+            .dynamic()
+            .build();
+
     @Internal
     @Description("Set the maximum number of concurrent index populations across system. "
             + "This also limit the number of threads used to scan store. "
@@ -556,6 +574,45 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .addConstraint(min(0))
             .build();
 
+    @Internal
+    @Description("Set the number of threads used by db.schema.nodeTypeProperties and db.schema.relTypeProperties "
+            + "to scan the store in partitions. The threads are shared by all calls to these procedures.")
+    public static final Setting<Integer> schema_calculation_workers = newBuilder(
+                    "internal.dbms.schema_calculation.workers",
+                    INT,
+                    Integer.max(1, Runtime.getRuntime().availableProcessors() / 4))
+            .addConstraint(min(1))
+            .build();
+
+    @Internal
+    @Description("Fraction of the node and relationship stores read by db.schema.nodeTypeProperties and "
+            + "db.schema.relTypeProperties. A value below 1.0 reads evenly spread store partitions only, which makes "
+            + "the reported property types and mandatory flags estimates.")
+    public static final Setting<Double> schema_calculation_sample_fraction = newBuilder(
+                    "internal.dbms.schema_calculation.sample_fraction", DOUBLE, 1.0D)
+            .addConstraint(range(0.0001D, 1.0D))
+            .dynamic()
+            .build();
+
+    @Internal
+    @Description("Set the number of threads used by db.export.nodes and db.export.relationships to scan the store in "
+            + "partitions. Each thread writes its own file. The threads are shared by all calls to these procedures.")
+    public static final Setting<Integer> columnar_export_workers = newBuilder(
+                    "internal.dbms.columnar_export.workers",
+                    INT,
+                    Integer.max(1, Runtime.getRuntime().availableProcessors() / 4))
+            .addConstraint(min(1))
+            .build();
+
+    @Internal
+    @Description("Directory that db.export.nodes and db.export.relationships write their files to. File names given "
+            + "to the procedures are resolved against this directory and may not point outside of it.")
+    public static final Setting<Path> columnar_export_dir = newBuilder(
+                    "internal.server.directories.export", PATH, Path.of("export"))
+            .setDependency(GraphDatabaseSettings.neo4j_home)
+            .immutable()
+            .build();
+
     @Internal
     @Description("If 'true', new database will be created without token indexes for labels and relationships.")
     public static final Setting<Boolean> skip_default_indexes_on_creation = newBuilder(
@@ -1017,6 +1074,21 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.dbms.parallel_index_updates_apply", BOOL, false)
             .build();
 
+    @Description("Whether or not to apply transactions committed together in one batch to the store in parallel. "
+            + "Transactions touching the same entities are still applied in commit order and batches containing "
+            + "schema, token or version upgrade changes are always applied sequentially")
+    @Internal
+    public static final Setting<Boolean> parallel_batch_apply =
+            newBuilder("internal.dbms.parallel_batch_apply", BOOL, false).build();
+
+    @Description("Whether or not to maintain a store with the degree of every node per relationship type and "
+            + "direction, so that degree lookups on sparse nodes don't have to traverse their relationship chains. "
+            + "The store is rebuilt from the relationship store when it's missing or out of date. "
+            + "Not supported for the multi-version format")
+    @Internal
+    public static final Setting<Boolean> node_degrees_store =
+            newBuilder("internal.dbms.node_degrees_store", BOOL, false).build();
+
     @Description("Whether to offload buffered IDs for freeing to disk, rather than to keep them in memory")
     @Internal
     public static final Setting<Boolean> buffered_ids_offload =
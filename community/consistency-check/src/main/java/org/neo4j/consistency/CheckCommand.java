@@ -83,6 +83,14 @@ public class CheckCommand extends AbstractAdminCommand {
     @Mixin
     private ConsistencyCheckOptions options;
 
+    @Option(
+            names = "--incremental-after-transaction",
+            paramLabel = "<transaction id>",
+            description = "Only check the parts of the database touched by the transactions committed after the given "
+                    + "transaction. These transactions have to be available in the transaction logs. Counts, id "
+                    + "generators and index structures are not checked in this mode.")
+    private Long incrementalAfterTransaction;
+
     @ArgGroup
     private SourceOptions sourceOptions;
 
@@ -183,8 +191,10 @@ public class CheckCommand extends AbstractAdminCommand {
             try (var ignored = LockChecker.checkDatabaseLock(layout)) {
                 checkDbState(ctx.fs(), layout, config, memoryTracker);
                 try (var logProvider = Util.configuredLogProvider(ctx.out(), verbose)) {
-                    return consistencyCheckService
-                            .with(layout)
+                    var service = incrementalAfterTransaction != null
+                            ? consistencyCheckService.withIncrementalCheckAfter(incrementalAfterTransaction)
+                            : consistencyCheckService;
+                    return service.with(layout)
                             .with(config)
                             .with(ctx.out())
                             .with(logProvider)
@@ -33,6 +33,7 @@ import static org.neo4j.logging.log4j.LogConfig.createLoggerFromXmlConfig;
 import static org.neo4j.logging.log4j.LogUtils.newLoggerBuilder;
 import static org.neo4j.logging.log4j.LogUtils.newTemporaryXmlConfigBuilder;
 import static org.neo4j.logging.log4j.LoggerTarget.ROOT_LOGGER;
+import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_ID;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -66,6 +67,7 @@ import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
 import org.neo4j.kernel.impl.index.schema.ConsistencyCheckable;
 import org.neo4j.kernel.impl.pagecache.ConfiguringPageCacheFactory;
 import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory;
+import org.neo4j.kernel.impl.transaction.log.ReadOnlyTransactionStore;
 import org.neo4j.kernel.impl.transaction.state.StaticIndexProviderMapFactory;
 import org.neo4j.kernel.lifecycle.Lifespan;
 import org.neo4j.kernel.recovery.LogTailExtractor;
@@ -81,12 +83,14 @@ import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.memory.MemoryPools;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.Monitors;
+import org.neo4j.storageengine.api.CommandStream;
 import org.neo4j.storageengine.api.StorageEngineFactory;
 import org.neo4j.time.Clocks;
 
 public class ConsistencyCheckService {
     private static final long DEFAULT_SMALL_MAX_OFF_HEAP_MEMORY = mebiBytes(80);
     private static final long MIN_OFF_HEAP_CACHING_MEMORY = mebiBytes(8);
+    private static final long CHECK_WHOLE_STORE = -1;
 
     private final Date timestamp;
     private final DatabaseLayout layout;
@@ -103,6 +107,7 @@ public class ConsistencyCheckService {
     private final MemoryTracker memoryTracker;
     private final long maxOffHeapMemory;
     private final int numberOfThreads;
+    private final long incrementalCheckAfter;
 
     public ConsistencyCheckService(DatabaseLayout layout) {
         this(
@@ -120,7 +125,8 @@ public class ConsistencyCheckService {
                 new CursorContextFactory(PageCacheTracer.NULL, EMPTY_CONTEXT_SUPPLIER),
                 EmptyMemoryTracker.INSTANCE,
                 DEFAULT_SMALL_MAX_OFF_HEAP_MEMORY,
-                Runtime.getRuntime().availableProcessors());
+                Runtime.getRuntime().availableProcessors(),
+                CHECK_WHOLE_STORE);
     }
 
     private ConsistencyCheckService(
@@ -138,7 +144,8 @@ public class ConsistencyCheckService {
             CursorContextFactory contextFactory,
             MemoryTracker memoryTracker,
             long maxOffHeapMemory,
-            int numberOfThreads) {
+            int numberOfThreads,
+            long incrementalCheckAfter) {
         this.timestamp = timestamp;
         this.layout = layout;
         this.config = config;
@@ -154,6 +161,7 @@ public class ConsistencyCheckService {
         this.memoryTracker = memoryTracker;
         this.maxOffHeapMemory = maxOffHeapMemory;
         this.numberOfThreads = numberOfThreads;
+        this.incrementalCheckAfter = incrementalCheckAfter;
     }
 
     public ConsistencyCheckService with(CursorContextFactory contextFactory) {
@@ -172,7 +180,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(Date timestamp) {
@@ -191,7 +200,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(DatabaseLayout layout) {
@@ -210,7 +220,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(Config config) {
@@ -229,7 +240,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(OutputStream progressOutput) {
@@ -248,7 +260,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(InternalLogProvider logProvider) {
@@ -267,7 +280,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(FileSystemAbstraction fileSystem) {
@@ -286,7 +300,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(PageCache pageCache) {
@@ -305,7 +320,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService verbose(boolean verbose) {
@@ -324,7 +340,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(Path reportPath) {
@@ -343,7 +360,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(ConsistencyFlags consistencyFlags) {
@@ -362,7 +380,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(PageCacheTracer pageCacheTracer) {
@@ -381,7 +400,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService with(MemoryTracker memoryTracker) {
@@ -400,7 +420,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService withMaxOffHeapMemory(long maxOffHeapMemory) {
@@ -419,7 +440,8 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
     }
 
     public ConsistencyCheckService withNumberOfThreads(int numberOfThreads) {
@@ -438,7 +460,33 @@ public class ConsistencyCheckService {
                 contextFactory,
                 memoryTracker,
                 maxOffHeapMemory,
-                numberOfThreads);
+                numberOfThreads,
+                incrementalCheckAfter);
+    }
+
+    /**
+     * Limits the check to the parts of the store touched by the transactions committed after the given transaction,
+     * which all have to be available in the transaction logs. Checks that are global by nature, like the counts
+     * store, id generators and index structures, are skipped.
+     */
+    public ConsistencyCheckService withIncrementalCheckAfter(long transactionId) {
+        return new ConsistencyCheckService(
+                timestamp,
+                layout,
+                config,
+                progressOutput,
+                logProvider,
+                fileSystem,
+                pageCache,
+                verbose,
+                reportPath,
+                consistencyFlags,
+                pageCacheTracer,
+                contextFactory,
+                memoryTracker,
+                maxOffHeapMemory,
+                numberOfThreads,
+                transactionId);
     }
 
     public Result runFullConsistencyCheck() throws ConsistencyCheckIncompleteException {
@@ -560,6 +608,23 @@ public class ConsistencyCheckService {
 
             final var logTailExtractor =
                     new LogTailExtractor(fileSystem, pageCache, config, storageEngineFactory, DatabaseTracers.EMPTY);
+            final var logTail = logTailExtractor.getTailMetadata(databaseLayout, memoryTracker);
+            CommandStream incrementalCommands = null;
+            if (incrementalCheckAfter != CHECK_WHOLE_STORE) {
+                // The store is recovered, so the last checkpoint is at the last committed transaction
+                final var lastTransactionId = logTail.getLastCheckPoint()
+                        .map(checkpoint -> checkpoint.transactionId().transactionId())
+                        .orElse(BASE_TX_ID);
+                final var transactionStore = life.add(new ReadOnlyTransactionStore(
+                        pageCache,
+                        fileSystem,
+                        databaseLayout,
+                        config,
+                        monitors,
+                        storageEngineFactory.commandReaderFactory()));
+                incrementalCommands =
+                        new TransactionLogCommandStream(transactionStore, incrementalCheckAfter, lastTransactionId);
+            }
 
             storageEngineFactory.consistencyCheck(
                     fileSystem,
@@ -577,7 +642,8 @@ public class ConsistencyCheckService {
                     consistencyFlags,
                     contextFactory,
                     pageCacheTracer,
-                    logTailExtractor.getTailMetadata(databaseLayout, memoryTracker));
+                    logTail,
+                    incrementalCommands);
 
             if (!summary.isConsistent()) {
                 reportLog.warn("Inconsistencies found: " + summary);
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.consistency;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import org.neo4j.internal.helpers.collection.PrefetchingIterator;
+import org.neo4j.internal.helpers.collection.Visitor;
+import org.neo4j.kernel.impl.transaction.log.CommandBatchCursor;
+import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
+import org.neo4j.storageengine.api.CommandStream;
+import org.neo4j.storageengine.api.StorageCommand;
+
+/**
+ * The commands of all transactions in the transaction log after a given transaction up to and including the last
+ * committed transaction, read from the log every time the stream is visited.
+ */
+class TransactionLogCommandStream implements CommandStream {
+    private final LogicalTransactionStore transactionStore;
+    private final long afterTransactionId;
+    private final long lastTransactionId;
+
+    TransactionLogCommandStream(
+            LogicalTransactionStore transactionStore, long afterTransactionId, long lastTransactionId) {
+        this.transactionStore = transactionStore;
+        this.afterTransactionId = afterTransactionId;
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    @Override
+    public boolean accept(Visitor<StorageCommand, IOException> visitor) throws IOException {
+        if (afterTransactionId >= lastTransactionId) {
+            return false;
+        }
+        try (CommandBatchCursor batches = transactionStore.getCommandBatches(afterTransactionId + 1)) {
+            while (batches.next()) {
+                if (batches.get().commandBatch().accept(visitor)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<StorageCommand> iterator() {
+        if (afterTransactionId >= lastTransactionId) {
+            return Collections.emptyIterator();
+        }
+        return new PrefetchingIterator<>() {
+            private CommandBatchCursor batches;
+            private Iterator<StorageCommand> commands = Collections.emptyIterator();
+
+            @Override
+            protected StorageCommand fetchNextOrNull() {
+                try {
+                    if (batches == null) {
+                        batches = transactionStore.getCommandBatches(afterTransactionId + 1);
+                    }
+                    while (!commands.hasNext()) {
+                        if (!batches.next()) {
+                            batches.close();
+                            return null;
+                        }
+                        commands = batches.get().commandBatch().iterator();
+                    }
+                    return commands.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+}
@@ -22,6 +22,9 @@ package org.neo4j.csv.reader;
 import static org.neo4j.csv.reader.ThreadAheadReadable.threadAhead;
 
 import java.io.FileReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 
 /**
  * Factory for common {@link CharSeeker} implementations.
@@ -67,4 +70,17 @@ public final class CharSeekers {
                 .build();
         return charSeeker(reader, config, readAhead);
     }
+
+    /**
+     * Instantiates a {@link Utf8CharSeeker} reading the UTF-8 encoded file at the given path. The file is read
+     * and scanned as bytes, so it must not be compressed and the delimiter and quotation character must be ASCII.
+     *
+     * @param path the uncompressed UTF-8 encoded file to read.
+     * @param config {@link Configuration} for the resulting {@link CharSeeker}.
+     * @return a {@link CharSeeker} reading bytes directly from the file.
+     * @throws IOException if the file couldn't be opened.
+     */
+    public static CharSeeker utf8CharSeeker(Path path, Configuration config) throws IOException {
+        return new Utf8CharSeeker(FileChannel.open(path), path.toAbsolutePath().toString(), config);
+    }
 }
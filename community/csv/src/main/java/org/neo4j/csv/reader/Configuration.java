@@ -33,6 +33,11 @@ public class Configuration {
 
     public static final boolean DEFAULT_LEGACY_STYLE_QUOTING = false;
 
+    public static final int DEFAULT_DECOMPRESSION_WORKERS =
+            Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    public static final boolean DEFAULT_UTF8_BYTE_SEEKING = false;
+
     private final char quotationCharacter;
     private final char delimiter;
     private final char arrayDelimiter;
@@ -41,6 +46,8 @@ public class Configuration {
     private final boolean trimStrings;
     private final boolean emptyQuotedStringsAsNull;
     private final boolean legacyStyleQuoting;
+    private final int decompressionWorkers;
+    private final boolean utf8ByteSeeking;
 
     private Configuration(Builder b) {
         this.quotationCharacter = b.quotationCharacter;
@@ -51,6 +58,8 @@ public class Configuration {
         this.trimStrings = b.trimStrings;
         this.emptyQuotedStringsAsNull = b.emptyQuotedStringsAsNull;
         this.legacyStyleQuoting = b.legacyStyleQuoting;
+        this.decompressionWorkers = b.decompressionWorkers;
+        this.utf8ByteSeeking = b.utf8ByteSeeking;
     }
 
     public char quotationCharacter() {
@@ -106,6 +115,24 @@ public class Configuration {
         return legacyStyleQuoting;
     }
 
+    /**
+     * Number of threads decompressing frames of an input file in parallel, for compressed files made up of
+     * independently compressed frames, i.e. BGZF-style gzip or zstd. This is separate from the number of
+     * processors used for parsing the data.
+     */
+    public int decompressionWorkers() {
+        return decompressionWorkers;
+    }
+
+    /**
+     * Whether or not data is parsed as UTF-8 bytes by {@link Utf8CharSeeker}, so that uncompressed UTF-8 encoded
+     * files are never decoded into characters. Requires the delimiter and quotation character to be ASCII
+     * characters. Doesn't apply to {@link #multilineFields() multi-line fields}.
+     */
+    public boolean utf8ByteSeeking() {
+        return utf8ByteSeeking;
+    }
+
     public Builder toBuilder() {
         return new Builder()
                 .withQuotationCharacter(quotationCharacter)
@@ -115,7 +142,9 @@ public class Configuration {
                 .withMultilineFields(multilineFields)
                 .withTrimStrings(trimStrings)
                 .withEmptyQuotedStringsAsNull(emptyQuotedStringsAsNull)
-                .withLegacyStyleQuoting(legacyStyleQuoting);
+                .withLegacyStyleQuoting(legacyStyleQuoting)
+                .withDecompressionWorkers(decompressionWorkers)
+                .withUtf8ByteSeeking(utf8ByteSeeking);
     }
 
     public static Builder newBuilder() {
@@ -131,6 +160,8 @@ public class Configuration {
         private boolean trimStrings;
         private boolean emptyQuotedStringsAsNull;
         private boolean legacyStyleQuoting = DEFAULT_LEGACY_STYLE_QUOTING;
+        private int decompressionWorkers = DEFAULT_DECOMPRESSION_WORKERS;
+        private boolean utf8ByteSeeking = DEFAULT_UTF8_BYTE_SEEKING;
 
         public Builder withQuotationCharacter(char quotationCharacter) {
             this.quotationCharacter = quotationCharacter;
@@ -172,6 +203,16 @@ public class Configuration {
             return this;
         }
 
+        public Builder withDecompressionWorkers(int decompressionWorkers) {
+            this.decompressionWorkers = decompressionWorkers;
+            return this;
+        }
+
+        public Builder withUtf8ByteSeeking(boolean utf8ByteSeeking) {
+            this.utf8ByteSeeking = utf8ByteSeeking;
+            return this;
+        }
+
         public Configuration build() {
             return new Configuration(this);
         }
@@ -35,12 +35,14 @@ import static org.neo4j.internal.helpers.Numbers.safeCastLongToShort;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -389,6 +391,14 @@ public class Extractors {
             }
             return new String(data, offset, length);
         }
+
+        String extractUtf8(byte[] data, int offset, int length, boolean hadQuotes) {
+            if (length == 0 && (!hadQuotes || emptyStringsAsNull)) {
+                return null;
+            }
+            requireValidUtf8(data, offset, length);
+            return new String(data, offset, length, StandardCharsets.UTF_8);
+        }
     }
 
     public static class LongExtractor extends AbstractExtractor<Long> {
@@ -1043,6 +1053,14 @@ public class Extractors {
             }
             return Values.utf8Value(new String(data, offset, length));
         }
+
+        Value extractUtf8(byte[] data, int offset, int length, boolean hadQuotes) {
+            if (length == 0 && (!hadQuotes || emptyStringsAsNull)) {
+                return Values.NO_VALUE;
+            }
+            requireValidUtf8(data, offset, length);
+            return Values.utf8Value(Arrays.copyOfRange(data, offset, offset + length));
+        }
     }
 
     public static class DurationArrayExtractor extends ArrayAnyValueExtractor<DurationArray> {
@@ -1152,4 +1170,64 @@ public class Extractors {
 
         return true;
     }
+
+    /**
+     * Verifies that the given bytes are well-formed UTF-8, i.e. contain no stray continuation bytes, truncated or
+     * overlong sequences, surrogates or code points above U+10FFFF. Values made straight from UTF-8 bytes, without
+     * going through a decoder, would otherwise carry such bytes into the store.
+     *
+     * @throws IllegalArgumentException if the bytes aren't well-formed UTF-8.
+     */
+    static void requireValidUtf8(byte[] data, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            int b = data[i];
+            if (b >= 0) { // ASCII
+                i++;
+                continue;
+            }
+            int lead = b & 0xFF;
+            int sequenceLength;
+            int min = 0x80;
+            int max = 0xBF;
+            if (lead >= 0xC2 && lead <= 0xDF) {
+                sequenceLength = 2;
+            } else if (lead >= 0xE0 && lead <= 0xEF) {
+                sequenceLength = 3;
+                if (lead == 0xE0) { // overlong
+                    min = 0xA0;
+                } else if (lead == 0xED) { // surrogates
+                    max = 0x9F;
+                }
+            } else if (lead >= 0xF0 && lead <= 0xF4) {
+                sequenceLength = 4;
+                if (lead == 0xF0) { // overlong
+                    min = 0x90;
+                } else if (lead == 0xF4) { // above U+10FFFF
+                    max = 0x8F;
+                }
+            } else {
+                throw invalidUtf8(data, offset, length, i);
+            }
+            if (i + sequenceLength > end) {
+                throw invalidUtf8(data, offset, length, i);
+            }
+            int second = data[i + 1] & 0xFF;
+            if (second < min || second > max) {
+                throw invalidUtf8(data, offset, length, i);
+            }
+            for (int j = 2; j < sequenceLength; j++) {
+                if ((data[i + j] & 0xC0) != 0x80) {
+                    throw invalidUtf8(data, offset, length, i);
+                }
+            }
+            i += sequenceLength;
+        }
+    }
+
+    private static IllegalArgumentException invalidUtf8(byte[] data, int offset, int length, int position) {
+        return new IllegalArgumentException("Invalid UTF-8 byte sequence at byte " + (position - offset) + " of \""
+                + new String(data, offset, length, StandardCharsets.UTF_8) + "\"");
+    }
 }
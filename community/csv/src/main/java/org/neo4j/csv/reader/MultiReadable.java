@@ -22,6 +22,11 @@ package org.neo4j.csv.reader;
 import static org.neo4j.csv.reader.BufferedCharSeeker.isEolChar;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import org.neo4j.collection.RawIterator;
 
 /**
@@ -32,6 +37,8 @@ import org.neo4j.collection.RawIterator;
  * Newline will be injected in between two sources, even if the former doesn't end with such. This to not have the
  * last line in the former and first in the latter to look like one long line, if reading characters off of this
  * reader character by character (w/o knowing that there are multiple sources underneath).
+ *
+ * The sources can also be read as UTF-8 encoded bytes using {@link #readUtf8(byte[], int, int)}.
  */
 public class MultiReadable implements CharReadable {
     private final RawIterator<CharReadable, IOException> actual;
@@ -41,6 +48,12 @@ public class MultiReadable implements CharReadable {
     private long previousPosition;
     private float previousCompressionRatio = 1f;
 
+    // Used by readUtf8 for sources which can't hand out their bytes as they are
+    private CharsetEncoder encoder;
+    private CharBuffer charsToEncode;
+    private ByteBuffer encodedBytes;
+    private boolean currentSourceEnded;
+
     public MultiReadable(RawIterator<CharReadable, IOException> readers) {
         this.actual = readers;
     }
@@ -83,6 +96,12 @@ public class MultiReadable implements CharReadable {
             }
             closeCurrent();
             current = actual.next();
+            currentSourceEnded = false;
+            if (encoder != null) {
+                encoder.reset();
+                charsToEncode.clear().flip();
+                encodedBytes.clear().flip();
+            }
             return true;
         }
         return false;
@@ -150,6 +169,80 @@ public class MultiReadable implements CharReadable {
         return totalRead;
     }
 
+    /**
+     * Reads UTF-8 encoded bytes, with the same source separation and newline injection as
+     * {@link #read(char[], int, int)} has for characters. Sources which are {@link Utf8FileReadable} hand out
+     * their bytes as they are, the characters of other sources are encoded.
+     *
+     * @param into byte array to read into.
+     * @param offset offset into the array to start reading into.
+     * @param length number of bytes to read.
+     * @return number of bytes read, less than {@code length} if the end of a source was reached.
+     * @throws IOException on I/O error.
+     */
+    public int readUtf8(byte[] into, int offset, int length) throws IOException {
+        int totalRead = 0;
+        while (totalRead < length) {
+            int read = readUtf8FromCurrent(into, offset + totalRead, length - totalRead);
+            if (read == -1) {
+                if (totalRead > 0) {
+                    // Same as for characters, don't mix multiple sources into the same read
+                    return totalRead;
+                }
+
+                if (!goToNextSource()) {
+                    break;
+                }
+
+                if (requiresNewLine) {
+                    into[offset + totalRead] = '\n';
+                    totalRead++;
+                    requiresNewLine = false;
+                }
+            } else if (read > 0) {
+                totalRead += read;
+                requiresNewLine = !isEolChar((char) into[offset + totalRead - 1]);
+            }
+        }
+        return totalRead;
+    }
+
+    private int readUtf8FromCurrent(byte[] into, int offset, int length) throws IOException {
+        if (current instanceof Utf8FileReadable utf8) {
+            return utf8.read(into, offset, length);
+        }
+
+        if (encoder == null) {
+            encoder = StandardCharsets.UTF_8
+                    .newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            charsToEncode = CharBuffer.allocate(4096).flip();
+            encodedBytes = ByteBuffer.allocate(4096 * 3).flip();
+        }
+        while (!encodedBytes.hasRemaining()) {
+            if (currentSourceEnded) {
+                return -1;
+            }
+            charsToEncode.compact();
+            int read = current.read(charsToEncode.array(), charsToEncode.position(), charsToEncode.remaining());
+            if (read > 0) {
+                charsToEncode.position(charsToEncode.position() + read);
+            }
+            currentSourceEnded = read <= 0;
+            charsToEncode.flip();
+            encodedBytes.clear();
+            encoder.encode(charsToEncode, encodedBytes, currentSourceEnded);
+            if (currentSourceEnded) {
+                encoder.flush(encodedBytes);
+            }
+            encodedBytes.flip();
+        }
+        int read = Math.min(length, encodedBytes.remaining());
+        encodedBytes.get(into, offset, read);
+        return read;
+    }
+
     @Override
     public long length() {
         return current.length();
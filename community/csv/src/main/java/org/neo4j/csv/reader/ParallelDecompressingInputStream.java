@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.csv.reader;
+
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_BYTE_ARRAY;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.neo4j.internal.helpers.NamedThreadFactory;
+
+/**
+ * An {@link InputStream} over a compressed file which consists of many independently compressed frames,
+ * like BGZF-style gzip (a series of gzip members which each declare their compressed size in a header extra field)
+ * or zstd files with multiple frames (like the seekable zstd format). Frames are read sequentially by the reading
+ * thread and handed over to a pool of decompression workers, keeping a window of frames in flight such that
+ * decompressed data is available when the reader gets to it. Decompressed frames are handed out in file order.
+ * <p>
+ * A single-frame zstd file is still read correctly, just without any parallelism.
+ */
+class ParallelDecompressingInputStream extends InputStream {
+    private static final int FRAMES_IN_FLIGHT_PER_WORKER = 2;
+
+    private final FileChannel channel;
+    private final Format format;
+    private final ExecutorService executor;
+    private final int maxFramesInFlight;
+    private final long fileSize;
+    private final ArrayDeque<PendingFrame> pending = new ArrayDeque<>();
+    private long readPosition;
+    private long consumedCompressedBytes;
+    private byte[] current = EMPTY_BYTE_ARRAY;
+    private int currentPosition;
+
+    ParallelDecompressingInputStream(FileChannel channel, Format format, int workers, String sourceDescription)
+            throws IOException {
+        this.channel = channel;
+        this.format = format;
+        this.executor = Executors.newFixedThreadPool(
+                workers, new NamedThreadFactory("csv-decompression-" + sourceDescription, true));
+        this.maxFramesInFlight = workers * FRAMES_IN_FLIGHT_PER_WORKER;
+        this.fileSize = channel.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current[currentPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] into, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int toCopy = Math.min(length, current.length - currentPosition);
+        System.arraycopy(current, currentPosition, into, offset, toCopy);
+        currentPosition += toCopy;
+        return toCopy;
+    }
+
+    @Override
+    public int available() {
+        return current.length - currentPosition;
+    }
+
+    /**
+     * @return number of compressed bytes of the frames that have been handed out so far, used for estimating
+     * the compression ratio.
+     */
+    long compressedBytesRead() {
+        return consumedCompressedBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        channel.close();
+    }
+
+    private boolean ensureData() throws IOException {
+        while (currentPosition == current.length) {
+            scheduleFrames();
+            PendingFrame frame = pending.poll();
+            if (frame == null) {
+                return false;
+            }
+            current = await(frame.decompressed());
+            currentPosition = 0;
+            consumedCompressedBytes += frame.compressedLength();
+        }
+        return true;
+    }
+
+    private void scheduleFrames() throws IOException {
+        while (pending.size() < maxFramesInFlight && readPosition < fileSize) {
+            int frameLength = format.frameLength(channel, readPosition);
+            byte[] frame = new byte[frameLength];
+            readFully(channel, ByteBuffer.wrap(frame), readPosition);
+            readPosition += frameLength;
+            pending.add(new PendingFrame(executor.submit(() -> format.decompress(frame)), frameLength));
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a frame to be decompressed");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Failed to decompress frame", e.getCause());
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read == -1) {
+                throw new EOFException("Unexpected end of file, compressed frame is truncated");
+            }
+            position += read;
+        }
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, buffer, position);
+        return buffer.flip();
+    }
+
+    private record PendingFrame(Future<byte[]> decompressed, int compressedLength) {}
+
+    /**
+     * Knows how to find the boundaries of frames in a compressed file and how to decompress a single frame.
+     */
+    interface Format {
+        /**
+         * @return length, in bytes, of the compressed frame starting at {@code position} in the channel.
+         */
+        int frameLength(FileChannel channel, long position) throws IOException;
+
+        /**
+         * @return the decompressed data of a whole frame, as previously found by {@link #frameLength(FileChannel, long)}.
+         */
+        byte[] decompress(byte[] frame) throws IOException;
+    }
+
+    /**
+     * Blocked gzip, as produced by f.ex. {@code bgzip}: gzip members which all have a "BC" extra field holding the
+     * compressed size of the member. Any gzip reader can read these files since they're just multi-member gzip.
+     */
+    static final Format BGZF = new Format() {
+        private static final int FIXED_HEADER_LENGTH = 12;
+        private static final int TRAILER_LENGTH = 8;
+        private static final int FLAG_EXTRA = 0x04;
+
+        @Override
+        public int frameLength(FileChannel channel, long position) throws IOException {
+            ByteBuffer header = readHeader(channel, position, FIXED_HEADER_LENGTH);
+            int extraLength = extraLength(header);
+            if (extraLength < 0) {
+                throw new IOException("Not a BGZF block at position " + position);
+            }
+            ByteBuffer extra = readHeader(channel, position + FIXED_HEADER_LENGTH, extraLength);
+            int blockSize = blockSize(extra);
+            if (blockSize < 0) {
+                throw new IOException("BGZF block at position " + position + " is missing its block size");
+            }
+            if (blockSize < FIXED_HEADER_LENGTH + extraLength + TRAILER_LENGTH) {
+                throw new IOException("BGZF block at position " + position + " has invalid block size " + blockSize);
+            }
+            return blockSize;
+        }
+
+        @Override
+        public byte[] decompress(byte[] frame) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+            int dataOffset = FIXED_HEADER_LENGTH + (buffer.getShort(10) & 0xFFFF);
+            int trailerOffset = frame.length - 8;
+            int expectedCrc = buffer.getInt(trailerOffset);
+            byte[] data = new byte[buffer.getInt(trailerOffset + 4)];
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(frame, dataOffset, trailerOffset - dataOffset);
+                int inflated = 0;
+                while (inflated < data.length && !inflater.finished()) {
+                    int n = inflater.inflate(data, inflated, data.length - inflated);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    inflated += n;
+                }
+                if (inflated != data.length) {
+                    throw new IOException(
+                            "BGZF block decompressed into " + inflated + " bytes, expected " + data.length);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt BGZF block", e);
+            } finally {
+                inflater.end();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("CRC mismatch in BGZF block");
+            }
+            return data;
+        }
+
+        /**
+         * @return length of the extra field, or -1 if the header isn't that of a gzip member with an extra field.
+         */
+        private static int extraLength(ByteBuffer header) {
+            if ((header.get(0) & 0xFF) != 0x1f
+                    || (header.get(1) & 0xFF) != 0x8b
+                    || header.get(2) != 8 /*deflate*/
+                    || (header.get(3) & FLAG_EXTRA) == 0) {
+                return -1;
+            }
+            return header.getShort(10) & 0xFFFF;
+        }
+
+        /**
+         * @return the total compressed size of the block, read from the "BC" subfield, or -1 if there's no such
+         * subfield.
+         */
+        private static int blockSize(ByteBuffer extra) {
+            while (extra.remaining() >= 4) {
+                int id1 = extra.get() & 0xFF;
+                int id2 = extra.get() & 0xFF;
+                int length = extra.getShort() & 0xFFFF;
+                if (id1 == 'B' && id2 == 'C' && length == 2 && extra.remaining() >= 2) {
+                    return (extra.getShort() & 0xFFFF) + 1;
+                }
+                extra.position(Math.min(extra.limit(), extra.position() + length));
+            }
+            return -1;
+        }
+    };
+
+    /**
+     * Zstandard, where each frame is decompressed separately. Skippable frames, like the seek table of the seekable
+     * zstd format, are skipped.
+     */
+    static final Format ZSTD = new Format() {
+        private static final int MAGIC = 0xFD2FB528;
+        private static final int SKIPPABLE_MAGIC = 0x184D2A50;
+        private static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+        private static final int[] DICTIONARY_ID_SIZES = {0, 1, 2, 4};
+        private static final int[] CONTENT_SIZE_SIZES = {0, 2, 4, 8};
+        private static final int BLOCK_TYPE_RLE = 1;
+        private static final int BLOCK_TYPE_RESERVED = 3;
+
+        @Override
+        public int frameLength(FileChannel channel, long position) throws IOException {
+            ByteBuffer magicAndDescriptor = readHeader(channel, position, 5);
+            int magic = magicAndDescriptor.getInt();
+            if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC) {
+                return skippableLength(channel, position);
+            }
+            if (magic != MAGIC) {
+                throw new IOException("Not a zstd frame at position " + position);
+            }
+            int descriptor = magicAndDescriptor.get() & 0xFF;
+            boolean singleSegment = (descriptor & 0x20) != 0;
+            boolean checksum = (descriptor & 0x04) != 0;
+            int contentSizeFlag = descriptor >>> 6;
+            int headerLength = 5
+                    + (singleSegment ? 0 : 1)
+                    + DICTIONARY_ID_SIZES[descriptor & 0x03]
+                    + (contentSizeFlag == 0 && singleSegment ? 1 : CONTENT_SIZE_SIZES[contentSizeFlag]);
+
+            long blockPosition = position + headerLength;
+            boolean last;
+            do {
+                ByteBuffer blockHeader = readHeader(channel, blockPosition, 3);
+                int header =
+                        (blockHeader.get() & 0xFF) | (blockHeader.get() & 0xFF) << 8 | (blockHeader.get() & 0xFF) << 16;
+                last = (header & 0x01) != 0;
+                int type = (header >>> 1) & 0x03;
+                if (type == BLOCK_TYPE_RESERVED) {
+                    throw new IOException("Corrupt zstd frame at position " + position);
+                }
+                blockPosition += 3 + (type == BLOCK_TYPE_RLE ? 1 : header >>> 3);
+            } while (!last);
+            long frameLength = blockPosition - position + (checksum ? 4 : 0);
+            return Math.toIntExact(frameLength);
+        }
+
+        @Override
+        public byte[] decompress(byte[] frame) throws IOException {
+            int magic = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC) {
+                return EMPTY_BYTE_ARRAY;
+            }
+            long size = Zstd.decompressedSize(frame);
+            if (size > 0 && size <= Integer.MAX_VALUE) {
+                return Zstd.decompress(frame, (int) size);
+            }
+            try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(frame))) {
+                return in.readAllBytes();
+            }
+        }
+
+        private static int skippableLength(FileChannel channel, long position) throws IOException {
+            return Math.toIntExact(8 + (readHeader(channel, position + 4, 4).getInt() & 0xFFFFFFFFL));
+        }
+    };
+
+    /**
+     * Walks the headers of all members of the file, which is cheap compared to decompressing it since only the
+     * header of each member is read, to make sure that the parallel reader won't run into a member it can't find
+     * the end of. Plain multi-member gzip files, e.g. a BGZF file with a regular gzip file appended to it, are
+     * left for a sequential gzip reader.
+     *
+     * @return whether or not the file at {@code path} is a gzip file where every member is a BGZF block.
+     */
+    static boolean isBgzf(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += BGZF.frameLength(channel, position);
+            }
+            return position == size;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
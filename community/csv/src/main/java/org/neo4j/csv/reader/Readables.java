@@ -31,7 +31,9 @@ import java.io.PushbackInputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -56,7 +58,11 @@ import org.neo4j.function.ThrowingFunction;
  * is important and for a ZIP archive with multiple files, the order of the files are whatever the order
  * set by the tool that created the ZIP archive. Therefore only single-file-zip files are supported.
  * The single file in the given ZIP archive will be decompressed on the fly, while reading.</li>
- * <li>GZIP: is only a compression format and so will be decompressed on the fly, while reading.</li>
+ * <li>GZIP: is only a compression format and so will be decompressed on the fly, while reading.
+ * BGZF-style gzip files, i.e. a series of gzip members which each declare their compressed size, are decompressed
+ * by multiple threads in parallel.</li>
+ * <li>ZSTD: like GZIP, a compression format. Frames are decompressed by multiple threads in parallel, which
+ * makes a difference for files written as many frames, like the seekable zstd format.</li>
  * </ol>
  */
 public class Readables {
@@ -141,9 +147,13 @@ public class Readables {
 
     private static class FromFile implements IOFunction<Path, CharReadable> {
         private final Charset charset;
+        private final int decompressionWorkers;
+        private final boolean utf8ByteSeeking;
 
-        FromFile(Charset charset) {
+        FromFile(Charset charset, int decompressionWorkers, boolean utf8ByteSeeking) {
             this.charset = charset;
+            this.decompressionWorkers = decompressionWorkers;
+            this.utf8ByteSeeking = utf8ByteSeeking;
         }
 
         @Override
@@ -169,6 +179,9 @@ public class Readables {
                 // files into one blob, which is then compressed. If that's the case then
                 // the data will look like garbage and the reader will fail for whatever it will be used for.
                 // TODO add tar support
+                if (decompressionWorkers > 1 && ParallelDecompressingInputStream.isBgzf(path)) {
+                    return parallelDecompressing(path, ParallelDecompressingInputStream.BGZF);
+                }
                 LongSupplier[] bytesReadFromCompressedSource = new LongSupplier[1];
                 GZIPInputStream zipStream = new GZIPInputStream(Files.newInputStream(path)) {
                     {
@@ -199,9 +212,14 @@ public class Readables {
                         return (float) ((double) compressedPosition / decompressedPosition);
                     }
                 };
+            } else if (magic == Magic.ZSTD) {
+                return parallelDecompressing(path, ParallelDecompressingInputStream.ZSTD);
             } else {
+                Charset usedCharset = magic.impliesEncoding() ? magic.encoding() : this.charset;
+                if (utf8ByteSeeking && StandardCharsets.UTF_8.equals(usedCharset)) {
+                    return new Utf8FileReadable(path, magic.impliesEncoding() ? magic.length() : 0);
+                }
                 InputStream in = Files.newInputStream(path);
-                Charset usedCharset = this.charset;
                 if (magic.impliesEncoding()) {
                     // Read (and skip) the magic (BOM in this case) from the file we're returning out
                     long skip = in.skip(magic.length());
@@ -209,7 +227,6 @@ public class Readables {
                         throw new IOException(
                                 "Unable to skip " + magic.length() + " bytes, only able to skip " + skip + " bytes.");
                     }
-                    usedCharset = magic.encoding();
                 }
                 return wrap(
                         new InputStreamReader(in, usedCharset) {
@@ -222,6 +239,30 @@ public class Readables {
             }
         }
 
+        private CharReadable parallelDecompressing(Path path, ParallelDecompressingInputStream.Format format)
+                throws IOException {
+            ParallelDecompressingInputStream stream = new ParallelDecompressingInputStream(
+                    FileChannel.open(path),
+                    format,
+                    Math.max(1, decompressionWorkers),
+                    path.getFileName().toString());
+            InputStreamReader reader = new InputStreamReader(stream, charset) {
+                @Override
+                public String toString() {
+                    return path.toAbsolutePath().toString();
+                }
+            };
+            // Same as for a plain GZIP file, the decompressed size isn't known up front and so the compression
+            // ratio is estimated from what has been read so far
+            return new WrappedCharReadable(
+                    Files.size(path), reader, path.toAbsolutePath().toString()) {
+                @Override
+                public float compressionRatio() {
+                    return (float) ((double) stream.compressedBytesRead() / position());
+                }
+            };
+        }
+
         private static ZipInputStream openZipInputStream(Path path, ZipEntry entry) throws IOException {
             var stream = new ZipInputStream(new BufferedInputStream(new FileInputStream(path.toFile())));
             ZipEntry readEntry;
@@ -270,11 +311,39 @@ public class Readables {
     }
 
     public static RawIterator<CharReadable, IOException> individualFiles(Charset charset, Path... files) {
-        return iterator(new FromFile(charset), files);
+        return individualFiles(charset, Configuration.DEFAULT_DECOMPRESSION_WORKERS, files);
+    }
+
+    /**
+     * @param charset {@link Charset} to read the files with.
+     * @param decompressionWorkers number of threads decompressing a file made up of independently compressed frames.
+     * @param files the files to read.
+     * @return an iterator opening a {@link CharReadable} for each of the files, in order.
+     */
+    public static RawIterator<CharReadable, IOException> individualFiles(
+            Charset charset, int decompressionWorkers, Path... files) {
+        return individualFiles(charset, decompressionWorkers, false, files);
+    }
+
+    /**
+     * @param charset {@link Charset} to read the files with.
+     * @param decompressionWorkers number of threads decompressing a file made up of independently compressed frames.
+     * @param utf8ByteSeeking whether or not uncompressed UTF-8 encoded files are opened as {@link Utf8FileReadable},
+     * see {@link Configuration#utf8ByteSeeking()}.
+     * @param files the files to read.
+     * @return an iterator opening a {@link CharReadable} for each of the files, in order.
+     */
+    public static RawIterator<CharReadable, IOException> individualFiles(
+            Charset charset, int decompressionWorkers, boolean utf8ByteSeeking, Path... files) {
+        return iterator(new FromFile(charset, decompressionWorkers, utf8ByteSeeking), files);
     }
 
     public static CharReadable files(Charset charset, Path... files) throws IOException {
-        IOFunction<Path, CharReadable> opener = new FromFile(charset);
+        return files(charset, Configuration.DEFAULT_DECOMPRESSION_WORKERS, files);
+    }
+
+    public static CharReadable files(Charset charset, int decompressionWorkers, Path... files) throws IOException {
+        IOFunction<Path, CharReadable> opener = new FromFile(charset, decompressionWorkers, false);
         switch (files.length) {
             case 0:
                 return EMPTY;
@@ -319,6 +388,26 @@ public class Readables {
         return extractFirstLineFrom((into, offset) -> source.read(into, offset, 1) > 0);
     }
 
+    /**
+     * Extracts the first line of UTF-8 encoded bytes, like {@link #extractFirstLineFrom(CharSupplier)} does for
+     * characters, reading one byte at a time.
+     *
+     * @param source {@link MultiReadable} to {@link MultiReadable#readUtf8(byte[], int, int) read bytes} from.
+     * @return char[] containing the decoded characters until the first newline character or end of stream.
+     * @throws IOException on I/O reading error.
+     */
+    public static char[] extractFirstUtf8LineFrom(MultiReadable source) throws IOException {
+        byte[] line = new byte[100];
+        int cursor = 0;
+        while (source.readUtf8(line, cursor, 1) > 0 && !isEolChar((char) line[cursor])) {
+            // Grow on demand
+            if (++cursor >= line.length) {
+                line = Arrays.copyOf(line, cursor * 2);
+            }
+        }
+        return new String(line, 0, cursor, StandardCharsets.UTF_8).toCharArray();
+    }
+
     public static char[] extractFirstLineFrom(char[] data, int offset, int length) {
         try {
             return extractFirstLineFrom((into, intoOffset) -> {
@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.csv.reader;
+
+import static java.lang.String.format;
+import static org.neo4j.csv.reader.Mark.END_OF_LINE_CHARACTER;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import org.neo4j.csv.reader.Utf8ClosestNewLineChunker.Utf8Chunk;
+import org.neo4j.values.storable.CSVHeaderInformation;
+
+/**
+ * A {@link CharSeeker} which reads UTF-8 encoded data straight from a {@link ReadableByteChannel}, without first
+ * decoding it into {@code char[]} like {@link BufferedCharSeeker} does. Delimiters, quotes and new-lines are all
+ * ASCII and so can never be part of a multi-byte UTF-8 sequence, which means that they can be searched for in
+ * the raw bytes. Runs of bytes which cannot end a value are skipped eight bytes at a time by testing a whole
+ * {@code long} word against all the interesting bytes at once.
+ * <p>
+ * {@link Mark} positions handed out by this seeker are byte offsets. Strings and {@link Extractors#textValue()
+ * text values} are extracted straight from the bytes, all other extractors get the value decoded into a
+ * reusable {@code char[]} first.
+ * <p>
+ * The delimiter and quotation character must both be ASCII characters.
+ */
+public class Utf8CharSeeker implements CharSeeker {
+    private static final int EOL_CHAR = '\n';
+    private static final int EOL_CHAR_2 = '\r';
+    private static final int EOF = -1;
+    private static final int BACK_SLASH = '\\';
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long EOL_BYTES = broadcast(EOL_CHAR);
+    private static final long EOL_BYTES_2 = broadcast(EOL_CHAR_2);
+
+    private final ReadableByteChannel channel;
+    private final String sourceDescription;
+    private final byte[] buffer;
+    private char[] chars = new char[64];
+
+    // index into the buffer to read the next time nextByte() is called
+    private int bufferPos;
+    // last index (effectively length) of bytes in use in the buffer
+    private int bufferEnd;
+    // bufferPos denoting the start of this current line that we're reading
+    private int lineStartPos;
+    // bufferPos when we started reading the current field
+    private int seekStartPos;
+    // 1-based value of which logical line we're reading a.t.m.
+    private int lineNumber;
+    // flag to know if we've read to the end
+    private boolean eof;
+    private boolean started;
+    // this absolute position + bufferPos is the current position in the source we're reading
+    private long absoluteBufferStartPosition;
+    private final int quoteChar;
+    private final long quoteBytes;
+    private final long quoteOrBackslashBytes;
+    private final boolean multilineFields;
+    private final boolean legacyStyleQuoting;
+    private final boolean trim;
+
+    public Utf8CharSeeker(ReadableByteChannel channel, String sourceDescription, Configuration config) {
+        this(channel, sourceDescription, new byte[config.bufferSize()], config);
+    }
+
+    /**
+     * Instantiates a seeker reading only the data of the given {@link Utf8Chunk}, like {@link BufferedCharSeeker}
+     * does over a {@link Source#singleChunk(Source.Chunk) single chunk}.
+     */
+    public Utf8CharSeeker(Utf8Chunk chunk, Configuration config) {
+        this(null, chunk.sourceDescription(), chunk.bytes(), config);
+        this.bufferPos = chunk.startPosition();
+        this.bufferEnd = chunk.startPosition() + chunk.length();
+        this.lineStartPos = bufferPos;
+        this.seekStartPos = bufferPos;
+    }
+
+    private Utf8CharSeeker(ReadableByteChannel channel, String sourceDescription, byte[] buffer, Configuration config) {
+        this.channel = channel;
+        this.sourceDescription = sourceDescription;
+        this.buffer = buffer;
+        this.quoteChar = requireAscii(config.quotationCharacter(), "Quotation character");
+        this.multilineFields = config.multilineFields();
+        this.legacyStyleQuoting = config.legacyStyleQuoting();
+        this.trim = config.trimStrings();
+        this.quoteBytes = broadcast(quoteChar);
+        this.quoteOrBackslashBytes = legacyStyleQuoting ? broadcast(BACK_SLASH) : quoteBytes;
+    }
+
+    @Override
+    public boolean seek(Mark mark, int untilChar) throws IOException {
+        if (eof) { // We're at the end
+            return eof(mark);
+        }
+        long untilBytes = broadcast(requireAscii(untilChar, "Delimiter"));
+        if (!started) {
+            started = true;
+            skipByteOrderMark();
+        }
+
+        seekStartPos = bufferPos;
+        int ch;
+        int endOffset = 1;
+        int skippedBytes = 0;
+        int quoteDepth = 0;
+        int quoteStartLine = 0;
+        boolean isQuoted = false;
+
+        while (!eof) {
+            if (quoteDepth == 0) {
+                if (!isQuoted && bufferPos > seekStartPos) { // Past the first byte of an unquoted value, only a
+                    // delimiter or a new-line can end it
+                    bufferPos = indexOfAny(buffer, bufferPos, bufferEnd, untilBytes, EOL_BYTES, EOL_BYTES_2, EOL_BYTES);
+                }
+            } else { // Within quotes only a quote, a new-line or possibly a back slash needs a closer look
+                int found = indexOfAny(
+                        buffer, bufferPos, bufferEnd, quoteBytes, EOL_BYTES, EOL_BYTES_2, quoteOrBackslashBytes);
+                if (skippedBytes > 0) {
+                    System.arraycopy(buffer, bufferPos, buffer, bufferPos - skippedBytes, found - bufferPos);
+                }
+                bufferPos = found;
+            }
+
+            ch = nextByte(skippedBytes);
+            if (quoteDepth == 0) { // In normal mode, i.e. not within quotes
+                int whitespaceLength;
+                if (ch == untilChar) { // We found a delimiter, set marker and return true
+                    return setMark(mark, endOffset, skippedBytes, ch, isQuoted);
+                } else if (trim && (whitespaceLength = whitespaceLength(ch)) > 0) {
+                    boolean leading = seekStartPos == bufferPos - 1;
+                    for (int i = 1; i < whitespaceLength; i++) {
+                        nextByte(skippedBytes);
+                    }
+                    if (leading) { // Whitespace before the first non-whitespace of the value, trim it off
+                        seekStartPos += whitespaceLength;
+                    }
+                } else if (ch == quoteChar && seekStartPos == bufferPos - 1) { // We found a quote, which was the
+                    // first of the value, skip it and switch mode
+                    quoteDepth++;
+                    isQuoted = true;
+                    seekStartPos++;
+                    quoteStartLine = lineNumber;
+                } else if (isNewLine(ch)) { // Encountered newline, done for now
+                    if (bufferPos - 1 == lineStartPos) { // We're at the start of this read so just skip it
+                        seekStartPos++;
+                        lineStartPos++;
+                        continue;
+                    }
+                    break;
+                } else if (isQuoted) { // This value is quoted, i.e. started with a quote and has also seen a quote
+                    throw new DataAfterQuoteException(
+                            this, new String(buffer, seekStartPos, bufferPos - seekStartPos, StandardCharsets.UTF_8));
+                }
+                // else this is a byte to include as part of the current value
+            } else { // In quoted mode, i.e. within quotes
+                if (ch == quoteChar) { // Found a quote within a quote, peek at next byte
+                    int nextCh = peekByte(skippedBytes);
+                    if (nextCh == quoteChar) { // Found a double quote, skip it and we're going down one more quote
+                        // depth (quote-in-quote)
+                        repositionByte(bufferPos++, ++skippedBytes);
+                    } else { // Found an ending quote, skip it and switch mode
+                        endOffset++;
+                        quoteDepth--;
+                    }
+                } else if (isNewLine(ch)) { // Found a new line inside a quotation...
+                    if (!multilineFields) { // ...but we are configured to disallow it
+                        throw new IllegalMultilineFieldException(this);
+                    }
+                    // ... it's OK, just keep going
+                    if (ch == EOL_CHAR) {
+                        lineNumber++;
+                    }
+                } else if (ch == BACK_SLASH && legacyStyleQuoting) { // Legacy concern, java style quote encoding
+                    int nextCh = peekByte(skippedBytes);
+                    if (nextCh == quoteChar || nextCh == BACK_SLASH) { // Found a slash encoded quote
+                        repositionByte(bufferPos++, ++skippedBytes);
+                    }
+                } else if (eof) {
+                    // We have an open quote but have reached the end of the file, this is a formatting error
+                    throw new MissingEndQuoteException(this, quoteStartLine, (char) quoteChar);
+                }
+            }
+        }
+
+        int valueLength = bufferPos - seekStartPos - 1;
+        if (eof && valueLength == 0 && seekStartPos == lineStartPos) { // We didn't find any of the bytes sought for
+            return eof(mark);
+        }
+
+        // We found the last value of the line or stream
+        lineNumber++;
+        lineStartPos = bufferPos;
+        return setMark(mark, endOffset, skippedBytes, END_OF_LINE_CHARACTER, isQuoted);
+    }
+
+    @Override
+    public <T> T extract(Mark mark, Extractor<T> extractor) {
+        return extract(mark, extractor, null);
+    }
+
+    @Override
+    public <T> T extract(Mark mark, Extractor<T> extractor, CSVHeaderInformation optionalData) {
+        T value = tryExtract(mark, extractor, optionalData);
+        if (extractor.isEmpty(value)) {
+            throw new IllegalStateException(extractor + " didn't extract value for " + mark
+                    + ". For values which are optional please use tryExtract method instead");
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T tryExtract(Mark mark, Extractor<T> extractor, CSVHeaderInformation optionalData) {
+        int from = mark.startPosition();
+        int length = mark.position() - from;
+        if (extractor instanceof Extractors.TextValueExtractor textValueExtractor) {
+            return (T) textValueExtractor.extractUtf8(buffer, from, length, mark.isQuoted());
+        }
+        if (extractor instanceof Extractors.StringExtractor stringExtractor) {
+            return (T) stringExtractor.extractUtf8(buffer, from, length, mark.isQuoted());
+        }
+        int charLength = decode(from, length);
+        return extractor.extract(chars, 0, charLength, mark.isQuoted(), optionalData);
+    }
+
+    @Override
+    public <T> T tryExtract(Mark mark, Extractor<T> extractor) {
+        return tryExtract(mark, extractor, null);
+    }
+
+    /**
+     * Decodes the given range of the buffer into {@link #chars}. Pure ASCII, which is what numbers, booleans,
+     * temporal and spatial values are made of, is widened byte by byte.
+     *
+     * @return number of decoded characters.
+     */
+    private int decode(int from, int length) {
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        if (isAscii(buffer, from, length)) {
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) buffer[from + i];
+            }
+            return length;
+        }
+        Extractors.requireValidUtf8(buffer, from, length);
+        String decoded = new String(buffer, from, length, StandardCharsets.UTF_8);
+        decoded.getChars(0, decoded.length(), chars, 0);
+        return decoded.length();
+    }
+
+    private boolean setMark(Mark mark, int endOffset, int skippedBytes, int ch, boolean isQuoted) {
+        int pos = (trim ? rtrim() : bufferPos) - endOffset - skippedBytes;
+        mark.set(seekStartPos, pos, ch, isQuoted);
+        return true;
+    }
+
+    /**
+     * Starting from the current position, {@link #bufferPos}, scan backwards as long as whitespace is found.
+     * Although it cannot scan further back than the start of this field is, i.e. {@link #seekStartPos}.
+     *
+     * @return the right index of the value to pass into {@link Mark}.
+     */
+    private int rtrim() {
+        int index = bufferPos;
+        int length;
+        while ((length = trailingWhitespaceLength(
+                        index - 1 /*bufferPos has advanced*/ - 1 /*don't check the last read byte (delim or EOF)*/,
+                        index - 1 - seekStartPos))
+                > 0) {
+            index -= length;
+        }
+        return index;
+    }
+
+    /**
+     * @param ch byte just read, at {@code bufferPos - 1}.
+     * @return number of bytes of the whitespace character starting with {@code ch}, or {@code 0} if it isn't
+     * the start of a whitespace character. Multi-byte whitespace is only looked for when trimming.
+     */
+    private int whitespaceLength(int ch) throws IOException {
+        if (isAsciiWhitespace(ch)) {
+            return 1;
+        }
+        if (ch == 0xC2) { // U+00A0
+            return ensureAvailable(1) && buffer[bufferPos] == (byte) 0xA0 ? 2 : 0;
+        }
+        if (ch == 0xE2) { // U+2007 and U+202F
+            return ensureAvailable(2)
+                            && buffer[bufferPos] == (byte) 0x80
+                            && (buffer[bufferPos + 1] == (byte) 0x87 || buffer[bufferPos + 1] == (byte) 0xAF)
+                    ? 3
+                    : 0;
+        }
+        return 0;
+    }
+
+    private int trailingWhitespaceLength(int last, int available) {
+        if (available < 1) {
+            return 0;
+        }
+        if (isAsciiWhitespace(buffer[last])) {
+            return 1;
+        }
+        if (available >= 2 && buffer[last] == (byte) 0xA0 && buffer[last - 1] == (byte) 0xC2) {
+            return 2;
+        }
+        if (available >= 3
+                && (buffer[last] == (byte) 0x87 || buffer[last] == (byte) 0xAF)
+                && buffer[last - 1] == (byte) 0x80
+                && buffer[last - 2] == (byte) 0xE2) {
+            return 3;
+        }
+        return 0;
+    }
+
+    private static boolean isAsciiWhitespace(int ch) {
+        return ch == ' '
+                || ch == Character.SPACE_SEPARATOR
+                || ch == Character.PARAGRAPH_SEPARATOR
+                || ch == '\u001C'
+                || ch == '\u001D'
+                || ch == '\u001E'
+                || ch == '\u001F'
+                || ch == '\t';
+    }
+
+    private void repositionByte(int offset, int stepsBack) {
+        // Same as BufferedCharSeeker, bytes are moved back over skipped quotes as long as we're reading the
+        // same value, so that no other value takes a hit from them
+        buffer[offset - stepsBack] = buffer[offset];
+    }
+
+    private static boolean isNewLine(int ch) {
+        return ch == EOL_CHAR || ch == EOL_CHAR_2;
+    }
+
+    private int peekByte(int skippedBytes) throws IOException {
+        int ch = nextByte(skippedBytes);
+        if (ch != EOF) {
+            bufferPos--;
+        }
+        return ch;
+    }
+
+    private int nextByte(int skippedBytes) throws IOException {
+        int ch;
+        if (bufferPos < bufferEnd || fillBuffer()) {
+            ch = buffer[bufferPos] & 0xFF;
+        } else {
+            ch = EOF;
+            eof = true;
+        }
+
+        if (skippedBytes > 0) {
+            repositionByte(bufferPos, skippedBytes);
+        }
+        bufferPos++;
+        return ch;
+    }
+
+    /**
+     * Makes sure that at least {@code count} bytes are available from {@link #bufferPos}, reading more if needed.
+     *
+     * @return {@code false} if the end of the channel was reached before that many bytes were available.
+     */
+    private boolean ensureAvailable(int count) throws IOException {
+        while (bufferEnd - bufferPos < count) {
+            if (!fillBuffer()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the bytes of the current field to the start of the buffer and reads more bytes after them.
+     *
+     * @return {@code true} if something was read, otherwise {@code false} which means that we reached EOF.
+     */
+    private boolean fillBuffer() throws IOException {
+        if (channel == null) { // Reading a single chunk, there's nothing more to read
+            return false;
+        }
+        if (seekStartPos > 0) {
+            int shift = seekStartPos;
+            System.arraycopy(buffer, shift, buffer, 0, bufferEnd - shift);
+            absoluteBufferStartPosition += shift;
+            bufferPos -= shift;
+            bufferEnd -= shift;
+            lineStartPos -= shift;
+            seekStartPos = 0;
+        }
+        if (bufferEnd == buffer.length) {
+            throw new BufferOverflowException("Tried to read a field larger than buffer size " + buffer.length
+                    + ". A common cause of this is that a field has an unterminated "
+                    + "quote and so will try to seek until the next quote, which ever line it may be on."
+                    + " This should not happen if multi-line fields are disabled, given that the fields contains "
+                    + "no new-line characters. This field started at "
+                    + sourceDescription() + ":" + lineNumber());
+        }
+
+        int read = channel.read(ByteBuffer.wrap(buffer, bufferEnd, buffer.length - bufferEnd));
+        if (read <= 0) {
+            return false;
+        }
+        bufferEnd += read;
+        return true;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (ensureAvailable(3)
+                && buffer[bufferPos] == (byte) 0xEF
+                && buffer[bufferPos + 1] == (byte) 0xBB
+                && buffer[bufferPos + 2] == (byte) 0xBF) {
+            bufferPos += 3;
+            lineStartPos = bufferPos;
+        }
+    }
+
+    /**
+     * Finds the first byte in {@code data} between {@code from} (inclusive) and {@code to} (exclusive) which
+     * equals any of the given bytes, each one {@link #broadcast(int) broadcast} to all bytes of a {@code long}.
+     *
+     * @return index of the first matching byte, or {@code to} if there was no match.
+     */
+    static int indexOfAny(byte[] data, int from, int to, long bytes1, long bytes2, long bytes3, long bytes4) {
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = (long) LONGS.get(data, i);
+            // Only the lowest flagged byte of each mask is guaranteed to be a match, which is all that's needed
+            long found = zeroBytes(word ^ bytes1)
+                    | zeroBytes(word ^ bytes2)
+                    | zeroBytes(word ^ bytes3)
+                    | zeroBytes(word ^ bytes4);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            byte b = data[i];
+            if (b == (byte) bytes1 || b == (byte) bytes2 || b == (byte) bytes3 || b == (byte) bytes4) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    private static boolean isAscii(byte[] data, int from, int length) {
+        int i = from;
+        int to = from + length;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            if (((long) LONGS.get(data, i) & HIGH_BITS) != 0) {
+                return false;
+            }
+        }
+        for (; i < to; i++) {
+            if (data[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long broadcast(int b) {
+        return (b & 0xFF) * ONES;
+    }
+
+    private static int requireAscii(int ch, String what) {
+        if (ch < 0 || ch >= 0x80) {
+            throw new IllegalArgumentException(what + " '" + (char) ch
+                    + "' is not an ASCII character, which is required by " + Utf8CharSeeker.class.getSimpleName());
+        }
+        return ch;
+    }
+
+    private static boolean eof(Mark mark) {
+        mark.set(-1, -1, Mark.END_OF_LINE_CHARACTER, false);
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Override
+    public long position() {
+        return absoluteBufferStartPosition + bufferPos;
+    }
+
+    @Override
+    public String sourceDescription() {
+        return sourceDescription;
+    }
+
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public String toString() {
+        return format(
+                "%s[source:%s, position:%d, line:%d]",
+                getClass().getSimpleName(), sourceDescription(), position(), lineNumber());
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.csv.reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.neo4j.csv.reader.Source.Chunk;
+
+/**
+ * Byte counterpart of {@link ClosestNewLineChunker}, chunking up the {@link MultiReadable#readUtf8(byte[], int, int)
+ * UTF-8 encoded bytes} of a {@link MultiReadable} at new-lines. Each {@link Utf8Chunk} is parsed by its own
+ * {@link Utf8CharSeeker}, so bytes of uncompressed UTF-8 files are never decoded into characters up front.
+ */
+public class Utf8ClosestNewLineChunker implements Chunker {
+    private final MultiReadable reader;
+    private final int chunkSize;
+    private final HeaderSkipper headerSkip;
+    private byte[] backBuffer; // grows on demand
+    private int backBufferCursor;
+    private String lastSeenSourceDescription;
+    private int fileIndex = -1;
+    private volatile long position;
+
+    public Utf8ClosestNewLineChunker(MultiReadable reader, int chunkSize, HeaderSkipper headerSkip) {
+        this.reader = reader;
+        this.chunkSize = chunkSize;
+        this.headerSkip = headerSkip;
+        this.backBuffer = new byte[chunkSize >> 4];
+    }
+
+    @Override
+    public Utf8Chunk newChunk() {
+        return new Utf8Chunk(new byte[chunkSize]);
+    }
+
+    /**
+     * Fills the given chunk with bytes from the underlying {@link MultiReadable}, up to the last new-line in the
+     * vicinity of the chunk size.
+     *
+     * @param chunk {@link Utf8Chunk} to read data into.
+     * @return {@code true} if the chunk got data, ending with a new-line or not for the last chunk.
+     * @throws IOException on reading error.
+     */
+    @Override
+    public synchronized boolean nextChunk(Chunk chunk) throws IOException {
+        Utf8Chunk into = (Utf8Chunk) chunk;
+        int offset = fillFromBackBuffer(into.buffer);
+        int leftToRead = chunkSize - offset;
+        int read = reader.readUtf8(into.buffer, offset, leftToRead);
+        if (read == leftToRead) {
+            // We read data into the whole buffer and there seems to be more data left in the reader, so seek
+            // backwards to the last newline and keep the bytes after it for the next chunk
+            int newlineOffset = offsetOfLastNewline(into.buffer);
+            if (newlineOffset > -1) {
+                read -= storeInBackBuffer(into.buffer, newlineOffset + 1, chunkSize - (newlineOffset + 1));
+            } else {
+                throw new IllegalStateException("Weird input data, no newline character in the whole buffer "
+                        + chunkSize + ", not supported a.t.m.");
+            }
+        }
+
+        // else we couldn't completely fill the buffer, this means that we're at the end of a data source
+
+        boolean newSource = crossedOverToNewSource();
+        int length = offset + read;
+        if (length > 0) {
+            position += read;
+            int skipped = newSource && fileIndex >= 0 ? skipHeader(into.buffer, length) : 0;
+            into.initialize(skipped, length - skipped, lastSeenSourceDescription);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean crossedOverToNewSource() {
+        String currentSourceDescription = reader.sourceDescription();
+        if (!currentSourceDescription.equals(lastSeenSourceDescription)) {
+            fileIndex++;
+            lastSeenSourceDescription = currentSourceDescription;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@link HeaderSkipper} works on characters, so it gets the first line decoded and if it decides that it is
+     * a header then all bytes of that line are skipped.
+     */
+    private int skipHeader(byte[] data, int length) {
+        if (headerSkip == HeaderSkipper.NO_SKIP) {
+            return 0;
+        }
+        int lineStart = 0;
+        while (lineStart < length && isEol(data[lineStart])) {
+            lineStart++;
+        }
+        int lineEnd = lineStart;
+        while (lineEnd < length && !isEol(data[lineEnd])) {
+            lineEnd++;
+        }
+        if (lineEnd == lineStart) {
+            return 0;
+        }
+        char[] firstLine = new String(data, 0, lineEnd, UTF_8).toCharArray();
+        return headerSkip.skipHeader(firstLine, 0, firstLine.length) > 0 ? lineEnd : 0;
+    }
+
+    private int fillFromBackBuffer(byte[] into) {
+        if (backBufferCursor > 0) { // Read from and reset back buffer
+            assert backBufferCursor < chunkSize;
+            System.arraycopy(backBuffer, 0, into, 0, backBufferCursor);
+            int result = backBufferCursor;
+            backBufferCursor = 0;
+            return result;
+        }
+        return 0;
+    }
+
+    private int storeInBackBuffer(byte[] data, int offset, int length) {
+        if (backBufferCursor + length > backBuffer.length) {
+            backBuffer = Arrays.copyOf(backBuffer, backBufferCursor + length);
+        }
+        System.arraycopy(data, offset, backBuffer, backBufferCursor, length);
+        backBufferCursor += length;
+        return length;
+    }
+
+    private static int offsetOfLastNewline(byte[] buffer) {
+        for (int i = buffer.length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isEol(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * A {@link Chunk} of UTF-8 encoded bytes, read by a {@link Utf8CharSeeker}. It has no character
+     * {@link #data()}, see {@link #bytes()} instead.
+     */
+    public static class Utf8Chunk implements Chunk {
+        final byte[] buffer;
+        private int startOffset;
+        private int length;
+        private String sourceDescription;
+
+        public Utf8Chunk(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        public void initialize(int startOffset, int length, String sourceDescription) {
+            this.startOffset = startOffset;
+            this.length = length;
+            this.sourceDescription = sourceDescription;
+        }
+
+        public byte[] bytes() {
+            return buffer;
+        }
+
+        /**
+         * Not supported, the data of this chunk is UTF-8 encoded {@link #bytes()} which can only be parsed by
+         * {@link Utf8CharSeeker}, e.g. one created by {@code CsvInputIterator.seeker}.
+         */
+        @Override
+        public char[] data() {
+            throw new UnsupportedOperationException("Chunk of " + sourceDescription
+                    + " holds UTF-8 encoded bytes, not characters. Read it through bytes() with a "
+                    + Utf8CharSeeker.class.getSimpleName() + " instead of a character based seeker");
+        }
+
+        @Override
+        public int startPosition() {
+            return startOffset;
+        }
+
+        @Override
+        public String sourceDescription() {
+            return sourceDescription;
+        }
+
+        @Override
+        public int maxFieldSize() {
+            return buffer.length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public int backPosition() {
+            return startOffset;
+        }
+    }
+}
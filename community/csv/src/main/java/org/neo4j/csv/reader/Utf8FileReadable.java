@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.csv.reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * {@link CharReadable} over an uncompressed UTF-8 encoded file, which can also be {@link #read(byte[], int, int)
+ * read as bytes}, to be parsed by {@link Utf8CharSeeker} without decoding. Characters are decoded from where the
+ * bytes have been read up to, so e.g. reading the header line as bytes and the rest as characters works, but not
+ * the other way around.
+ */
+public class Utf8FileReadable extends CharReadable.Adapter {
+    private final FileChannel channel;
+    private final String sourceDescription;
+    private final long length;
+    private final long startPosition;
+    private CharReadable chars;
+
+    /**
+     * @param path the file to read.
+     * @param startPosition position in the file where the data starts, i.e. after any byte order mark.
+     */
+    Utf8FileReadable(Path path, long startPosition) throws IOException {
+        this.channel = FileChannel.open(path);
+        this.sourceDescription = path.toAbsolutePath().toString();
+        this.length = channel.size();
+        this.startPosition = startPosition;
+        channel.position(startPosition);
+    }
+
+    /**
+     * Reads bytes of this file, as they are.
+     *
+     * @return number of bytes read, or {@code -1} if the end of the file has been reached.
+     * @throws IllegalStateException if this file has already been read as characters.
+     */
+    public int read(byte[] into, int offset, int length) throws IOException {
+        if (chars != null) {
+            throw new IllegalStateException(sourceDescription + " has already been read as characters");
+        }
+        return channel.read(ByteBuffer.wrap(into, offset, length));
+    }
+
+    private CharReadable chars() {
+        if (chars == null) {
+            chars = new WrappedCharReadable(
+                    length, new InputStreamReader(Channels.newInputStream(channel), UTF_8), sourceDescription);
+        }
+        return chars;
+    }
+
+    @Override
+    public SectionedCharBuffer read(SectionedCharBuffer buffer, int from) throws IOException {
+        return chars().read(buffer, from);
+    }
+
+    @Override
+    public int read(char[] into, int offset, int length) throws IOException {
+        return chars().read(into, offset, length);
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public long position() {
+        if (chars != null) {
+            return chars.position();
+        }
+        try {
+            return channel.position() - startPosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String sourceDescription() {
+        return sourceDescription;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return sourceDescription;
+    }
+}
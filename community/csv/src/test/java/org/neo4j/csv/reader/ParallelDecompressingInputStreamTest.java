@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.csv.reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@TestDirectoryExtension
+@ExtendWith(RandomExtension.class)
+class ParallelDecompressingInputStreamTest {
+    private static final int BLOCK_SIZE = 1_000;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private RandomSupport random;
+
+    @Test
+    void shouldReadBgzfFileInParallel() throws Exception {
+        // GIVEN
+        String text = randomLines(500);
+        Path file = writeBgzf("data.csv.gz", text.getBytes(UTF_8));
+
+        // WHEN
+        assertTrue(ParallelDecompressingInputStream.isBgzf(file));
+        String read = readAll(file, 4);
+
+        // THEN
+        assertEquals(text, read);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            // Still a valid (multi-member) gzip file for any other reader
+            assertEquals(text, new String(in.readAllBytes(), UTF_8));
+        }
+    }
+
+    @Test
+    void shouldNotConsiderRegularGzipFileAsBgzf() throws Exception {
+        // GIVEN
+        String text = randomLines(10);
+        Path file = directory.file("data.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(text.getBytes(UTF_8));
+        }
+
+        // WHEN/THEN
+        assertFalse(ParallelDecompressingInputStream.isBgzf(file));
+        assertEquals(text, readAll(file, 4));
+    }
+
+    @Test
+    void shouldNotConsiderBgzfFileWithRegularGzipMemberAsBgzf() throws Exception {
+        // GIVEN BGZF blocks followed by a regular gzip member, which is still a valid multi-member gzip file
+        String bgzfText = randomLines(100);
+        String gzipText = randomLines(10);
+        Path file = writeBgzf("data.csv.gz", bgzfText.getBytes(UTF_8));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file, StandardOpenOption.APPEND))) {
+            out.write(gzipText.getBytes(UTF_8));
+        }
+
+        // WHEN/THEN
+        assertFalse(ParallelDecompressingInputStream.isBgzf(file));
+        assertEquals(bgzfText + gzipText, readAll(file, 4));
+    }
+
+    @Test
+    void shouldReadMultiFrameZstdFileInParallel() throws Exception {
+        // GIVEN
+        String text = randomLines(500);
+        byte[] data = text.getBytes(UTF_8);
+        Path file = directory.file("data.csv.zst");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int offset = 0; offset < data.length; offset += BLOCK_SIZE) {
+                int length = Math.min(BLOCK_SIZE, data.length - offset);
+                out.write(Zstd.compress(Arrays.copyOfRange(data, offset, offset + length)));
+            }
+            // A skippable frame, like the seek table of the seekable zstd format
+            out.write(skippableFrame(new byte[] {1, 2, 3, 4, 5, 6}));
+        }
+
+        // WHEN
+        String read = readAll(file, 4);
+
+        // THEN
+        assertEquals(text, read);
+    }
+
+    @Test
+    void shouldReadStreamedZstdFileWithUnknownContentSize() throws Exception {
+        // GIVEN
+        String text = randomLines(200);
+        Path file = directory.file("data.csv.zst");
+        try (OutputStream out = new ZstdOutputStream(Files.newOutputStream(file)).setChecksum(true)) {
+            out.write(text.getBytes(UTF_8));
+        }
+
+        // WHEN/THEN
+        assertEquals(text, readAll(file, 1));
+    }
+
+    @Test
+    void shouldFailOnCorruptBgzfBlock() throws Exception {
+        // GIVEN
+        Path file = writeBgzf("data.csv.gz", randomLines(100).getBytes(UTF_8));
+        byte[] bytes = Files.readAllBytes(file);
+        // Flip a bit in the CRC of the first block
+        int firstBlockSize =
+                (ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getShort(16) & 0xFFFF) + 1;
+        bytes[firstBlockSize - 8] ^= 1;
+        Files.write(file, bytes);
+
+        // WHEN/THEN
+        try (InputStream in = new ParallelDecompressingInputStream(
+                FileChannel.open(file), ParallelDecompressingInputStream.BGZF, 2, "test")) {
+            IOException e = assertThrows(IOException.class, in::readAllBytes);
+            assertThat(e.getMessage()).contains("CRC");
+        }
+    }
+
+    private static String readAll(Path file, int decompressionWorkers) throws IOException {
+        try (CharReadable readable = Readables.files(UTF_8, decompressionWorkers, file)) {
+            StringBuilder builder = new StringBuilder();
+            char[] buffer = new char[777];
+            int read;
+            while ((read = readable.read(buffer, 0, buffer.length)) > 0) {
+                builder.append(buffer, 0, read);
+            }
+            return builder.toString();
+        }
+    }
+
+    private String randomLines(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(i)
+                    .append(',')
+                    .append(random.nextAlphaNumericString(0, 40))
+                    .append(",å∑😡\n");
+        }
+        return builder.toString();
+    }
+
+    private Path writeBgzf(String name, byte[] data) throws IOException {
+        Path file = directory.file(name);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int offset = 0; offset < data.length; offset += BLOCK_SIZE) {
+                out.write(bgzfBlock(data, offset, Math.min(BLOCK_SIZE, data.length - offset)));
+            }
+            // The BGZF end-of-file marker, an empty block
+            out.write(bgzfBlock(data, 0, 0));
+        }
+        return file;
+    }
+
+    private static byte[] bgzfBlock(byte[] data, int offset, int length) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data, offset, length);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+
+        int blockSize = 18 + compressed.size() + 8;
+        ByteBuffer block = ByteBuffer.allocate(blockSize).order(ByteOrder.LITTLE_ENDIAN);
+        block.put((byte) 0x1f).put((byte) 0x8b).put((byte) 8).put((byte) 4);
+        block.putInt(0).put((byte) 0).put((byte) 0xff);
+        block.putShort((short) 6).put((byte) 'B').put((byte) 'C').putShort((short) 2);
+        block.putShort((short) (blockSize - 1));
+        block.put(compressed.toByteArray());
+        block.putInt((int) crc.getValue()).putInt(length);
+        return block.array();
+    }
+
+    private static byte[] skippableFrame(byte[] content) {
+        return ByteBuffer.allocate(8 + content.length)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(0x184D2A5E)
+                .putInt(content.length)
+                .put(content)
+                .array();
+    }
+}
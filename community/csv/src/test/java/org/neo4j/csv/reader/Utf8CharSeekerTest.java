@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.csv.reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.csv.reader.CharSeekers.charSeeker;
+import static org.neo4j.csv.reader.Readables.wrap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Values;
+
+@TestDirectoryExtension
+@ExtendWith(RandomExtension.class)
+class Utf8CharSeekerTest {
+    private static final String TEST_SOURCE = "TestSource";
+    private static final int TAB = '\t';
+    private static final int COMMA = ',';
+
+    @Inject
+    private RandomSupport random;
+
+    @Inject
+    private TestDirectory directory;
+
+    private final Extractors extractors = new Extractors(',');
+    private final Mark mark = new Mark();
+
+    private CharSeeker seeker;
+
+    @AfterEach
+    void closeSeeker() throws IOException {
+        if (seeker != null) {
+            seeker.close();
+        }
+    }
+
+    @ParameterizedTest(name = "max bytes per read: {0}")
+    @ValueSource(ints = {1, 3, 1_000})
+    void shouldFindCertainCharacter(int maxBytesPerRead) throws Exception {
+        // GIVEN
+        seeker = seeker("abcdefg\thijklmnopqrstuvxyz\tå, ä and ö", config(), maxBytesPerRead);
+
+        // WHEN/THEN
+        assertTrue(seeker.seek(mark, TAB));
+        assertEquals('\t', mark.character());
+        assertFalse(mark.isEndOfLine());
+        assertEquals("abcdefg", seeker.extract(mark, extractors.string()));
+
+        assertTrue(seeker.seek(mark, TAB));
+        assertEquals("hijklmnopqrstuvxyz", seeker.extract(mark, extractors.string()));
+
+        assertTrue(seeker.seek(mark, TAB));
+        assertTrue(mark.isEndOfLine());
+        assertEquals("å, ä and ö", seeker.extract(mark, extractors.string()));
+
+        assertFalse(seeker.seek(mark, TAB));
+        assertFalse(seeker.seek(mark, TAB));
+    }
+
+    @Test
+    void shouldPointCharacterBasedReadersOfUtf8ChunksToTheByteBasedApi() {
+        // GIVEN
+        var chunk = new Utf8ClosestNewLineChunker.Utf8Chunk(new byte[8]);
+        chunk.initialize(0, 0, TEST_SOURCE);
+
+        // WHEN/THEN
+        var e = assertThrows(UnsupportedOperationException.class, chunk::data);
+        assertTrue(e.getMessage().contains("bytes()"), e.getMessage());
+        assertTrue(e.getMessage().contains(TEST_SOURCE), e.getMessage());
+    }
+
+    @Test
+    void shouldExtractNonStringValuesAndTextValues() throws Exception {
+        // GIVEN
+        seeker = seeker("123,\"Ω and ∑\",4.5,true\r\n,\"\",-7,", config(), 1_000);
+
+        // WHEN/THEN
+        assertTrue(seeker.seek(mark, COMMA));
+        assertEquals(123L, seeker.extract(mark, extractors.long_()).longValue());
+        assertTrue(seeker.seek(mark, COMMA));
+        assertEquals(Values.utf8Value("Ω and ∑".getBytes(UTF_8)), seeker.extract(mark, extractors.textValue()));
+        assertTrue(seeker.seek(mark, COMMA));
+        assertEquals(4.5D, seeker.extract(mark, extractors.double_()), 0D);
+        assertTrue(seeker.seek(mark, COMMA));
+        assertTrue(mark.isEndOfLine());
+        assertTrue(seeker.extract(mark, extractors.boolean_()));
+
+        assertTrue(seeker.seek(mark, COMMA));
+        assertEquals(Values.NO_VALUE, seeker.tryExtract(mark, extractors.textValue()));
+        assertTrue(seeker.seek(mark, COMMA));
+        assertEquals(Values.EMPTY_STRING, seeker.extract(mark, extractors.textValue()));
+        assertTrue(seeker.seek(mark, COMMA));
+        assertEquals(-7L, seeker.extract(mark, extractors.long_()).longValue());
+        assertTrue(seeker.seek(mark, COMMA));
+        assertTrue(mark.isEndOfLine());
+        assertFalse(seeker.seek(mark, COMMA));
+    }
+
+    @Test
+    void shouldHandleQuotesAndDoubleQuotes() throws Exception {
+        // GIVEN
+        seeker = seeker(
+                "\"value \"\"one\"\"\"\t\"\"\"välue\"\" two\"\t\"va\"\"lue\"\" three\"\t\"multi\nline\"",
+                config().toBuilder().withMultilineFields(true).build(),
+                2);
+
+        // WHEN/THEN
+        assertNextValue(TAB, "value \"one\"");
+        assertNextValue(TAB, "\"välue\" two");
+        assertNextValue(TAB, "va\"lue\" three");
+        assertNextValue(TAB, "multi\nline");
+        assertTrue(mark.isEndOfLine());
+        assertFalse(seeker.seek(mark, TAB));
+    }
+
+    @Test
+    void shouldHandleSlashEncodedQuotesIfConfiguredWithLegacyStyleQuoting() throws Exception {
+        // GIVEN
+        seeker = seeker(
+                "\"value \\\"one\\\"\",\"two \\\\ \"",
+                config().toBuilder().withLegacyStyleQuoting(true).build(),
+                1_000);
+
+        // WHEN/THEN
+        assertNextValue(COMMA, "value \"one\"");
+        assertNextValue(COMMA, "two \\ ");
+    }
+
+    @Test
+    void shouldFailOnCharactersAfterEndQuote() throws Exception {
+        // GIVEN
+        seeker = seeker("abc,\"def\"ghi,jkl", config(), 1_000);
+
+        // WHEN/THEN
+        assertNextValue(COMMA, "abc");
+        assertThrows(DataAfterQuoteException.class, () -> seeker.seek(mark, COMMA));
+    }
+
+    @Test
+    void shouldFailOnMissingEndQuote() throws Exception {
+        // GIVEN
+        seeker = seeker(
+                "abc,\"def", config().toBuilder().withMultilineFields(true).build(), 1_000);
+
+        // WHEN/THEN
+        assertNextValue(COMMA, "abc");
+        assertThrows(MissingEndQuoteException.class, () -> seeker.seek(mark, COMMA));
+    }
+
+    @Test
+    void shouldRejectInvalidUtf8() throws Exception {
+        // GIVEN a truncated sequence, a stray continuation byte, an overlong encoding, a surrogate and a code point
+        // above U+10FFFF, each one between valid values
+        byte[][] invalidValues = {
+            {'a', (byte) 0xC3, '(', 'b'},
+            {(byte) 0x80},
+            {(byte) 0xC0, (byte) 0xAF},
+            {(byte) 0xED, (byte) 0xA0, (byte) 0x80},
+            {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80}
+        };
+        ByteBuffer data = ByteBuffer.allocate(100);
+        for (byte[] invalidValue : invalidValues) {
+            data.put("å,".getBytes(UTF_8)).put(invalidValue).put((byte) ',');
+        }
+        seeker =
+                new Utf8CharSeeker(channel(Arrays.copyOf(data.array(), data.position()), 1_000), TEST_SOURCE, config());
+
+        // WHEN/THEN
+        for (int i = 0; i < invalidValues.length; i++) {
+            assertNextValue(COMMA, "å");
+            assertTrue(seeker.seek(mark, COMMA));
+            assertThrows(IllegalArgumentException.class, () -> seeker.extract(mark, extractors.string()));
+            assertThrows(IllegalArgumentException.class, () -> seeker.extract(mark, extractors.textValue()));
+            assertThrows(IllegalArgumentException.class, () -> seeker.extract(mark, extractors.stringArray()));
+        }
+    }
+
+    @Test
+    void shouldFailOnReadingFieldLargerThanBufferSize() throws Exception {
+        // GIVEN
+        seeker = seeker("a,bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb,c", config(16), 1_000);
+
+        // WHEN/THEN
+        assertNextValue(COMMA, "a");
+        assertThrows(BufferOverflowException.class, () -> seeker.seek(mark, COMMA));
+    }
+
+    @Test
+    void shouldTrimAsciiAndMultiByteWhitespace() throws Exception {
+        // GIVEN
+        seeker = seeker(
+                " a  , \"b \" ,\t c d\t",
+                config().toBuilder().withTrimStrings(true).build(),
+                1);
+
+        // WHEN/THEN
+        assertNextValue(COMMA, "a");
+        assertNextValue(COMMA, "b ");
+        assertNextValue(COMMA, "c d");
+        assertTrue(mark.isEndOfLine());
+        assertFalse(seeker.seek(mark, COMMA));
+    }
+
+    @Test
+    void shouldSkipByteOrderMarkAndTrackPosition() throws Exception {
+        // GIVEN
+        byte[] data = "\uFEFFab,cd\n".getBytes(UTF_8);
+        seeker = new Utf8CharSeeker(channel(data, 2), TEST_SOURCE, config());
+
+        // WHEN/THEN
+        assertNextValue(COMMA, "ab");
+        assertEquals(6, seeker.position());
+        assertNextValue(COMMA, "cd");
+        assertEquals(data.length, seeker.position());
+        assertFalse(seeker.seek(mark, COMMA));
+    }
+
+    @Test
+    void shouldRejectNonAsciiDelimiter() {
+        // GIVEN
+        seeker = seeker("a§b", config(), 1_000);
+
+        // WHEN/THEN
+        assertThrows(IllegalArgumentException.class, () -> seeker.seek(mark, '§'));
+    }
+
+    @Test
+    void shouldReadFromFile() throws Exception {
+        // GIVEN
+        Path file = directory.file("data.csv");
+        Files.writeString(file, "1,ä\n2,ö\n");
+        seeker = CharSeekers.utf8CharSeeker(file, config());
+
+        // WHEN/THEN
+        assertNextValue(COMMA, "1");
+        assertNextValue(COMMA, "ä");
+        assertNextValue(COMMA, "2");
+        assertNextValue(COMMA, "ö");
+        assertFalse(seeker.seek(mark, COMMA));
+    }
+
+    @Test
+    void shouldFindSameValuesAsBufferedCharSeeker() throws Exception {
+        // GIVEN
+        String data = randomCsv();
+        Configuration config = config(10_000).toBuilder()
+                .withMultilineFields(true)
+                .withTrimStrings(random.nextBoolean())
+                .build();
+
+        // WHEN
+        List<String> expected;
+        try (CharSeeker charSeeker = charSeeker(wrap(TEST_SOURCE, data), config, false)) {
+            expected = allValues(charSeeker);
+        }
+        seeker = seeker(data, config, random.nextInt(1, 100));
+        List<String> actual = allValues(seeker);
+
+        // THEN
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldFindFirstOfAnyByte() {
+        for (int round = 0; round < 1_000; round++) {
+            // GIVEN
+            byte[] data = new byte[random.nextInt(40)];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte) random.among(new int[] {'a', 'b', 0xC3, 0x80, ',', '\n'});
+            }
+            int from = data.length == 0 ? 0 : random.nextInt(data.length);
+
+            // WHEN
+            int found = Utf8CharSeeker.indexOfAny(
+                    data,
+                    from,
+                    data.length,
+                    Utf8CharSeeker.broadcast(','),
+                    Utf8CharSeeker.broadcast('\n'),
+                    Utf8CharSeeker.broadcast(0x80),
+                    Utf8CharSeeker.broadcast(','));
+
+            // THEN
+            int expected = from;
+            while (expected < data.length
+                    && data[expected] != ','
+                    && data[expected] != '\n'
+                    && data[expected] != (byte) 0x80) {
+                expected++;
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    private String randomCsv() {
+        String[] pieces = {"a", "ä", "∑", "😡", " ", "\t", " ", "1", "-", "."};
+        StringBuilder builder = new StringBuilder();
+        int lines = random.nextInt(50, 200);
+        for (int line = 0; line < lines; line++) {
+            int columns = random.nextInt(1, 10);
+            for (int column = 0; column < columns; column++) {
+                if (column > 0) {
+                    builder.append(',');
+                }
+                boolean quoted = random.nextInt(4) == 0;
+                if (quoted) {
+                    builder.append('"');
+                }
+                int length = random.nextInt(30);
+                for (int i = 0; i < length; i++) {
+                    builder.append(random.among(pieces));
+                    if (quoted && random.nextInt(10) == 0) {
+                        builder.append(random.nextBoolean() ? "\"\"" : ",\n");
+                    }
+                }
+                if (quoted) {
+                    builder.append('"');
+                }
+            }
+            builder.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        return builder.toString();
+    }
+
+    private List<String> allValues(CharSeeker seeker) throws IOException {
+        List<String> values = new ArrayList<>();
+        while (seeker.seek(mark, COMMA)) {
+            values.add(seeker.tryExtract(mark, extractors.string()) + (mark.isEndOfLine() ? "<EOL>" : ""));
+        }
+        return values;
+    }
+
+    private void assertNextValue(int delimiter, String expectedValue) throws IOException {
+        assertTrue(seeker.seek(mark, delimiter));
+        assertEquals(expectedValue, seeker.extract(mark, extractors.string()));
+    }
+
+    private static CharSeeker seeker(String data, Configuration config, int maxBytesPerRead) {
+        return new Utf8CharSeeker(channel(data.getBytes(UTF_8), maxBytesPerRead), TEST_SOURCE, config);
+    }
+
+    private static Configuration config() {
+        return config(1_000);
+    }
+
+    private static Configuration config(int bufferSize) {
+        return Configuration.newBuilder().withBufferSize(bufferSize).build();
+    }
+
+    private static ReadableByteChannel channel(byte[] data, int maxBytesPerRead) {
+        return new ReadableByteChannel() {
+            private int position;
+            private boolean open = true;
+
+            @Override
+            public int read(ByteBuffer dst) {
+                if (position == data.length) {
+                    return -1;
+                }
+                int length = Math.min(Math.min(maxBytesPerRead, dst.remaining()), data.length - position);
+                dst.put(data, position, length);
+                position += length;
+                return length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void close() {
+                open = false;
+            }
+        };
+    }
+}
@@ -106,6 +106,17 @@ public class DumpCommand extends AbstractAdminCommand {
             description = "Overwrite any existing dump file in the destination folder.")
     private boolean overwriteDestination;
 
+    @Option(
+            names = "--parallel-compression",
+            arity = "0..1",
+            paramLabel = "true|false",
+            fallbackValue = "true",
+            showDefaultValue = ALWAYS,
+            description = "Compress the dump in independent chunks using all available processors, "
+                    + "such that it can also be loaded in parallel. Dumps written this way cannot be loaded "
+                    + "by versions of Neo4j that predate this option.")
+    private boolean parallelCompression;
+
     private final Dumper dumper;
 
     public DumpCommand(ExecutionContext ctx, Dumper dumper) {
@@ -266,7 +277,7 @@ public class DumpCommand extends AbstractAdminCommand {
     private void dump(DatabaseLayout databaseLayout, String databaseName) {
         Path databasePath = databaseLayout.databaseDirectory();
         try {
-            var format = DumpFormatSelector.selectFormat(ctx.err());
+            var format = DumpFormatSelector.selectFormat(ctx.err(), parallelCompression);
             var lockFile = databaseLayout.databaseLockFile().getFileName().toString();
             var quarantineMarkerFile =
                     databaseLayout.quarantineFile().getFileName().toString();
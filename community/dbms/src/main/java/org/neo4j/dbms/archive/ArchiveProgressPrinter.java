@@ -41,6 +41,7 @@ class ArchiveProgressPrinter {
     private long maxFiles;
 
     private boolean force;
+    private Instant started;
     private Deadline deadline = null;
     private PercentageCondition percentage = null;
 
@@ -51,6 +52,7 @@ class ArchiveProgressPrinter {
 
     Resource startPrinting() {
         deadline = new Deadline(Instant.EPOCH, PRINT_INTERVAL);
+        started = timeSource.get();
         return () -> {
             done();
             printProgress();
@@ -62,6 +64,7 @@ class ArchiveProgressPrinter {
         maxFiles = 0;
         currentBytes = 0;
         currentFiles = 0;
+        started = null;
         deadline = null;
         percentage = null;
     }
@@ -119,18 +122,29 @@ class ArchiveProgressPrinter {
 
     void printProgress() {
         if (done) {
-            progressPrinter.print(
-                    "Done: " + currentFiles + " files, " + ByteUnit.bytesToString(currentBytes) + " processed.");
+            progressPrinter.print("Done: " + currentFiles + " files, " + ByteUnit.bytesToString(currentBytes)
+                    + " processed." + throughput());
             progressPrinter.complete();
         } else if (maxFiles > 0 && maxBytes > 0) {
             double progress = (currentBytes / (double) maxBytes) * 100;
-            progressPrinter.print(
-                    "Files: " + currentFiles + '/' + maxFiles + ", data: " + String.format("%4.1f%%", progress));
+            progressPrinter.print("Files: " + currentFiles + '/' + maxFiles + ", data: "
+                    + String.format("%4.1f%%", progress) + throughput());
         } else {
             progressPrinter.print("Files: " + currentFiles + "/?" + ", data: ??.?%");
         }
     }
 
+    private String throughput() {
+        if (started == null) {
+            return "";
+        }
+        long elapsedMillis = Duration.between(started, timeSource.get()).toMillis();
+        if (elapsedMillis <= 0) {
+            return "";
+        }
+        return " (" + ByteUnit.bytesToString(currentBytes * 1000 / elapsedMillis) + "/s)";
+    }
+
     static class Deadline {
         private final Duration interval;
         private Instant target;
@@ -64,6 +64,7 @@ public class DumpFormatSelector {
         var magic = new String(bytes);
         return switch (magic) {
             case DumpZstdFormatV1.MAGIC_HEADER -> new DumpZstdFormatV1();
+            case DumpZstdFormatV2.MAGIC_HEADER -> new DumpZstdFormatV2();
             case DumpGzipFormatV1.MAGIC_HEADER -> new DumpGzipFormatV1();
             default -> {
                 stream.unread(bytes);
@@ -77,8 +78,16 @@ public class DumpFormatSelector {
     }
 
     public static CompressionFormat selectFormat(PrintStream err) {
+        return selectFormat(err, false);
+    }
+
+    /**
+     * @param parallel whether to compress the dump in independent chunks, see {@link DumpZstdFormatV2}. Only has an
+     * effect if zstd is available.
+     */
+    public static CompressionFormat selectFormat(PrintStream err, boolean parallel) {
         if (StandardCompressionFormat.selectCompressionFormat(err) == ZSTD) {
-            return new DumpZstdFormatV1();
+            return parallel ? new DumpZstdFormatV2() : new DumpZstdFormatV1();
         }
         return new DumpGzipFormatV1();
     }
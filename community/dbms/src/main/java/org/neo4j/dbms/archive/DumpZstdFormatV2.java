@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Zstd dump format where the archive is compressed in independent chunks, see {@link ParallelZstdOutputStream},
+ * such that both dumping and loading can spread the (de)compression over multiple workers.
+ */
+public class DumpZstdFormatV2 implements CompressionFormat {
+    static final String MAGIC_HEADER = DumpFormatSelector.DUMP_PREFIX + "ZV2";
+
+    private final int workers;
+
+    public DumpZstdFormatV2() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public DumpZstdFormatV2(int workers) {
+        this.workers = Math.max(1, workers);
+    }
+
+    @Override
+    public OutputStream compress(OutputStream stream) throws IOException {
+        stream.write(MAGIC_HEADER.getBytes());
+        return new ParallelZstdOutputStream(stream, workers);
+    }
+
+    @Override
+    public InputStream decompress(InputStream stream) throws IOException {
+        return new ParallelZstdInputStream(stream, workers);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_BYTE_ARRAY;
+import static org.neo4j.dbms.archive.ParallelZstdOutputStream.CHUNK_SIZE;
+
+import com.github.luben.zstd.ZstdDecompressCtx;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.neo4j.internal.helpers.NamedThreadFactory;
+
+/**
+ * Reads a stream written by {@link ParallelZstdOutputStream}. Frames are read sequentially by the reading thread and
+ * handed over to a pool of decompression workers, keeping a window of frames in flight such that decompressed data
+ * is available when the reader gets to it.
+ */
+class ParallelZstdInputStream extends InputStream {
+    private static final int FRAMES_IN_FLIGHT_PER_WORKER = 2;
+    private static final byte[] ZEROS = new byte[CHUNK_SIZE];
+
+    private final DataInputStream in;
+    private final ExecutorService executor;
+    private final int maxFramesInFlight;
+    private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+    private boolean endOfFrames;
+    private byte[] current = EMPTY_BYTE_ARRAY;
+    private int currentLength;
+    private int currentPosition;
+
+    ParallelZstdInputStream(InputStream in, int workers) {
+        this.in = new DataInputStream(in);
+        this.executor = Executors.newFixedThreadPool(workers, new NamedThreadFactory("dump-decompression", true));
+        this.maxFramesInFlight = workers * FRAMES_IN_FLIGHT_PER_WORKER;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current[currentPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] into, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int toCopy = Math.min(length, currentLength - currentPosition);
+        System.arraycopy(current, currentPosition, into, offset, toCopy);
+        currentPosition += toCopy;
+        return toCopy;
+    }
+
+    @Override
+    public int available() {
+        return currentLength - currentPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        in.close();
+    }
+
+    private boolean ensureData() throws IOException {
+        while (currentPosition == currentLength) {
+            scheduleFrames();
+            Future<byte[]> frame = pending.poll();
+            if (frame == null) {
+                return false;
+            }
+            current = await(frame);
+            currentLength = current.length;
+            currentPosition = 0;
+        }
+        return true;
+    }
+
+    private void scheduleFrames() throws IOException {
+        while (pending.size() < maxFramesInFlight && !endOfFrames) {
+            int length = in.readInt();
+            if (length == 0) {
+                endOfFrames = true;
+                break;
+            }
+            int compressedLength = in.readInt();
+            if (length < 0 || length > CHUNK_SIZE || compressedLength < 0) {
+                throw new IOException("Invalid frame of length " + length + " and compressed length " + compressedLength
+                        + ", this is not a parallel zstd dump or it is corrupt");
+            }
+            if (compressedLength == 0) {
+                pending.add(CompletableFuture.completedFuture(zeros(length)));
+                continue;
+            }
+            byte[] compressed = new byte[compressedLength];
+            try {
+                in.readFully(compressed);
+            } catch (EOFException e) {
+                throw new EOFException("Unexpected end of dump, compressed frame is truncated");
+            }
+            pending.add(executor.submit(() -> decompress(compressed, length)));
+        }
+    }
+
+    private static byte[] zeros(int length) {
+        return length == CHUNK_SIZE ? ZEROS : new byte[length];
+    }
+
+    private static byte[] decompress(byte[] compressed, int length) throws IOException {
+        try (ZstdDecompressCtx context = new ZstdDecompressCtx()) {
+            byte[] data = context.decompress(compressed, length);
+            if (data.length != length) {
+                throw new IOException("Frame decompressed into " + data.length + " bytes, expected " + length);
+            }
+            return data;
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a frame to be decompressed");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Failed to decompress frame", e.getCause());
+        }
+    }
+}
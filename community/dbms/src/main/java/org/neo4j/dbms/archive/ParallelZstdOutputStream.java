@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import static org.neo4j.io.ByteUnit.mebiBytes;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.neo4j.internal.helpers.NamedThreadFactory;
+
+/**
+ * Compresses data in chunks of {@link #CHUNK_SIZE}, each one into an independent zstd frame, using a pool of workers.
+ * Frames are written in order, each preceded by its length, such that {@link ParallelZstdInputStream} can hand them
+ * out to its own pool of workers for decompression.
+ * <pre>
+ * stream := frame* end:int(0)
+ * frame  := uncompressedLength:int compressedLength:int zstdFrame:byte[compressedLength]
+ * </pre>
+ * Chunks that only contain zeros, common in pre-allocated store files, are not compressed at all but written as
+ * frames with a {@code compressedLength} of zero.
+ */
+class ParallelZstdOutputStream extends OutputStream {
+    static final int CHUNK_SIZE = (int) mebiBytes(1);
+    private static final int FRAMES_IN_FLIGHT_PER_WORKER = 2;
+    private static final byte[] ZEROS = new byte[CHUNK_SIZE];
+
+    private final DataOutputStream out;
+    private final ExecutorService executor;
+    private final int maxFramesInFlight;
+    private final ArrayDeque<Future<Frame>> pending = new ArrayDeque<>();
+    private byte[] chunk = new byte[CHUNK_SIZE];
+    private int position;
+    private boolean closed;
+
+    ParallelZstdOutputStream(OutputStream out, int workers) {
+        this.out = new DataOutputStream(out);
+        this.executor = Executors.newFixedThreadPool(workers, new NamedThreadFactory("dump-compression", true));
+        this.maxFramesInFlight = workers * FRAMES_IN_FLIGHT_PER_WORKER;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        chunk[position++] = (byte) b;
+        if (position == CHUNK_SIZE) {
+            submitChunk();
+        }
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        while (length > 0) {
+            int toCopy = Math.min(length, CHUNK_SIZE - position);
+            System.arraycopy(data, offset, chunk, position, toCopy);
+            position += toCopy;
+            offset += toCopy;
+            length -= toCopy;
+            if (position == CHUNK_SIZE) {
+                submitChunk();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        submitChunk();
+        while (!pending.isEmpty()) {
+            writeFrame(await(pending.poll()));
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+            out.writeInt(0);
+            out.flush();
+        } finally {
+            executor.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void submitChunk() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        byte[] data = chunk;
+        int length = position;
+        chunk = new byte[CHUNK_SIZE];
+        position = 0;
+
+        if (Arrays.equals(data, 0, length, ZEROS, 0, length)) {
+            pending.add(CompletableFuture.completedFuture(new Frame(length, null)));
+        } else {
+            pending.add(executor.submit(() -> new Frame(length, compress(data, length))));
+        }
+        while (pending.size() > maxFramesInFlight) {
+            writeFrame(await(pending.poll()));
+        }
+    }
+
+    private static byte[] compress(byte[] data, int length) {
+        try (ZstdCompressCtx context = new ZstdCompressCtx()) {
+            context.setLevel(Zstd.defaultCompressionLevel());
+            context.setChecksum(true);
+            byte[] compressed = new byte[(int) Zstd.compressBound(length)];
+            int compressedLength = context.compressByteArray(compressed, 0, compressed.length, data, 0, length);
+            return Arrays.copyOf(compressed, compressedLength);
+        }
+    }
+
+    private void writeFrame(Frame frame) throws IOException {
+        out.writeInt(frame.length());
+        if (frame.compressed() == null) {
+            out.writeInt(0);
+        } else {
+            out.writeInt(frame.compressed().length);
+            out.write(frame.compressed());
+        }
+    }
+
+    private static Frame await(Future<Frame> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a chunk to be compressed");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to compress chunk", e.getCause());
+        }
+    }
+
+    /**
+     * @param compressed the compressed frame, or {@code null} if the chunk only contained zeros.
+     */
+    private record Frame(int length, byte[] compressed) {}
+}
@@ -78,12 +78,12 @@ public enum StandardCompressionFormat implements CompressionFormat {
      * compressed stream is not wrapped in other streams, like buffered or filtering input streams.
      */
     public boolean isFormat(InputStream stream) {
-        return (this == ZSTD && stream instanceof ZstdInputStream)
+        return (this == ZSTD && (stream instanceof ZstdInputStream || stream instanceof ParallelZstdInputStream))
                 || (this == GZIP && stream instanceof GZIPInputStream);
     }
 
     public boolean isFormat(OutputStream stream) {
-        return (this == ZSTD && stream instanceof ZstdOutputStream)
+        return (this == ZSTD && (stream instanceof ZstdOutputStream || stream instanceof ParallelZstdOutputStream))
                 || (this == GZIP && stream instanceof GZIPOutputStream);
     }
 
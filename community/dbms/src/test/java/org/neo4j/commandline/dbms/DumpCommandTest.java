@@ -46,8 +46,8 @@ class DumpCommandTest {
                 USAGE
 
                 dump [-h] [--expand-commands] [--verbose] [--overwrite-destination
-                     [=true|false]] [--additional-config=<file>] [--to-path=<path> |
-                     --to-stdout] <database>
+                     [=true|false]] [--parallel-compression[=true|false]]
+                     [--additional-config=<file>] [--to-path=<path> | --to-stdout] <database>
 
                 DESCRIPTION
 
@@ -75,6 +75,13 @@ class DumpCommandTest {
                                           Overwrite any existing dump file in the destination
                                             folder.
                                             Default: false
+                      --parallel-compression[=true|false]
+                                          Compress the dump in independent chunks using all
+                                            available processors, such that it can also be
+                                            loaded in parallel. Dumps written this way cannot
+                                            be loaded by versions of Neo4j that predate this
+                                            option.
+                                            Default: false
                       --to-path=<path>    Destination folder of database dump.
                       --to-stdout         Use standard output as destination for database dump.
                       --verbose           Enable verbose output.""");
@@ -24,6 +24,8 @@ import static org.neo4j.configuration.GraphDatabaseSettings.initial_default_data
 import static org.neo4j.configuration.GraphDatabaseSettings.neo4j_home;
 import static org.neo4j.configuration.GraphDatabaseSettings.transaction_logs_root_path;
 import static org.neo4j.function.Predicates.alwaysFalse;
+import static org.neo4j.io.ByteUnit.kibiBytes;
+import static org.neo4j.io.ByteUnit.mebiBytes;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -32,6 +34,8 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.configuration.Config;
@@ -91,6 +95,27 @@ class ArchiveTest {
         assertRoundTrips(directory, compressionFormat);
     }
 
+    @Test
+    void shouldRoundTripFilesWithParallelCompression() throws IOException, IncorrectFormat {
+        Path directory = testDirectory.directory("a-directory");
+        filesystem.mkdirs(directory);
+        var random = new Random(42);
+        var mixed = new byte[(int) mebiBytes(5) + 123];
+        for (int i = 0; i < mixed.length; i += (int) kibiBytes(512)) {
+            // alternate random and all-zero stretches, where the latter are stored without being compressed
+            if ((i / kibiBytes(512)) % 3 != 0) {
+                var stretch = new byte[Math.min((int) kibiBytes(512), mixed.length - i)];
+                random.nextBytes(stretch);
+                System.arraycopy(stretch, 0, mixed, i, stretch.length);
+            }
+        }
+        write(directory.resolve("mixed-file"), mixed);
+        write(directory.resolve("zero-file"), new byte[(int) mebiBytes(3)]);
+        write(directory.resolve("a-file"), "text");
+
+        assertRoundTrips(directory, new DumpZstdFormatV2(3));
+    }
+
     @ParameterizedTest
     @EnumSource(StandardCompressionFormat.class)
     void shouldRoundTripEmptyDirectories(StandardCompressionFormat compressionFormat)
@@ -213,8 +238,12 @@ class ArchiveTest {
     }
 
     private void write(Path file, String data) throws IOException {
+        write(file, data.getBytes());
+    }
+
+    private void write(Path file, byte[] data) throws IOException {
         try (var outputStream = filesystem.openAsOutputStream(file, false)) {
-            outputStream.write(data.getBytes());
+            outputStream.write(data);
         }
     }
 
@@ -233,7 +262,7 @@ class ArchiveTest {
         return DatabaseLayout.of(config);
     }
 
-    private void assertRoundTrips(Path oldDirectory, StandardCompressionFormat compressionFormat)
+    private void assertRoundTrips(Path oldDirectory, CompressionFormat compressionFormat)
             throws IOException, IncorrectFormat {
         Path archive = testDirectory.file("the-archive.dump");
         Dumper dumper = new Dumper();
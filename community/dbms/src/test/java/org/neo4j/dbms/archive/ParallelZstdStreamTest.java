@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.dbms.archive.ParallelZstdOutputStream.CHUNK_SIZE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ParallelZstdStreamTest {
+    @Test
+    void shouldRoundTripDataSpanningManyChunks() throws IOException {
+        var data = new byte[CHUNK_SIZE * 7 + 17];
+        new Random(1).nextBytes(data);
+
+        assertThat(roundTrip(data)).isEqualTo(data);
+    }
+
+    @Test
+    void shouldRoundTripEmptyStream() throws IOException {
+        assertThat(roundTrip(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void shouldStoreZeroChunksWithoutCompressingThem() throws IOException {
+        var data = new byte[CHUNK_SIZE * 4];
+        new Random(2).nextBytes(data);
+        Arrays.fill(data, CHUNK_SIZE, CHUNK_SIZE * 3, (byte) 0);
+
+        var compressed = compress(data, 2);
+
+        // two frames of random data plus a little overhead, the zero frames are only headers
+        assertThat(compressed.length).isLessThan(CHUNK_SIZE * 2 + 1024);
+        assertThat(decompress(compressed, 2)).isEqualTo(data);
+    }
+
+    @Test
+    void shouldRoundTripSingleByteWritesAndReads() throws IOException {
+        var data = new byte[CHUNK_SIZE + 100];
+        new Random(3).nextBytes(data);
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ParallelZstdOutputStream(bytes, 2)) {
+            for (byte b : data) {
+                out.write(b);
+            }
+        }
+
+        var read = new ByteArrayOutputStream();
+        try (var in = new ParallelZstdInputStream(new ByteArrayInputStream(bytes.toByteArray()), 2)) {
+            int b;
+            while ((b = in.read()) != -1) {
+                read.write(b);
+            }
+        }
+        assertThat(read.toByteArray()).isEqualTo(data);
+    }
+
+    @Test
+    void shouldFailOnTruncatedStream() throws IOException {
+        var data = new byte[CHUNK_SIZE * 2];
+        new Random(4).nextBytes(data);
+        var compressed = compress(data, 2);
+        var truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+        assertThatThrownBy(() -> decompress(truncated, 2)).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void shouldFailOnCorruptFrameHeader() {
+        var corrupt = new byte[] {0x7F, 0, 0, 0, 0, 0, 0, 1};
+
+        assertThatThrownBy(() -> decompress(corrupt, 1))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Invalid frame");
+    }
+
+    private static byte[] roundTrip(byte[] data) throws IOException {
+        return decompress(compress(data, 3), 3);
+    }
+
+    private static byte[] compress(byte[] data, int workers) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ParallelZstdOutputStream(bytes, workers)) {
+            // odd-sized writes to have them straddle chunk boundaries
+            for (int offset = 0; offset < data.length; offset += 100_003) {
+                out.write(data, offset, Math.min(100_003, data.length - offset));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressed, int workers) throws IOException {
+        try (InputStream in = new ParallelZstdInputStream(new ByteArrayInputStream(compressed), workers)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import java.util.List;
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.staging.BatchSender;
+import org.neo4j.internal.batchimport.staging.ProcessorStep;
+import org.neo4j.internal.batchimport.staging.StageControl;
+import org.neo4j.internal.kernel.api.security.LoginContext;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.api.Kernel;
+import org.neo4j.kernel.api.KernelTransaction;
+
+/**
+ * Writes each batch of prepared entities in its own transaction. A single processor does this, so that batches
+ * don't compete with each other for locks, leaving them to only meet the locks of other transactions running
+ * on the database at the same time.
+ */
+class ApplyEntitiesStep<T> extends ProcessorStep<List<T>> {
+    private final Kernel kernel;
+    private final Applier<T> applier;
+    private final Runnable committed;
+
+    ApplyEntitiesStep(
+            StageControl control,
+            Configuration config,
+            Kernel kernel,
+            Applier<T> applier,
+            Runnable committed,
+            CursorContextFactory contextFactory) {
+        super(control, "APPLY", config, 1, contextFactory);
+        this.kernel = kernel;
+        this.applier = applier;
+        this.committed = committed;
+    }
+
+    @Override
+    protected void process(List<T> entities, BatchSender sender, CursorContext cursorContext) throws Throwable {
+        try (KernelTransaction tx =
+                kernel.beginTransaction(KernelTransaction.Type.IMPLICIT, LoginContext.AUTH_DISABLED)) {
+            applier.apply(entities, tx);
+            tx.commit();
+        }
+        committed.run();
+    }
+
+    interface Applier<T> {
+        void apply(List<T> entities, KernelTransaction tx) throws Exception;
+    }
+}
@@ -201,6 +201,18 @@ public class ImportCommand {
                 description = "Whether or not a backslash-escaped quote e.g. \\\" is interpreted as an inner quote.")
         private boolean legacyStyleQuoting = DEFAULT_CSV_CONFIG.legacyStyleQuoting();
 
+        @Option(
+                names = "--read-utf8-bytes",
+                arity = "0..1",
+                showDefaultValue = ALWAYS,
+                paramLabel = "true|false",
+                fallbackValue = "true",
+                description = "(advanced) Whether or not input data is parsed as UTF-8 bytes, so that uncompressed "
+                        + "UTF-8 encoded files are never decoded into characters. Values in such files which aren't "
+                        + "valid UTF-8 fail the import. Requires the delimiter and quote characters to be ASCII "
+                        + "characters and doesn't apply to " + MULTILINE_FIELDS + ".")
+        private boolean readUtf8Bytes = DEFAULT_CSV_CONFIG.utf8ByteSeeking();
+
         @Option(
                 names = "--delimiter",
                 paramLabel = "<char>",
@@ -266,6 +278,14 @@ public class ImportCommand {
                                 + "value. For optimal performance, this value should not be greater than the number of available processors.")
         private int threads = DEFAULT_IMPORTER_CONFIG.maxNumberOfWorkerThreads();
 
+        @Option(
+                names = "--stage-telemetry",
+                paramLabel = "<path>",
+                description = "(advanced) File to write telemetry about the steps of every import stage to, "
+                        + "e.g. their processors, queue depths, busy times and I/O throughput. "
+                        + "Written as one JSON object per line, for tuning the import.")
+        private Path stageTelemetryFile;
+
         private static final String BAD_TOLERANCE_OPTION = "--bad-tolerance";
 
         @Option(
@@ -486,6 +506,7 @@ public class ImportCommand {
                     .withTrimStrings(trimStrings)
                     .withLegacyStyleQuoting(legacyStyleQuoting)
                     .withBufferSize(toIntExact(bufferSize))
+                    .withUtf8ByteSeeking(readUtf8Bytes)
                     .build();
         }
 
@@ -516,6 +537,11 @@ public class ImportCommand {
                 public boolean strictNodeCheck() {
                     return strict;
                 }
+
+                @Override
+                public Path stageTelemetryFile() {
+                    return stageTelemetryFile != null ? stageTelemetryFile.toAbsolutePath() : null;
+                }
             };
         }
 
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.neo4j.configuration.GraphDatabaseSettings.allow_file_urls;
+import static org.neo4j.configuration.GraphDatabaseSettings.db_temporal_timezone;
+import static org.neo4j.configuration.GraphDatabaseSettings.load_csv_file_url_root;
+import static org.neo4j.internal.batchimport.input.Collectors.silentBadCollector;
+import static org.neo4j.internal.batchimport.input.InputEntityDecorators.NO_DECORATOR;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.data;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.defaultFormatNodeFileHeader;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.defaultFormatRelationshipFileHeader;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+import static org.neo4j.procedure.Mode.WRITE;
+
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.input.Collector;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.csv.CsvInput;
+import org.neo4j.internal.batchimport.input.csv.DataFactory;
+import org.neo4j.internal.kernel.api.exceptions.ProcedureException;
+import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
+import org.neo4j.kernel.api.exceptions.Status;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.procedure.Admin;
+import org.neo4j.procedure.Context;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+/**
+ * Procedures importing csv files into the database they are called on, using the {@link OnlineIncrementalImporter}.
+ */
+@SuppressWarnings("WeakerAccess")
+public class ImportProcedures {
+    private static final long DEFAULT_BAD_TOLERANCE = 1000;
+
+    @Context
+    public GraphDatabaseAPI db;
+
+    @Context
+    public ProcedureCallContext callContext;
+
+    @Admin
+    @Description("Import nodes and relationships from csv files, in the format of neo4j-admin database import, into "
+            + "this database while it is online. The files are read from the import directory and imported in one "
+            + "write transaction per chunk of input, and chunks already committed stay committed if the import fails. Nodes are merged on the label and property "
+            + "referenced by their ID group, which need a range index. Valid config keys are 'delimiter', "
+            + "'arrayDelimiter', 'quote', 'mergeRelationships' and 'badTolerance'.")
+    @Procedure(name = "db.import.csv", mode = WRITE)
+    public Stream<ImportResult> importCsv(
+            @Name("nodeFiles") List<String> nodeFiles,
+            @Name("relationshipFiles") List<String> relationshipFiles,
+            @Name(value = "config", defaultValue = "{}") Map<String, Object> config)
+            throws ProcedureException {
+        if (callContext.isSystemDatabase()) {
+            throw new ProcedureException(
+                    Status.Procedure.ProcedureCallFailed, "Data can not be imported into the system database");
+        }
+        ImportConfig importConfig = ImportConfig.of(config);
+        Config dbConfig = db.getDependencyResolver().resolveDependency(Config.class);
+        Path importDirectory = importDirectory(dbConfig);
+        ZoneId timeZone = dbConfig.get(db_temporal_timezone);
+        Supplier<ZoneId> defaultTimeZone = () -> timeZone;
+        try (Collector badCollector = silentBadCollector(importConfig.badTolerance);
+                CsvInput input = new CsvInput(
+                        files(importDirectory, nodeFiles),
+                        defaultFormatNodeFileHeader(defaultTimeZone, true),
+                        files(importDirectory, relationshipFiles),
+                        defaultFormatRelationshipFileHeader(defaultTimeZone, true),
+                        IdType.STRING,
+                        importConfig.csvConfig,
+                        false,
+                        CsvInput.NO_MONITOR,
+                        INSTANCE)) {
+            OnlineIncrementalImporter.Result result = OnlineIncrementalImporter.forDatabase(
+                            db, Configuration.DEFAULT, badCollector, importConfig.mergeRelationships)
+                    .importData(input);
+            return Stream.of(new ImportResult(result));
+        } catch (ProcedureException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ProcedureException(Status.Procedure.ProcedureCallFailed, e, "Import failed: %s", e.getMessage());
+        }
+    }
+
+    private static Path importDirectory(Config config) throws ProcedureException {
+        Path root = config.get(load_csv_file_url_root);
+        if (!config.get(allow_file_urls) || root == null) {
+            throw new ProcedureException(
+                    Status.Procedure.ProcedureCallFailed,
+                    "Importing files requires %s to be enabled and %s to be configured",
+                    allow_file_urls.name(),
+                    load_csv_file_url_root.name());
+        }
+        return root.toAbsolutePath().normalize();
+    }
+
+    private static List<DataFactory> files(Path importDirectory, List<String> fileNames) throws ProcedureException {
+        List<DataFactory> data = new ArrayList<>(fileNames.size());
+        for (String fileName : fileNames) {
+            Path path = importDirectory.resolve(fileName).normalize();
+            if (!path.startsWith(importDirectory) || path.equals(importDirectory)) {
+                throw new ProcedureException(
+                        Status.Procedure.ProcedureCallFailed,
+                        "Import file name '%s' must point to a file within the import directory",
+                        fileName);
+            }
+            data.add(data(NO_DECORATOR, UTF_8, path));
+        }
+        return data;
+    }
+
+    private record ImportConfig(
+            org.neo4j.csv.reader.Configuration csvConfig, boolean mergeRelationships, long badTolerance) {
+        static ImportConfig of(Map<String, Object> config) throws ProcedureException {
+            var csvConfig = org.neo4j.csv.reader.Configuration.COMMAS.toBuilder();
+            boolean mergeRelationships = false;
+            long badTolerance = DEFAULT_BAD_TOLERANCE;
+            for (Map.Entry<String, Object> entry : config.entrySet()) {
+                Object value = entry.getValue();
+                switch (entry.getKey()) {
+                    case "delimiter" -> csvConfig.withDelimiter(character(entry.getKey(), value));
+                    case "arrayDelimiter" -> csvConfig.withArrayDelimiter(character(entry.getKey(), value));
+                    case "quote" -> csvConfig.withQuotationCharacter(character(entry.getKey(), value));
+                    case "mergeRelationships" -> mergeRelationships = Boolean.TRUE.equals(value);
+                    case "badTolerance" -> {
+                        if (!(value instanceof Number number) || number.longValue() < 0) {
+                            throw invalidConfig(entry.getKey(), value);
+                        }
+                        badTolerance = number.longValue();
+                    }
+                    default -> throw new ProcedureException(
+                            Status.Procedure.ProcedureCallFailed, "Unknown config key '%s'", entry.getKey());
+                }
+            }
+            return new ImportConfig(csvConfig.build(), mergeRelationships, badTolerance);
+        }
+
+        private static char character(String key, Object value) throws ProcedureException {
+            if (!(value instanceof String string) || string.length() != 1) {
+                throw invalidConfig(key, value);
+            }
+            return string.charAt(0);
+        }
+
+        private static ProcedureException invalidConfig(String key, Object value) {
+            return new ProcedureException(
+                    Status.Procedure.ProcedureCallFailed, "Invalid value '%s' for config key '%s'", value, key);
+        }
+    }
+
+    public static class ImportResult {
+        public final long nodesCreated;
+        public final long nodesUpdated;
+        public final long relationshipsCreated;
+        public final long relationshipsUpdated;
+        public final long transactions;
+        public final long badEntries;
+        public final long durationMillis;
+
+        ImportResult(OnlineIncrementalImporter.Result result) {
+            this.nodesCreated = result.nodesCreated();
+            this.nodesUpdated = result.nodesUpdated();
+            this.relationshipsCreated = result.relationshipsCreated();
+            this.relationshipsUpdated = result.relationshipsUpdated();
+            this.transactions = result.transactions();
+            this.badEntries = result.badEntries();
+            this.durationMillis = result.durationMillis();
+        }
+    }
+}
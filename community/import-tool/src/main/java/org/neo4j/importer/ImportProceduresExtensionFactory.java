@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import org.neo4j.annotations.service.ServiceProvider;
+import org.neo4j.kernel.api.procedure.GlobalProcedures;
+import org.neo4j.kernel.extension.ExtensionFactory;
+import org.neo4j.kernel.extension.context.ExtensionContext;
+import org.neo4j.kernel.lifecycle.Lifecycle;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+
+/**
+ * Registers the {@link ImportProcedures} with the global procedures of the dbms, so that they are only available when
+ * the import tool is on the class path.
+ */
+@ServiceProvider
+public class ImportProceduresExtensionFactory extends ExtensionFactory<ImportProceduresExtensionFactory.Dependencies> {
+    public interface Dependencies {
+        GlobalProcedures globalProcedures();
+    }
+
+    public ImportProceduresExtensionFactory() {
+        super("importProcedures");
+    }
+
+    @Override
+    public Lifecycle newInstance(ExtensionContext context, Dependencies dependencies) {
+        return new LifecycleAdapter() {
+            @Override
+            public void init() throws Exception {
+                dependencies.globalProcedures().registerProcedure(ImportProcedures.class);
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.staging.ProcessContext;
+import org.neo4j.internal.batchimport.staging.PullingProducerStep;
+import org.neo4j.internal.batchimport.staging.StageControl;
+
+/**
+ * Reads {@link InputChunk chunks} off an {@link InputIterator} and sends them downstream, where they are parsed.
+ * Reading a chunk is cheap compared to parsing its entities, so a single thread is enough to feed the parallel
+ * steps downstream.
+ */
+class InputChunkFeedStep extends PullingProducerStep<ProcessContext> {
+    private final InputIterator input;
+
+    InputChunkFeedStep(StageControl control, Configuration config, InputIterator input) {
+        super(control, config);
+        this.input = input;
+    }
+
+    @Override
+    protected Object nextBatchOrNull(long ticket, int batchSize, ProcessContext processContext) {
+        // Each chunk is handed over to another thread so a new one is needed for every batch
+        InputChunk chunk = input.newChunk();
+        try {
+            if (input.next(chunk)) {
+                return chunk;
+            }
+            chunk.close();
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected long position() {
+        // The input doesn't expose how many bytes it has read
+        return 0;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.staging.Stage;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.api.Kernel;
+
+/**
+ * Reads chunks of input, prepares the entities in them in parallel and writes them to an online database,
+ * one transaction per chunk.
+ */
+class OnlineImportStage<T> extends Stage {
+    OnlineImportStage(
+            String name,
+            Configuration config,
+            InputIterator input,
+            PrepareEntitiesStep.Preparer<T> preparer,
+            Kernel kernel,
+            ApplyEntitiesStep.Applier<T> applier,
+            Runnable committed,
+            CursorContextFactory contextFactory) {
+        super(name, null, config, 0);
+        add(new InputChunkFeedStep(control(), config, input));
+        add(new PrepareEntitiesStep<>(control(), config, preparer, contextFactory));
+        add(new ApplyEntitiesStep<>(control(), config, kernel, applier, committed, contextFactory));
+    }
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import static java.lang.Math.max;
+import static java.lang.System.currentTimeMillis;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unconstrained;
+import static org.neo4j.internal.schema.IndexType.RANGE;
+import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_NODE;
+import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_RELATIONSHIP;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.collections.api.factory.primitive.IntObjectMaps;
+import org.eclipse.collections.api.factory.primitive.IntSets;
+import org.eclipse.collections.api.factory.primitive.LongSets;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.neo4j.common.EntityType;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.internal.batchimport.BatchImporter;
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.IncrementalBatchImporter;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.input.Collector;
+import org.neo4j.internal.batchimport.input.Group;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.Input;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.input.InputEntity;
+import org.neo4j.internal.batchimport.staging.ExecutionMonitor;
+import org.neo4j.internal.batchimport.staging.ExecutionSupervisors;
+import org.neo4j.internal.kernel.api.IndexReadSession;
+import org.neo4j.internal.kernel.api.InternalIndexState;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
+import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.internal.kernel.api.exceptions.schema.ConstraintValidationException;
+import org.neo4j.internal.kernel.api.security.LoginContext;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.SchemaDescriptor;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.api.Kernel;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.storageengine.api.RelationshipSelection;
+import org.neo4j.token.TokenHolders;
+import org.neo4j.token.api.TokenHolder;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Convenience importer of {@link Input} into a running database, writing through the kernel {@link Write} API in
+ * regular transactions, as opposed to the {@link BatchImporter} and {@link IncrementalBatchImporter} which write
+ * the store files directly and require the database to be offline. It is exposed as the {@code db.import.csv}
+ * procedure, see {@link ImportProcedures}. Chunks of input are parsed in parallel on the same staged pipeline as
+ * the batch importers use, while a single writer creates or merges the entities of each chunk in one regular kernel
+ * write transaction, i.e. one transaction per chunk of input. Unlike the batch importers it doesn't prepare store or
+ * index records up front; the records are written, and locks taken, by the kernel transaction like for any other
+ * write, so the gain over {@code LOAD CSV} comes from the parallel parsing and the lack of query planning and
+ * execution, not from a cheaper write path.
+ * <p>
+ * Batches are idempotent, so that a failed import, or a delta which has been imported before, can simply be
+ * imported again:
+ * <ul>
+ * <li>Nodes whose ID {@link Group group} references a label and property key, see
+ * {@link Input#referencedNodeSchema(TokenHolders)}, are merged with existing nodes having that label and property
+ * value, looked up using a {@link org.neo4j.internal.schema.IndexType#RANGE range index} which must exist for that
+ * schema. Merged nodes get the labels and properties from the input added to them.</li>
+ * <li>Relationships look up their start and end nodes using the same indexes. If {@code mergeRelationships} is
+ * set, an existing relationship of the same type between the same nodes gets the properties from the input
+ * instead of a new relationship being created. Each existing relationship is merged with at most one input
+ * relationship per import, so parallel relationships of the same type between the same nodes are kept.</li>
+ * </ul>
+ * Entities that can't be imported, e.g. relationships referring to nodes that can't be found or entities violating
+ * constraints, are reported to the {@link Collector}.
+ */
+public class OnlineIncrementalImporter {
+    private final Kernel kernel;
+    private final FileSystemAbstraction fileSystem;
+    private final TokenHolders tokenHolders;
+    private final CursorContextFactory contextFactory;
+    private final Configuration config;
+    private final Collector badCollector;
+    private final boolean mergeRelationships;
+    private final LongAdder nodesCreated = new LongAdder();
+    private final LongAdder nodesUpdated = new LongAdder();
+    private final LongAdder relationshipsCreated = new LongAdder();
+    private final LongAdder relationshipsUpdated = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    // Relationships created or merged by this import. Only accessed by the single thread applying relationships
+    private final MutableLongSet importedRelationships = LongSets.mutable.empty();
+
+    public OnlineIncrementalImporter(
+            Kernel kernel,
+            FileSystemAbstraction fileSystem,
+            TokenHolders tokenHolders,
+            CursorContextFactory contextFactory,
+            Configuration config,
+            Collector badCollector,
+            boolean mergeRelationships) {
+        this.kernel = kernel;
+        this.fileSystem = fileSystem;
+        this.tokenHolders = tokenHolders;
+        this.contextFactory = contextFactory;
+        this.config = config;
+        this.badCollector = badCollector;
+        this.mergeRelationships = mergeRelationships;
+    }
+
+    public static OnlineIncrementalImporter forDatabase(
+            GraphDatabaseAPI db, Configuration config, Collector badCollector, boolean mergeRelationships) {
+        var dependencies = db.getDependencyResolver();
+        return new OnlineIncrementalImporter(
+                dependencies.resolveDependency(Kernel.class),
+                dependencies.resolveDependency(FileSystemAbstraction.class),
+                dependencies.resolveDependency(TokenHolders.class),
+                dependencies.resolveDependency(CursorContextFactory.class),
+                config,
+                badCollector,
+                mergeRelationships);
+    }
+
+    /**
+     * Imports all nodes, and then all relationships, of the given {@link Input}.
+     *
+     * @param input the data to import.
+     * @return {@link Result} of the import.
+     * @throws Exception if the import failed. Transactions committed up to that point stay committed.
+     */
+    public Result importData(Input input) throws Exception {
+        if (input.idType() == IdType.ACTUAL) {
+            throw new IllegalArgumentException("Actual node ids can not be imported into an online database");
+        }
+        long startTime = currentTimeMillis();
+        Map<Group, IndexDescriptor> nodeIndexes = nodeIndexes(referencedNodeSchema(input), input);
+        ExecutionMonitor monitor = ExecutionSupervisors.withStageTelemetry(
+                ExecutionSupervisors.withDynamicProcessorAssignment(ExecutionMonitor.INVISIBLE, config),
+                config,
+                fileSystem);
+
+        try (InputIterator nodes = input.nodes(badCollector).iterator()) {
+            ExecutionSupervisors.superviseExecution(
+                    monitor,
+                    new OnlineImportStage<>(
+                            "Nodes",
+                            config,
+                            nodes,
+                            this::prepareNodes,
+                            kernel,
+                            (batch, tx) -> applyNodes(batch, tx, nodeIndexes),
+                            transactions::increment,
+                            contextFactory));
+        }
+        importedRelationships.clear();
+        try (InputIterator relationships = input.relationships(badCollector).iterator()) {
+            ExecutionSupervisors.superviseExecution(
+                    monitor,
+                    new OnlineImportStage<>(
+                            "Relationships",
+                            config,
+                            relationships,
+                            chunk -> prepareRelationships(chunk, nodeIndexes),
+                            kernel,
+                            this::applyRelationships,
+                            transactions::increment,
+                            contextFactory));
+        }
+        long duration = currentTimeMillis() - startTime;
+        monitor.done(true, duration, "");
+        return new Result(
+                nodesCreated.sum(),
+                nodesUpdated.sum(),
+                relationshipsCreated.sum(),
+                relationshipsUpdated.sum(),
+                transactions.sum(),
+                badCollector.badEntries(),
+                duration);
+    }
+
+    private Map<String, SchemaDescriptor> referencedNodeSchema(Input input) {
+        try {
+            return input.referencedNodeSchema(tokenHolders);
+        } catch (UnsupportedOperationException e) {
+            // This input has no way of identifying existing nodes, i.e. all nodes will be created
+            return Collections.emptyMap();
+        }
+    }
+
+    private Map<Group, IndexDescriptor> nodeIndexes(Map<String, SchemaDescriptor> schemas, Input input)
+            throws Exception {
+        Map<Group, IndexDescriptor> indexes = new HashMap<>();
+        if (schemas.isEmpty()) {
+            return indexes;
+        }
+        try (KernelTransaction tx =
+                kernel.beginTransaction(KernelTransaction.Type.IMPLICIT, LoginContext.AUTH_DISABLED)) {
+            for (Map.Entry<String, SchemaDescriptor> entry : schemas.entrySet()) {
+                Group group = input.groups().get(entry.getKey());
+                SchemaDescriptor schema = entry.getValue();
+                IndexDescriptor index = null;
+                var candidates = tx.schemaRead().index(schema);
+                while (candidates.hasNext() && index == null) {
+                    IndexDescriptor candidate = candidates.next();
+                    if (candidate.getIndexType() == RANGE
+                            && tx.schemaRead().indexGetState(candidate) == InternalIndexState.ONLINE) {
+                        index = candidate;
+                    }
+                }
+                if (index == null) {
+                    throw new IllegalStateException(String.format(
+                            "No online range index for %s, which is needed to look up nodes of %s",
+                            schema.userDescription(tokenHolders), group));
+                }
+                indexes.put(group, index);
+            }
+        }
+        return indexes;
+    }
+
+    private List<PreparedNode> prepareNodes(InputChunk chunk) throws Exception {
+        List<PreparedNode> nodes = new ArrayList<>();
+        try (InputEntity entity = new InputEntity()) {
+            while (chunk.next(entity)) {
+                int[] labels = tokenIds(tokenHolders.labelTokens(), entity.labels());
+                Object[] properties = entity.properties();
+                nodes.add(new PreparedNode(
+                        entity.objectId, entity.idGroup, labels, propertyValues(properties, entity), properties));
+                entity.reset();
+            }
+        }
+        return nodes;
+    }
+
+    private void applyNodes(List<PreparedNode> nodes, KernelTransaction tx, Map<Group, IndexDescriptor> nodeIndexes)
+            throws Exception {
+        Write write = tx.dataWrite();
+        try (NodeLookup lookup = new NodeLookup(tx, nodeIndexes)) {
+            for (PreparedNode node : nodes) {
+                long nodeId = lookup.find(node.id, node.group);
+                boolean created = nodeId == NO_SUCH_NODE;
+                try {
+                    if (created) {
+                        nodeId = write.nodeCreateWithLabels(node.labels);
+                        write.nodeApplyChanges(
+                                nodeId, IntSets.immutable.empty(), IntSets.immutable.empty(), node.properties);
+                        nodesCreated.increment();
+                    } else {
+                        write.nodeApplyChanges(
+                                nodeId, IntSets.immutable.of(node.labels), IntSets.immutable.empty(), node.properties);
+                        nodesUpdated.increment();
+                    }
+                } catch (ConstraintValidationException e) {
+                    if (created && nodeId != NO_SUCH_NODE) {
+                        write.nodeDelete(nodeId);
+                    }
+                    badCollector.collectEntityViolatingConstraint(
+                            node.id,
+                            created ? NO_SUCH_NODE : nodeId,
+                            asMap(node.inputProperties),
+                            e.getMessage(),
+                            EntityType.NODE);
+                }
+            }
+        }
+    }
+
+    private List<PreparedRelationship> prepareRelationships(InputChunk chunk, Map<Group, IndexDescriptor> nodeIndexes)
+            throws Exception {
+        List<PreparedRelationship> relationships = new ArrayList<>();
+        // The nodes have all been written at this point, so looking them up can be done in parallel, outside
+        // of the transactions writing the relationships
+        try (KernelTransaction tx =
+                        kernel.beginTransaction(KernelTransaction.Type.IMPLICIT, LoginContext.AUTH_DISABLED);
+                NodeLookup lookup = new NodeLookup(tx, nodeIndexes);
+                InputEntity entity = new InputEntity()) {
+            while (chunk.next(entity)) {
+                long startNode = entity.hasLongStartId
+                        ? entity.longStartId
+                        : lookup.find(entity.objectStartId, entity.startIdGroup);
+                long endNode =
+                        entity.hasLongEndId ? entity.longEndId : lookup.find(entity.objectEndId, entity.endIdGroup);
+                boolean hasType = entity.hasIntType || entity.stringType != null;
+                if (startNode == NO_SUCH_NODE || endNode == NO_SUCH_NODE || !hasType) {
+                    badCollector.collectBadRelationship(
+                            entity.startId(),
+                            entity.startIdGroup,
+                            entity.stringType,
+                            entity.endId(),
+                            entity.endIdGroup,
+                            !hasType ? null : startNode == NO_SUCH_NODE ? entity.startId() : entity.endId());
+                } else {
+                    int type = entity.hasIntType
+                            ? entity.intType
+                            : tokenHolders.relationshipTypeTokens().getOrCreateId(entity.stringType);
+                    Object[] properties = entity.properties();
+                    relationships.add(new PreparedRelationship(
+                            startNode,
+                            type,
+                            endNode,
+                            propertyValues(properties, entity),
+                            properties,
+                            entity.startId(),
+                            entity.startIdGroup,
+                            entity.stringType,
+                            entity.endId(),
+                            entity.endIdGroup));
+                }
+                entity.reset();
+            }
+        }
+        return relationships;
+    }
+
+    private void applyRelationships(List<PreparedRelationship> relationships, KernelTransaction tx) throws Exception {
+        Write write = tx.dataWrite();
+        try (NodeCursor nodeCursor = tx.cursors().allocateNodeCursor(tx.cursorContext(), tx.memoryTracker());
+                RelationshipTraversalCursor relationshipCursor =
+                        tx.cursors().allocateRelationshipTraversalCursor(tx.cursorContext(), tx.memoryTracker())) {
+            for (PreparedRelationship relationship : relationships) {
+                long relationshipId = mergeRelationships
+                        ? findRelationship(tx, nodeCursor, relationshipCursor, relationship)
+                        : NO_SUCH_RELATIONSHIP;
+                boolean created = relationshipId == NO_SUCH_RELATIONSHIP;
+                try {
+                    if (created) {
+                        relationshipId = write.relationshipCreate(
+                                relationship.startNode, relationship.type, relationship.endNode);
+                        relationshipsCreated.increment();
+                    } else {
+                        relationshipsUpdated.increment();
+                    }
+                    write.relationshipApplyChanges(relationshipId, relationship.properties);
+                    if (mergeRelationships) {
+                        importedRelationships.add(relationshipId);
+                    }
+                } catch (ConstraintValidationException e) {
+                    if (created && relationshipId != NO_SUCH_RELATIONSHIP) {
+                        write.relationshipDelete(relationshipId);
+                        relationshipsCreated.decrement();
+                    }
+                    badCollector.collectRelationshipViolatingConstraint(
+                            asMap(relationship.inputProperties),
+                            e.getMessage(),
+                            relationship.startId,
+                            relationship.startIdGroup,
+                            relationship.typeName,
+                            relationship.endId,
+                            relationship.endIdGroup);
+                }
+            }
+        }
+    }
+
+    private long findRelationship(
+            KernelTransaction tx,
+            NodeCursor nodeCursor,
+            RelationshipTraversalCursor relationshipCursor,
+            PreparedRelationship relationship) {
+        tx.dataRead().singleNode(relationship.startNode, nodeCursor);
+        if (nodeCursor.next()) {
+            nodeCursor.relationships(
+                    relationshipCursor, RelationshipSelection.selection(relationship.type, Direction.OUTGOING));
+            while (relationshipCursor.next()) {
+                if (relationshipCursor.otherNodeReference() == relationship.endNode
+                        && !importedRelationships.contains(relationshipCursor.relationshipReference())) {
+                    return relationshipCursor.relationshipReference();
+                }
+            }
+        }
+        return NO_SUCH_RELATIONSHIP;
+    }
+
+    private static int[] tokenIds(TokenHolder tokens, String[] names) throws Exception {
+        int[] ids = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            ids[i] = tokens.getOrCreateId(names[i]);
+        }
+        return ids;
+    }
+
+    private MutableIntObjectMap<Value> propertyValues(Object[] properties, InputEntity entity) throws Exception {
+        MutableIntObjectMap<Value> values = IntObjectMaps.mutable.withInitialCapacity(properties.length / 2);
+        for (int i = 0; i < properties.length; i += 2) {
+            int key = entity.hasIntPropertyKeyIds
+                    ? (Integer) properties[i]
+                    : tokenHolders.propertyKeyTokens().getOrCreateId((String) properties[i]);
+            values.put(key, Values.of(properties[i + 1]));
+        }
+        return values;
+    }
+
+    private static Map<String, Object> asMap(Object[] properties) {
+        Map<String, Object> map = new LinkedHashMap<>(max(1, properties.length));
+        for (int i = 0; i < properties.length; i += 2) {
+            map.put(String.valueOf(properties[i]), properties[i + 1]);
+        }
+        return map;
+    }
+
+    /**
+     * Looks up existing nodes by input id, using the index of the group that the id belongs to.
+     */
+    private static class NodeLookup implements AutoCloseable {
+        private final KernelTransaction tx;
+        private final Map<Group, IndexDescriptor> indexes;
+        private final Map<Group, IndexReadSession> sessions = new HashMap<>();
+        private NodeValueIndexCursor cursor;
+
+        NodeLookup(KernelTransaction tx, Map<Group, IndexDescriptor> indexes) {
+            this.tx = tx;
+            this.indexes = indexes;
+        }
+
+        long find(Object id, Group group) throws Exception {
+            IndexDescriptor index = id != null ? indexes.get(group) : null;
+            if (index == null) {
+                return NO_SUCH_NODE;
+            }
+            IndexReadSession session = sessions.get(group);
+            if (session == null) {
+                session = tx.dataRead().indexReadSession(index);
+                sessions.put(group, session);
+            }
+            if (cursor == null) {
+                cursor = tx.cursors().allocateNodeValueIndexCursor(tx.cursorContext(), tx.memoryTracker());
+            }
+            int propertyKey = index.schema().getPropertyId();
+            tx.dataRead()
+                    .nodeIndexSeek(
+                            tx.queryContext(),
+                            session,
+                            cursor,
+                            unconstrained(),
+                            PropertyIndexQuery.exact(propertyKey, id));
+            return cursor.next() ? cursor.nodeReference() : NO_SUCH_NODE;
+        }
+
+        @Override
+        public void close() {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    private record PreparedNode(
+            Object id, Group group, int[] labels, MutableIntObjectMap<Value> properties, Object[] inputProperties) {}
+
+    private record PreparedRelationship(
+            long startNode,
+            int type,
+            long endNode,
+            MutableIntObjectMap<Value> properties,
+            Object[] inputProperties,
+            Object startId,
+            Group startIdGroup,
+            String typeName,
+            Object endId,
+            Group endIdGroup) {}
+
+    /**
+     * Outcome of an online import.
+     */
+    public record Result(
+            long nodesCreated,
+            long nodesUpdated,
+            long relationshipsCreated,
+            long relationshipsUpdated,
+            long transactions,
+            long badEntries,
+            long durationMillis) {
+        /**
+         * @return number of input rows, i.e. nodes and relationships, imported per second.
+         */
+        public long rowsPerSecond() {
+            long rows = nodesCreated + nodesUpdated + relationshipsCreated + relationshipsUpdated;
+            return rows * 1000 / max(durationMillis, 1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Imported %d nodes (%d created, %d updated) and %d relationships (%d created, %d updated) "
+                            + "in %d transactions, %d bad entries, %d ms (%d rows/s)",
+                    nodesCreated + nodesUpdated,
+                    nodesCreated,
+                    nodesUpdated,
+                    relationshipsCreated + relationshipsUpdated,
+                    relationshipsCreated,
+                    relationshipsUpdated,
+                    transactions,
+                    badEntries,
+                    durationMillis,
+                    rowsPerSecond());
+        }
+    }
+}
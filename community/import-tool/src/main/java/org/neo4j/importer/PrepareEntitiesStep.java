@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import java.util.List;
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.staging.BatchSender;
+import org.neo4j.internal.batchimport.staging.ProcessorStep;
+import org.neo4j.internal.batchimport.staging.StageControl;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+
+/**
+ * Parses {@link InputChunk chunks} into prepared entities, ready to be written, in parallel.
+ */
+class PrepareEntitiesStep<T> extends ProcessorStep<InputChunk> {
+    private final Preparer<T> preparer;
+
+    PrepareEntitiesStep(
+            StageControl control, Configuration config, Preparer<T> preparer, CursorContextFactory contextFactory) {
+        super(control, "PREPARE", config, 0, contextFactory);
+        this.preparer = preparer;
+    }
+
+    @Override
+    protected void process(InputChunk chunk, BatchSender sender, CursorContext cursorContext) throws Throwable {
+        try (chunk) {
+            List<T> entities = preparer.prepare(chunk);
+            if (!entities.isEmpty()) {
+                sender.send(entities);
+            }
+        }
+    }
+
+    interface Preparer<T> {
+        List<T> prepare(InputChunk chunk) throws Exception;
+    }
+}
@@ -72,6 +72,7 @@ class ImportCommandTest {
         "--ignore-empty-strings",
         "--trim-strings",
         "--legacy-style-quoting",
+        "--read-utf8-bytes",
         "--delimiter",
         "--array-delimiter",
         "--quote",
@@ -79,6 +80,7 @@ class ImportCommandTest {
         "--max-off-heap-memory",
         "--high-parallel-io",
         "--threads",
+        "--stage-telemetry",
         "--bad-tolerance",
         "--skip-bad-entries-logging",
         "--skip-bad-relationships",
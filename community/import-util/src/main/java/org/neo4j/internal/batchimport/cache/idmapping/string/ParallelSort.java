@@ -35,6 +35,11 @@ import org.neo4j.internal.helpers.progress.ProgressListener;
  * using a quick sort method, whereas the dividing of the data is first sorted using radix sort.
  */
 public class ParallelSort {
+    // Slices smaller than this aren't worth a thread of their own when partitioning the data into buckets
+    private static final long MIN_SLICE_SIZE = 100_000;
+    // Ranges this small are sorted using insertion sort, which beats further partitioning
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
     private final RadixCalculator radixCalculator;
     private final LongArray dataCache;
     private final long highestSetIndex;
@@ -86,7 +91,7 @@ public class ParallelSort {
             sortBuckets[i] = new SortBucket();
         }
         int[] bucketRange = new int[threads];
-        Workers<TrackerInitializer> initializers = new Workers<>("TrackerInitializer");
+        int numberOfBuckets = 0;
         long dataSize = highestSetTrackerIndex + 1;
         long bucketSize = dataSize / threads;
         long count = 0;
@@ -106,12 +111,8 @@ public class ParallelSort {
                     fullCount += radixIndexCount[i];
                     progress.add(radixIndexCount[i]);
                 }
-                initializers.start(new TrackerInitializer(
-                        threadIndex,
-                        sortBuckets[threadIndex],
-                        threadIndex > 0 ? bucketRange[threadIndex - 1] : -1,
-                        bucketRange[threadIndex]));
                 threadIndex++;
+                numberOfBuckets = threadIndex;
             } else {
                 count += radixIndexCount[i];
             }
@@ -119,33 +120,64 @@ public class ParallelSort {
                 bucketRange[threadIndex] = radixIndexCount.length;
                 sortBuckets[threadIndex].baseIndex = fullCount;
                 sortBuckets[threadIndex].count = dataSize - fullCount;
-                initializers.start(new TrackerInitializer(
-                        threadIndex,
-                        sortBuckets[threadIndex],
-                        threadIndex > 0 ? bucketRange[threadIndex - 1] : -1,
-                        bucketRange[threadIndex]));
+                numberOfBuckets = threadIndex + 1;
                 break;
             }
         }
         progress.close();
 
-        // In the loop above where we split up radixes into buckets, we start one thread per bucket whose
-        // job is to populate trackerCache and sortBuckets where each thread will not touch the same
-        // data indexes as any other thread. Here we wait for them all to finish.
-        Throwable error = initializers.await();
-        long[] bucketIndex = new long[threads];
-        int i = 0;
-        for (TrackerInitializer initializer : initializers) {
-            bucketIndex[i++] = initializer.bucketIndex;
+        // The buckets are contiguous radix ranges. Instead of having each bucket scan all data for its own range
+        // the data is split up into slices which are scanned in parallel twice, first counting the number of values
+        // per bucket in each slice and then placing the tracker indexes of each slice at its own offset in
+        // each bucket. This keeps the tracker indexes in data index order within each bucket.
+        int numberOfSlices = (int) Math.max(1, Math.min(threads, (highestSetIndex + 1) / MIN_SLICE_SIZE));
+        long sliceSize = (highestSetIndex + 1 + numberOfSlices - 1) / numberOfSlices;
+        int[] bucketHighRadix = Arrays.copyOf(bucketRange, numberOfBuckets);
+        Workers<PartitionWorker> counters = new Workers<>("RadixCounter");
+        for (int slice = 0; slice < numberOfSlices; slice++) {
+            counters.start(new PartitionWorker(
+                    slice * sliceSize, Math.min((slice + 1) * sliceSize, highestSetIndex + 1), bucketHighRadix));
+        }
+        Throwable error = counters.await();
+        if (error == null) {
+            long[] offsets = new long[numberOfBuckets];
+            for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+                offsets[bucket] = sortBuckets[bucket].baseIndex;
+            }
+            for (PartitionWorker counter : counters) {
+                for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+                    long bucketCount = counter.bucketOffsets[bucket];
+                    counter.bucketOffsets[bucket] = offsets[bucket];
+                    offsets[bucket] += bucketCount;
+                }
+                counter.scatter = true;
+            }
+            for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+                if (offsets[bucket] != sortBuckets[bucket].baseIndex + sortBuckets[bucket].count) {
+                    error = new IllegalStateException("Bucket " + bucket + " got "
+                            + (offsets[bucket] - sortBuckets[bucket].baseIndex) + " values, expected "
+                            + sortBuckets[bucket].count);
+                    break;
+                }
+                if (sortBuckets[bucket].count > 0) {
+                    sortBuckets[bucket].highRadixRange = bucketRange[bucket];
+                }
+            }
+        }
+        if (error == null) {
+            Workers<PartitionWorker> scatterers = new Workers<>("TrackerInitializer");
+            for (PartitionWorker worker : counters) {
+                scatterers.start(worker);
+            }
+            error = scatterers.await();
         }
         if (error != null) {
-            throw new AssertionError(
-                    error.getMessage() + "\n" + dumpBuckets(sortBuckets, bucketRange, bucketIndex), error);
+            throw new AssertionError(error.getMessage() + "\n" + dumpBuckets(sortBuckets, bucketRange), error);
         }
         return sortBuckets;
     }
 
-    private static String dumpBuckets(SortBucket[] sortBuckets, int[] bucketRange, long[] bucketIndex) {
+    private static String dumpBuckets(SortBucket[] sortBuckets, int[] bucketRange) {
         StringBuilder builder = new StringBuilder();
         builder.append("rangeParams:\n");
         for (SortBucket bucket : sortBuckets) {
@@ -155,10 +187,6 @@ public class ParallelSort {
         for (int range : bucketRange) {
             builder.append("  ").append(range).append("\n");
         }
-        builder.append("bucketIndex:\n");
-        for (long index : bucketIndex) {
-            builder.append("  ").append(index).append("\n");
-        }
         return builder.toString();
     }
 
@@ -280,6 +308,11 @@ public class ParallelSort {
                     incrementProgress(2);
                     continue;
                 }
+                if (diff <= INSERTION_SORT_THRESHOLD) {
+                    insertionSort(start, end);
+                    incrementProgress(diff);
+                    continue;
+                }
 
                 incrementProgress(1);
 
@@ -300,6 +333,19 @@ public class ParallelSort {
             }
         }
 
+        private void insertionSort(long start, long end) {
+            for (long i = start + 1; i < end; i++) {
+                long value = EncodingIdMapper.clearCollision(dataCache.get(tracker.get(i)));
+                for (long j = i; j > start; j--) {
+                    long previous = EncodingIdMapper.clearCollision(dataCache.get(tracker.get(j - 1)));
+                    if (!comparator.lt(value, previous)) {
+                        break;
+                    }
+                    tracker.swap(j - 1, j);
+                }
+            }
+        }
+
         private long informedPivot(long start, long end, long randomIndex) {
             if (end - start < pivotChoice.length) {
                 return randomIndex;
@@ -326,38 +372,55 @@ public class ParallelSort {
     }
 
     /**
-     * Sets the initial tracker indexes pointing to data indexes. Only touches a designated part of trackerCache
-     * so that many can run in parallel on their own part without synchronization.
+     * Scans a slice of the data cache, first counting the number of values per bucket and then, once
+     * {@link #bucketOffsets} have been turned into tracker indexes, setting the tracker indexes pointing to the data
+     * indexes. Each slice has its own part of each bucket so that many can run in parallel without synchronization.
      */
-    private class TrackerInitializer implements Runnable {
-        private final SortBucket sortBucket;
-        private final int lowRadixRangeExclusive;
-        private final int highRadixRangeInclusive;
-        private final int threadIndex;
-        private long bucketIndex;
-
-        TrackerInitializer(
-                int threadIndex, SortBucket sortBucket, int lowRadixRangeExclusive, int highRadixRangeInclusive) {
-            this.threadIndex = threadIndex;
-            this.sortBucket = sortBucket;
-            this.lowRadixRangeExclusive = lowRadixRangeExclusive;
-            this.highRadixRangeInclusive = highRadixRangeInclusive;
+    private class PartitionWorker implements Runnable {
+        private final long fromInclusive;
+        private final long toExclusive;
+        private final int[] bucketHighRadix;
+        private final long[] bucketOffsets;
+        private boolean scatter;
+
+        PartitionWorker(long fromInclusive, long toExclusive, int[] bucketHighRadix) {
+            this.fromInclusive = fromInclusive;
+            this.toExclusive = toExclusive;
+            this.bucketHighRadix = bucketHighRadix;
+            this.bucketOffsets = new long[bucketHighRadix.length];
         }
 
         @Override
         public void run() {
-            for (long i = 0; i <= highestSetIndex; i++) {
+            for (long i = fromInclusive; i < toExclusive; i++) {
                 int rIndex = radixCalculator.radixOf(comparator.dataValue(dataCache.get(i)));
-                if (rIndex > lowRadixRangeExclusive && rIndex <= highRadixRangeInclusive) {
-                    long trackerIndex = sortBucket.baseIndex + bucketIndex++;
-                    assert tracker.get(trackerIndex) == -1
-                            : "Overlapping buckets i:" + i + ", k:" + threadIndex + ", index:" + trackerIndex;
+                if (rIndex == RadixCalculator.NULL_RADIX) {
+                    continue;
+                }
+                int bucket = bucketOf(rIndex);
+                if (scatter) {
+                    long trackerIndex = bucketOffsets[bucket]++;
+                    assert tracker.get(trackerIndex) == -1 : "Overlapping buckets i:" + i + ", index:" + trackerIndex;
                     tracker.set(trackerIndex, i);
-                    if (bucketIndex == sortBucket.count) {
-                        sortBucket.highRadixRange = highRadixRangeInclusive;
-                    }
+                } else {
+                    bucketOffsets[bucket]++;
+                }
+            }
+        }
+
+        private int bucketOf(int rIndex) {
+            // Bucket k holds the radixes in (bucketHighRadix[k - 1], bucketHighRadix[k]]
+            int low = 0;
+            int high = bucketHighRadix.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (rIndex <= bucketHighRadix[mid]) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
                 }
             }
+            return low;
         }
     }
 
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.input.columnar;
+
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.bitmapLength;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * The raw bytes of one batch of rows of a columnar file, as read by {@link ColumnarFileReader}. Values are decoded
+ * straight from the bytes when asked for, so that reading a batch is only a matter of copying bytes and decoding can
+ * be done by whichever thread processes the batch.
+ */
+class ColumnarBatch {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    int rows;
+    byte[] ids = new byte[0];
+    byte[] types = new byte[0];
+    byte[][] nulls = new byte[0][];
+    byte[][] values = new byte[0][];
+
+    void prepare(int rows, int columns) {
+        this.rows = rows;
+        ids = ensureCapacity(ids, rows * Long.BYTES);
+        if (types.length != columns) {
+            types = new byte[columns];
+            nulls = new byte[columns][];
+            values = new byte[columns][];
+            Arrays.fill(nulls, new byte[0]);
+            Arrays.fill(values, new byte[0]);
+        }
+        for (int column = 0; column < columns; column++) {
+            nulls[column] = ensureCapacity(nulls[column], bitmapLength(rows));
+        }
+    }
+
+    long id(int row) {
+        return (long) LONGS.get(ids, row * Long.BYTES);
+    }
+
+    byte type(int column) {
+        return types[column];
+    }
+
+    boolean isNull(int column, int row) {
+        return bit(nulls[column], row);
+    }
+
+    long longValue(int column, int row) {
+        return (long) LONGS.get(values[column], row * Long.BYTES);
+    }
+
+    double doubleValue(int column, int row) {
+        return Double.longBitsToDouble(longValue(column, row));
+    }
+
+    boolean booleanValue(int column, int row) {
+        return bit(values[column], row);
+    }
+
+    /**
+     * @return offset into {@code values[column]} of the first UTF-8 byte of the string at {@code row}.
+     */
+    int stringOffset(int column, int row) {
+        return (rows + 1) * Integer.BYTES + (int) INTS.get(values[column], row * Integer.BYTES);
+    }
+
+    int stringLength(int column, int row) {
+        byte[] data = values[column];
+        return (int) INTS.get(data, (row + 1) * Integer.BYTES) - (int) INTS.get(data, row * Integer.BYTES);
+    }
+
+    static byte[] ensureCapacity(byte[] array, int length) {
+        return array.length >= length ? array : new byte[Math.max(length, array.length * 2)];
+    }
+
+    static int intAt(byte[] data, int offset) {
+        return (int) INTS.get(data, offset);
+    }
+
+    private static boolean bit(byte[] bitmap, int row) {
+        return (bitmap[row >>> 3] & (1 << (row & 7))) != 0;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.input.columnar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarBatch.ensureCapacity;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.BOOLEAN;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.DOUBLE;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.LONG;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.MAGIC;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.NONE;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.STRING;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.VERSION;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.bitmapLength;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads the header and then batches of raw bytes from a file in the {@link ColumnarFormat columnar layout}.
+ * Not thread safe, callers are expected to read batches one at a time.
+ */
+class ColumnarFileReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final String sourceDescription;
+    private final long length;
+    private final CountingInputStream counter;
+    private final DataInputStream in;
+    private final String[] columnNames;
+    private boolean end;
+
+    ColumnarFileReader(Path file) throws IOException {
+        this.sourceDescription = file.toAbsolutePath().toString();
+        this.length = Files.size(file);
+        this.counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+        this.in = new DataInputStream(counter);
+        try {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException(sourceDescription + " is not a columnar file");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException(sourceDescription + " has unsupported columnar format version " + version
+                        + ", expected " + VERSION);
+            }
+            columnNames = new String[in.readInt()];
+            for (int i = 0; i < columnNames.length; i++) {
+                columnNames[i] = new String(in.readNBytes(in.readInt()), UTF_8);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    String[] columnNames() {
+        return columnNames;
+    }
+
+    String sourceDescription() {
+        return sourceDescription;
+    }
+
+    long length() {
+        return length;
+    }
+
+    /**
+     * @return number of bytes read from the file so far.
+     */
+    long position() {
+        return counter.count;
+    }
+
+    /**
+     * Reads the raw bytes of the next batch into {@code batch}.
+     *
+     * @return {@code false} if there were no more batches in the file.
+     */
+    boolean next(ColumnarBatch batch) throws IOException {
+        if (end) {
+            return false;
+        }
+        int rows = in.readInt();
+        if (rows == 0) {
+            end = true;
+            return false;
+        }
+        batch.prepare(rows, columnNames.length);
+        in.readFully(batch.ids, 0, rows * Long.BYTES);
+        for (int column = 0; column < columnNames.length; column++) {
+            byte type = in.readByte();
+            batch.types[column] = type;
+            in.readFully(batch.nulls[column], 0, bitmapLength(rows));
+            batch.values[column] = switch (type) {
+                case NONE -> batch.values[column];
+                case LONG, DOUBLE -> readFully(batch.values[column], rows * Long.BYTES);
+                case BOOLEAN -> readFully(batch.values[column], bitmapLength(rows));
+                case STRING -> readStrings(batch.values[column], rows);
+                default -> throw new IOException("Unknown column type " + type + " of column " + columnNames[column]
+                        + " in " + sourceDescription);};
+        }
+        return true;
+    }
+
+    private byte[] readFully(byte[] into, int length) throws IOException {
+        into = ensureCapacity(into, length);
+        in.readFully(into, 0, length);
+        return into;
+    }
+
+    private byte[] readStrings(byte[] into, int rows) throws IOException {
+        int offsetsLength = (rows + 1) * Integer.BYTES;
+        into = readFully(into, offsetsLength);
+        int bytesLength = ColumnarBatch.intAt(into, rows * Integer.BYTES);
+        if (into.length < offsetsLength + bytesLength) {
+            into = Arrays.copyOf(into, Math.max(offsetsLength + bytesLength, into.length * 2));
+        }
+        in.readFully(into, offsetsLength, bytesLength);
+        return into;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.input.columnar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The layout of columnar files, as read by {@link ColumnarInput} and written by the
+ * {@code db.export.nodes}/{@code db.export.relationships} procedures.
+ * <pre>
+ * file   := magic:"NEO4JCOL" version:int columnCount:int name:utf8[columnCount] batch* end:int(0)
+ * utf8   := length:int bytes
+ * batch  := rowCount:int id:long[rowCount] column[columnCount]
+ * column := type:byte nulls:bitmap values
+ * </pre>
+ * All numbers are big-endian. Bitmaps have one bit per row, least significant bit first, and the null bitmap has the
+ * bit set for rows that do not have a value. Rows without a value have a zero or empty value. A column has the
+ * same type in all batches of a file, except for batches before its first value which have the type {@link #NONE}:
+ * <ul>
+ *     <li>{@link #NONE}: no values, all rows are null.</li>
+ *     <li>{@link #LONG}: integral values as long[rowCount].</li>
+ *     <li>{@link #DOUBLE}: floating point values as double[rowCount].</li>
+ *     <li>{@link #BOOLEAN}: boolean values as a bitmap.</li>
+ *     <li>{@link #STRING}: offsets:int[rowCount + 1] followed by the UTF-8 bytes of all rows.</li>
+ * </ul>
+ */
+public final class ColumnarFormat {
+    public static final byte[] MAGIC = "NEO4JCOL".getBytes(UTF_8);
+    public static final int VERSION = 1;
+
+    public static final byte NONE = 0;
+    public static final byte LONG = 1;
+    public static final byte DOUBLE = 2;
+    public static final byte BOOLEAN = 3;
+    public static final byte STRING = 4;
+
+    private ColumnarFormat() {}
+
+    /**
+     * @return number of bytes of a bitmap with one bit per row.
+     */
+    public static int bitmapLength(int rows) {
+        return (rows + Byte.SIZE - 1) / Byte.SIZE;
+    }
+}
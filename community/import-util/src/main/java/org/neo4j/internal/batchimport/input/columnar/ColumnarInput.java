@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.input.columnar;
+
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarInputIterator.extractHeader;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarInputIterator.hasIdColumn;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.util.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import org.neo4j.csv.reader.Configuration;
+import org.neo4j.internal.batchimport.InputIterable;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.input.Collector;
+import org.neo4j.internal.batchimport.input.Groups;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.Input;
+import org.neo4j.internal.batchimport.input.InputEntity;
+import org.neo4j.internal.batchimport.input.Inputs;
+import org.neo4j.internal.batchimport.input.PropertySizeCalculator;
+import org.neo4j.internal.batchimport.input.ReadableGroups;
+import org.neo4j.internal.batchimport.input.csv.CsvInput;
+import org.neo4j.internal.batchimport.input.csv.Decorator;
+import org.neo4j.internal.batchimport.input.csv.Header;
+import org.neo4j.internal.schema.SchemaDescriptor;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.token.TokenHolders;
+
+/**
+ * Provides {@link Input} from files in the {@link ColumnarFormat columnar layout}, f.ex. those written by
+ * {@code db.export.nodes}/{@code db.export.relationships}. Column names are parsed the same way as csv headers,
+ * using the given header factories, so {@code :ID}, {@code :LABEL}, {@code :START_ID}, {@code :END_ID},
+ * {@code :TYPE} and typed properties work like they do for csv input.
+ * <p>
+ * Compared to csv there's no tokenizing or number parsing of values stored in their own type, and since each batch
+ * is handed out as raw bytes, decoding of values happens in parallel by the threads processing the chunks.
+ */
+public class ColumnarInput implements Input {
+    private final Iterable<DataFiles> nodeData;
+    private final Header.Factory nodeHeaderFactory;
+    private final Iterable<DataFiles> relationshipData;
+    private final Header.Factory relationshipHeaderFactory;
+    private final IdType idType;
+    private final Configuration config;
+    private final Groups groups;
+    private final MemoryTracker memoryTracker;
+
+    /**
+     * Files of one input group. All files of a group are expected to have the same columns.
+     *
+     * @param decorator decorator of the entities of these files, must not be {@link Decorator#isMutable() mutable}
+     * since chunks are decoded in parallel.
+     * @param files files in the columnar layout.
+     */
+    public record DataFiles(Decorator decorator, Path... files) {
+        public DataFiles {
+            checkArgument(!decorator.isMutable(), "Mutable decorators are not supported for columnar input");
+        }
+    }
+
+    /**
+     * @param nodeData groups of files containing nodes.
+     * @param nodeHeaderFactory factory for parsing the column names of node files.
+     * @param relationshipData groups of files containing relationships.
+     * @param relationshipHeaderFactory factory for parsing the column names of relationship files.
+     * @param idType {@link IdType} to expect in id columns of node and relationship input.
+     * @param config csv configuration, for parsing column names and values stored as strings in typed columns.
+     */
+    public ColumnarInput(
+            Iterable<DataFiles> nodeData,
+            Header.Factory nodeHeaderFactory,
+            Iterable<DataFiles> relationshipData,
+            Header.Factory relationshipHeaderFactory,
+            IdType idType,
+            Configuration config,
+            Groups groups,
+            MemoryTracker memoryTracker) {
+        this.nodeData = nodeData;
+        this.nodeHeaderFactory = nodeHeaderFactory;
+        this.relationshipData = relationshipData;
+        this.relationshipHeaderFactory = relationshipHeaderFactory;
+        this.idType = idType;
+        this.config = config;
+        this.groups = groups;
+        this.memoryTracker = memoryTracker;
+
+        verifyHeaders();
+    }
+
+    /**
+     * Parses all headers, nodes first, so that groups get created by node files before relationship files refer to them.
+     */
+    private void verifyHeaders() {
+        try {
+            for (DataFiles data : nodeData) {
+                for (Path file : data.files()) {
+                    try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+                        Header.Entry[] entries = extractHeader(reader, nodeHeaderFactory, idType, config, groups);
+                        if (!hasIdColumn(entries)) {
+                            groups.getOrCreate(null);
+                        }
+                    }
+                }
+            }
+            for (DataFiles data : relationshipData) {
+                for (Path file : data.files()) {
+                    try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+                        extractHeader(reader, relationshipHeaderFactory, idType, config, groups);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public InputIterable nodes(Collector badCollector) {
+        return () -> stream(nodeData, nodeHeaderFactory, true);
+    }
+
+    @Override
+    public InputIterable relationships(Collector badCollector) {
+        return () -> stream(relationshipData, relationshipHeaderFactory, false);
+    }
+
+    private InputIterator stream(Iterable<DataFiles> data, Header.Factory headerFactory, boolean nodes) {
+        return new ColumnarInputIterator(data.iterator(), headerFactory, idType, config, groups, nodes);
+    }
+
+    @Override
+    public IdType idType() {
+        return idType;
+    }
+
+    @Override
+    public ReadableGroups groups() {
+        return groups;
+    }
+
+    @Override
+    public Estimates calculateEstimates(PropertySizeCalculator valueSizeCalculator) throws IOException {
+        long[] nodeSample = sample(nodeData, nodeHeaderFactory, valueSizeCalculator, node -> node.labels().length);
+        long[] relationshipSample =
+                sample(relationshipData, relationshipHeaderFactory, valueSizeCalculator, entity -> 0);
+        return Input.knownEstimates(
+                nodeSample[0],
+                relationshipSample[0],
+                nodeSample[1],
+                relationshipSample[1],
+                nodeSample[2],
+                relationshipSample[2],
+                nodeSample[3]);
+    }
+
+    /**
+     * Samples the first batch of each file and extrapolates from the size of the file.
+     */
+    private long[] sample(
+            Iterable<DataFiles> dataFiles,
+            Header.Factory headerFactory,
+            PropertySizeCalculator valueSizeCalculator,
+            ToIntFunction<InputEntity> additionalCalculator)
+            throws IOException {
+        long[] estimates = new long[4]; // [entity count, property count, property size, labels (for nodes only)]
+        ColumnarInputChunk chunk = new ColumnarInputChunk(idType);
+        for (DataFiles data : dataFiles) {
+            for (Path file : data.files()) {
+                try (ColumnarFileReader reader = new ColumnarFileReader(file);
+                        InputEntity entity = new InputEntity()) {
+                    Header.Entry[] entries = extractHeader(reader, headerFactory, idType, config, groups);
+                    long headerSize = reader.position();
+                    if (!reader.next(chunk.batch)) {
+                        continue;
+                    }
+                    long batchSize = reader.position() - headerSize;
+                    chunk.initialize(
+                            reader.sourceDescription(),
+                            entries,
+                            data.decorator(),
+                            hasIdColumn(entries) || headerFactory != nodeHeaderFactory
+                                    ? null
+                                    : groups.getOrCreate(null),
+                            0);
+                    int entities = 0;
+                    long properties = 0;
+                    long propertySize = 0;
+                    long additional = 0;
+                    for (; chunk.next(entity); entities++) {
+                        properties += entity.propertyCount();
+                        propertySize +=
+                                Inputs.calculatePropertySize(entity, valueSizeCalculator, NULL_CONTEXT, memoryTracker);
+                        additional += additionalCalculator.applyAsInt(entity);
+                    }
+                    if (entities > 0) {
+                        long entityCountInSource =
+                                (long) (((double) (reader.length() - headerSize) / batchSize) * entities);
+                        estimates[0] += entityCountInSource;
+                        estimates[1] += ((double) properties / entities) * entityCountInSource;
+                        estimates[2] += ((double) propertySize / entities) * entityCountInSource;
+                        estimates[3] += ((double) additional / entities) * entityCountInSource;
+                    }
+                }
+            }
+        }
+        return estimates;
+    }
+
+    @Override
+    public Map<String, SchemaDescriptor> referencedNodeSchema(TokenHolders tokenHolders) {
+        try {
+            Map<String, SchemaDescriptor> result = new HashMap<>();
+            for (DataFiles data : nodeData) {
+                for (Path file : data.files()) {
+                    try (ColumnarFileReader reader = new ColumnarFileReader(file)) {
+                        Header header = new Header(extractHeader(reader, nodeHeaderFactory, idType, config, groups));
+                        CsvInput.collectReferencedNodeSchemaFromHeader(header, tokenHolders, result);
+                    }
+                }
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
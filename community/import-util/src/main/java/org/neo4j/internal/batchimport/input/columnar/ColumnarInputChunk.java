@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.input.columnar;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.BOOLEAN;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.DOUBLE;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.LONG;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import org.neo4j.csv.reader.Extractor;
+import org.neo4j.csv.reader.Extractors;
+import org.neo4j.internal.batchimport.input.Group;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.input.InputEntityVisitor;
+import org.neo4j.internal.batchimport.input.InputException;
+import org.neo4j.internal.batchimport.input.csv.Decorator;
+import org.neo4j.internal.batchimport.input.csv.Header;
+import org.neo4j.internal.batchimport.input.csv.IdValueBuilder;
+import org.neo4j.internal.batchimport.input.csv.Type;
+import org.neo4j.values.storable.Values;
+
+/**
+ * {@link InputChunk} over one {@link ColumnarBatch}. The {@link ColumnarInputIterator} only copies the raw bytes
+ * of a batch, the values are decoded here as {@link #next(InputEntityVisitor)} is called, i.e. by the processing
+ * thread that got this chunk.
+ * <p>
+ * Header semantics are the same as for csv input, with these differences:
+ * <ul>
+ *     <li>Columns of a property without a type keep the type they have in the file, instead of being strings.</li>
+ *     <li>Node files without an {@link Type#ID} column use the row ids of the file as ids, in the global group.</li>
+ * </ul>
+ */
+class ColumnarInputChunk implements InputChunk {
+    final ColumnarBatch batch = new ColumnarBatch();
+    private final IdType idType;
+    private final IdValueBuilder idValueBuilder = new IdValueBuilder();
+    private char[] chars = new char[64];
+
+    // Set in #initialize
+    private String sourceDescription;
+    private Header.Entry[] entries;
+    private Decorator decorator;
+    private Group rowIdGroup;
+    private long firstRowNumber;
+    private int row;
+
+    // Set as #next is called
+    private InputEntityVisitor previousVisitor;
+    private InputEntityVisitor visitor;
+
+    ColumnarInputChunk(IdType idType) {
+        this.idType = idType;
+    }
+
+    /**
+     * Called after the iterator has read the next batch into {@link #batch}.
+     *
+     * @param rowIdGroup group to use the row ids of the file as ids in, or {@code null} if ids come from the columns.
+     */
+    void initialize(
+            String sourceDescription,
+            Header.Entry[] entries,
+            Decorator decorator,
+            Group rowIdGroup,
+            long firstRowNumber) {
+        if (decorator != this.decorator) {
+            this.visitor = null;
+        }
+        this.sourceDescription = sourceDescription;
+        this.entries = entries;
+        this.decorator = decorator;
+        this.rowIdGroup = rowIdGroup;
+        this.firstRowNumber = firstRowNumber;
+        this.row = 0;
+    }
+
+    @Override
+    public boolean next(InputEntityVisitor nakedVisitor) throws IOException {
+        if (row >= batch.rows) {
+            return false;
+        }
+        if (visitor == null || nakedVisitor != previousVisitor) {
+            visitor = decorator.apply(nakedVisitor);
+            previousVisitor = nakedVisitor;
+        }
+
+        int column = 0;
+        try {
+            idValueBuilder.clear();
+            boolean doContinue = true;
+            for (; column < entries.length && doContinue; column++) {
+                Header.Entry entry = entries[column];
+                if (entry.type() == Type.IGNORE || batch.isNull(column, row)) {
+                    continue;
+                }
+
+                Object value = value(entry, column);
+                if (entry.extractor().isEmpty(value)) {
+                    continue;
+                }
+
+                doContinue = switch (entry.type()) {
+                    case ID -> switch (idType) {
+                        case STRING, INTEGER -> {
+                            idValueBuilder.part(value, entry);
+                            yield true;
+                        }
+                        case ACTUAL -> visitor.id((Long) value);
+                    };
+                    case START_ID -> switch (idType) {
+                        case STRING, INTEGER -> visitor.startId(value, entry.group());
+                        case ACTUAL -> visitor.startId((Long) value);
+                    };
+                    case END_ID -> switch (idType) {
+                        case STRING, INTEGER -> visitor.endId(value, entry.group());
+                        case ACTUAL -> visitor.endId((Long) value);
+                    };
+                    case TYPE -> visitor.type((String) value);
+                    case PROPERTY -> !isEmptyArray(value) && visitor.property(entry.name(), value);
+                    case LABEL -> value.getClass().isArray()
+                            ? visitor.labels((String[]) value)
+                            : visitor.labels(new String[] {(String) value});
+                    default -> throw new IllegalArgumentException(entry.type().toString());};
+            }
+
+            if (!idValueBuilder.isEmpty()) {
+                doContinue = visitor.id(idValueBuilder.value(), idValueBuilder.group());
+                if (doContinue) {
+                    for (var idPropertyValue : idValueBuilder.idPropertyValues()) {
+                        doContinue = visitor.property(idPropertyValue.name(), idPropertyValue.value());
+                    }
+                }
+            } else if (rowIdGroup != null && doContinue) {
+                long id = batch.id(row);
+                switch (idType) {
+                    case STRING -> visitor.id(String.valueOf(id), rowIdGroup);
+                    case INTEGER -> visitor.id(id, rowIdGroup);
+                    case ACTUAL -> visitor.id(id);
+                    default -> throw new IllegalArgumentException(idType.toString());
+                }
+            }
+            visitor.endOfEntity();
+            row++;
+            return true;
+        } catch (RuntimeException e) {
+            String message = format(
+                    "ERROR in input" + "%n  data source: %s"
+                            + "%n  in row: %d"
+                            + "%n  in field: %s"
+                            + "%n  original error: %s",
+                    sourceDescription,
+                    firstRowNumber + row,
+                    column < entries.length ? entries[column] + ":" + (column + 1) : "??",
+                    e.getMessage());
+            throw new InputException(message, e);
+        }
+    }
+
+    private Object value(Header.Entry entry, int column) {
+        Extractor<?> extractor = entry.extractor();
+        byte type = batch.type(column);
+        if (type == ColumnarFormat.STRING) {
+            byte[] data = batch.values[column];
+            int offset = batch.stringOffset(column, row);
+            int length = batch.stringLength(column, row);
+            if (length > 0) {
+                if (extractor instanceof Extractors.StringExtractor) {
+                    return new String(data, offset, length, UTF_8);
+                }
+                if (extractor instanceof Extractors.TextValueExtractor) {
+                    return Values.utf8Value(Arrays.copyOfRange(data, offset, offset + length));
+                }
+            }
+            return extract(extractor, decode(data, offset, length), entry);
+        }
+
+        Object value =
+                switch (type) {
+                    case LONG -> batch.longValue(column, row);
+                    case DOUBLE -> batch.doubleValue(column, row);
+                    case BOOLEAN -> batch.booleanValue(column, row);
+                    default -> throw new IllegalStateException("Unknown column type " + type);
+                };
+        if (isUntypedProperty(entry) || extractor.name().equals(nativeTypeName(type))) {
+            return value;
+        }
+        String string = value.toString();
+        return extract(extractor, decode(string), entry);
+    }
+
+    private Object extract(Extractor<?> extractor, int length, Header.Entry entry) {
+        // Values in columnar files are never quoted, but they are exact, so no trimming either
+        return extractor.extract(chars, 0, length, true, entry.optionalParameter());
+    }
+
+    private int decode(byte[] data, int offset, int length) {
+        chars = ensureCapacity(chars, length);
+        for (int i = 0; i < length; i++) {
+            byte b = data[offset + i];
+            if (b < 0) {
+                return decode(new String(data, offset, length, UTF_8));
+            }
+            chars[i] = (char) b;
+        }
+        return length;
+    }
+
+    private int decode(String string) {
+        chars = ensureCapacity(chars, string.length());
+        string.getChars(0, string.length(), chars, 0);
+        return string.length();
+    }
+
+    private static char[] ensureCapacity(char[] array, int length) {
+        return array.length >= length ? array : new char[Math.max(length, array.length * 2)];
+    }
+
+    private static boolean isUntypedProperty(Header.Entry entry) {
+        return entry.type() == Type.PROPERTY && entry.rawEntry().indexOf(':') == -1;
+    }
+
+    private static String nativeTypeName(byte type) {
+        return switch (type) {
+            case LONG -> Long.TYPE.getSimpleName();
+            case DOUBLE -> Double.TYPE.getSimpleName();
+            case BOOLEAN -> Boolean.TYPE.getSimpleName();
+            default -> null;
+        };
+    }
+
+    private static boolean isEmptyArray(Object value) {
+        return value.getClass().isArray() && Array.getLength(value) == 0;
+    }
+
+    @Override
+    public void close() {}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.input.columnar;
+
+import static org.neo4j.csv.reader.CharSeekers.charSeeker;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import org.neo4j.csv.reader.CharSeeker;
+import org.neo4j.csv.reader.Configuration;
+import org.neo4j.csv.reader.Readables;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.input.Group;
+import org.neo4j.internal.batchimport.input.Groups;
+import org.neo4j.internal.batchimport.input.HeaderException;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.input.csv.Header;
+import org.neo4j.internal.batchimport.input.csv.Type;
+
+/**
+ * Iterates over all batches of all files of all {@link ColumnarInput.DataFiles}, handing out one batch per
+ * {@link #next(InputChunk)}. Only raw bytes are read here, under the monitor of this iterator, decoding the values
+ * is left to the {@link ColumnarInputChunk} so that it runs in parallel.
+ */
+class ColumnarInputIterator implements InputIterator {
+    private final Iterator<ColumnarInput.DataFiles> data;
+    private final Header.Factory headerFactory;
+    private final IdType idType;
+    private final Configuration config;
+    private final Groups groups;
+    private final boolean rowIdsAsNodeIds;
+
+    private ColumnarInput.DataFiles current;
+    private int fileIndex;
+    private ColumnarFileReader reader;
+    private Header.Entry[] entries;
+    private Group rowIdGroup;
+    private long rowNumber;
+
+    ColumnarInputIterator(
+            Iterator<ColumnarInput.DataFiles> data,
+            Header.Factory headerFactory,
+            IdType idType,
+            Configuration config,
+            Groups groups,
+            boolean rowIdsAsNodeIds) {
+        this.data = data;
+        this.headerFactory = headerFactory;
+        this.idType = idType;
+        this.config = config;
+        this.groups = groups;
+        this.rowIdsAsNodeIds = rowIdsAsNodeIds;
+    }
+
+    @Override
+    public InputChunk newChunk() {
+        return new ColumnarInputChunk(idType);
+    }
+
+    @Override
+    public synchronized boolean next(InputChunk chunk) throws IOException {
+        ColumnarInputChunk columnarChunk = (ColumnarInputChunk) chunk;
+        while (true) {
+            if (reader == null && !openNextFile()) {
+                return false;
+            }
+            if (reader.next(columnarChunk.batch)) {
+                columnarChunk.initialize(
+                        reader.sourceDescription(), entries, current.decorator(), rowIdGroup, rowNumber);
+                rowNumber += columnarChunk.batch.rows;
+                return true;
+            }
+            closeCurrentFile();
+        }
+    }
+
+    private boolean openNextFile() throws IOException {
+        while (current == null || fileIndex >= current.files().length) {
+            if (!data.hasNext()) {
+                return false;
+            }
+            current = data.next();
+            fileIndex = 0;
+        }
+        reader = new ColumnarFileReader(current.files()[fileIndex++]);
+        entries = extractHeader(reader, headerFactory, idType, config, groups);
+        rowIdGroup = rowIdsAsNodeIds && !hasIdColumn(entries) ? groups.getOrCreate(null) : null;
+        rowNumber = 0;
+        return true;
+    }
+
+    private void closeCurrentFile() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeCurrentFile();
+    }
+
+    /**
+     * Parses the column names of a columnar file as a csv header, one entry per column.
+     */
+    static Header.Entry[] extractHeader(
+            ColumnarFileReader reader, Header.Factory headerFactory, IdType idType, Configuration config, Groups groups)
+            throws IOException {
+        String[] columnNames = reader.columnNames();
+        String joined = String.join(String.valueOf(config.delimiter()), columnNames);
+        try (CharSeeker seeker = charSeeker(Readables.wrap(reader.sourceDescription(), joined), config, false)) {
+            Header.Entry[] entries =
+                    headerFactory.create(seeker, config, idType, groups).entries();
+            if (entries.length != columnNames.length) {
+                throw new HeaderException(
+                        "Columns " + Arrays.toString(columnNames) + " of " + reader.sourceDescription()
+                                + " could not be parsed as one header entry each, got " + Arrays.toString(entries));
+            }
+            return entries;
+        }
+    }
+
+    static boolean hasIdColumn(Header.Entry[] entries) {
+        return Arrays.stream(entries).anyMatch(entry -> entry.type() == Type.ID);
+    }
+}
@@ -21,6 +21,7 @@ package org.neo4j.internal.batchimport.input.csv;
 
 import static java.util.Arrays.copyOf;
 import static org.neo4j.csv.reader.Readables.extractFirstLineFrom;
+import static org.neo4j.csv.reader.Readables.extractFirstUtf8LineFrom;
 import static org.neo4j.internal.batchimport.input.csv.DataFactories.parseHeaderEntries;
 
 import java.io.Closeable;
@@ -40,9 +41,13 @@ import org.neo4j.csv.reader.ClosestNewLineChunker;
 import org.neo4j.csv.reader.Configuration;
 import org.neo4j.csv.reader.Extractors;
 import org.neo4j.csv.reader.HeaderSkipper;
+import org.neo4j.csv.reader.MultiReadable;
 import org.neo4j.csv.reader.Source;
 import org.neo4j.csv.reader.Source.Chunk;
 import org.neo4j.csv.reader.SourceTraceability;
+import org.neo4j.csv.reader.Utf8CharSeeker;
+import org.neo4j.csv.reader.Utf8ClosestNewLineChunker;
+import org.neo4j.csv.reader.Utf8ClosestNewLineChunker.Utf8Chunk;
 import org.neo4j.internal.batchimport.input.Collector;
 import org.neo4j.internal.batchimport.input.Groups;
 import org.neo4j.internal.batchimport.input.IdType;
@@ -86,8 +91,10 @@ class CsvInputIterator implements SourceTraceability, Closeable {
                     stream, idType, header, badCollector, extractors, 1_000, config, decorator, autoSkipHeaders);
             this.realInputChunkSupplier = EagerCsvInputChunk::new;
         } else {
-            this.chunker =
-                    new ClosestNewLineChunker(stream, config.bufferSize(), headerSkip(autoSkipHeaders, config, idType));
+            HeaderSkipper headerSkip = headerSkip(autoSkipHeaders, config, idType);
+            this.chunker = readsUtf8Bytes(stream, config)
+                    ? new Utf8ClosestNewLineChunker((MultiReadable) stream, config.bufferSize(), headerSkip)
+                    : new ClosestNewLineChunker(stream, config.bufferSize(), headerSkip);
             this.realInputChunkSupplier = () -> new LazyCsvInputChunk(
                     idType,
                     config.delimiter(),
@@ -134,13 +141,26 @@ class CsvInputIterator implements SourceTraceability, Closeable {
             Monitor monitor)
             throws IOException {
         if (!headerFactory.isDefined()) {
-            CharSeeker headerSeeker = seeker(stream.sourceDescription(), config, extractFirstLineFrom(stream));
+            // Data read as UTF-8 bytes gets its header line read as bytes too, so that the bytes after it
+            // are left for the data to be read from
+            char[] firstLine = readsUtf8Bytes(stream, config)
+                    ? extractFirstUtf8LineFrom((MultiReadable) stream)
+                    : extractFirstLineFrom(stream);
+            CharSeeker headerSeeker = seeker(stream.sourceDescription(), config, firstLine);
             return headerFactory.create(headerSeeker, config, idType, groups, monitor);
         }
 
         return headerFactory.create(null, null, null, null, monitor);
     }
 
+    /**
+     * Chunks are parsed as UTF-8 bytes if so {@link Configuration#utf8ByteSeeking() configured}. Multi-line fields
+     * are parsed by a single {@link EagerParserChunker} reading characters, so they don't get this.
+     */
+    private static boolean readsUtf8Bytes(CharReadable stream, Configuration config) {
+        return config.utf8ByteSeeking() && !config.multilineFields() && stream instanceof MultiReadable;
+    }
+
     private static CharSeeker seeker(String sourceDescription, Configuration config, char[] data) {
         // make the chunk slightly bigger than the header to not have the seeker think that it's reading
         // a value bigger than its max buffer size
@@ -230,6 +250,9 @@ class CsvInputIterator implements SourceTraceability, Closeable {
     }
 
     static CharSeeker seeker(Chunk chunk, Configuration config) {
+        if (chunk instanceof Utf8Chunk utf8Chunk) {
+            return new Utf8CharSeeker(utf8Chunk, config);
+        }
         return new BufferedCharSeeker(Source.singleChunk(chunk), config);
     }
 }
@@ -85,7 +85,7 @@ public class DataFactories {
         return config -> new Data() {
             @Override
             public RawIterator<CharReadable, IOException> stream() {
-                return individualFiles(charset, files);
+                return individualFiles(charset, config.decompressionWorkers(), config.utf8ByteSeeking(), files);
             }
 
             @Override
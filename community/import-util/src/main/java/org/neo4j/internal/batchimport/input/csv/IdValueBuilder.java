@@ -27,16 +27,16 @@ import org.neo4j.internal.batchimport.input.Group;
  * Contains logic around a single or multiple :ID columns, the combined value and also which parts are stored
  * as properties on the node.
  */
-class IdValueBuilder {
+public class IdValueBuilder {
     private final List<Part> parts = new ArrayList<>();
     private Group group;
 
-    void clear() {
+    public void clear() {
         parts.clear();
         group = null;
     }
 
-    void part(Object value, Header.Entry entry) {
+    public void part(Object value, Header.Entry entry) {
         if (group != null && !entry.group().equals(group)) {
             throw new IllegalStateException(
                     "Multiple ID columns for different groups:" + group + " and " + entry.group());
@@ -45,7 +45,7 @@ class IdValueBuilder {
         this.group = entry.group();
     }
 
-    Object value() {
+    public Object value() {
         return switch (parts.size()) {
             case 0 -> null;
             case 1 -> parts.get(0).value;
@@ -59,17 +59,17 @@ class IdValueBuilder {
         };
     }
 
-    Group group() {
+    public Group group() {
         return group;
     }
 
-    Iterable<Part> idPropertyValues() {
+    public Iterable<Part> idPropertyValues() {
         return parts.stream().filter(p -> p.name != null).toList();
     }
 
-    boolean isEmpty() {
+    public boolean isEmpty() {
         return parts.isEmpty();
     }
 
-    record Part(String name, Object value) {}
+    public record Part(String name, Object value) {}
 }
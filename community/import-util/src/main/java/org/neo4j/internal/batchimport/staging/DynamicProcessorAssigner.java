@@ -22,14 +22,23 @@ package org.neo4j.internal.batchimport.staging;
 import static java.lang.Integer.min;
 import static java.lang.Math.max;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.neo4j.internal.batchimport.stats.Keys.avg_processing_time;
 import static org.neo4j.internal.batchimport.stats.Keys.done_batches;
+import static org.neo4j.internal.batchimport.stats.Keys.io_throughput;
+import static org.neo4j.internal.batchimport.stats.Keys.received_batches;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.StreamSupport;
 import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.IoThroughputStat;
+import org.neo4j.internal.batchimport.stats.Key;
 import org.neo4j.internal.batchimport.stats.Keys;
+import org.neo4j.internal.batchimport.stats.Stat;
 
 /**
  * Monitors {@link StageExecution executions} and makes changes as the execution goes:
@@ -40,13 +49,26 @@ import org.neo4j.internal.batchimport.stats.Keys;
  * <li>Constantly figures out bottleneck steps and assigns more processors those.</li>
  * <li>Constantly figures out if there are steps that are way faster than the second fastest step and
  * removes processors from those steps.</li>
+ * <li>Verifies that processors assigned to a bottleneck actually made it faster, measured by its average processing
+ * time and, where available, its {@link IoThroughputStat I/O throughput}. A step that didn't scale, typically because
+ * it is bound by I/O rather than CPU, gets those processors taken back and receives no more for the rest of the
+ * stage, so that they can be used where they make a difference.</li>
+ * <li>Doesn't assign processors to a bottleneck which has no more queued batches than it has processors,
+ * since it is waiting for upstream rather than being slow itself.</li>
  * <li>At all times keeps the total number of processors assigned to steps to a total of less than or equal to
  * {@link Configuration#maxNumberOfWorkerThreads()}.</li>
  * </ul>
  */
 public class DynamicProcessorAssigner extends ExecutionMonitor.Adapter {
+    /**
+     * Minimum improvement in throughput that processors assigned to a step must give for them to be kept.
+     */
+    private static final float MIN_SCALING_GAIN = 1.1f;
+
     private final Configuration config;
     private final Map<Step<?>, Long /*done batches*/> lastChangedProcessors = new HashMap<>();
+    private final Map<Step<?>, Assignment> pendingAssignments = new HashMap<>();
+    private final Set<Step<?>> saturatedSteps = new HashSet<>();
     private final int availableProcessors;
 
     public DynamicProcessorAssigner(Configuration config) {
@@ -58,11 +80,14 @@ public class DynamicProcessorAssigner extends ExecutionMonitor.Adapter {
     @Override
     public void start(StageExecution execution) { // A new stage begins, any data that we had is irrelevant
         lastChangedProcessors.clear();
+        pendingAssignments.clear();
+        saturatedSteps.clear();
     }
 
     @Override
     public void check(StageExecution execution) {
         if (execution.stillExecuting()) {
+            revertAssignmentsThatDidNotScale();
             int permits = availableProcessors - countActiveProcessors(execution);
             if (permits > 0) {
                 // Be swift at assigning processors to slow steps, i.e. potentially multiple per round
@@ -83,6 +108,8 @@ public class DynamicProcessorAssigner extends ExecutionMonitor.Adapter {
         Step<?> bottleNeckStep = bottleNeck.step();
         long doneBatches = bottleNeckStep.longStat(done_batches);
         if (bottleNeck.weight() > 1.0f
+                && !saturatedSteps.contains(bottleNeckStep)
+                && hasQueuedWork(bottleNeckStep)
                 && batchesPassedSinceLastChange(bottleNeckStep, doneBatches) >= config.movingAverageSize()) {
             // Assign 1/10th of the remaining permits. This will have processors being assigned more
             // aggressively in the beginning of the run
@@ -91,6 +118,12 @@ public class DynamicProcessorAssigner extends ExecutionMonitor.Adapter {
             int after = bottleNeckStep.processors(max(optimalProcessorIncrement, permits / 10));
             if (after > before) {
                 lastChangedProcessors.put(bottleNeckStep, doneBatches);
+                pendingAssignments.put(
+                        bottleNeckStep,
+                        new Assignment(
+                                after - before,
+                                bottleNeckStep.longStat(avg_processing_time),
+                                statOrZero(bottleNeckStep, io_throughput)));
             }
             return after - before;
         }
@@ -105,7 +138,9 @@ public class DynamicProcessorAssigner extends ExecutionMonitor.Adapter {
             WeightedStep slower = steps.get(i + 1);
             Step<?> slowerStep = slower.step();
             int numberOfProcessors = faster.step().processors(0);
-            if (numberOfProcessors == 1 || slowerStep.processors(0) == slowerStep.maxProcessors()) {
+            if (numberOfProcessors == 1
+                    || slowerStep.processors(0) == slowerStep.maxProcessors()
+                    || saturatedSteps.contains(slowerStep)) {
                 continue;
             }
 
@@ -129,6 +164,51 @@ public class DynamicProcessorAssigner extends ExecutionMonitor.Adapter {
         }
     }
 
+    /**
+     * Looks at processors previously assigned to bottleneck steps which have had at least
+     * {@link Configuration#movingAverageSize()} batches to show their effect. Processors that didn't make
+     * the step process batches noticeably faster are taken back and the step is considered saturated.
+     */
+    private void revertAssignmentsThatDidNotScale() {
+        Iterator<Map.Entry<Step<?>, Assignment>> entries =
+                pendingAssignments.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Step<?>, Assignment> entry = entries.next();
+            Step<?> step = entry.getKey();
+            Assignment assignment = entry.getValue();
+            long doneBatches = step.longStat(done_batches);
+            if (batchesPassedSinceLastChange(step, doneBatches) < config.movingAverageSize()) {
+                continue;
+            }
+
+            entries.remove();
+            if (!assignment.scaled(step.longStat(avg_processing_time), statOrZero(step, io_throughput))) {
+                step.processors(-assignment.processors);
+                lastChangedProcessors.put(step, doneBatches);
+                saturatedSteps.add(step);
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if the step is known to have no more batches queued up than it has processors,
+     * i.e. more processors would only wait for upstream. Steps which don't expose this information are
+     * considered as having queued work.
+     */
+    private static boolean hasQueuedWork(Step<?> step) {
+        Stat received = step.stats().stat(received_batches);
+        if (received == null) {
+            return true;
+        }
+        long queued = received.asLong() - step.longStat(done_batches);
+        return queued > step.processors(0);
+    }
+
+    private static long statOrZero(Step<?> step, Key key) {
+        Stat stat = step.stats().stat(key);
+        return stat == null ? 0 : max(0, stat.asLong());
+    }
+
     private static int countActiveProcessors(StageExecution execution) {
         return execution.stillExecuting()
                 ? StreamSupport.stream(execution.steps().spliterator(), false)
@@ -144,4 +224,19 @@ public class DynamicProcessorAssigner extends ExecutionMonitor.Adapter {
                 // we have made no changes to this step yet, go ahead
                 : config.movingAverageSize();
     }
+
+    /**
+     * Processors assigned to a step, along with how that step performed at the time of the assignment.
+     */
+    private record Assignment(int processors, long avgProcessingTime, long ioThroughput) {
+        boolean scaled(long avgProcessingTimeNow, long ioThroughputNow) {
+            // avg processing time is per batch divided by the number of processors, i.e. the inverse of throughput
+            boolean cpuScaled =
+                    avgProcessingTimeNow <= 0 || (float) avgProcessingTime / avgProcessingTimeNow >= MIN_SCALING_GAIN;
+            boolean ioScaled = ioThroughput > 0
+                    && ioThroughputNow > 0
+                    && (float) ioThroughputNow / ioThroughput >= MIN_SCALING_GAIN;
+            return cpuScaled || ioScaled;
+        }
+    }
 }
@@ -19,7 +19,16 @@
  */
 package org.neo4j.internal.batchimport.staging;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
 import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.time.Clocks;
 
 /**
@@ -94,4 +103,28 @@ public class ExecutionSupervisors {
         DynamicProcessorAssigner dynamicProcessorAssigner = new DynamicProcessorAssigner(config);
         return new MultiExecutionMonitor(monitor, dynamicProcessorAssigner);
     }
+
+    /**
+     * Decorates an {@link ExecutionMonitor} with a {@link StageTelemetryMonitor} if the given configuration
+     * asks for {@link Configuration#stageTelemetryFile() stage telemetry}.
+     *
+     * @param monitor {@link ExecutionMonitor} to decorate.
+     * @param config {@link Configuration} of the import.
+     * @param fileSystem {@link FileSystemAbstraction} to write the telemetry file with.
+     * @return the decorated monitor, or the given monitor if no telemetry is asked for.
+     */
+    public static ExecutionMonitor withStageTelemetry(
+            ExecutionMonitor monitor, Configuration config, FileSystemAbstraction fileSystem) {
+        Path telemetryFile = config.stageTelemetryFile();
+        if (telemetryFile == null) {
+            return monitor;
+        }
+        try {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(fileSystem.openAsOutputStream(telemetryFile, false), UTF_8));
+            return new MultiExecutionMonitor(monitor, new StageTelemetryMonitor(writer, Clocks.systemClock()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.staging;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.time.Clock;
+import org.neo4j.internal.batchimport.IoThroughputStat;
+import org.neo4j.internal.batchimport.stats.Key;
+import org.neo4j.internal.batchimport.stats.Keys;
+import org.neo4j.internal.batchimport.stats.Stat;
+import org.neo4j.internal.batchimport.stats.StepStats;
+
+/**
+ * Writes machine-readable telemetry about {@link StageExecution executions}, one JSON object per line.
+ * Every {@link #checkIntervalMillis() check} produces one line per {@link Step} with its processors,
+ * queue depth, busy/idle times and {@link IoThroughputStat I/O throughput} where available, and every stage
+ * start and end produces a line of its own. Lines are meant for tuning imports, e.g. to see which steps
+ * are starved, saturated or bound by I/O, and are flushed as they are written. The {@link Writer} is closed
+ * when the import is {@link #done(boolean, long, String) done}.
+ */
+public class StageTelemetryMonitor extends ExecutionMonitor.Adapter {
+    private final PrintWriter out;
+    private final Clock clock;
+
+    public StageTelemetryMonitor(Writer out, Clock clock) {
+        super(1, SECONDS);
+        this.out = new PrintWriter(out);
+        this.clock = clock;
+    }
+
+    @Override
+    public void start(StageExecution execution) {
+        event("stage_start", execution, null);
+    }
+
+    @Override
+    public void end(StageExecution execution, long totalTimeMillis) {
+        event("stage_end", execution, totalTimeMillis);
+    }
+
+    @Override
+    public void check(StageExecution execution) {
+        long time = clock.millis();
+        for (Step<?> step : execution.steps()) {
+            StepStats stats = step.stats();
+            long receivedBatches = stat(stats, Keys.received_batches);
+            long doneBatches = stat(stats, Keys.done_batches);
+            StringBuilder line =
+                    new StringBuilder(256).append("{\"time\":").append(time).append(",\"event\":\"step\",\"stage\":");
+            string(line, execution.getStageName());
+            line.append(",\"step\":");
+            string(line, step.name());
+            line.append(",\"processors\":")
+                    .append(step.processors(0))
+                    .append(",\"maxProcessors\":")
+                    .append(step.maxProcessors())
+                    .append(",\"receivedBatches\":")
+                    .append(receivedBatches)
+                    .append(",\"doneBatches\":")
+                    .append(doneBatches)
+                    .append(",\"queuedBatches\":")
+                    .append(Math.max(0, receivedBatches - doneBatches))
+                    .append(",\"avgProcessingTime\":")
+                    .append(stat(stats, Keys.avg_processing_time))
+                    .append(",\"totalProcessingTime\":")
+                    .append(stat(stats, Keys.total_processing_time))
+                    .append(",\"upstreamIdleTime\":")
+                    .append(stat(stats, Keys.upstream_idle_time))
+                    .append(",\"downstreamIdleTime\":")
+                    .append(stat(stats, Keys.downstream_idle_time));
+            Stat ioThroughput = stats.stat(Keys.io_throughput);
+            if (ioThroughput != null) {
+                line.append(",\"ioThroughput\":").append(ioThroughput.asLong());
+            }
+            out.println(line.append('}'));
+        }
+        out.flush();
+    }
+
+    @Override
+    public void done(boolean successful, long totalTimeMillis, String additionalInformation) {
+        out.println("{\"time\":" + clock.millis() + ",\"event\":\"done\",\"successful\":" + successful
+                + ",\"totalTime\":" + totalTimeMillis + "}");
+        out.close();
+    }
+
+    private void event(String event, StageExecution execution, Long totalTimeMillis) {
+        StringBuilder line = new StringBuilder()
+                .append("{\"time\":")
+                .append(clock.millis())
+                .append(",\"event\":\"")
+                .append(event)
+                .append("\",\"stage\":");
+        string(line, execution.getStageName());
+        if (totalTimeMillis != null) {
+            line.append(",\"totalTime\":").append(totalTimeMillis);
+        }
+        out.println(line.append('}'));
+        out.flush();
+    }
+
+    private static long stat(StepStats stats, Key key) {
+        Stat stat = stats.stat(key);
+        return stat == null ? -1 : stat.asLong();
+    }
+
+    private static void string(StringBuilder into, String value) {
+        into.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> into.append("\\\"");
+                case '\\' -> into.append("\\\\");
+                case '\n' -> into.append("\\n");
+                case '\r' -> into.append("\\r");
+                case '\t' -> into.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        into.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        into.append(c);
+                    }
+                }
+            }
+        }
+        into.append('"');
+    }
+}
@@ -563,6 +563,32 @@ public class EncodingIdMapperTest {
         }
     }
 
+    @ParameterizedTest(name = "processors:{0}")
+    @MethodSource("data")
+    public void shouldHandleHolesInIdSequenceSpanningManyPartitionSlices(int processors) {
+        // GIVEN
+        IdMapper mapper = mapper(new LongEncoder(), Radix.LONG, EncodingIdMapper.NO_MONITOR, processors);
+        List<Object> ids = new ArrayList<>();
+        for (int i = 0; i < 500_000; i++) {
+            if (random.nextInt(10) != 0) {
+                Long id = (long) i * 7;
+                ids.add(id);
+                mapper.put(id, i, globalGroup);
+            }
+        }
+
+        // WHEN
+        mapper.prepare(values(ids.toArray()), mock(Collector.class), NONE);
+
+        // THEN
+        try (var getter = mapper.newGetter()) {
+            for (Object id : ids) {
+                assertEquals(((Long) id) / 7, getter.get(id, globalGroup));
+            }
+            assertEquals(IdMapper.ID_NOT_FOUND, getter.get(3L, globalGroup));
+        }
+    }
+
     @ParameterizedTest(name = "processors:{0}")
     @MethodSource("data")
     public void shouldHandleLargeAmountsOfDuplicateNodeIds(int processors) {
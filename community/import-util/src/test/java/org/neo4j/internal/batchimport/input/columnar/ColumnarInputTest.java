@@ -0,0 +1,446 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.input.columnar;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.csv.reader.Configuration.COMMAS;
+import static org.neo4j.internal.batchimport.input.Collector.EMPTY;
+import static org.neo4j.internal.batchimport.input.InputEntityDecorators.NO_DECORATOR;
+import static org.neo4j.internal.batchimport.input.InputEntityDecorators.additiveLabels;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.BOOLEAN;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.DOUBLE;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.LONG;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.MAGIC;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.NONE;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.STRING;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.VERSION;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.bitmapLength;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.defaultFormatNodeFileHeader;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.defaultFormatRelationshipFileHeader;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.neo4j.csv.reader.CharSeeker;
+import org.neo4j.csv.reader.Configuration;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.input.Groups;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.Input;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.input.InputEntity;
+import org.neo4j.internal.batchimport.input.InputException;
+import org.neo4j.internal.batchimport.input.csv.Header;
+import org.neo4j.internal.batchimport.input.csv.Type;
+import org.neo4j.internal.schema.SchemaDescriptor;
+import org.neo4j.internal.schema.SchemaDescriptors;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.token.DelegatingTokenHolder;
+import org.neo4j.token.ReadOnlyTokenCreator;
+import org.neo4j.token.TokenHolders;
+import org.neo4j.token.api.NamedToken;
+import org.neo4j.token.api.TokenHolder;
+
+@TestDirectoryExtension
+class ColumnarInputTest {
+    @Inject
+    private TestDirectory directory;
+
+    @Test
+    void shouldReadNodesWithIdsLabelsAndTypedProperties() throws IOException {
+        // given
+        Path file = file(
+                "nodes",
+                new String[] {":ID", ":LABEL", "name", "age", "score", "active"},
+                batch(
+                        new long[] {10, 11},
+                        column(STRING, "a", "b"),
+                        column(STRING, "Person;Employee", null),
+                        column(STRING, "Alice", "Bob"),
+                        column(LONG, 42L, null),
+                        column(DOUBLE, 1.5D, 2.5D),
+                        column(BOOLEAN, true, false)));
+        Groups groups = new Groups();
+
+        // when
+        List<InputEntity> nodes = nodes(input(IdType.STRING, groups, file, null));
+
+        // then
+        assertEquals(2, nodes.size());
+        InputEntity first = nodes.get(0);
+        assertEquals("a", first.id());
+        assertEquals(groups.get(null), first.idGroup);
+        assertArrayEquals(new String[] {"Person", "Employee"}, first.labels());
+        assertEquals(Map.of("name", "Alice", "age", 42L, "score", 1.5D, "active", true), first.propertiesAsMap());
+        InputEntity second = nodes.get(1);
+        assertEquals("b", second.id());
+        assertArrayEquals(new String[0], second.labels());
+        assertEquals(Map.of("name", "Bob", "score", 2.5D, "active", false), second.propertiesAsMap());
+    }
+
+    @Test
+    void shouldUseRowIdsAsNodeIdsWithoutIdColumn() throws IOException {
+        // given
+        Path file = file(
+                "nodes",
+                new String[] {"name"},
+                batch(new long[] {5, 6}, column(STRING, "a", "b")),
+                batch(new long[] {7}, column(STRING, "c")));
+
+        // when
+        List<InputEntity> nodes = nodes(input(IdType.INTEGER, new Groups(), file, null));
+
+        // then
+        assertThat(nodes).extracting(InputEntity::id).containsExactly(5L, 6L, 7L);
+        assertThat(nodes).extracting(node -> node.propertiesAsMap().get("name")).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void shouldReadColumnsWithoutValuesBeforeTheirFirstValue() throws IOException {
+        // given
+        Path file = file(
+                "nodes",
+                new String[] {"name", "age"},
+                batch(new long[] {0, 1}, column(STRING, "a", "b"), column(NONE, null, null)),
+                batch(new long[] {2}, column(STRING, "c"), column(LONG, 3L)));
+
+        // when
+        List<InputEntity> nodes = nodes(input(IdType.INTEGER, new Groups(), file, null));
+
+        // then
+        assertThat(nodes)
+                .extracting(InputEntity::propertiesAsMap)
+                .containsExactly(Map.of("name", "a"), Map.of("name", "b"), Map.of("name", "c", "age", 3L));
+    }
+
+    @Test
+    void shouldParseValuesOfTypedColumnsThroughTheirExtractor() throws IOException {
+        // given
+        Path file = file(
+                "nodes",
+                new String[] {":ID", "count:int", "text:string", "numbers:long[]"},
+                batch(new long[] {0}, column(LONG, 1L), column(STRING, "7"), column(LONG, 12L), column(STRING, "1;2")));
+
+        // when
+        InputEntity node =
+                nodes(input(IdType.INTEGER, new Groups(), file, null)).get(0);
+
+        // then
+        assertEquals(1L, node.id());
+        assertEquals(7, node.propertiesAsMap().get("count"));
+        assertEquals("12", node.propertiesAsMap().get("text"));
+        assertArrayEquals(new long[] {1, 2}, (long[]) node.propertiesAsMap().get("numbers"));
+    }
+
+    @Test
+    void shouldReadRelationships() throws IOException {
+        // given
+        Path nodes = file("nodes", new String[] {":ID"}, batch(new long[] {0, 1}, column(LONG, 0L, 1L)));
+        Path relationships = file(
+                "relationships",
+                new String[] {":START_ID", ":END_ID", ":TYPE", "since"},
+                batch(
+                        new long[] {0, 1},
+                        column(LONG, 0L, 1L),
+                        column(LONG, 1L, 0L),
+                        column(STRING, "KNOWS", "LIKES"),
+                        column(LONG, 2020L, null)));
+
+        // when
+        Input input = input(IdType.ACTUAL, new Groups(), nodes, relationships);
+        List<InputEntity> entities = read(input.relationships(EMPTY).iterator());
+
+        // then
+        assertEquals(2, entities.size());
+        assertEquals(0L, entities.get(0).startId());
+        assertEquals(1L, entities.get(0).endId());
+        assertEquals("KNOWS", entities.get(0).stringType);
+        assertEquals(Map.of("since", 2020L), entities.get(0).propertiesAsMap());
+        assertEquals(1L, entities.get(1).startId());
+        assertEquals(0L, entities.get(1).endId());
+        assertEquals("LIKES", entities.get(1).stringType);
+        assertTrue(entities.get(1).propertiesAsMap().isEmpty());
+    }
+
+    @Test
+    void shouldDecorateEntities() throws IOException {
+        // given
+        Path file = file("nodes", new String[] {"name"}, batch(new long[] {0}, column(STRING, "a")));
+        Input input = new ColumnarInput(
+                List.of(new ColumnarInput.DataFiles(additiveLabels(new String[] {"Decorated"}), file)),
+                defaultFormatNodeFileHeader(),
+                List.of(),
+                defaultFormatRelationshipFileHeader(),
+                IdType.INTEGER,
+                COMMAS,
+                new Groups(),
+                INSTANCE);
+
+        // when
+        InputEntity node = read(input.nodes(EMPTY).iterator()).get(0);
+
+        // then
+        assertArrayEquals(new String[] {"Decorated"}, node.labels());
+    }
+
+    @Test
+    void shouldEstimateFromFirstBatch() throws IOException {
+        // given
+        Path file = file(
+                "nodes",
+                new String[] {"name"},
+                batch(new long[] {0, 1}, column(STRING, "a", "b")),
+                batch(new long[] {2, 3}, column(STRING, "c", "d")));
+        Input input = input(IdType.INTEGER, new Groups(), file, null);
+
+        // when
+        Input.Estimates estimates = input.calculateEstimates((values, cursorContext, memoryTracker) -> values.length);
+
+        // then
+        assertThat(estimates.numberOfNodes()).isBetween(3L, 5L);
+        assertThat(estimates.numberOfNodeProperties()).isBetween(3L, 5L);
+        assertEquals(0, estimates.numberOfRelationships());
+    }
+
+    @Test
+    void shouldIncludeSourceAndRowInErrors() throws IOException {
+        // given
+        Path file = file(
+                "nodes",
+                new String[] {":ID", "count:int"},
+                batch(new long[] {0}, column(LONG, 1L), column(STRING, "x")));
+        Input input = input(IdType.INTEGER, new Groups(), file, null);
+
+        // when/then
+        assertThatThrownBy(() -> read(input.nodes(EMPTY).iterator()))
+                .isInstanceOf(InputException.class)
+                .hasMessageContaining(file.getFileName().toString())
+                .hasMessageContaining("in row: 0");
+    }
+
+    @Test
+    void shouldFailOnFileNotInColumnarLayout() throws IOException {
+        // given
+        Path file = directory.file("nodes.csv");
+        Files.writeString(file, ":ID,name\n1,a\n");
+
+        // when/then
+        assertThatThrownBy(() -> input(IdType.INTEGER, new Groups(), file, null))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("is not a columnar file");
+    }
+
+    @Test
+    void shouldReadReferencedNodeSchemaWithConfiguredNodeHeaderFactory() throws IOException {
+        // given a header factory which adds a label to every id column, which the column names don't specify
+        Path file = file("nodes", new String[] {"myId:ID(My Group)"}, batch(new long[] {0}, column(STRING, "a")));
+        Header.Factory defaultFactory = defaultFormatNodeFileHeader();
+        Header.Factory labelingFactory = new Header.Factory() {
+            @Override
+            public Header create(
+                    CharSeeker dataSeeker,
+                    Configuration configuration,
+                    IdType idType,
+                    Groups groups,
+                    Header.Monitor monitor) {
+                Header.Entry[] entries = defaultFactory
+                        .create(dataSeeker, configuration, idType, groups, monitor)
+                        .entries();
+                for (int i = 0; i < entries.length; i++) {
+                    Header.Entry entry = entries[i];
+                    if (entry.type() == Type.ID) {
+                        entries[i] = new Header.Entry(
+                                entry.rawEntry(),
+                                entry.name(),
+                                entry.type(),
+                                entry.group(),
+                                entry.extractor(),
+                                Map.of("label", "Person"),
+                                entry.optionalParameter());
+                    }
+                }
+                return new Header(entries);
+            }
+
+            @Override
+            public boolean isDefined() {
+                return false;
+            }
+        };
+        Input input = new ColumnarInput(
+                List.of(new ColumnarInput.DataFiles(NO_DECORATOR, file)),
+                labelingFactory,
+                List.of(),
+                defaultFormatRelationshipFileHeader(),
+                IdType.STRING,
+                COMMAS,
+                new Groups(),
+                INSTANCE);
+        TokenHolders tokenHolders = new TokenHolders(
+                tokenHolder(Map.of("myId", 4)), tokenHolder(Map.of("Person", 2)), tokenHolder(Map.of()));
+
+        // when
+        Map<String, SchemaDescriptor> schema = input.referencedNodeSchema(tokenHolders);
+
+        // then
+        assertEquals(Map.of("My Group", SchemaDescriptors.forLabel(2, 4)), schema);
+    }
+
+    private static Input input(IdType idType, Groups groups, Path nodes, Path relationships) {
+        return new ColumnarInput(
+                List.of(new ColumnarInput.DataFiles(NO_DECORATOR, nodes)),
+                defaultFormatNodeFileHeader(),
+                relationships == null ? List.of() : List.of(new ColumnarInput.DataFiles(NO_DECORATOR, relationships)),
+                defaultFormatRelationshipFileHeader(),
+                idType,
+                COMMAS,
+                groups,
+                INSTANCE);
+    }
+
+    private static TokenHolder tokenHolder(Map<String, Integer> tokens) {
+        DelegatingTokenHolder tokenHolder = new DelegatingTokenHolder(ReadOnlyTokenCreator.READ_ONLY, "type");
+        tokenHolder.setInitialTokens(tokens.entrySet().stream()
+                .map(e -> new NamedToken(e.getKey(), e.getValue()))
+                .toList());
+        return tokenHolder;
+    }
+
+    private static List<InputEntity> nodes(Input input) throws IOException {
+        return read(input.nodes(EMPTY).iterator());
+    }
+
+    private static List<InputEntity> read(InputIterator iterator) throws IOException {
+        List<InputEntity> entities = new ArrayList<>();
+        try (iterator;
+                InputChunk chunk = iterator.newChunk()) {
+            while (iterator.next(chunk)) {
+                InputEntity entity = new InputEntity();
+                while (chunk.next(entity)) {
+                    entities.add(entity);
+                    entity = new InputEntity();
+                }
+            }
+        }
+        return entities;
+    }
+
+    private Path file(String name, String[] columnNames, Batch... batches) throws IOException {
+        Path file = directory.file(name);
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.write(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(columnNames.length);
+            for (String columnName : columnNames) {
+                writeUtf8(out, columnName.getBytes(UTF_8));
+            }
+            for (Batch batch : batches) {
+                out.writeInt(batch.ids.length);
+                for (long id : batch.ids) {
+                    out.writeLong(id);
+                }
+                for (Column column : batch.columns) {
+                    writeColumn(out, column, batch.ids.length);
+                }
+            }
+            out.writeInt(0);
+        }
+        return file;
+    }
+
+    private static void writeColumn(DataOutputStream out, Column column, int rows) throws IOException {
+        out.writeByte(column.type);
+        byte[] nulls = new byte[bitmapLength(rows)];
+        for (int row = 0; row < rows; row++) {
+            if (column.values[row] == null) {
+                nulls[row >>> 3] |= (byte) (1 << (row & 7));
+            }
+        }
+        out.write(nulls);
+        switch (column.type) {
+            case NONE -> {}
+            case LONG -> {
+                for (Object value : column.values) {
+                    out.writeLong(value == null ? 0 : (Long) value);
+                }
+            }
+            case DOUBLE -> {
+                for (Object value : column.values) {
+                    out.writeDouble(value == null ? 0 : (Double) value);
+                }
+            }
+            case BOOLEAN -> {
+                byte[] bits = new byte[bitmapLength(rows)];
+                for (int row = 0; row < rows; row++) {
+                    if (Boolean.TRUE.equals(column.values[row])) {
+                        bits[row >>> 3] |= (byte) (1 << (row & 7));
+                    }
+                }
+                out.write(bits);
+            }
+            case STRING -> {
+                byte[][] bytes = new byte[rows][];
+                int offset = 0;
+                out.writeInt(offset);
+                for (int row = 0; row < rows; row++) {
+                    bytes[row] =
+                            column.values[row] == null ? new byte[0] : ((String) column.values[row]).getBytes(UTF_8);
+                    offset += bytes[row].length;
+                    out.writeInt(offset);
+                }
+                for (byte[] value : bytes) {
+                    out.write(value);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown type " + column.type);
+        }
+    }
+
+    private static void writeUtf8(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Batch batch(long[] ids, Column... columns) {
+        return new Batch(ids, columns);
+    }
+
+    private static Column column(byte type, Object... values) {
+        return new Column(type, values);
+    }
+
+    private record Batch(long[] ids, Column[] columns) {}
+
+    private record Column(byte type, Object[] values) {}
+}
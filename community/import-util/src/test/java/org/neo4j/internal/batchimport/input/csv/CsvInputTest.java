@@ -62,6 +62,7 @@ import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -71,6 +72,7 @@ import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.StringReader;
 import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -1957,6 +1959,79 @@ class CsvInputTest {
                 .hasMessageContaining("referring different groups");
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldReadUtf8FilesAsBytes(boolean allowMultilineFields) throws Exception {
+        // given a file with a byte order mark, multi-byte characters and enough lines for multiple chunks,
+        // followed by a compressed file which has to be encoded into bytes
+        Path file = directory.file("nodes");
+        Path otherFile = directory.file("more-nodes");
+        StringBuilder data = new StringBuilder("\uFEFF:ID,name,:LABEL\n");
+        StringBuilder otherData = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            (i < 25 ? data : otherData)
+                    .append(i)
+                    .append(",\"Ünïcødé, 名前 ")
+                    .append(i)
+                    .append("\",Person\n");
+        }
+        Files.writeString(file, data.toString(), StandardCharsets.UTF_8);
+        Files.writeString(otherFile, otherData.toString().trim(), StandardCharsets.UTF_8);
+        Path compressedOtherFile = compressWithGZip(otherFile);
+        Configuration config = config(allowMultilineFields).toBuilder()
+                .withBufferSize(64)
+                .withUtf8ByteSeeking(true)
+                .build();
+
+        // when
+        try (var input = new CsvInput(
+                        datas(DataFactories.data(NO_DECORATOR, StandardCharsets.UTF_8, file, compressedOtherFile)),
+                        defaultFormatNodeFileHeader(),
+                        datas(),
+                        defaultFormatRelationshipFileHeader(),
+                        INTEGER,
+                        config,
+                        false,
+                        NO_MONITOR,
+                        INSTANCE);
+                var nodes = input.nodes(EMPTY).iterator()) {
+            // then
+            for (int i = 0; i < 50; i++) {
+                assertNextNode(nodes, (long) i, properties("name", "Ünïcødé, 名前 " + i), labels("Person"));
+            }
+            assertFalse(readNext(nodes));
+        }
+    }
+
+    @Test
+    void shouldFailOnInvalidUtf8WhenReadingUtf8FilesAsBytes() throws Exception {
+        // given
+        Path file = directory.file("nodes");
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        data.writeBytes(":ID,name\n0,".getBytes(StandardCharsets.UTF_8));
+        data.writeBytes(new byte[] {'a', (byte) 0xC3, '(', 'b'});
+        data.writeBytes("\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(file, data.toByteArray());
+        Configuration config = COMMAS.toBuilder().withUtf8ByteSeeking(true).build();
+
+        // when/then
+        try (var input = new CsvInput(
+                        datas(DataFactories.data(NO_DECORATOR, StandardCharsets.UTF_8, file)),
+                        defaultFormatNodeFileHeader(),
+                        datas(),
+                        defaultFormatRelationshipFileHeader(),
+                        INTEGER,
+                        config,
+                        false,
+                        NO_MONITOR,
+                        INSTANCE);
+                var nodes = input.nodes(EMPTY).iterator()) {
+            assertThatThrownBy(() -> readNext(nodes))
+                    .isInstanceOf(InputException.class)
+                    .hasStackTraceContaining("Invalid UTF-8 byte sequence");
+        }
+    }
+
     private Path writeFile(String name, String... lines) throws FileNotFoundException {
         Path file = directory.file(name);
         try (PrintWriter writer = new PrintWriter(file.toFile())) {
@@ -157,6 +157,98 @@ class DynamicProcessorAssignerTest {
         assertEquals(2, slow.processors(0));
     }
 
+    @Test
+    void shouldTakeBackProcessorsFromStepThatDidNotScale() {
+        // GIVEN
+        Configuration config = config(10, 5);
+        DynamicProcessorAssigner assigner = new DynamicProcessorAssigner(config);
+        ControlledStep<?> slowStep = stepWithStats("slow", 0, Keys.avg_processing_time, 10L, Keys.done_batches, 10L);
+        ControlledStep<?> fastStep = stepWithStats("fast", 0, Keys.avg_processing_time, 2L, Keys.done_batches, 10L);
+        StageExecution execution = executionOf(config, slowStep, fastStep);
+        assigner.start(execution);
+        assigner.check(execution);
+        assertEquals(4, slowStep.processors(0));
+
+        // WHEN the added processors didn't make the step any faster, e.g. because it's bound by I/O
+        slowStep.setStat(Keys.avg_processing_time, 10L);
+        slowStep.setStat(Keys.done_batches, 20L);
+        assigner.check(execution);
+
+        // THEN the processors should have been taken back and not be handed out again
+        assertEquals(1, slowStep.processors(0));
+        slowStep.setStat(Keys.done_batches, 40L);
+        assigner.check(execution);
+        assertEquals(1, slowStep.processors(0));
+    }
+
+    @Test
+    void shouldKeepProcessorsOnStepThatScaled() {
+        // GIVEN
+        Configuration config = config(10, 5);
+        DynamicProcessorAssigner assigner = new DynamicProcessorAssigner(config);
+        ControlledStep<?> slowStep = stepWithStats("slow", 0, Keys.avg_processing_time, 10L, Keys.done_batches, 10L);
+        ControlledStep<?> fastStep = stepWithStats("fast", 0, Keys.avg_processing_time, 2L, Keys.done_batches, 10L);
+        StageExecution execution = executionOf(config, slowStep, fastStep);
+        assigner.start(execution);
+        assigner.check(execution);
+        assertEquals(4, slowStep.processors(0));
+
+        // WHEN
+        slowStep.setStat(Keys.avg_processing_time, 3L);
+        slowStep.setStat(Keys.done_batches, 20L);
+        assigner.check(execution);
+
+        // THEN
+        assertEquals(4, slowStep.processors(0));
+    }
+
+    @Test
+    void shouldKeepProcessorsOnStepWithImprovedIoThroughput() {
+        // GIVEN
+        Configuration config = config(10, 5);
+        DynamicProcessorAssigner assigner = new DynamicProcessorAssigner(config);
+        ControlledStep<?> slowStep = stepWithStats(
+                "slow", 0, Keys.avg_processing_time, 10L, Keys.done_batches, 10L, Keys.io_throughput, 100L);
+        ControlledStep<?> fastStep = stepWithStats("fast", 0, Keys.avg_processing_time, 2L, Keys.done_batches, 10L);
+        StageExecution execution = executionOf(config, slowStep, fastStep);
+        assigner.start(execution);
+        assigner.check(execution);
+        assertEquals(4, slowStep.processors(0));
+
+        // WHEN
+        slowStep.setStat(Keys.io_throughput, 200L);
+        slowStep.setStat(Keys.done_batches, 20L);
+        assigner.check(execution);
+
+        // THEN
+        assertEquals(4, slowStep.processors(0));
+    }
+
+    @Test
+    void shouldNotAssignProcessorsToStepWaitingForUpstream() {
+        // GIVEN
+        Configuration config = config(10, 5);
+        DynamicProcessorAssigner assigner = new DynamicProcessorAssigner(config);
+        ControlledStep<?> slowStep = stepWithStats(
+                "slow", 0, Keys.avg_processing_time, 10L, Keys.done_batches, 10L, Keys.received_batches, 11L);
+        ControlledStep<?> fastStep = stepWithStats("fast", 0, Keys.avg_processing_time, 2L, Keys.done_batches, 10L);
+        StageExecution execution = executionOf(config, slowStep, fastStep);
+        assigner.start(execution);
+
+        // WHEN
+        assigner.check(execution);
+
+        // THEN
+        assertEquals(1, slowStep.processors(0));
+
+        // and WHEN batches are queueing up
+        slowStep.setStat(Keys.received_batches, 20L);
+        assigner.check(execution);
+
+        // THEN
+        assertEquals(4, slowStep.processors(0));
+    }
+
     private static Configuration config(final int movingAverage, int processors) {
         return new Configuration() {
             @Override
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.staging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.internal.batchimport.staging.ControlledStep.stepWithStats;
+
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.batchimport.stats.Keys;
+
+class StageTelemetryMonitorTest {
+    @Test
+    void shouldWriteOneLinePerStepAndEvent() {
+        // GIVEN
+        StringWriter out = new StringWriter();
+        StageTelemetryMonitor monitor =
+                new StageTelemetryMonitor(out, Clock.fixed(Instant.ofEpochMilli(1234), ZoneOffset.UTC));
+        ControlledStep<?> reader =
+                stepWithStats("READ", 1, Keys.received_batches, 10L, Keys.done_batches, 10L, Keys.io_throughput, 4096L);
+        ControlledStep<?> processor = stepWithStats(
+                        "PROCESS \"1\"",
+                        4,
+                        Keys.received_batches,
+                        8L,
+                        Keys.done_batches,
+                        5L,
+                        Keys.avg_processing_time,
+                        12L,
+                        Keys.upstream_idle_time,
+                        3L)
+                .setProcessors(2);
+        StageExecution execution = new StageExecution(
+                "Test", null, Configuration.DEFAULT, Arrays.asList(reader, processor), Step.ORDER_SEND_DOWNSTREAM);
+
+        // WHEN
+        monitor.start(execution);
+        monitor.check(execution);
+        monitor.end(execution, 99);
+        monitor.done(true, 100, "");
+
+        // THEN
+        assertThat(out.toString().split(System.lineSeparator()))
+                .containsExactly(
+                        "{\"time\":1234,\"event\":\"stage_start\",\"stage\":\"Test\"}",
+                        "{\"time\":1234,\"event\":\"step\",\"stage\":\"Test\",\"step\":\"READ\",\"processors\":1,"
+                                + "\"maxProcessors\":1,\"receivedBatches\":10,\"doneBatches\":10,\"queuedBatches\":0,"
+                                + "\"avgProcessingTime\":-1,\"totalProcessingTime\":-1,\"upstreamIdleTime\":-1,"
+                                + "\"downstreamIdleTime\":-1,\"ioThroughput\":4096}",
+                        "{\"time\":1234,\"event\":\"step\",\"stage\":\"Test\",\"step\":\"PROCESS \\\"1\\\"\","
+                                + "\"processors\":2,\"maxProcessors\":4,\"receivedBatches\":8,\"doneBatches\":5,"
+                                + "\"queuedBatches\":3,\"avgProcessingTime\":12,\"totalProcessingTime\":-1,"
+                                + "\"upstreamIdleTime\":3,\"downstreamIdleTime\":-1}",
+                        "{\"time\":1234,\"event\":\"stage_end\",\"stage\":\"Test\",\"totalTime\":99}",
+                        "{\"time\":1234,\"event\":\"done\",\"successful\":true,\"totalTime\":100}");
+    }
+}
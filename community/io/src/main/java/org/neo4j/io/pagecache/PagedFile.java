@@ -249,6 +249,16 @@ public interface PagedFile extends AutoCloseable {
      */
     int touch(long pageId, int count, CursorContext cursorContext) throws IOException;
 
+    /**
+     * Hint that the specified continuous range of pages is about to be read. Pages of the range that are not already
+     * in the page cache are faulted in asynchronously, so the I/O can overlap with whatever the caller does until it
+     * reads them. This is only a hint: it may be ignored entirely, for instance when all pre-fetching threads are busy.
+     *
+     * @param pageId - start page id
+     * @param count - number of pages to pre-fetch
+     */
+    default void prefetch(long pageId, int count, CursorContext cursorContext) {}
+
     /**
      * Returns {@code true} when a pre-allocation request is supported for this concrete file.
      * This generally depends on the operating system and JVM implementation file channel, so if the operation
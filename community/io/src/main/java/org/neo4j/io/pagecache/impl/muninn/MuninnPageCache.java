@@ -64,6 +64,7 @@ import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.time.Clocks;
 import org.neo4j.time.SystemNanoClock;
@@ -1199,6 +1200,10 @@ public class MuninnPageCache implements PageCache {
         cursor.preFetcher = scheduler.schedule(Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, preFetcher);
     }
 
+    void startPreFetching(PrefetchHints hints, JobMonitoringParams monitoringParams) {
+        scheduler.schedule(Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, hints);
+    }
+
     @VisibleForTesting
     int getKeepFree() {
         return keepFree;
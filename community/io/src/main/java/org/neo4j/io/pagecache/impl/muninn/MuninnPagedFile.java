@@ -91,6 +91,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
     final PageSwapper swapper;
     final int swapperId;
     private final CursorFactory cursorFactory;
+    private final PrefetchHints prefetchHints;
     final String databaseName;
     private final IOController ioController;
     // If store files should be automatically pre-allocated,
@@ -231,6 +232,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
 
         initialiseLastPageId(lastPageId);
         this.swapperId = swapper.swapperId();
+        this.prefetchHints = new PrefetchHints(this);
     }
 
     @Override
@@ -322,6 +324,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
             closeStackTrace = PLACEHOLDER_CLOSE_EXCEPTION;
         }
 
+        prefetchHints.close();
         evictPages();
         if (!deleteOnClose) {
             swapper.close();
@@ -1040,6 +1043,35 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         return touched;
     }
 
+    @Override
+    public void prefetch(long pageId, int count, CursorContext cursorContext) {
+        long lastPageId;
+        try {
+            lastPageId = getLastPageId();
+        } catch (FileIsNotMappedException e) {
+            return; // Nothing to pre-fetch from a file that is being closed.
+        }
+        if (pageId < 0 || pageId > lastPageId || count <= 0) {
+            return;
+        }
+        long endPageId = Math.min(pageId + count, lastPageId + 1);
+        // Only hand the range over to a pre-fetcher if some page in it actually needs to be faulted in,
+        // which keeps hints on a warm page cache nearly free.
+        while (pageId < endPageId && isMapped(pageId)) {
+            pageId++;
+        }
+        if (pageId < endPageId) {
+            prefetchHints.add(pageId, (int) (endPageId - pageId), cursorContext);
+        }
+    }
+
+    private boolean isMapped(long filePageId) {
+        int[][] tt = translationTable;
+        int chunkId = computeChunkId(filePageId);
+        return chunkId < tt.length
+                && translationTableGetVolatile(tt[chunkId], computeChunkIndex(filePageId)) != UNMAPPED_TTE;
+    }
+
     @Override
     public boolean preAllocateSupported() {
         return swapper.canAllocate();
@@ -47,7 +47,7 @@ import org.neo4j.time.SystemNanoClock;
  * The pre-fetcher also automatically figures out if the scanner is scanning the file in a forward or backwards direction.
  */
 class PreFetcher implements Runnable, CancelListener {
-    private static final String TRACER_PRE_FETCHER_TAG = "Pre-fetcher";
+    static final String TRACER_PRE_FETCHER_TAG = "Pre-fetcher";
     private final MuninnPageCursor observedCursor;
     private final CursorFactory cursorFactory;
     private final SystemNanoClock clock;
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+import java.io.IOException;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.scheduler.JobMonitoringParams;
+
+/**
+ * Collects the {@link MuninnPagedFile#prefetch(long, int, CursorContext) pre-fetch hints} given for a file, and lets
+ * a single pre-fetching job at a time fault the hinted pages in. Hints given while the job is running are picked up
+ * by that same job, so a stream of hints only costs a job when the previous one has run out of work.
+ * <p>
+ * Hints are dropped when too many of them are pending. The pre-fetcher pool discards jobs when it is saturated, so a
+ * job that has been scheduled may never run. When the pending hints fill up while the job has still not started, the
+ * job is therefore scheduled again. The cursor context for the job is created when it is first scheduled and handed
+ * over to whichever job runs first; if no job ever runs it is closed when the file is closed.
+ */
+final class PrefetchHints implements Runnable {
+    private static final int MAX_PENDING_HINTS = 32;
+
+    private final MuninnPagedFile pagedFile;
+    private final JobMonitoringParams monitoringParams;
+    // Pending hints are added to these under the monitor lock, and swapped with the drained ones by the job.
+    private long[] pageIds = new long[MAX_PENDING_HINTS];
+    private int[] counts = new int[MAX_PENDING_HINTS];
+    private long[] drainedPageIds = new long[MAX_PENDING_HINTS];
+    private int[] drainedCounts = new int[MAX_PENDING_HINTS];
+    private int pending;
+    private boolean scheduled;
+    private boolean running;
+    private boolean closed;
+    private CursorContext jobContext;
+
+    PrefetchHints(MuninnPagedFile pagedFile) {
+        this.pagedFile = pagedFile;
+        this.monitoringParams = systemJob(
+                pagedFile.databaseName,
+                "Pre-fetching of pages in file '" + pagedFile.swapper.path().getFileName() + "'");
+    }
+
+    void add(long pageId, int count, CursorContext cursorContext) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (pending < MAX_PENDING_HINTS) {
+                pageIds[pending] = pageId;
+                counts[pending] = count;
+                pending++;
+                if (scheduled) {
+                    return;
+                }
+            } else if (running) {
+                return;
+            }
+            scheduled = true;
+            if (jobContext == null) {
+                jobContext = cursorContext.createRelatedContext(PreFetcher.TRACER_PRE_FETCHER_TAG);
+            }
+        }
+        try {
+            pagedFile.pageCache.startPreFetching(this, monitoringParams);
+        } catch (RuntimeException e) {
+            // The scheduler is shutting down, drop the hints rather than failing the reader that gave them.
+            discard();
+        }
+    }
+
+    /**
+     * Drops the pending hints and closes the context of a job that has not started. A running job drops the hints
+     * it has left and closes its own context when it sees that the file is closed.
+     */
+    void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        discard();
+    }
+
+    @Override
+    public void run() {
+        CursorContext context;
+        synchronized (this) {
+            if (running || jobContext == null) {
+                // Another job for this file already took over
+                return;
+            }
+            running = true;
+            context = jobContext;
+            jobContext = null;
+        }
+        boolean drainedAll = false;
+        try (context) {
+            int drained;
+            while ((drained = drain()) > 0) {
+                for (int i = 0; i < drained; i++) {
+                    pagedFile.touch(drainedPageIds[i], drainedCounts[i], context);
+                }
+            }
+            drainedAll = true;
+        } catch (IOException e) {
+            // Pre-fetching is only a hint, the reader will fault the pages in itself and see the failure there.
+        } finally {
+            if (!drainedAll) {
+                // Whatever made this job stop, the next hint must be able to schedule a new one
+                synchronized (this) {
+                    pending = 0;
+                    running = false;
+                    scheduled = false;
+                }
+            }
+        }
+    }
+
+    private void discard() {
+        CursorContext context;
+        synchronized (this) {
+            if (running) {
+                pending = 0;
+                return;
+            }
+            pending = 0;
+            scheduled = false;
+            context = jobContext;
+            jobContext = null;
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    private synchronized int drain() {
+        int drained = closed ? 0 : pending;
+        if (drained == 0) {
+            pending = 0;
+            running = false;
+            scheduled = false;
+            return 0;
+        }
+        long[] drainedIds = pageIds;
+        pageIds = drainedPageIds;
+        drainedPageIds = drainedIds;
+        int[] drainedPageCounts = counts;
+        counts = drainedCounts;
+        drainedCounts = drainedPageCounts;
+        pending = 0;
+        return drained;
+    }
+}
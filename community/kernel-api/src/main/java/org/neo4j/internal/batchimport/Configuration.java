@@ -23,6 +23,7 @@ import static org.neo4j.configuration.GraphDatabaseInternalSettings.upgrade_proc
 import static org.neo4j.configuration.ToolingMemoryCalculations.NO_MONITOR;
 import static org.neo4j.util.FeatureToggles.getInteger;
 
+import java.nio.file.Path;
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.ToolingMemoryCalculations;
 
@@ -151,6 +152,21 @@ public interface Configuration {
         return true;
     }
 
+    /**
+     * @return how relationship chains of sparse nodes are linked, see {@link RelationshipLinkingStrategy}.
+     */
+    default RelationshipLinkingStrategy relationshipLinkingStrategy() {
+        return RelationshipLinkingStrategy.AUTO;
+    }
+
+    /**
+     * @return file to write per-step telemetry of the import stages to, as JSON lines, or {@code null}
+     * for no telemetry.
+     */
+    default Path stageTelemetryFile() {
+        return null;
+    }
+
     Configuration DEFAULT = new Configuration() {};
 
     /**
@@ -231,6 +247,16 @@ public interface Configuration {
         public boolean defragmentInternalStores() {
             return defaults.defragmentInternalStores();
         }
+
+        @Override
+        public RelationshipLinkingStrategy relationshipLinkingStrategy() {
+            return defaults.relationshipLinkingStrategy();
+        }
+
+        @Override
+        public Path stageTelemetryFile() {
+            return defaults.stageTelemetryFile();
+        }
     }
 
     static Configuration withBatchSize(Configuration config, int batchSize) {
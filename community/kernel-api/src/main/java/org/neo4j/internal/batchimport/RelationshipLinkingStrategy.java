@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+/**
+ * How the importer links the relationship chains of sparse nodes, i.e. sets next/prev pointers of relationship records
+ * and the first relationship of node records. Chains of dense nodes are always linked through the node relationship
+ * cache, one set of relationship types at a time.
+ */
+public enum RelationshipLinkingStrategy {
+    /**
+     * Picks {@link #SORTED_RUNS} when the node relationship cache is estimated to not fit in the memory available to
+     * the import, otherwise {@link #NODE_CACHE}.
+     */
+    AUTO,
+    /**
+     * Links by passes over the relationship store doing random access into the node relationship cache.
+     * Fast as long as that cache fits in memory.
+     */
+    NODE_CACHE,
+    /**
+     * Links from relationship end points which are externally sorted into runs on disk and merged, resulting in
+     * sequential access only, at the cost of writing and reading those runs.
+     */
+    SORTED_RUNS
+}
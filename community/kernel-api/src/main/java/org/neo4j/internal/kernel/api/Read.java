@@ -22,6 +22,7 @@ package org.neo4j.internal.kernel.api;
 import java.util.List;
 import org.neo4j.exceptions.KernelException;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
+import org.neo4j.internal.kernel.api.helpers.NodePropertiesInIdOrder;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexOrder;
 import org.neo4j.io.pagecache.context.CursorContext;
@@ -570,6 +571,30 @@ public interface Read {
     // Used by APOC and GDS.
     void nodeProperties(long nodeReference, Reference reference, PropertySelection selection, PropertyCursor cursor);
 
+    /**
+     * Reads a number of properties for a set of nodes into a columnar buffer. This is meant for bulk reads,
+     * e.g. projections, where reading the nodes in the order they are requested would visit the underlying
+     * records in a random order. The nodes are read one by one, but in id order regardless of the order they
+     * are given in, and changes made in this transaction are taken into account.
+     *
+     * @param nodeReferences the nodes to read properties for. May contain duplicates and references to nodes
+     * that don't exist.
+     * @param propertyKeys the property keys to read.
+     * @param nodeCursor the cursor to use for reading the nodes.
+     * @param propertyCursor the cursor to use for reading the properties.
+     * @param values columnar buffer receiving the values, where {@code values[k][i]} will be set to the value
+     * of {@code propertyKeys[k]} for {@code nodeReferences[i]}, or {@link Values#NO_VALUE} if the node doesn't
+     * exist or doesn't have that property.
+     */
+    default void nodePropertiesInIdOrder(
+            long[] nodeReferences,
+            int[] propertyKeys,
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            Value[][] values) {
+        NodePropertiesInIdOrder.read(this, nodeReferences, propertyKeys, nodeCursor, propertyCursor, values);
+    }
+
     /**
      * @param relationshipReference
      *         the owner of the properties.
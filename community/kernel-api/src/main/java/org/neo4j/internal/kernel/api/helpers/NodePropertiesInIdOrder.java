@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.kernel.api.helpers;
+
+import static org.neo4j.util.Preconditions.checkArgument;
+import static org.neo4j.values.storable.Values.NO_VALUE;
+
+import java.util.Arrays;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.storageengine.api.PropertySelection;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Reads a number of properties for a set of nodes into a columnar buffer, visiting the nodes in id order, see
+ * {@link Read#nodePropertiesInIdOrder(long[], int[], NodeCursor, PropertyCursor, Value[][])}.
+ * <p>
+ * Each node is still read on its own, using {@link Read#singleNode(long, NodeCursor)} and
+ * {@link NodeCursor#properties(PropertyCursor, PropertySelection)}; there is no batching of record reads below the
+ * cursors. What it buys over reading the nodes in the order they were requested is locality: records of nodes with
+ * nearby ids live on the same pages, and so do, most of the time, the first property records of those nodes, since
+ * they are typically created together. Duplicate node ids are only read once.
+ */
+public final class NodePropertiesInIdOrder {
+    private NodePropertiesInIdOrder() {
+        throw new UnsupportedOperationException("Do not instantiate");
+    }
+
+    public static void read(
+            Read read,
+            long[] nodeReferences,
+            int[] propertyKeys,
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            Value[][] values) {
+        checkArgument(
+                values.length >= propertyKeys.length,
+                "Need one column per property key, got %d columns for %d keys",
+                values.length,
+                propertyKeys.length);
+        for (int k = 0; k < propertyKeys.length; k++) {
+            checkArgument(
+                    values[k].length >= nodeReferences.length,
+                    "Column %d can hold %d values, but %d nodes were requested",
+                    k,
+                    values[k].length,
+                    nodeReferences.length);
+        }
+
+        long[] distinct = distinctInIdOrder(nodeReferences);
+        Value[][] distinctValues = new Value[propertyKeys.length][distinct.length];
+        PropertySelection selection = PropertySelection.selection(propertyKeys);
+        for (int d = 0; d < distinct.length; d++) {
+            for (int k = 0; k < propertyKeys.length; k++) {
+                distinctValues[k][d] = NO_VALUE;
+            }
+            read.singleNode(distinct[d], nodeCursor);
+            if (nodeCursor.next()) {
+                nodeCursor.properties(propertyCursor, selection);
+                while (propertyCursor.next()) {
+                    int key = propertyCursor.propertyKey();
+                    for (int k = 0; k < propertyKeys.length; k++) {
+                        if (propertyKeys[k] == key) {
+                            distinctValues[k][d] = propertyCursor.propertyValue();
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < nodeReferences.length; i++) {
+            int d = Arrays.binarySearch(distinct, nodeReferences[i]);
+            for (int k = 0; k < propertyKeys.length; k++) {
+                values[k][i] = distinctValues[k][d];
+            }
+        }
+    }
+
+    /**
+     * @return the distinct node references in ascending order.
+     */
+    static long[] distinctInIdOrder(long[] nodeReferences) {
+        long[] sorted = nodeReferences.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || sorted[count - 1] != sorted[i]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+}
@@ -460,7 +460,8 @@ public class DelegatingStorageEngineFactory implements StorageEngineFactory {
             ConsistencyFlags flags,
             CursorContextFactory contextFactory,
             PageCacheTracer pageCacheTracer,
-            LogTailMetadata logTailMetadata)
+            LogTailMetadata logTailMetadata,
+            CommandStream incrementalCommands)
             throws ConsistencyCheckIncompleteException {
         delegate.consistencyCheck(
                 fileSystem,
@@ -478,7 +479,8 @@ public class DelegatingStorageEngineFactory implements StorageEngineFactory {
                 flags,
                 contextFactory,
                 pageCacheTracer,
-                logTailMetadata);
+                logTailMetadata,
+                incrementalCommands);
     }
 
     @Override
@@ -486,4 +488,16 @@ public class DelegatingStorageEngineFactory implements StorageEngineFactory {
             FileSystemAbstraction fs, PageCache pageCache, DatabaseLayout layout, CursorContextFactory contextFactory) {
         return delegate.getStoreOpenOptions(fs, pageCache, layout, contextFactory);
     }
+
+    @Override
+    public Optional<RelationshipGroupDefragmenter> relationshipGroupDefragmenter(
+            FileSystemAbstraction fs,
+            DatabaseLayout databaseLayout,
+            Config config,
+            PageCache pageCache,
+            PageCacheTracer pageCacheTracer,
+            CursorContextFactory contextFactory) {
+        return delegate.relationshipGroupDefragmenter(
+                fs, databaseLayout, config, pageCache, pageCacheTracer, contextFactory);
+    }
 }
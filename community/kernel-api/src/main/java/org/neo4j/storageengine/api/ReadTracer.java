@@ -46,6 +46,20 @@ public interface ReadTracer {
      */
     void onProperty(int propertyKey);
 
+    /**
+     * Called when a storage cursor reads another unit of storage, e.g. a property record, while looking for properties.
+     * Together with {@link #onPropertyBlock(int)} this tells how much of the stored properties a read had to visit
+     * for the properties it actually selected.
+     */
+    default void onPropertyRecord() {}
+
+    /**
+     * Called when a storage cursor visits a stored property while looking for properties, whether it was selected or not.
+     *
+     * @param propertyKey the property key of the visited property.
+     */
+    default void onPropertyBlock(int propertyKey) {}
+
     /**
      * Called when checking for existence of a label.
      */
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Rewrites the relationship groups of a stopped database so that the groups of every dense node are stored next to
+ * each other, for storage engines that store relationships in groups, see
+ * {@link StorageEngineFactory#relationshipGroupDefragmenter}. Group ids are renumbered, so the transaction logs of
+ * the database must not be applied to it afterwards.
+ */
+public interface RelationshipGroupDefragmenter {
+    /**
+     * Defragments the relationship groups, completing or discarding any previously interrupted defragmentation first.
+     *
+     * @param report whether to also measure how the dense nodes are laid out in the store, see {@link Report}, which
+     * costs extra passes over the stores.
+     * @return the outcome of the defragmentation.
+     * @throws IOException on I/O error accessing the store files.
+     */
+    Result defragment(boolean report) throws IOException;
+
+    /**
+     * @param groups number of relationship groups in the store after defragmentation.
+     * @param pagesBefore number of pages in the relationship group store file before defragmentation.
+     * @param pagesAfter number of pages in the relationship group store file after defragmentation.
+     * @param report measurements of the dense node layout, or {@code null} if they weren't asked for.
+     */
+    record Result(long groups, long pagesBefore, long pagesAfter, Report report) {}
+
+    /**
+     * @param scanTimeBefore time to traverse the group chains of all dense nodes before defragmentation.
+     * @param scanTimeAfter time to traverse the group chains of all dense nodes after defragmentation.
+     * @param chains number of relationship chains, one per type and direction, of all dense nodes.
+     * @param chainLocality ratio between the fewest relationship store pages which could hold those chains and the
+     * pages they actually touch, where {@code 1.0} means perfectly clustered and values close to {@code 0.0} means
+     * scattered. Relationships are not moved by the defragmentation, so this is the same before and after.
+     */
+    record Report(Duration scanTimeBefore, Duration scanTimeAfter, long chains, double chainLocality) {}
+}
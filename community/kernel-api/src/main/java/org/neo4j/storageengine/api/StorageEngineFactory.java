@@ -420,6 +420,9 @@ public interface StorageEngineFactory {
      * @param contextFactory underlying page cursor context factory.
      * @param pageCacheTracer underlying page cache tracer
      * @param logTailMetadata meta data read from the tx log.
+     * @param incrementalCommands commands of the transactions committed after the store was last known to be
+     * consistent. If not {@code null} only the parts of the store touched by these commands are checked, otherwise
+     * the whole store is checked.
      * @throws ConsistencyCheckIncompleteException on failure doing the consistency check.
      */
     void consistencyCheck(
@@ -438,7 +441,8 @@ public interface StorageEngineFactory {
             ConsistencyFlags flags,
             CursorContextFactory contextFactory,
             PageCacheTracer pageCacheTracer,
-            LogTailMetadata logTailMetadata)
+            LogTailMetadata logTailMetadata,
+            CommandStream incrementalCommands)
             throws ConsistencyCheckIncompleteException;
 
     /**
@@ -447,6 +451,23 @@ public interface StorageEngineFactory {
     ImmutableSet<OpenOption> getStoreOpenOptions(
             FileSystemAbstraction fs, PageCache pageCache, DatabaseLayout layout, CursorContextFactory contextFactory);
 
+    /**
+     * Offline defragmentation of the relationship groups of a stopped database. The database must not be started,
+     * or its stores accessed by anything else, while the returned defragmenter is used.
+     *
+     * @return a defragmenter for the relationship groups of the database, or empty if this storage engine doesn't
+     * store relationships in groups.
+     */
+    default Optional<RelationshipGroupDefragmenter> relationshipGroupDefragmenter(
+            FileSystemAbstraction fs,
+            DatabaseLayout databaseLayout,
+            Config config,
+            PageCache pageCache,
+            PageCacheTracer pageCacheTracer,
+            CursorContextFactory contextFactory) {
+        return Optional.empty();
+    }
+
     /**
      * @return the default {@link StorageEngineFactory}.
      * @throws IllegalStateException if there were no storage engine factories to choose from.
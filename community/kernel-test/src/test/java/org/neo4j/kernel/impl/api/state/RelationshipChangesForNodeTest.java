@@ -39,7 +39,11 @@ import org.eclipse.collections.impl.factory.primitive.IntObjectMaps;
 import org.eclipse.collections.impl.factory.primitive.LongSets;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.collection.factory.OnHeapCollectionsFactory;
 import org.neo4j.graphdb.Direction;
+import org.neo4j.kernel.impl.util.collection.CachingOffHeapBlockAllocator;
+import org.neo4j.kernel.impl.util.collection.OffHeapCollectionsFactory;
+import org.neo4j.memory.LocalMemoryTracker;
 import org.neo4j.storageengine.api.RelationshipDirection;
 import org.neo4j.storageengine.api.txstate.RelationshipModifications;
 import org.neo4j.test.RandomSupport;
@@ -53,7 +57,8 @@ class RelationshipChangesForNodeTest {
 
     @Test
     void shouldGetRelationships() {
-        RelationshipChangesForNode changes = createRelationshipChangesForNode(ADD, INSTANCE);
+        RelationshipChangesForNode changes =
+                createRelationshipChangesForNode(ADD, OnHeapCollectionsFactory.INSTANCE, INSTANCE);
 
         final int TYPE = 2;
 
@@ -70,7 +75,8 @@ class RelationshipChangesForNodeTest {
 
     @Test
     void shouldGetRelationshipsByTypeAndDirection() {
-        RelationshipChangesForNode changes = createRelationshipChangesForNode(ADD, INSTANCE);
+        RelationshipChangesForNode changes =
+                createRelationshipChangesForNode(ADD, OnHeapCollectionsFactory.INSTANCE, INSTANCE);
 
         final int TYPE = 2;
         final int DECOY_TYPE = 666;
@@ -95,7 +101,8 @@ class RelationshipChangesForNodeTest {
     @Test
     void shouldVisitRelationshipIds() {
         // given
-        RelationshipChangesForNode changes = createRelationshipChangesForNode(REMOVE, INSTANCE);
+        RelationshipChangesForNode changes =
+                createRelationshipChangesForNode(REMOVE, OnHeapCollectionsFactory.INSTANCE, INSTANCE);
         MutableIntObjectMap<Map<RelationshipDirection, MutableLongSet>> expected = IntObjectMaps.mutable.empty();
         MutableLongSet allExpected = LongSets.mutable.empty();
         for (int id = 0; id < 100; id++) {
@@ -133,7 +140,8 @@ class RelationshipChangesForNodeTest {
     void shouldReportHasRelationshipsOfType() {
         // given
         int type = 1;
-        RelationshipChangesForNode changes = createRelationshipChangesForNode(ADD, INSTANCE);
+        RelationshipChangesForNode changes =
+                createRelationshipChangesForNode(ADD, OnHeapCollectionsFactory.INSTANCE, INSTANCE);
         assertThat(changes.hasRelationships(type)).isFalse();
 
         long relId = 123;
@@ -152,6 +160,36 @@ class RelationshipChangesForNodeTest {
         assertThat(changes.hasRelationships(type)).isFalse();
     }
 
+    @Test
+    void shouldKeepRelationshipIdsInCollectionsFromFactory() {
+        // given
+        CachingOffHeapBlockAllocator blockAllocator = new CachingOffHeapBlockAllocator();
+        OffHeapCollectionsFactory collectionsFactory = new OffHeapCollectionsFactory(blockAllocator);
+        LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+        try {
+            RelationshipChangesForNode changes =
+                    createRelationshipChangesForNode(ADD, collectionsFactory, memoryTracker);
+
+            // when
+            changes.addRelationship(1, 0, OUTGOING);
+            changes.addRelationship(2, 0, INCOMING);
+            changes.addRelationship(3, 1, LOOP);
+
+            // then
+            assertThat(memoryTracker.usedNativeMemory()).isGreaterThan(0);
+            assertThat(asArray(changes.getRelationships())).containsExactlyInAnyOrder(1, 2, 3);
+            assertThat(asArray(changes.getRelationships(Direction.OUTGOING, 0))).containsExactly(1);
+
+            // and when
+            collectionsFactory.release();
+
+            // then
+            assertThat(memoryTracker.usedNativeMemory()).isZero();
+        } finally {
+            blockAllocator.release();
+        }
+    }
+
     private static void visitExpectedIds(
             RelationshipModifications.NodeRelationshipTypeIds typeIds,
             Map<RelationshipDirection, MutableLongSet> dirMap,
@@ -41,7 +41,6 @@ import static org.neo4j.values.storable.Values.stringValue;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NavigableMap;
@@ -364,6 +363,31 @@ abstract class TxStateTest {
         }
     }
 
+    @Test
+    void shouldKeepIndexUpdatesSortedWhenAddingAfterSortedRead() {
+        // GIVEN
+        addNodesToIndex(indexOn_1_1).withDefaultStringProperties(42L);
+        addNodesToIndex(indexOn_1_1).withDefaultStringProperties(40L);
+        state.getSortedIndexUpdates(indexOn_1_1.schema());
+        long memoryBefore = usedMemory();
+
+        // WHEN
+        addNodesToIndex(indexOn_1_1).withDefaultStringProperties(43L);
+        addNodesToIndex(indexOn_1_1).withDefaultStringProperties(41L);
+        NavigableMap<ValueTuple, ? extends LongDiffSets> diffSets = state.getSortedIndexUpdates(indexOn_1_1.schema());
+
+        // THEN
+        TreeMap<ValueTuple, LongDiffSets> expected = sortedAddedNodesDiffSets(42, 40, 43, 41);
+        assertThat(diffSets.keySet()).containsExactlyElementsOf(expected.keySet());
+        for (final ValueTuple key : expected.keySet()) {
+            assertEqualDiffSets(expected.get(key), diffSets.get(key));
+        }
+        assertEqualDiffSets(
+                addedNodes(41L),
+                state.getIndexUpdates(indexOn_1_1.schema()).get(ValueTuple.of(stringValue("value41"))));
+        assertThat(usedMemory()).isGreaterThan(memoryBefore);
+    }
+
     @Test
     void shouldAddAndGetByLabel() {
         // WHEN
@@ -1036,8 +1060,8 @@ abstract class TxStateTest {
 
     @Test
     void getOrCreateIndexUpdatesForSeek_useCollectionsFactory() {
-        final MutableLongDiffSets diffSets =
-                state.getOrCreateIndexUpdatesForSeek(new HashMap<>(), ValueTuple.of(stringValue("test")));
+        final MutableLongDiffSets diffSets = state.getOrCreateIndexUpdatesForSeek(
+                new IndexUpdates(memoryTracker), ValueTuple.of(stringValue("test")));
         long memoryBefore = usedMemory();
 
         diffSets.add(1);
@@ -19,7 +19,9 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
 import static org.neo4j.internal.schema.IndexPrototype.forSchema;
@@ -33,6 +35,12 @@ import static org.neo4j.values.storable.RandomValues.typesOfGroup;
 import static org.neo4j.values.storable.ValueGroup.NUMBER;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.neo4j.index.internal.gbptree.GBPTree;
@@ -44,10 +52,13 @@ import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.scheduler.CallableExecutor;
+import org.neo4j.scheduler.CallableExecutorService;
 import org.neo4j.values.storable.NumberValue;
 import org.neo4j.values.storable.RandomValues;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueType;
+import org.neo4j.values.storable.Values;
 
 public class FullScanNonUniqueIndexSamplerTest extends IndexTestUtil<RangeKey, NullValue, RangeLayout> {
     private static final IndexDescriptor index =
@@ -81,6 +92,69 @@ public class FullScanNonUniqueIndexSamplerTest extends IndexTestUtil<RangeKey, N
         assertEquals(values.length, sample.indexSize());
     }
 
+    @Test
+    void shouldCountUniqueValuesOnceWhenScanningPartitionsInParallel() throws Exception {
+        // GIVEN values with long runs of duplicates, which will span partition edges
+        Value[] values = generateDuplicatedValues(10_000, 7);
+        buildTree(values);
+
+        // WHEN
+        IndexSample sample;
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
+            FullScanNonUniqueIndexSampler<RangeKey> sampler = new FullScanNonUniqueIndexSampler<>(
+                    gbpTree, layout, 4, 1.0, new CallableExecutorService(executorService));
+            sample = sampler.sample(NULL_CONTEXT);
+        } finally {
+            executorService.shutdown();
+        }
+
+        // THEN
+        assertEquals(values.length, sample.sampleSize());
+        assertEquals(countUniqueValues(values), sample.uniqueValues());
+        assertEquals(values.length, sample.indexSize());
+    }
+
+    @Test
+    void shouldCountUniqueValuesOnceWhenScanningPartitionsInCallingThread() throws Exception {
+        // GIVEN
+        Value[] values = generateDuplicatedValues(10_000, 3);
+        buildTree(values);
+
+        // WHEN
+        IndexSample sample;
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
+            FullScanNonUniqueIndexSampler<RangeKey> sampler =
+                    new FullScanNonUniqueIndexSampler<>(gbpTree, layout, 4, 1.0, null);
+            sample = sampler.sample(NULL_CONTEXT);
+        }
+
+        // THEN
+        assertEquals(values.length, sample.sampleSize());
+        assertEquals(countUniqueValues(values), sample.uniqueValues());
+        assertEquals(values.length, sample.indexSize());
+    }
+
+    @Test
+    void shouldEstimateIndexSizeFromSampledPartitions() throws Exception {
+        // GIVEN
+        Value[] values = generateDuplicatedValues(20_000, 5);
+        buildTree(values);
+
+        // WHEN
+        IndexSample sample;
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
+            FullScanNonUniqueIndexSampler<RangeKey> sampler =
+                    new FullScanNonUniqueIndexSampler<>(gbpTree, layout, 2, 0.25, null);
+            sample = sampler.sample(NULL_CONTEXT);
+        }
+
+        // THEN
+        assertThat(sample.sampleSize()).isGreaterThan(0).isLessThan(values.length);
+        assertThat(sample.indexSize()).isBetween(values.length / 2L, values.length * 2L);
+        assertThat(sample.uniqueValues()).isGreaterThan(0).isLessThanOrEqualTo(sample.sampleSize());
+    }
+
     @Test
     void tracePageCacheAccessOnSampling() throws IOException {
         Value[] values = generateNumberValues();
@@ -103,6 +177,81 @@ public class FullScanNonUniqueIndexSamplerTest extends IndexTestUtil<RangeKey, N
         assertThat(cursorTracer.faults()).isEqualTo(1);
     }
 
+    @Test
+    void tracePageCacheAccessOfWorkersThroughContextsRelatedToTheSamplingContext() throws Exception {
+        // GIVEN
+        Value[] values = generateDuplicatedValues(10_000, 3);
+        buildTree(values);
+        var pageCacheTracer = new DefaultPageCacheTracer();
+        var contextFactory = new CursorContextFactory(pageCacheTracer, EMPTY_CONTEXT_SUPPLIER);
+
+        // WHEN
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree();
+                var cursorContext = contextFactory.create("testTracer")) {
+            long pinsBefore = pageCacheTracer.pins();
+            new FullScanNonUniqueIndexSampler<>(gbpTree, layout, 4, 1.0, new CallableExecutorService(executorService))
+                    .sample(cursorContext);
+
+            // THEN the workers have reported their page cache access through contexts of the same tracer
+            assertThat(pageCacheTracer.pins()).isGreaterThan(pinsBefore);
+            assertThat(pageCacheTracer.unpins()).isEqualTo(pageCacheTracer.pins());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void shouldWaitForWorkersBeforeReturningWhenInterrupted() throws Exception {
+        // GIVEN workers which are held up until released
+        Value[] values = generateDuplicatedValues(10_000, 3);
+        buildTree(values);
+        var pageCacheTracer = new DefaultPageCacheTracer();
+        var contextFactory = new CursorContextFactory(pageCacheTracer, EMPTY_CONTEXT_SUPPLIER);
+        ExecutorService executorService = Executors.newFixedThreadPool(5);
+        CountDownLatch workersStarted = new CountDownLatch(1);
+        CountDownLatch releaseWorkers = new CountDownLatch(1);
+        CallableExecutor heldUpExecutor = new CallableExecutor() {
+            @Override
+            public <T> Future<T> submit(Callable<T> callable) {
+                return executorService.submit(() -> {
+                    workersStarted.countDown();
+                    releaseWorkers.await();
+                    return callable.call();
+                });
+            }
+
+            @Override
+            public void execute(Runnable command) {
+                executorService.execute(command);
+            }
+        };
+
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree();
+                var cursorContext = contextFactory.create("testTracer")) {
+            // WHEN sampling in a thread which gets interrupted
+            Future<Boolean> sampling = executorService.submit(() -> {
+                Thread.currentThread().interrupt();
+                try {
+                    new FullScanNonUniqueIndexSampler<>(gbpTree, layout, 4, 1.0, heldUpExecutor).sample(cursorContext);
+                } catch (RuntimeException e) {
+                    assertThat(e).hasRootCauseInstanceOf(InterruptedException.class);
+                }
+                return Thread.currentThread().isInterrupted();
+            });
+            workersStarted.await();
+
+            // THEN it does not return until the workers are done with their cursor contexts
+            assertThatThrownBy(() -> sampling.get(100, MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            releaseWorkers.countDown();
+            assertThat(sampling.get()).isTrue();
+            assertThat(pageCacheTracer.unpins()).isEqualTo(pageCacheTracer.pins());
+        } finally {
+            releaseWorkers.countDown();
+            executorService.shutdown();
+        }
+    }
+
     private static void assertZeroCursor(CursorContext cursorContext) {
         PageCursorTracer cursorTracer = cursorContext.getCursorTracer();
         assertThat(cursorTracer.pins()).isZero();
@@ -120,6 +269,14 @@ public class FullScanNonUniqueIndexSamplerTest extends IndexTestUtil<RangeKey, N
         return result;
     }
 
+    private static Value[] generateDuplicatedValues(int size, int duplicates) {
+        Value[] result = new Value[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = Values.longValue(i / duplicates);
+        }
+        return result;
+    }
+
     private void buildTree(Value[] values) throws IOException {
         try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
             try (Writer<RangeKey, NullValue> writer = gbpTree.writer(W_BATCHED_SINGLE_THREADED, NULL_CONTEXT)) {
@@ -306,6 +306,11 @@ public class DatabasePageCache implements PageCache {
             return delegate.touch(pageId, count, cursorContext);
         }
 
+        @Override
+        public void prefetch(long pageId, int count, CursorContext cursorContext) {
+            delegate.prefetch(pageId, count, cursorContext);
+        }
+
         @Override
         public boolean preAllocateSupported() {
             return delegate.preAllocateSupported();
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.state;
+
+import static org.neo4j.collection.trackable.HeapTrackingCollections.newMap;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstanceWithObjectReferences;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.neo4j.collection.diffset.MutableLongDiffSets;
+import org.neo4j.collection.trackable.HeapTrackingUnifiedMap;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.values.storable.ValueTuple;
+
+/**
+ * The index updates of a transaction for a single schema, i.e. the entities added to and removed from each value tuple.
+ *
+ * Seeks for exact values only need a hash lookup, so the updates start out in a hash map. The first time they are needed in
+ * value order, for range and prefix seeks or ordered scans, they move into a sorted map which then also takes all
+ * subsequent updates. That way a transaction interleaving writes and ordered reads doesn't have to sort its updates again
+ * for every read. Both forms are heap tracked.
+ */
+class IndexUpdates {
+    private static final long SORTED_MAP_SHALLOW_SIZE = shallowSizeOfInstance(TreeMap.class);
+    // A tree map entry has references to key, value, left, right and parent, plus a color
+    private static final long SORTED_MAP_ENTRY_SIZE = shallowSizeOfInstanceWithObjectReferences(6);
+
+    private final MemoryTracker memoryTracker;
+    private HeapTrackingUnifiedMap<ValueTuple, MutableLongDiffSets> unsorted;
+    private TreeMap<ValueTuple, MutableLongDiffSets> sorted;
+
+    IndexUpdates(MemoryTracker memoryTracker) {
+        this.memoryTracker = memoryTracker;
+        this.unsorted = newMap(memoryTracker);
+    }
+
+    MutableLongDiffSets getOrCreate(ValueTuple values, Function<ValueTuple, MutableLongDiffSets> factory) {
+        if (sorted == null) {
+            return unsorted.computeIfAbsent(values, factory);
+        }
+        MutableLongDiffSets diffSets = sorted.get(values);
+        if (diffSets == null) {
+            diffSets = factory.apply(values);
+            memoryTracker.allocateHeap(SORTED_MAP_ENTRY_SIZE);
+            sorted.put(values, diffSets);
+        }
+        return diffSets;
+    }
+
+    /**
+     * @return the updates in no particular order.
+     */
+    Map<ValueTuple, MutableLongDiffSets> updates() {
+        return sorted != null ? sorted : unsorted;
+    }
+
+    /**
+     * @return the updates ordered by {@link ValueTuple#COMPARATOR}, sorting them if this is the first time they are needed in order.
+     */
+    NavigableMap<ValueTuple, MutableLongDiffSets> sortedUpdates() {
+        if (sorted == null) {
+            memoryTracker.allocateHeap(SORTED_MAP_SHALLOW_SIZE + SORTED_MAP_ENTRY_SIZE * unsorted.size());
+            sorted = new TreeMap<>(ValueTuple.COMPARATOR);
+            sorted.putAll(unsorted);
+            unsorted.close();
+            unsorted = null;
+        }
+        return sorted;
+    }
+}
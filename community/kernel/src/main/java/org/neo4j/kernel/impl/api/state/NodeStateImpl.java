@@ -164,7 +164,7 @@ class NodeStateImpl extends EntityStateImpl implements NodeState {
 
     public void addRelationship(long relId, int typeId, RelationshipDirection direction) {
         if (!hasAddedRelationships()) {
-            relationshipsAdded = createRelationshipChangesForNode(DiffStrategy.ADD, memoryTracker);
+            relationshipsAdded = createRelationshipChangesForNode(DiffStrategy.ADD, collectionsFactory, memoryTracker);
         }
         relationshipsAdded.addRelationship(relId, typeId, direction);
     }
@@ -181,7 +181,8 @@ class NodeStateImpl extends EntityStateImpl implements NodeState {
             }
         }
         if (!hasRemovedRelationships()) {
-            relationshipsRemoved = createRelationshipChangesForNode(DiffStrategy.REMOVE, memoryTracker);
+            relationshipsRemoved =
+                    createRelationshipChangesForNode(DiffStrategy.REMOVE, collectionsFactory, memoryTracker);
         }
         relationshipsRemoved.addRelationship(relId, typeId, direction);
     }
@@ -34,6 +34,7 @@ import org.eclipse.collections.api.set.primitive.IntSet;
 import org.eclipse.collections.api.set.primitive.LongSet;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
 import org.eclipse.collections.impl.iterator.ImmutableEmptyLongIterator;
+import org.neo4j.collection.factory.CollectionsFactory;
 import org.neo4j.collection.trackable.HeapTrackingCollections;
 import org.neo4j.function.ThrowingLongConsumer;
 import org.neo4j.graphdb.Direction;
@@ -73,17 +74,20 @@ public class RelationshipChangesForNode {
     }
 
     private final DiffStrategy diffStrategy;
+    private final CollectionsFactory collectionsFactory;
     private final MemoryTracker memoryTracker;
     private final MutableIntObjectMap<RelationshipSetsByDirection> byType;
 
     static RelationshipChangesForNode createRelationshipChangesForNode(
-            DiffStrategy diffStrategy, MemoryTracker memoryTracker) {
+            DiffStrategy diffStrategy, CollectionsFactory collectionsFactory, MemoryTracker memoryTracker) {
         memoryTracker.allocateHeap(SHALLOW_SIZE);
-        return new RelationshipChangesForNode(diffStrategy, memoryTracker);
+        return new RelationshipChangesForNode(diffStrategy, collectionsFactory, memoryTracker);
     }
 
-    private RelationshipChangesForNode(DiffStrategy diffStrategy, MemoryTracker memoryTracker) {
+    private RelationshipChangesForNode(
+            DiffStrategy diffStrategy, CollectionsFactory collectionsFactory, MemoryTracker memoryTracker) {
         this.diffStrategy = diffStrategy;
+        this.collectionsFactory = collectionsFactory;
         this.memoryTracker = memoryTracker;
         this.byType = HeapTrackingCollections.newIntObjectHashMap(memoryTracker);
     }
@@ -342,7 +346,9 @@ public class RelationshipChangesForNode {
                 ids = new MutableLongSet[3];
             }
             if (ids[index] == null) {
-                ids[index] = HeapTrackingCollections.newLongSet(memoryTracker);
+                // The relationship ids are the bulk of the state of a relationship heavy transaction,
+                // so let the collections factory decide where they live, e.g. off-heap
+                ids[index] = collectionsFactory.newLongSet(memoryTracker);
             }
             return ids[index];
         }
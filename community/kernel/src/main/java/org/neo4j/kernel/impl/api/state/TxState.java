@@ -34,7 +34,6 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NavigableMap;
-import java.util.TreeMap;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
@@ -113,7 +112,7 @@ public class TxState implements TransactionState {
 
     private MutableMap<IndexBackedConstraintDescriptor, IndexDescriptor> createdConstraintIndexesByConstraint;
 
-    private MutableMap<SchemaDescriptor, Map<ValueTuple, MutableLongDiffSets>> indexUpdates;
+    private MutableMap<SchemaDescriptor, IndexUpdates> indexUpdates;
 
     private final ScopedMemoryTracker stateMemoryTracker;
     private final TransactionStateBehaviour behaviour;
@@ -748,12 +747,12 @@ public class TxState implements TransactionState {
         if (indexUpdates == null) {
             return null;
         }
-        Map<ValueTuple, MutableLongDiffSets> updates = indexUpdates.get(schema);
+        IndexUpdates updates = indexUpdates.get(schema);
         if (updates == null) {
             return null;
         }
 
-        return new UnmodifiableMap<>(updates);
+        return new UnmodifiableMap<>(updates.updates());
     }
 
     @Override
@@ -761,25 +760,17 @@ public class TxState implements TransactionState {
         if (indexUpdates == null) {
             return null;
         }
-        Map<ValueTuple, MutableLongDiffSets> updates = indexUpdates.get(descriptor);
+        IndexUpdates updates = indexUpdates.get(descriptor);
         if (updates == null) {
             return null;
         }
-        TreeMap<ValueTuple, MutableLongDiffSets> sortedUpdates;
-        if (updates instanceof TreeMap) {
-            sortedUpdates = (TreeMap<ValueTuple, MutableLongDiffSets>) updates;
-        } else {
-            sortedUpdates = new TreeMap<>(ValueTuple.COMPARATOR);
-            sortedUpdates.putAll(updates);
-            indexUpdates.put(descriptor, sortedUpdates);
-        }
-        return Collections.unmodifiableNavigableMap(sortedUpdates);
+        return Collections.unmodifiableNavigableMap(updates.sortedUpdates());
     }
 
     @Override
     public void indexDoUpdateEntry(
             SchemaDescriptor descriptor, long entityIdId, ValueTuple propertiesBefore, ValueTuple propertiesAfter) {
-        Map<ValueTuple, MutableLongDiffSets> updates = getOrCreateIndexUpdatesByDescriptor(descriptor);
+        IndexUpdates updates = getOrCreateIndexUpdatesByDescriptor(descriptor);
         if (propertiesBefore != null) {
             MutableLongDiffSets before = getOrCreateIndexUpdatesForSeek(updates, propertiesBefore);
             before.remove(entityIdId);
@@ -796,16 +787,15 @@ public class TxState implements TransactionState {
     }
 
     @VisibleForTesting
-    MutableLongDiffSets getOrCreateIndexUpdatesForSeek(
-            Map<ValueTuple, MutableLongDiffSets> updates, ValueTuple values) {
-        return updates.computeIfAbsent(values, value -> newMutableLongDiffSets(collectionsFactory, stateMemoryTracker));
+    MutableLongDiffSets getOrCreateIndexUpdatesForSeek(IndexUpdates updates, ValueTuple values) {
+        return updates.getOrCreate(values, value -> newMutableLongDiffSets(collectionsFactory, stateMemoryTracker));
     }
 
-    private Map<ValueTuple, MutableLongDiffSets> getOrCreateIndexUpdatesByDescriptor(SchemaDescriptor schema) {
+    private IndexUpdates getOrCreateIndexUpdatesByDescriptor(SchemaDescriptor schema) {
         if (indexUpdates == null) {
             indexUpdates = newMap(stateMemoryTracker);
         }
-        return indexUpdates.getIfAbsentPut(schema, () -> newMap(stateMemoryTracker));
+        return indexUpdates.getIfAbsentPut(schema, () -> new IndexUpdates(stateMemoryTracker));
     }
 
     private Map<IndexBackedConstraintDescriptor, IndexDescriptor> createdConstraintIndexesByConstraint() {
@@ -21,24 +21,62 @@ package org.neo4j.kernel.impl.index.schema;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
+import org.neo4j.scheduler.CallableExecutor;
 
 /**
  * {@link NonUniqueIndexSampler} which performs a full scans of a {@link GBPTree} in {@link #sample(CursorContext)}.
+ * <p>
+ * With more than one worker the key space is split into partitions using {@link GBPTree#partitionedSeek}, which are
+ * scanned in parallel. Keys are sorted so unique values are counted exactly within each partition, and values
+ * spanning the edge between two partitions are only counted once. A sample fraction below 1 only scans evenly
+ * spread partitions and extrapolates the index size from them, the number of unique values then refers to the
+ * sampled entries only.
  *
  * @param <KEY> type of keys in tree.
  */
 class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends NonUniqueIndexSampler.Adapter {
+    private static final String SAMPLING_WORKER_TAG = "indexSamplingWorker";
+    // More partitions than workers evens out the work between workers when some parts of the tree are denser
+    private static final int PARTITIONS_PER_WORKER = 4;
+    private static final int MAX_PARTITIONS = 1 << 14;
+
     private final GBPTree<KEY, NullValue> gbpTree;
     private final IndexLayout<KEY> layout;
+    private final int workers;
+    private final double sampleFraction;
+    private final CallableExecutor executor;
 
     FullScanNonUniqueIndexSampler(GBPTree<KEY, NullValue> gbpTree, IndexLayout<KEY> layout) {
+        this(gbpTree, layout, 1, 1.0, null);
+    }
+
+    /**
+     * @param workers number of threads scanning partitions of the tree in parallel.
+     * @param sampleFraction fraction, between 0 (exclusive) and 1 (inclusive), of the tree partitions to scan.
+     * @param executor executor running the workers, or {@code null} to scan all partitions in the calling thread.
+     * Workers use cursor contexts related to the one given to {@link #sample(CursorContext)}.
+     */
+    FullScanNonUniqueIndexSampler(
+            GBPTree<KEY, NullValue> gbpTree,
+            IndexLayout<KEY> layout,
+            int workers,
+            double sampleFraction,
+            CallableExecutor executor) {
         this.gbpTree = gbpTree;
         this.layout = layout;
+        this.workers = Math.max(1, workers);
+        this.sampleFraction = sampleFraction;
+        this.executor = executor;
     }
 
     @Override
@@ -49,28 +87,14 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends Non
         KEY highest = layout.newKey();
         highest.initialize(Long.MAX_VALUE);
         highest.initValuesAsHighest();
-        KEY prev = layout.newKey();
-        try (Seeker<KEY, NullValue> seek = gbpTree.seek(lowest, highest, cursorContext)) {
-            long sampledValues = 0;
-            long uniqueValues = 0;
-
-            // Get the first one so that prev gets initialized
-            if (seek.next()) {
-                prev = layout.copyKey(seek.key(), prev);
-                sampledValues++;
-                uniqueValues++;
-
-                // Then do the rest
-                while (seek.next()) {
-                    if (layout.compareValue(prev, seek.key()) != 0) {
-                        uniqueValues++;
-                        layout.copyKey(seek.key(), prev);
-                    }
-                    // else this is a duplicate of the previous one
-                    sampledValues++;
-                }
+        try {
+            if (workers == 1 && sampleFraction >= 1.0) {
+                PartitionSample<KEY> sample = sample(lowest, highest, cursorContext);
+                return new IndexSample(sample.sampledValues, sample.uniqueValues, sample.sampledValues);
             }
-            return new IndexSample(sampledValues, uniqueValues, sampledValues);
+            return sampleInPartitions(
+                    gbpTree.partitionedSeek(lowest, highest, desiredNumberOfPartitions(), cursorContext),
+                    cursorContext);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -80,4 +104,159 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends Non
     public IndexSample sample(int numDocs, CursorContext cursorContext) {
         throw new UnsupportedOperationException();
     }
+
+    private int desiredNumberOfPartitions() {
+        return (int) Math.min(MAX_PARTITIONS, Math.ceil(workers * PARTITIONS_PER_WORKER / sampleFraction));
+    }
+
+    /**
+     * Spreads partitions evenly over the tree when sampling; the first partition is always included.
+     */
+    private boolean includePartition(int partition) {
+        return Math.floor(partition * sampleFraction) > Math.floor((partition - 1) * sampleFraction);
+    }
+
+    private IndexSample sampleInPartitions(List<KEY> edges, CursorContext cursorContext) throws IOException {
+        int numberOfPartitions = edges.size() - 1;
+        List<Integer> partitions = new ArrayList<>();
+        for (int partition = 0; partition < numberOfPartitions; partition++) {
+            if (includePartition(partition)) {
+                partitions.add(partition);
+            }
+        }
+
+        List<PartitionSample<KEY>> samples = executor == null || workers == 1
+                ? sampleSequentially(edges, partitions, cursorContext)
+                : sampleInParallel(edges, partitions, cursorContext);
+
+        long sampledValues = 0;
+        long uniqueValues = 0;
+        int previousPartition = -1;
+        KEY previousLast = null;
+        for (int i = 0; i < samples.size(); i++) {
+            PartitionSample<KEY> sample = samples.get(i);
+            int partition = partitions.get(i);
+            if (partition != previousPartition + 1) {
+                // a partition was skipped in between, so values cannot be shared with the previous partition
+                previousLast = null;
+            }
+            previousPartition = partition;
+            if (sample.sampledValues == 0) {
+                continue;
+            }
+            sampledValues += sample.sampledValues;
+            uniqueValues += sample.uniqueValues;
+            if (previousLast != null && layout.compareValue(previousLast, sample.first) == 0) {
+                uniqueValues--;
+            }
+            previousLast = sample.last;
+        }
+
+        long indexSize = partitions.size() == numberOfPartitions
+                ? sampledValues
+                : Math.round((double) sampledValues * numberOfPartitions / partitions.size());
+        return new IndexSample(indexSize, uniqueValues, sampledValues);
+    }
+
+    private List<PartitionSample<KEY>> sampleSequentially(
+            List<KEY> edges, List<Integer> partitions, CursorContext cursorContext) throws IOException {
+        List<PartitionSample<KEY>> samples = new ArrayList<>(partitions.size());
+        for (int partition : partitions) {
+            samples.add(sample(edges.get(partition), edges.get(partition + 1), cursorContext));
+        }
+        return samples;
+    }
+
+    /**
+     * Lets each worker pick the next partition to scan until all are done, so that a worker stuck on a dense
+     * partition does not hold up the others.
+     */
+    @SuppressWarnings("unchecked")
+    private List<PartitionSample<KEY>> sampleInParallel(
+            List<KEY> edges, List<Integer> partitions, CursorContext cursorContext) {
+        PartitionSample<KEY>[] samples = new PartitionSample[partitions.size()];
+        AtomicInteger nextPartition = new AtomicInteger();
+        int numberOfWorkers = Math.min(workers, partitions.size());
+        List<Future<Void>> futures = new ArrayList<>(numberOfWorkers);
+        for (int i = 0; i < numberOfWorkers; i++) {
+            futures.add(executor.submit(() -> {
+                try (CursorContext workerContext = cursorContext.createRelatedContext(SAMPLING_WORKER_TAG)) {
+                    int index;
+                    while ((index = nextPartition.getAndIncrement()) < partitions.size()) {
+                        int partition = partitions.get(index);
+                        samples[index] = sample(edges.get(partition), edges.get(partition + 1), workerContext);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Workers use cursor contexts related to the given one, so all of them are waited for before returning,
+        // also when interrupted. They stop picking new partitions on failure or interrupt and finish quickly.
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (Future<Void> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    failure = failure == null ? e : failure;
+                    nextPartition.set(partitions.size());
+                } catch (ExecutionException e) {
+                    failure = failure == null ? e.getCause() : failure;
+                    nextPartition.set(partitions.size());
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+        return List.of(samples);
+    }
+
+    private PartitionSample<KEY> sample(KEY fromInclusive, KEY toExclusive, CursorContext cursorContext)
+            throws IOException {
+        try (Seeker<KEY, NullValue> seek = gbpTree.seek(fromInclusive, toExclusive, cursorContext)) {
+            long sampledValues = 0;
+            long uniqueValues = 0;
+
+            // Get the first one so that prev gets initialized
+            if (!seek.next()) {
+                return new PartitionSample<>(0, 0, null, null);
+            }
+            KEY first = layout.copyKey(seek.key(), layout.newKey());
+            KEY prev = layout.copyKey(seek.key(), layout.newKey());
+            sampledValues++;
+            uniqueValues++;
+
+            // Then do the rest
+            while (seek.next()) {
+                if (layout.compareValue(prev, seek.key()) != 0) {
+                    uniqueValues++;
+                    layout.copyKey(seek.key(), prev);
+                }
+                // else this is a duplicate of the previous one
+                sampledValues++;
+            }
+            return new PartitionSample<>(sampledValues, uniqueValues, first, prev);
+        }
+    }
+
+    /**
+     * @param first lowest key in the partition, or {@code null} if the partition is empty.
+     * @param last a key with the highest value in the partition, or {@code null} if the partition is empty.
+     */
+    private record PartitionSample<KEY>(long sampledValues, long uniqueValues, KEY first, KEY last) {}
 }
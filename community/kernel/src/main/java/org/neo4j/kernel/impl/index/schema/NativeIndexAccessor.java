@@ -70,6 +70,7 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
         implements IndexAccessor {
     private final NativeIndexUpdater<KEY> singleUpdater;
     private final NativeIndexHeaderWriter headerWriter;
+    final NativeIndexSampling sampling;
 
     NativeIndexAccessor(
             DatabaseIndexContext databaseIndexContext,
@@ -84,6 +85,7 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
                 indexUpdateIgnoreStrategy(),
                 new ThrowingConflictDetector<>(true, descriptor.schema().entityType()));
         headerWriter = new NativeIndexHeaderWriter(BYTE_ONLINE);
+        sampling = NativeIndexSampling.from(databaseIndexContext);
     }
 
     @Override
@@ -51,13 +51,16 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
     private final IndexUsageTracker usageTracker;
     final IndexLayout<KEY> layout;
     final GBPTree<KEY, NullValue> tree;
+    private final NativeIndexSampling sampling;
 
     NativeIndexReader(
             GBPTree<KEY, NullValue> tree,
             IndexLayout<KEY> layout,
             IndexDescriptor descriptor,
-            IndexUsageTracker usageTracker) {
+            IndexUsageTracker usageTracker,
+            NativeIndexSampling sampling) {
         this.tree = tree;
+        this.sampling = sampling;
         this.layout = layout;
         this.descriptor = descriptor;
         this.usageTracker = usageTracker;
@@ -77,7 +80,7 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         // non-unique sampler which scans the index and counts (potentially duplicates, of which there will
         // be none in a unique index).
 
-        FullScanNonUniqueIndexSampler<KEY> sampler = new FullScanNonUniqueIndexSampler<>(tree, layout);
+        FullScanNonUniqueIndexSampler<KEY> sampler = sampling.sampler(tree, layout);
         return tracer -> {
             try {
                 return sampler.sample(tracer);
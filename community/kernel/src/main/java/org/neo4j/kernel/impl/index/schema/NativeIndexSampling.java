@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.common.DependencyResolver;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.scheduler.CallableExecutor;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobScheduler;
+
+/**
+ * Creates {@link FullScanNonUniqueIndexSampler samplers} for native indexes, scanning the tree in parallel as
+ * configured by {@link GraphDatabaseInternalSettings#index_sampling_workers} and
+ * {@link GraphDatabaseInternalSettings#index_sampling_sample_fraction}. Settings are read for every new sampler.
+ */
+class NativeIndexSampling {
+    static final NativeIndexSampling SINGLE_THREADED = new NativeIndexSampling(null, null);
+
+    private final Config config;
+    private final CallableExecutor executor;
+
+    private NativeIndexSampling(Config config, CallableExecutor executor) {
+        this.config = config;
+        this.executor = executor;
+    }
+
+    /**
+     * Samples in a single thread if the database dependencies, like in many tests, are not available.
+     */
+    static NativeIndexSampling from(DatabaseIndexContext databaseIndexContext) {
+        DependencyResolver dependencies = databaseIndexContext.dependencyResolver;
+        if (dependencies == null
+                || !dependencies.containsDependency(Config.class)
+                || !dependencies.containsDependency(JobScheduler.class)) {
+            return SINGLE_THREADED;
+        }
+        return new NativeIndexSampling(
+                dependencies.resolveDependency(Config.class),
+                dependencies.resolveDependency(JobScheduler.class).executor(Group.INDEX_SAMPLING_WORK));
+    }
+
+    <KEY extends NativeIndexKey<KEY>> FullScanNonUniqueIndexSampler<KEY> sampler(
+            GBPTree<KEY, NullValue> tree, IndexLayout<KEY> layout) {
+        if (config == null) {
+            return new FullScanNonUniqueIndexSampler<>(tree, layout);
+        }
+        return new FullScanNonUniqueIndexSampler<>(
+                tree,
+                layout,
+                config.get(GraphDatabaseInternalSettings.index_sampling_workers),
+                config.get(GraphDatabaseInternalSettings.index_sampling_sample_fraction),
+                executor);
+    }
+}
@@ -79,7 +79,14 @@ public class PointBlockBasedIndexPopulator extends BlockBasedIndexPopulator<Poin
 
     @Override
     NativeIndexReader<PointKey> newReader() {
-        return new PointIndexReader(tree, layout, descriptor, spatialSettings, configuration, NO_USAGE_TRACKER);
+        return new PointIndexReader(
+                tree,
+                layout,
+                descriptor,
+                spatialSettings,
+                configuration,
+                NO_USAGE_TRACKER,
+                NativeIndexSampling.SINGLE_THREADED);
     }
 
     @Override
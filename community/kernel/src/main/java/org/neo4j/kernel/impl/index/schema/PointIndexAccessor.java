@@ -55,7 +55,8 @@ class PointIndexAccessor extends NativeIndexAccessor<PointKey> {
     @Override
     public ValueIndexReader newValueReader(IndexUsageTracker usageTracker) {
         assertOpen();
-        return new PointIndexReader(tree, layout, descriptor, spaceFillingCurveSettings, configuration, usageTracker);
+        return new PointIndexReader(
+                tree, layout, descriptor, spaceFillingCurveSettings, configuration, usageTracker, sampling);
     }
 
     @Override
@@ -52,8 +52,9 @@ class PointIndexReader extends NativeIndexReader<PointKey> {
             IndexDescriptor descriptor,
             IndexSpecificSpaceFillingCurveSettings spaceFillingCurveSettings,
             SpaceFillingCurveConfiguration configuration,
-            IndexUsageTracker usageTracker) {
-        super(tree, layout, descriptor, usageTracker);
+            IndexUsageTracker usageTracker,
+            NativeIndexSampling sampling) {
+        super(tree, layout, descriptor, usageTracker, sampling);
 
         this.spaceFillingCurveSettings = spaceFillingCurveSettings;
         this.configuration = configuration;
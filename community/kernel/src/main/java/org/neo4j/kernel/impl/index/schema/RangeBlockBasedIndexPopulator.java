@@ -61,7 +61,7 @@ class RangeBlockBasedIndexPopulator extends BlockBasedIndexPopulator<RangeKey> {
 
     @Override
     NativeIndexReader<RangeKey> newReader() {
-        return new RangeIndexReader(tree, layout, descriptor, NO_USAGE_TRACKER);
+        return new RangeIndexReader(tree, layout, descriptor, NO_USAGE_TRACKER, NativeIndexSampling.SINGLE_THREADED);
     }
 
     @Override
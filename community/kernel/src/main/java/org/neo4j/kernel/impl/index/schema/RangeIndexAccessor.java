@@ -55,7 +55,7 @@ public class RangeIndexAccessor extends NativeIndexAccessor<RangeKey> {
     @Override
     public ValueIndexReader newValueReader(IndexUsageTracker usageTracker) {
         assertOpen();
-        return new RangeIndexReader(tree, layout, descriptor, usageTracker);
+        return new RangeIndexReader(tree, layout, descriptor, usageTracker, sampling);
     }
 
     @Override
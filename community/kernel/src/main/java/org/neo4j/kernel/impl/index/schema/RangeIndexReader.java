@@ -42,8 +42,9 @@ public class RangeIndexReader extends NativeIndexReader<RangeKey> {
             GBPTree<RangeKey, NullValue> tree,
             IndexLayout<RangeKey> layout,
             IndexDescriptor descriptor,
-            IndexUsageTracker usageTracker) {
-        super(tree, layout, descriptor, usageTracker);
+            IndexUsageTracker usageTracker,
+            NativeIndexSampling sampling) {
+        super(tree, layout, descriptor, usageTracker, sampling);
     }
 
     @Override
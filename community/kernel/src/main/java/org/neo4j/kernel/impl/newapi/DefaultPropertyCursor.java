@@ -28,6 +28,7 @@ import static org.neo4j.token.api.TokenConstants.NO_TOKEN;
 import java.util.Iterator;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
+import org.neo4j.internal.kernel.api.KernelReadTracer;
 import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.RelTypeSupplier;
 import org.neo4j.internal.kernel.api.TokenSet;
@@ -251,6 +252,18 @@ public class DefaultPropertyCursor extends TraceableCursorImpl<DefaultPropertyCu
         return false;
     }
 
+    @Override
+    public void setTracer(KernelReadTracer tracer) {
+        super.setTracer(tracer);
+        storeCursor.setTracer(tracer);
+    }
+
+    @Override
+    public void removeTracer() {
+        storeCursor.removeTracer();
+        super.removeTracer();
+    }
+
     @Override
     public void closeInternal() {
         if (!isClosed()) {
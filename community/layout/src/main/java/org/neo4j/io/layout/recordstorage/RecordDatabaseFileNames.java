@@ -31,6 +31,7 @@ final class RecordDatabaseFileNames {
     static final String RELATIONSHIP_STORE = "neostore.relationshipstore.db";
     static final String RELATIONSHIP_GROUP_STORE = "neostore.relationshipgroupstore.db";
     static final String RELATIONSHIP_GROUP_DEGREES_STORE = "neostore.relationshipgroupstore.degrees.db";
+    static final String NODE_DEGREES_STORE = "neostore.nodestore.degrees.db";
     static final String RELATIONSHIP_TYPE_TOKEN_STORE = "neostore.relationshiptypestore.db";
     static final String RELATIONSHIP_TYPE_TOKEN_NAMES_STORE = "neostore.relationshiptypestore.db.names";
 
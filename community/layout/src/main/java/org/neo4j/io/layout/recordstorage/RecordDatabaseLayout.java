@@ -90,6 +90,14 @@ public class RecordDatabaseLayout extends PlainDatabaseLayout {
         return file(RecordDatabaseFile.RELATIONSHIP_GROUP_DEGREES_STORE.getName());
     }
 
+    /**
+     * The node degrees store is optional and rebuilt from the relationship store whenever it's missing,
+     * which is why it isn't one of the {@link RecordDatabaseFile}s.
+     */
+    public Path nodeDegreesStore() {
+        return file(RecordDatabaseFileNames.NODE_DEGREES_STORE);
+    }
+
     public Path propertyStringStore() {
         return file(RecordDatabaseFile.PROPERTY_STRING_STORE.getName());
     }
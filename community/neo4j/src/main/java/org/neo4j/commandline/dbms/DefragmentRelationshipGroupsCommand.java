@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.commandline.dbms;
+
+import static java.lang.String.format;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_memory;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
+import static org.neo4j.kernel.impl.pagecache.ConfigurableStandalonePageCacheFactory.createPageCache;
+import static org.neo4j.kernel.impl.scheduler.JobSchedulerFactory.createInitialisedScheduler;
+import static org.neo4j.kernel.recovery.Recovery.isRecoveryRequired;
+
+import java.io.Closeable;
+import java.util.Optional;
+import java.util.UUID;
+import org.neo4j.cli.AbstractAdminCommand;
+import org.neo4j.cli.CommandFailedException;
+import org.neo4j.cli.Converters.DatabaseNameConverter;
+import org.neo4j.cli.ExecutionContext;
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.helpers.Format;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.layout.Neo4jLayout;
+import org.neo4j.io.locker.FileLockException;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.database.DatabaseTracers;
+import org.neo4j.kernel.database.MetadataCache;
+import org.neo4j.kernel.database.NormalizedDatabaseName;
+import org.neo4j.kernel.impl.transaction.log.LogTailMetadata;
+import org.neo4j.kernel.impl.transaction.log.files.TransactionLogInitializer;
+import org.neo4j.kernel.impl.util.Validators;
+import org.neo4j.kernel.recovery.LogTailExtractor;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.storageengine.api.MetadataProvider;
+import org.neo4j.storageengine.api.RelationshipGroupDefragmenter;
+import org.neo4j.storageengine.api.StorageEngineFactory;
+import org.neo4j.storageengine.api.StoreId;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+@Command(
+        name = "defragment-relationship-groups",
+        header = "Defragment the relationship groups of a database",
+        description = "Rewrites the relationship group store of a stopped database so that the relationship groups "
+                + "of every dense node are stored next to each other, and shrinks the store file. "
+                + "Only databases in a record format are supported. Since the relationship groups get new ids, the "
+                + "transaction logs are replaced by empty ones and the database gets a new store id, so existing "
+                + "backups can't be incrementally updated from it afterwards. If the command is interrupted it must "
+                + "be run again, to complete the defragmentation, before the database is started.")
+public class DefragmentRelationshipGroupsCommand extends AbstractAdminCommand {
+    private static final String DEFRAGMENT_CHECKPOINT = "Relationship group defragmentation checkpoint.";
+
+    @Parameters(
+            index = "0",
+            description = "Name of the database to defragment.",
+            converter = DatabaseNameConverter.class)
+    private NormalizedDatabaseName database;
+
+    @Option(
+            names = "--pagecache",
+            paramLabel = "<size>",
+            description = "The size of the page cache to use for the defragmentation process.")
+    private String pagecacheMemory;
+
+    @Option(
+            names = "--report",
+            description = "Measure the time it takes to traverse the relationship groups of all dense nodes before "
+                    + "and after the defragmentation, and how well the relationships of each type and direction of "
+                    + "the dense nodes are clustered in the relationship store. This takes extra passes over the "
+                    + "node, relationship group and relationship stores.")
+    private boolean report;
+
+    public DefragmentRelationshipGroupsCommand(ExecutionContext ctx) {
+        super(ctx);
+    }
+
+    @Override
+    protected Optional<String> commandConfigName() {
+        return Optional.of("database-defragment-relationship-groups");
+    }
+
+    @Override
+    protected void execute() {
+        Config config = buildConfig();
+        DatabaseLayout databaseLayout = Neo4jLayout.of(config).databaseLayout(database.name());
+        checkDatabaseExistence(databaseLayout);
+        try (FileSystemAbstraction fs = ctx.fs();
+                var jobScheduler = createInitialisedScheduler();
+                PageCache pageCache = createPageCache(fs, config, jobScheduler, PageCacheTracer.NULL);
+                Closeable ignored = LockChecker.checkDatabaseLock(databaseLayout)) {
+            StorageEngineFactory storageEngineFactory = StorageEngineFactory.selectStorageEngine(fs, databaseLayout)
+                    .orElseThrow(() -> new CommandFailedException(
+                            "Current store format has not been recognised by any of the available storage engines"));
+            RelationshipGroupDefragmenter defragmenter = storageEngineFactory
+                    .relationshipGroupDefragmenter(
+                            fs, databaseLayout, config, pageCache, PageCacheTracer.NULL, NULL_CONTEXT_FACTORY)
+                    .orElseThrow(() -> new CommandFailedException(format(
+                            "Database '%s' is in the %s format, only record formats have relationship groups",
+                            database.name(), storageEngineFactory.name())));
+            if (isRecoveryRequired(
+                    fs,
+                    pageCache,
+                    databaseLayout,
+                    storageEngineFactory,
+                    config,
+                    Optional.empty(),
+                    EmptyMemoryTracker.INSTANCE,
+                    DatabaseTracers.EMPTY)) {
+                throw new CommandFailedException(format(
+                        "Database '%s' was not shut down properly. Start and stop it to recover it and try again.",
+                        database.name()));
+            }
+
+            // The transactions in the logs refer to the old group ids, so they must never be applied to the
+            // defragmented store. Replacing the logs first means that an interrupted defragmentation leaves no such
+            // logs behind either.
+            resetTransactionLogs(fs, pageCache, config, databaseLayout, storageEngineFactory);
+            var result = defragmenter.defragment(report);
+
+            ctx.out().printf("Defragmented the relationship groups of database '%s'%n", database.name());
+            ctx.out().printf("  Relationship groups: %d%n", result.groups());
+            ctx.out()
+                    .printf(
+                            "  Store size: %d pages before, %d pages after%n",
+                            result.pagesBefore(), result.pagesAfter());
+            var layoutReport = result.report();
+            if (layoutReport != null) {
+                ctx.out()
+                        .printf(
+                                "  Dense node scan time: %s before, %s after%n",
+                                Format.duration(layoutReport.scanTimeBefore().toMillis()),
+                                Format.duration(layoutReport.scanTimeAfter().toMillis()));
+                ctx.out()
+                        .printf(
+                                "  Dense node relationship chain locality: %.2f over %d chains, where 1.00 is fully "
+                                        + "clustered%n",
+                                layoutReport.chainLocality(), layoutReport.chains());
+            }
+        } catch (FileLockException e) {
+            throw new CommandFailedException(
+                    "The database is in use. Stop database '" + database.name() + "' and try again.", e);
+        } catch (CommandFailedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CommandFailedException(
+                    format(
+                            "Failed to defragment the relationship groups of database '%s': %s",
+                            database.name(), e.getMessage()),
+                    e);
+        }
+    }
+
+    /**
+     * Gives the database a new store id and replaces its transaction logs with ones only containing an empty
+     * transaction and a check point, the way store migration does.
+     */
+    private static void resetTransactionLogs(
+            FileSystemAbstraction fs,
+            PageCache pageCache,
+            Config config,
+            DatabaseLayout databaseLayout,
+            StorageEngineFactory storageEngineFactory)
+            throws Exception {
+        LogTailMetadata logTail = new LogTailExtractor(
+                        fs, pageCache, config, storageEngineFactory, DatabaseTracers.EMPTY)
+                .getTailMetadata(databaseLayout, EmptyMemoryTracker.INSTANCE);
+        try (MetadataProvider store = storageEngineFactory.transactionMetaDataStore(
+                        fs,
+                        databaseLayout,
+                        config,
+                        pageCache,
+                        writable(),
+                        NULL_CONTEXT_FACTORY,
+                        logTail,
+                        PageCacheTracer.NULL);
+                var cursorContext = NULL_CONTEXT_FACTORY.create("defragmentRelationshipGroups")) {
+            StoreId storeId = store.getStoreId();
+            Optional<UUID> databaseId = store.getDatabaseIdUuid(cursorContext);
+            store.regenerateMetadata(
+                    StoreId.generateNew(
+                            storeId.getStorageEngineName(),
+                            storeId.getFormatName(),
+                            storeId.getMajorVersion(),
+                            storeId.getMinorVersion()),
+                    store.getExternalStoreId().id(),
+                    cursorContext);
+            databaseId.ifPresent(id -> store.setDatabaseIdUuid(id, cursorContext));
+            new TransactionLogInitializer(fs, store, storageEngineFactory, new MetadataCache(logTail))
+                    .migrateExistingLogFiles(
+                            databaseLayout, databaseLayout.getTransactionLogsDirectory(), DEFRAGMENT_CHECKPOINT);
+        }
+    }
+
+    private static void checkDatabaseExistence(DatabaseLayout databaseLayout) {
+        try {
+            Validators.CONTAINS_EXISTING_DATABASE.validate(databaseLayout.databaseDirectory());
+        } catch (IllegalArgumentException e) {
+            throw new CommandFailedException("Database '" + databaseLayout.getDatabaseName() + "' does not exist", e);
+        }
+    }
+
+    private Config buildConfig() {
+        try {
+            var builder = createPrefilledConfigBuilder();
+            if (pagecacheMemory != null) {
+                builder.set(pagecache_memory, ByteUnit.parse(pagecacheMemory));
+            }
+            return builder.build();
+        } catch (Exception e) {
+            throw new CommandFailedException(e.getMessage(), e);
+        }
+    }
+}
@@ -368,6 +368,10 @@ public class GlobalModule {
                 Group.INDEX_POPULATION, globalConfig.get(GraphDatabaseInternalSettings.index_population_parallelism));
         jobScheduler.setParallelism(
                 Group.PAGE_CACHE_PRE_FETCHER, globalConfig.get(GraphDatabaseSettings.pagecache_scan_prefetch));
+        jobScheduler.setParallelism(
+                Group.SCHEMA_CALCULATION, globalConfig.get(GraphDatabaseInternalSettings.schema_calculation_workers));
+        jobScheduler.setParallelism(
+                Group.COLUMNAR_EXPORT, globalConfig.get(GraphDatabaseInternalSettings.columnar_export_workers));
         return jobScheduler;
     }
 
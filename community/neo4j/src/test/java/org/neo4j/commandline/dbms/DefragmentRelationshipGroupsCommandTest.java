@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.commandline.dbms;
+
+import static java.lang.Boolean.FALSE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.neo4j.cli.CommandFailedException;
+import org.neo4j.cli.ExecutionContext;
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.configuration.connectors.BoltConnector;
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.dbms.api.DatabaseManagementServiceBuilder;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.layout.Neo4jLayout;
+import org.neo4j.kernel.database.NamedDatabaseId;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.storageengine.api.StoreId;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.Neo4jLayoutExtension;
+import picocli.CommandLine;
+
+@Neo4jLayoutExtension
+class DefragmentRelationshipGroupsCommandTest {
+    private static final int TYPES = 5;
+    private static final int RELATIONSHIPS_PER_TYPE = 3;
+
+    @Inject
+    private Neo4jLayout neo4jLayout;
+
+    @Test
+    void printUsageHelp() {
+        final var baos = new ByteArrayOutputStream();
+        final var command = new DefragmentRelationshipGroupsCommand(new ExecutionContext(Path.of("."), Path.of(".")));
+        try (var out = new PrintStream(baos)) {
+            CommandLine.usage(command, new PrintStream(out), CommandLine.Help.Ansi.OFF);
+        }
+        assertThat(baos.toString().trim())
+                .isEqualToIgnoringNewLines(
+                        """
+                        Defragment the relationship groups of a database
+
+                        USAGE
+
+                        defragment-relationship-groups [-h] [--expand-commands] [--report] [--verbose]
+                                                       [--additional-config=<file>]
+                                                       [--pagecache=<size>] <database>
+
+                        DESCRIPTION
+
+                        Rewrites the relationship group store of a stopped database so that the
+                        relationship groups of every dense node are stored next to each other, and
+                        shrinks the store file. Only databases in a record format are supported. Since
+                        the relationship groups get new ids, the transaction logs are replaced by empty
+                        ones and the database gets a new store id, so existing backups can't be
+                        incrementally updated from it afterwards. If the command is interrupted it must
+                        be run again, to complete the defragmentation, before the database is started.
+
+                        PARAMETERS
+
+                              <database>           Name of the database to defragment.
+
+                        OPTIONS
+
+                              --additional-config=<file>
+                                                   Configuration file with additional configuration.
+                              --expand-commands    Allow command expansion in config value evaluation.
+                          -h, --help               Show this help message and exit.
+                              --pagecache=<size>   The size of the page cache to use for the
+                                                     defragmentation process.
+                              --report             Measure the time it takes to traverse the
+                                                     relationship groups of all dense nodes before and
+                                                     after the defragmentation, and how well the
+                                                     relationships of each type and direction of the
+                                                     dense nodes are clustered in the relationship
+                                                     store. This takes extra passes over the node,
+                                                     relationship group and relationship stores.
+                              --verbose            Enable verbose output.""");
+    }
+
+    @Test
+    void shouldDefragmentRelationshipGroupsOfStoppedDatabase() {
+        // given dense nodes with their groups interleaved with the groups of the other nodes
+        DatabaseManagementService dbms = startDbms();
+        List<String> nodeIds = new ArrayList<>();
+        GraphDatabaseService db = dbms.database(DEFAULT_DATABASE_NAME);
+        try (Transaction tx = db.beginTx()) {
+            for (int i = 0; i < 10; i++) {
+                nodeIds.add(tx.createNode().getElementId());
+            }
+            tx.commit();
+        }
+        NamedDatabaseId databaseId = ((GraphDatabaseAPI) db).databaseId();
+        StoreId storeId = storeId(db);
+        for (int type = 0; type < TYPES; type++) {
+            try (Transaction tx = db.beginTx()) {
+                for (String nodeId : nodeIds) {
+                    Node node = tx.getNodeByElementId(nodeId);
+                    for (int i = 0; i < RELATIONSHIPS_PER_TYPE; i++) {
+                        node.createRelationshipTo(tx.createNode(), RelationshipType.withName("TYPE_" + type));
+                    }
+                }
+                tx.commit();
+            }
+        }
+        dbms.shutdown();
+
+        // when
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        execute(output, DEFAULT_DATABASE_NAME, "--report");
+
+        // then
+        assertThat(output.toString())
+                .contains("Defragmented the relationship groups of database '" + DEFAULT_DATABASE_NAME + "'")
+                .contains("Relationship groups: " + nodeIds.size() * TYPES)
+                .contains("Dense node scan time:")
+                .contains("Dense node relationship chain locality:")
+                .contains("over " + nodeIds.size() * TYPES + " chains");
+        dbms = startDbms();
+        db = dbms.database(DEFAULT_DATABASE_NAME);
+        assertThat(((GraphDatabaseAPI) db).databaseId()).isEqualTo(databaseId);
+        assertThat(storeId(db)).isNotEqualTo(storeId);
+        try (Transaction tx = db.beginTx()) {
+            for (String nodeId : nodeIds) {
+                Node node = tx.getNodeByElementId(nodeId);
+                assertThat(node.getDegree()).isEqualTo(TYPES * RELATIONSHIPS_PER_TYPE);
+                for (int type = 0; type < TYPES; type++) {
+                    RelationshipType relationshipType = RelationshipType.withName("TYPE_" + type);
+                    assertThat(node.getDegree(relationshipType, Direction.OUTGOING))
+                            .isEqualTo(RELATIONSHIPS_PER_TYPE);
+                    try (var relationships = node.getRelationships(Direction.OUTGOING, relationshipType)) {
+                        assertThat(relationships.stream().count()).isEqualTo(RELATIONSHIPS_PER_TYPE);
+                    }
+                }
+            }
+            tx.commit();
+        } finally {
+            dbms.shutdown();
+        }
+    }
+
+    @Test
+    void shouldOnlyMeasureScanTimeWhenAskedTo() {
+        DatabaseManagementService dbms = startDbms();
+        try (Transaction tx = dbms.database(DEFAULT_DATABASE_NAME).beginTx()) {
+            Node node = tx.createNode();
+            node.createRelationshipTo(tx.createNode(), RelationshipType.withName("TYPE"));
+            tx.commit();
+        } finally {
+            dbms.shutdown();
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        execute(output, DEFAULT_DATABASE_NAME);
+
+        assertThat(output.toString())
+                .contains("Defragmented the relationship groups of database")
+                .doesNotContain("Dense node scan time:")
+                .doesNotContain("locality");
+    }
+
+    @Test
+    void shouldFailOnNonExistentDatabase() {
+        assertThatThrownBy(() -> execute(new ByteArrayOutputStream(), "nonexistent"))
+                .isInstanceOf(CommandFailedException.class)
+                .hasMessageContaining("Database 'nonexistent' does not exist");
+    }
+
+    private void execute(ByteArrayOutputStream output, String... args) {
+        Path homeDirectory = neo4jLayout.homeDirectory();
+        try (var out = new PrintStream(output)) {
+            var context = new ExecutionContext(
+                    homeDirectory, homeDirectory, out, System.err, new DefaultFileSystemAbstraction());
+            var command = new DefragmentRelationshipGroupsCommand(context);
+            CommandLine.populateCommand(command, args);
+            command.execute();
+        }
+    }
+
+    private static StoreId storeId(GraphDatabaseService db) {
+        return ((GraphDatabaseAPI) db)
+                .getDependencyResolver()
+                .resolveDependency(StorageEngine.class)
+                .retrieveStoreId();
+    }
+
+    private DatabaseManagementService startDbms() {
+        return new DatabaseManagementServiceBuilder(neo4jLayout.homeDirectory())
+                .setConfig(BoltConnector.enabled, FALSE)
+                .setConfig(GraphDatabaseSettings.pagecache_memory, ByteUnit.mebiBytes(8))
+                .setConfig(GraphDatabaseSettings.dense_node_threshold, 1)
+                .build();
+    }
+}
@@ -35,6 +35,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.neo4j.common.DependencyResolver;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
@@ -47,6 +48,7 @@ import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
 import org.neo4j.internal.kernel.api.security.AccessMode;
 import org.neo4j.internal.kernel.api.security.SecurityContext;
 import org.neo4j.internal.schema.IndexProviderDescriptor;
+import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.api.procedure.SystemProcedure;
 import org.neo4j.kernel.impl.api.index.IndexingService;
@@ -60,6 +62,8 @@ import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.NotThreadSafe;
 import org.neo4j.procedure.Procedure;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.StoreIdProvider;
 
 @SuppressWarnings({"unused", "WeakerAccess"})
@@ -248,7 +252,7 @@ public class BuiltInProcedures {
             return Stream.empty();
         }
 
-        return new SchemaCalculator(kernelTransaction).calculateTabularResultStreamForNodes();
+        return schemaCalculator().calculateTabularResultStreamForNodes();
     }
 
     @SystemProcedure
@@ -260,7 +264,7 @@ public class BuiltInProcedures {
             return Stream.empty();
         }
 
-        return new SchemaCalculator(kernelTransaction).calculateTabularResultStreamForRels();
+        return schemaCalculator().calculateTabularResultStreamForRels();
     }
 
     @SystemProcedure
@@ -280,6 +284,32 @@ public class BuiltInProcedures {
         return Stream.of(new SchemaProcedure((InternalTransaction) transaction).buildSchemaGraph());
     }
 
+    @Admin
+    @NotThreadSafe
+    @Description("Export the nodes with the given label, together with all their labels and the given properties, to "
+            + "columnar files in the export directory. The store is scanned in parallel and every worker writes its own "
+            + "file, named after the given file name.")
+    @Procedure(name = "db.export.nodes", mode = READ)
+    public Stream<ColumnarExportResult> exportNodes(
+            @Name("label") String label, @Name("properties") List<String> properties, @Name("fileName") String fileName)
+            throws ProcedureException {
+        return columnarExporter().exportNodes(label, properties, fileName);
+    }
+
+    @Admin
+    @NotThreadSafe
+    @Description("Export the relationships of the given type, together with their start and end nodes and the given "
+            + "properties, to columnar files in the export directory. The store is scanned in parallel and every worker "
+            + "writes its own file, named after the given file name.")
+    @Procedure(name = "db.export.relationships", mode = READ)
+    public Stream<ColumnarExportResult> exportRelationships(
+            @Name("relationshipType") String relationshipType,
+            @Name("properties") List<String> properties,
+            @Name("fileName") String fileName)
+            throws ProcedureException {
+        return columnarExporter().exportRelationships(relationshipType, properties, fileName);
+    }
+
     @SystemProcedure(allowExpiredCredentials = true)
     @NotThreadSafe
     @Procedure(name = "db.ping", mode = READ)
@@ -296,6 +326,25 @@ public class BuiltInProcedures {
         return config.get(GraphDatabaseSettings.db_timezone).getZoneId();
     }
 
+    private SchemaCalculator schemaCalculator() {
+        Config config = resolver.resolveDependency(Config.class);
+        return new SchemaCalculator(
+                kernelTransaction,
+                resolver.resolveDependency(JobScheduler.class).executor(Group.SCHEMA_CALCULATION),
+                config.get(GraphDatabaseInternalSettings.schema_calculation_workers),
+                config.get(GraphDatabaseInternalSettings.schema_calculation_sample_fraction));
+    }
+
+    private ColumnarExporter columnarExporter() {
+        Config config = resolver.resolveDependency(Config.class);
+        return new ColumnarExporter(
+                kernelTransaction,
+                resolver.resolveDependency(FileSystemAbstraction.class),
+                config.get(GraphDatabaseInternalSettings.columnar_export_dir),
+                resolver.resolveDependency(JobScheduler.class).executor(Group.COLUMNAR_EXPORT),
+                config.get(GraphDatabaseInternalSettings.columnar_export_workers));
+    }
+
     private IndexProcedures indexProcedures() {
         return new IndexProcedures(kernelTransaction, resolver.resolveDependency(IndexingService.class));
     }
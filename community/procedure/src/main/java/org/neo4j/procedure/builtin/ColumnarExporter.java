@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.neo4j.csv.reader.Configuration;
+import org.neo4j.internal.kernel.api.CursorFactory;
+import org.neo4j.internal.kernel.api.EntityCursor;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PartitionedScan;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.internal.kernel.api.TokenRead;
+import org.neo4j.internal.kernel.api.TokenSet;
+import org.neo4j.internal.kernel.api.exceptions.LabelNotFoundKernelException;
+import org.neo4j.internal.kernel.api.exceptions.ProcedureException;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.ExecutionContext;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.exceptions.Status;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.CallableExecutor;
+import org.neo4j.storageengine.api.PropertySelection;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Exports the nodes with a label, or relationships of a type, together with some of their properties to files in the
+ * layout written by {@link ColumnarFileWriter}. The store is scanned in partitions by a number of workers, where each
+ * worker writes its own file. This way neither the scan nor the writing is serialized through a single thread, and no
+ * values are serialized row by row through the query result.
+ * <p>
+ * The files can be imported again by the columnar importer input. Node files have the node ids as row ids and a
+ * {@code :LABEL} column with all labels of each node, separated by the csv array delimiter. Relationship files have
+ * {@code :START_ID}, {@code :END_ID} and {@code :TYPE} columns, where the start and end ids refer to the row ids of
+ * the node files.
+ */
+public class ColumnarExporter {
+    static final int BATCH_SIZE = 4096;
+    private static final int PARTITIONS_PER_WORKER = 8;
+    private static final char LABEL_DELIMITER = Configuration.COMMAS.arrayDelimiter();
+    private static final String[] NODE_COLUMNS = {":LABEL"};
+    private static final String[] RELATIONSHIP_COLUMNS = {":START_ID", ":END_ID", ":TYPE"};
+
+    private final KernelTransaction ktx;
+    private final Read dataRead;
+    private final TokenRead tokenRead;
+    private final CursorFactory cursors;
+    private final CursorContext cursorContext;
+    private final MemoryTracker memoryTracker;
+    private final FileSystemAbstraction fs;
+    private final Path exportDirectory;
+    private final CallableExecutor executor;
+    private final int workers;
+
+    /**
+     * @param exportDirectory directory that the exported files are written to.
+     * @param executor executor running the partitioned scan workers, or {@code null} to scan in the calling thread.
+     * @param workers number of partitioned scan workers, and thereby the maximum number of files written per export.
+     */
+    ColumnarExporter(
+            KernelTransaction ktx,
+            FileSystemAbstraction fs,
+            Path exportDirectory,
+            CallableExecutor executor,
+            int workers) {
+        this.ktx = ktx;
+        this.dataRead = ktx.dataRead();
+        this.tokenRead = ktx.tokenRead();
+        this.cursors = ktx.cursors();
+        this.cursorContext = ktx.cursorContext();
+        this.memoryTracker = ktx.memoryTracker();
+        this.fs = fs;
+        this.exportDirectory = exportDirectory.toAbsolutePath().normalize();
+        this.executor = executor;
+        this.workers = Math.max(1, workers);
+    }
+
+    public Stream<ColumnarExportResult> exportNodes(String label, List<String> properties, String fileName)
+            throws ProcedureException {
+        int labelId = tokenRead.nodeLabel(label);
+        if (labelId == TokenRead.NO_TOKEN) {
+            throw new ProcedureException(Status.Procedure.ProcedureCallFailed, "No such label '%s'", label);
+        }
+        Export<NodeCursor> export =
+                new Export<>(resolve(fileName), NODE_COLUMNS, properties, ColumnarExporter::nodeColumns);
+        if (!canScanInPartitions()) {
+            try (NodeCursor nodeCursor = cursors.allocateNodeCursor(cursorContext, memoryTracker)) {
+                dataRead.allNodesScan(nodeCursor);
+                return Stream.of(export.write(nodeCursor, cursor -> cursor.hasLabel(labelId)));
+            }
+        }
+        return export.writeInPartitions(
+                dataRead.allNodesScan(workers * PARTITIONS_PER_WORKER, cursorContext),
+                context -> context.cursors().allocateNodeCursor(context.cursorContext(), context.memoryTracker()),
+                cursor -> cursor.hasLabel(labelId));
+    }
+
+    public Stream<ColumnarExportResult> exportRelationships(
+            String relationshipType, List<String> properties, String fileName) throws ProcedureException {
+        int typeId = tokenRead.relationshipType(relationshipType);
+        if (typeId == TokenRead.NO_TOKEN) {
+            throw new ProcedureException(
+                    Status.Procedure.ProcedureCallFailed, "No such relationship type '%s'", relationshipType);
+        }
+        TextValue type = Values.stringValue(relationshipType);
+        Export<RelationshipScanCursor> export =
+                new Export<>(resolve(fileName), RELATIONSHIP_COLUMNS, properties, (cursor, tokens, values) -> {
+                    values[0] = Values.longValue(cursor.sourceNodeReference());
+                    values[1] = Values.longValue(cursor.targetNodeReference());
+                    values[2] = type;
+                });
+        if (!canScanInPartitions()) {
+            try (RelationshipScanCursor relationshipCursor =
+                    cursors.allocateRelationshipScanCursor(cursorContext, memoryTracker)) {
+                dataRead.allRelationshipsScan(relationshipCursor);
+                return Stream.of(export.write(relationshipCursor, cursor -> cursor.type() == typeId));
+            }
+        }
+        return export.writeInPartitions(
+                dataRead.allRelationshipsScan(workers * PARTITIONS_PER_WORKER, cursorContext),
+                context -> context.cursors()
+                        .allocateRelationshipScanCursor(context.cursorContext(), context.memoryTracker()),
+                cursor -> cursor.type() == typeId);
+    }
+
+    private static void nodeColumns(NodeCursor cursor, TokenRead tokenRead, Value[] values) {
+        TokenSet labels = cursor.labels();
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < labels.numberOfTokens(); i++) {
+            String name;
+            try {
+                name = tokenRead.nodeLabelName(labels.token(i));
+            } catch (LabelNotFoundKernelException e) {
+                throw new IllegalStateException(e);
+            }
+            if (name.indexOf(LABEL_DELIMITER) != -1) {
+                throw new IllegalArgumentException(String.format(
+                        "Label '%s' of node %d cannot be exported, since it contains the array delimiter '%s'",
+                        name, cursor.nodeReference(), LABEL_DELIMITER));
+            }
+            if (i > 0) {
+                names.append(LABEL_DELIMITER);
+            }
+            names.append(name);
+        }
+        values[0] = Values.stringValue(names.toString());
+    }
+
+    /**
+     * Partitioned scans cannot see transaction state, so a transaction with changes is exported in the calling thread.
+     */
+    private boolean canScanInPartitions() {
+        return executor != null && !dataRead.transactionStateHasChanges();
+    }
+
+    private Path resolve(String fileName) throws ProcedureException {
+        Path path = exportDirectory.resolve(fileName).normalize();
+        if (!path.startsWith(exportDirectory) || path.equals(exportDirectory)) {
+            throw new ProcedureException(
+                    Status.Procedure.ProcedureCallFailed,
+                    "Export file name '%s' must point to a file within the export directory",
+                    fileName);
+        }
+        return path;
+    }
+
+    /**
+     * Values of the columns describing the entity itself, written before its properties.
+     */
+    @FunctionalInterface
+    private interface EntityColumns<CURSOR> {
+        void values(CURSOR cursor, TokenRead tokenRead, Value[] values);
+    }
+
+    private class Export<CURSOR extends EntityCursor> {
+        private final Path path;
+        private final String[] entityColumnNames;
+        private final EntityColumns<CURSOR> entityColumns;
+        private final String[] propertyColumnNames;
+        private final int[] propertyKeys;
+        private final PropertySelection selection;
+
+        Export(Path path, String[] entityColumnNames, List<String> properties, EntityColumns<CURSOR> entityColumns) {
+            this.path = path;
+            this.entityColumnNames = entityColumnNames;
+            this.entityColumns = entityColumns;
+            this.propertyColumnNames = properties.toArray(String[]::new);
+            this.propertyKeys = new int[propertyColumnNames.length];
+            for (int i = 0; i < propertyColumnNames.length; i++) {
+                propertyKeys[i] = tokenRead.propertyKey(propertyColumnNames[i]);
+            }
+            this.selection = PropertySelection.selection(IntStream.of(propertyKeys)
+                    .filter(key -> key != TokenRead.NO_TOKEN)
+                    .toArray());
+        }
+
+        /**
+         * Writes the entities the already initialized cursor iterates over to a single file.
+         */
+        ColumnarExportResult write(CURSOR cursor, Predicate<CURSOR> filter) {
+            try (PropertyCursor propertyCursor = cursors.allocatePropertyCursor(cursorContext, memoryTracker)) {
+                Path file = fileOf(0);
+                try (ColumnarFileWriter writer = open(file)) {
+                    writeEntities(cursor, propertyCursor, tokenRead, filter, writer);
+                    writer.close();
+                    return result(file, writer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Lets each worker reserve partitions from the shared scan and write the entities in them to its own file.
+         */
+        Stream<ColumnarExportResult> writeInPartitions(
+                PartitionedScan<CURSOR> scan,
+                Function<ExecutionContext, CURSOR> cursorAllocator,
+                Predicate<CURSOR> filter) {
+            return PartitionedScanWorkers.scan(
+                    ktx, executor, workers, scan, cursorAllocator, (workerId, context, cursor, propertyCursor) -> {
+                        Path file = fileOf(workerId);
+                        try (ColumnarFileWriter writer = open(file)) {
+                            while (scan.reservePartition(cursor, context)) {
+                                writeEntities(cursor, propertyCursor, context.tokenRead(), filter, writer);
+                            }
+                            writer.close();
+                            return result(file, writer);
+                        }
+                    })
+                    .stream();
+        }
+
+        private void writeEntities(
+                CURSOR cursor,
+                PropertyCursor propertyCursor,
+                TokenRead tokenRead,
+                Predicate<CURSOR> filter,
+                ColumnarFileWriter writer)
+                throws IOException {
+            Value[] entityValues = new Value[entityColumnNames.length];
+            while (cursor.next()) {
+                if (filter.test(cursor)) {
+                    entityColumns.values(cursor, tokenRead, entityValues);
+                    cursor.properties(propertyCursor, selection);
+                    writer.add(cursor.reference(), entityValues, propertyCursor);
+                }
+            }
+        }
+
+        private Path fileOf(int part) {
+            return path.resolveSibling(String.format("%s-%03d.col", path.getFileName(), part));
+        }
+
+        private ColumnarFileWriter open(Path file) throws IOException {
+            fs.mkdirs(file.getParent());
+            return new ColumnarFileWriter(
+                    fs.openAsOutputStream(file, false),
+                    entityColumnNames,
+                    propertyColumnNames,
+                    propertyKeys,
+                    BATCH_SIZE);
+        }
+
+        private ColumnarExportResult result(Path file, ColumnarFileWriter writer) throws IOException {
+            return new ColumnarExportResult(file.toString(), writer.rows(), fs.getFileSize(file));
+        }
+    }
+}
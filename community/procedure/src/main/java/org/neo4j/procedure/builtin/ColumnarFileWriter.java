@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.BOOLEAN;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.DOUBLE;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.LONG;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.MAGIC;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.NONE;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.STRING;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.VERSION;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.function.Predicate;
+import org.neo4j.internal.batchimport.input.columnar.ColumnarFormat;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.values.storable.BooleanValue;
+import org.neo4j.values.storable.FloatingPointValue;
+import org.neo4j.values.storable.IntegralValue;
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Writes entities, some columns describing the entities themselves and a fixed set of their properties to a file in
+ * the {@link ColumnarFormat columnar layout}, one batch of rows at a time. Rows without the property are marked as
+ * null. The type of each column is decided by the first value in it and stays the same for the whole file; values of
+ * another type, or of a type that the layout cannot hold, fail the write.
+ */
+class ColumnarFileWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final DataOutputStream out;
+    private final String[] columnNames;
+    private final int entityColumns;
+    private final int[] propertyKeys;
+    private final long[] ids;
+    private final byte[] types;
+    private final Value[][] columns;
+    private int rows;
+    private long totalRows;
+    private boolean closed;
+
+    /**
+     * @param entityColumnNames names of the leading columns, with values given by the caller for each row.
+     * @param propertyColumnNames names of the property columns, following the entity columns.
+     * @param propertyKeys property key of each property column, columns of keys that do not exist,
+     * {@code TokenRead.NO_TOKEN}, will only contain nulls.
+     */
+    ColumnarFileWriter(
+            OutputStream out,
+            String[] entityColumnNames,
+            String[] propertyColumnNames,
+            int[] propertyKeys,
+            int batchSize)
+            throws IOException {
+        assert propertyColumnNames.length == propertyKeys.length;
+        this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        this.columnNames = new String[entityColumnNames.length + propertyColumnNames.length];
+        System.arraycopy(entityColumnNames, 0, columnNames, 0, entityColumnNames.length);
+        System.arraycopy(propertyColumnNames, 0, columnNames, entityColumnNames.length, propertyColumnNames.length);
+        this.entityColumns = entityColumnNames.length;
+        this.propertyKeys = propertyKeys;
+        this.ids = new long[batchSize];
+        this.types = new byte[columnNames.length];
+        this.columns = new Value[columnNames.length][batchSize];
+
+        this.out.write(MAGIC);
+        this.out.writeInt(VERSION);
+        this.out.writeInt(columnNames.length);
+        for (String name : columnNames) {
+            writeUtf8(name.getBytes(UTF_8));
+        }
+    }
+
+    /**
+     * Adds a row with the given values of the entity columns and the properties the cursor is positioned at, which
+     * should be restricted to the exported keys.
+     *
+     * @param entityValues values of the entity columns, in the order of their names. The array is not kept.
+     * @throws IllegalArgumentException if a value cannot be written to its column.
+     */
+    void add(long id, Value[] entityValues, PropertyCursor properties) throws IOException {
+        assert entityValues.length == entityColumns;
+        ids[rows] = id;
+        for (int column = 0; column < entityColumns; column++) {
+            set(column, entityValues[column], id);
+        }
+        while (properties.next()) {
+            int column = columnOf(properties.propertyKey());
+            if (column >= 0) {
+                set(column, properties.propertyValue(), id);
+            }
+        }
+        if (++rows == ids.length) {
+            flush();
+        }
+    }
+
+    long rows() {
+        return totalRows + rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (out) {
+            flush();
+            out.writeInt(0);
+        }
+    }
+
+    private int columnOf(int propertyKey) {
+        for (int i = 0; i < propertyKeys.length; i++) {
+            if (propertyKeys[i] == propertyKey) {
+                return entityColumns + i;
+            }
+        }
+        return -1;
+    }
+
+    private void set(int column, Value value, long id) {
+        if (value == null || value == Values.NO_VALUE) {
+            return;
+        }
+        byte type = typeOf(value);
+        if (type == NONE) {
+            throw new IllegalArgumentException(String.format(
+                    "Value of type %s in column '%s' of entity %d cannot be exported, only integral, floating point, "
+                            + "boolean and text values can",
+                    value.getTypeName(), columnNames[column], id));
+        }
+        if (types[column] == NONE) {
+            types[column] = type;
+        } else if (types[column] != type) {
+            throw new IllegalArgumentException(String.format(
+                    "Value of type %s in column '%s' of entity %d cannot be exported, since the column already has "
+                            + "values of another type",
+                    value.getTypeName(), columnNames[column], id));
+        }
+        columns[column][rows] = value;
+    }
+
+    private static byte typeOf(Value value) {
+        if (value instanceof IntegralValue) {
+            return LONG;
+        }
+        if (value instanceof FloatingPointValue) {
+            return DOUBLE;
+        }
+        if (value instanceof BooleanValue) {
+            return BOOLEAN;
+        }
+        if (value instanceof TextValue) {
+            return STRING;
+        }
+        return NONE;
+    }
+
+    private void flush() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        out.writeInt(rows);
+        for (int i = 0; i < rows; i++) {
+            out.writeLong(ids[i]);
+        }
+        for (int column = 0; column < columns.length; column++) {
+            writeColumn(types[column], columns[column]);
+            Arrays.fill(columns[column], 0, rows, null);
+        }
+        totalRows += rows;
+        rows = 0;
+    }
+
+    private void writeColumn(byte type, Value[] column) throws IOException {
+        out.writeByte(type);
+        writeBitmap(column, value -> value == null);
+        switch (type) {
+            case NONE -> {
+                // no values in this column yet
+            }
+            case LONG -> {
+                for (int i = 0; i < rows; i++) {
+                    out.writeLong(column[i] == null ? 0 : ((NumberValue) column[i]).longValue());
+                }
+            }
+            case DOUBLE -> {
+                for (int i = 0; i < rows; i++) {
+                    out.writeDouble(column[i] == null ? 0 : ((NumberValue) column[i]).doubleValue());
+                }
+            }
+            case BOOLEAN -> writeBitmap(column, value -> value != null && ((BooleanValue) value).booleanValue());
+            default -> writeStrings(column);
+        }
+    }
+
+    private void writeBitmap(Value[] column, Predicate<Value> predicate) throws IOException {
+        for (int from = 0; from < rows; from += Byte.SIZE) {
+            int bits = 0;
+            for (int i = from; i < Math.min(from + Byte.SIZE, rows); i++) {
+                if (predicate.test(column[i])) {
+                    bits |= 1 << (i - from);
+                }
+            }
+            out.writeByte(bits);
+        }
+    }
+
+    private void writeStrings(Value[] column) throws IOException {
+        byte[][] bytes = new byte[rows][];
+        int offset = 0;
+        out.writeInt(offset);
+        for (int i = 0; i < rows; i++) {
+            Value value = column[i];
+            bytes[i] = value == null
+                    ? new byte[0]
+                    : ((TextValue) value).stringValue().getBytes(UTF_8);
+            offset += bytes[i].length;
+            out.writeInt(offset);
+        }
+        for (byte[] value : bytes) {
+            out.write(value);
+        }
+    }
+
+    private void writeUtf8(byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
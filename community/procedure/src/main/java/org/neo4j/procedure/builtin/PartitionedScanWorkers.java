@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.neo4j.internal.kernel.api.Cursor;
+import org.neo4j.internal.kernel.api.PartitionedScan;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.kernel.api.ExecutionContext;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.scheduler.CallableExecutor;
+
+/**
+ * Runs a number of workers over a {@link PartitionedScan}, each in its own {@link ExecutionContext} of the transaction
+ * and with its own cursors. Workers reserve partitions from the shared scan until it is exhausted and then return
+ * their result, so that no synchronization between workers is needed until the results are combined by the caller.
+ */
+final class PartitionedScanWorkers {
+    private PartitionedScanWorkers() {}
+
+    /**
+     * @param workers maximum number of workers, never more than the number of partitions of the scan.
+     * @param cursorAllocator allocates the entity cursor of a worker from its execution context.
+     * @return the results of all workers, in the order the workers were started.
+     */
+    static <CURSOR extends Cursor, RESULT> List<RESULT> scan(
+            KernelTransaction ktx,
+            CallableExecutor executor,
+            int workers,
+            PartitionedScan<CURSOR> scan,
+            Function<ExecutionContext, CURSOR> cursorAllocator,
+            Worker<CURSOR, RESULT> worker) {
+        int numberOfWorkers = Math.min(workers, scan.getNumberOfPartitions());
+        List<WorkerTask<RESULT>> tasks = new ArrayList<>(numberOfWorkers);
+        try {
+            for (int i = 0; i < numberOfWorkers; i++) {
+                int workerId = i;
+                ExecutionContext context = ktx.createExecutionContext();
+                WorkerTask<RESULT> task = new WorkerTask<>(context, () -> {
+                    try (CURSOR cursor = cursorAllocator.apply(context);
+                            PropertyCursor propertyCursor = context.cursors()
+                                    .allocatePropertyCursor(context.cursorContext(), context.memoryTracker())) {
+                        return worker.scan(workerId, context, cursor, propertyCursor);
+                    } finally {
+                        context.complete();
+                    }
+                });
+                tasks.add(task);
+                task.future = executor.submit(task);
+            }
+
+            List<RESULT> results = new ArrayList<>(numberOfWorkers);
+            for (WorkerTask<RESULT> task : tasks) {
+                results.add(task.future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            // contexts may only be closed once their workers are done with them, so workers which haven't
+            // started are cancelled and the ones which have are waited for, even if this thread is interrupted
+            tasks.forEach(WorkerTask::cancel);
+            boolean interrupted = false;
+            for (WorkerTask<RESULT> task : tasks) {
+                interrupted |= task.awaitUninterruptibly();
+            }
+            tasks.forEach(task -> task.context.close());
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * A worker which either runs to completion or, if cancelled before it started, never touches its context.
+     */
+    private static final class WorkerTask<RESULT> implements Callable<RESULT> {
+        private static final int NEW = 0;
+        private static final int RUNNING = 1;
+        private static final int CANCELLED = 2;
+
+        private final ExecutionContext context;
+        private final Callable<RESULT> work;
+        private final AtomicInteger state = new AtomicInteger(NEW);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Future<RESULT> future;
+
+        WorkerTask(ExecutionContext context, Callable<RESULT> work) {
+            this.context = context;
+            this.work = work;
+        }
+
+        @Override
+        public RESULT call() throws Exception {
+            if (!state.compareAndSet(NEW, RUNNING)) {
+                throw new CancellationException();
+            }
+            try {
+                return work.call();
+            } finally {
+                done.countDown();
+            }
+        }
+
+        void cancel() {
+            if (state.compareAndSet(NEW, CANCELLED)) {
+                if (future != null) {
+                    future.cancel(false);
+                }
+                done.countDown();
+            }
+        }
+
+        /**
+         * @return whether this thread was interrupted while waiting.
+         */
+        boolean awaitUninterruptibly() {
+            boolean interrupted = Thread.interrupted();
+            while (true) {
+                try {
+                    done.await();
+                    return interrupted;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Worker<CURSOR, RESULT> {
+        /**
+         * Reserves partitions with {@link PartitionedScan#reservePartition(Cursor, ExecutionContext)} until there are
+         * no more, and visits the entities of each one.
+         *
+         * @param workerId index of this worker, from zero and up.
+         */
+        RESULT scan(int workerId, ExecutionContext context, CURSOR cursor, PropertyCursor propertyCursor)
+                throws Exception;
+    }
+}
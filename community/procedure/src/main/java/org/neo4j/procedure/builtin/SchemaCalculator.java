@@ -27,39 +27,68 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.eclipse.collections.impl.factory.primitive.IntSets;
 import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PartitionedScan;
 import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.Read;
 import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.internal.kernel.api.TokenRead;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.ExecutionContext;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.CallableExecutor;
 import org.neo4j.token.api.NamedToken;
 import org.neo4j.values.storable.Value;
 
 public class SchemaCalculator {
-    private final Map<Integer, String> propertyIdToPropertyNameMapping;
+    // More partitions than workers evens out the work between workers when the store has dense and sparse regions
+    private static final int PARTITIONS_PER_WORKER = 8;
+    private static final int MAX_PARTITIONS = 1 << 16;
 
-    private final MutableIntSet emptyPropertyIdSet = IntSets.mutable.empty();
+    private final Map<Integer, String> propertyIdToPropertyNameMapping;
 
+    private final KernelTransaction ktx;
     private final Read dataRead;
     private final TokenRead tokenRead;
     private final CursorFactory cursors;
     private final CursorContext cursorContext;
     private final MemoryTracker memoryTracker;
 
+    private final CallableExecutor executor;
+    private final int workers;
+    private final double sampleFraction;
+
     SchemaCalculator(KernelTransaction ktx) {
+        this(ktx, null, 1, 1.0);
+    }
+
+    /**
+     * @param ktx the transaction to read the store in.
+     * @param executor executor running the partitioned scan workers, or {@code null} to scan in the calling thread.
+     * @param workers number of partitioned scan workers.
+     * @param sampleFraction fraction, between 0 (exclusive) and 1 (inclusive), of store partitions to read.
+     * For anything below 1 the reported property types and mandatory flags are estimates.
+     */
+    SchemaCalculator(KernelTransaction ktx, CallableExecutor executor, int workers, double sampleFraction) {
+        this.ktx = ktx;
         this.dataRead = ktx.dataRead();
         this.tokenRead = ktx.tokenRead();
         this.cursors = ktx.cursors();
         this.cursorContext = ktx.cursorContext();
         this.memoryTracker = ktx.memoryTracker();
+        this.executor = executor;
+        this.workers = Math.max(1, workers);
+        this.sampleFraction = sampleFraction;
 
         // the only one that is common for both nodes and rels so thats why we can do it here
         propertyIdToPropertyNameMapping = new HashMap<>(tokenRead.propertyKeyCount());
@@ -78,8 +107,7 @@ public class SchemaCalculator {
 
     // If we would have this schema information in the count store (or somewhere), this could be super fast
     public Stream<NodePropertySchemaInfoResult> calculateTabularResultStreamForNodes() {
-        NodeMappings nodeMappings = initializeMappingsForNodes();
-        scanEverythingBelongingToNodes(nodeMappings, cursorContext, memoryTracker);
+        NodeMappings nodeMappings = scanEverythingBelongingToNodes();
 
         // go through all labels to get actual names
         addNamesToCollection(tokenRead.labelsGetAllTokens(), nodeMappings.labelIdToLabelName);
@@ -88,8 +116,7 @@ public class SchemaCalculator {
     }
 
     public Stream<RelationshipPropertySchemaInfoResult> calculateTabularResultStreamForRels() {
-        RelationshipMappings relMappings = initializeMappingsForRels();
-        scanEverythingBelongingToRelationships(relMappings, cursorContext, memoryTracker);
+        RelationshipMappings relMappings = scanEverythingBelongingToRelationships();
 
         // go through all relationshipTypes to get actual names
         addNamesToCollection(
@@ -177,118 +204,104 @@ public class SchemaCalculator {
         return results;
     }
 
-    private void scanEverythingBelongingToRelationships(
-            RelationshipMappings relMappings, CursorContext cursorContext, MemoryTracker memoryTracker) {
-        try (RelationshipScanCursor relationshipScanCursor =
-                        cursors.allocateRelationshipScanCursor(cursorContext, memoryTracker);
-                PropertyCursor propertyCursor = cursors.allocatePropertyCursor(cursorContext, memoryTracker)) {
-            dataRead.allRelationshipsScan(relationshipScanCursor);
-            while (relationshipScanCursor.next()) {
-                int typeId = relationshipScanCursor.type();
-                relationshipScanCursor.properties(propertyCursor);
-                MutableIntSet propertyIds = IntSets.mutable.empty();
-
-                while (propertyCursor.next()) {
-                    int propertyKey = propertyCursor.propertyKey();
-
-                    Value currentValue = propertyCursor.propertyValue();
-                    var key = new RelationshipTypePropertyKey(typeId, propertyKey);
-                    updateValueTypeInMapping(
-                            currentValue, key, relMappings.relationshipTypeIdANDPropertyTypeIdToValueType);
-
-                    propertyIds.add(propertyKey);
+    private RelationshipMappings scanEverythingBelongingToRelationships() {
+        if (!canScanInPartitions()) {
+            RelationshipMappings relMappings = initializeMappingsForRels();
+            try (RelationshipScanCursor relationshipScanCursor =
+                            cursors.allocateRelationshipScanCursor(cursorContext, memoryTracker);
+                    PropertyCursor propertyCursor = cursors.allocatePropertyCursor(cursorContext, memoryTracker)) {
+                dataRead.allRelationshipsScan(relationshipScanCursor);
+                while (relationshipScanCursor.next()) {
+                    relMappings.add(relationshipScanCursor, propertyCursor);
                 }
-                propertyCursor.close();
-
-                MutableIntSet oldPropertyKeySet =
-                        relMappings.relationshipTypeIdToPropertyKeys.getOrDefault(typeId, emptyPropertyIdSet);
+            }
+            return relMappings;
+        }
 
-                // find out which old properties we did not visited and mark them as nullable
-                if (oldPropertyKeySet == emptyPropertyIdSet) {
-                    if (propertyIds.size() == 0) {
-                        // Even if we find property key on other rels with this type, set all of them nullable
-                        relMappings.nullableRelationshipTypes.add(typeId);
-                    }
+        PartitionedScan<RelationshipScanCursor> scan =
+                dataRead.allRelationshipsScan(desiredNumberOfPartitions(), cursorContext);
+        List<RelationshipMappings> partitionMappings = scanPartitions(
+                scan,
+                context -> context.cursors()
+                        .allocateRelationshipScanCursor(context.cursorContext(), context.memoryTracker()),
+                this::initializeMappingsForRels,
+                (relationshipScanCursor, propertyCursor, relMappings) ->
+                        relMappings.add(relationshipScanCursor, propertyCursor));
 
-                    propertyIds.addAll(oldPropertyKeySet);
-                } else {
-                    MutableIntSet currentPropertyIdsHelperSet = new IntHashSet(propertyIds.size());
-                    currentPropertyIdsHelperSet.addAll(propertyIds);
-                    propertyIds.removeAll(oldPropertyKeySet); // only the brand new ones in propIds now
-                    oldPropertyKeySet.removeAll(
-                            currentPropertyIdsHelperSet); // only the old ones that are not on the new rel
-
-                    propertyIds.addAll(oldPropertyKeySet);
-                    propertyIds.forEach(id -> {
-                        var key = new RelationshipTypePropertyKey(typeId, id);
-                        relMappings
-                                .relationshipTypeIdANDPropertyTypeIdToValueType
-                                .get(key)
-                                .setNullable();
-                    });
+        RelationshipMappings relMappings = initializeMappingsForRels();
+        for (RelationshipMappings partition : partitionMappings) {
+            relMappings.merge(partition);
+        }
+        return relMappings;
+    }
 
-                    propertyIds.addAll(currentPropertyIdsHelperSet);
+    private NodeMappings scanEverythingBelongingToNodes() {
+        if (!canScanInPartitions()) {
+            NodeMappings nodeMappings = initializeMappingsForNodes();
+            try (NodeCursor nodeCursor = cursors.allocateNodeCursor(cursorContext, memoryTracker);
+                    PropertyCursor propertyCursor = cursors.allocatePropertyCursor(cursorContext, memoryTracker)) {
+                dataRead.allNodesScan(nodeCursor);
+                while (nodeCursor.next()) {
+                    nodeMappings.add(nodeCursor, propertyCursor);
                 }
-
-                relMappings.relationshipTypeIdToPropertyKeys.put(typeId, propertyIds);
             }
+            return nodeMappings;
         }
-    }
 
-    private void scanEverythingBelongingToNodes(
-            NodeMappings nodeMappings, CursorContext cursorContext, MemoryTracker memoryTracker) {
-        try (NodeCursor nodeCursor = cursors.allocateNodeCursor(cursorContext, memoryTracker);
-                PropertyCursor propertyCursor = cursors.allocatePropertyCursor(cursorContext, memoryTracker)) {
-            dataRead.allNodesScan(nodeCursor);
-            while (nodeCursor.next()) {
-                // each node
-                SortedLabels labels = SortedLabels.from(nodeCursor.labels());
-                nodeCursor.properties(propertyCursor);
-                MutableIntSet propertyIds = IntSets.mutable.empty();
-
-                while (propertyCursor.next()) {
-                    Value currentValue = propertyCursor.propertyValue();
-                    int propertyKeyId = propertyCursor.propertyKey();
-                    var key = new LabelSetPropertyKey(labels, propertyKeyId);
-                    updateValueTypeInMapping(currentValue, key, nodeMappings.labelSetANDNodePropertyKeyIdToValueType);
-
-                    propertyIds.add(propertyKeyId);
-                }
-                propertyCursor.close();
+        PartitionedScan<NodeCursor> scan = dataRead.allNodesScan(desiredNumberOfPartitions(), cursorContext);
+        List<NodeMappings> partitionMappings = scanPartitions(
+                scan,
+                context -> context.cursors().allocateNodeCursor(context.cursorContext(), context.memoryTracker()),
+                this::initializeMappingsForNodes,
+                (nodeCursor, propertyCursor, nodeMappings) -> nodeMappings.add(nodeCursor, propertyCursor));
 
-                MutableIntSet oldPropertyKeySet =
-                        nodeMappings.labelSetToPropertyKeys.getOrDefault(labels, emptyPropertyIdSet);
+        NodeMappings nodeMappings = initializeMappingsForNodes();
+        for (NodeMappings partition : partitionMappings) {
+            nodeMappings.merge(partition);
+        }
+        return nodeMappings;
+    }
 
-                // find out which old properties we did not visited and mark them as nullable
-                if (oldPropertyKeySet == emptyPropertyIdSet) {
-                    if (propertyIds.size() == 0) {
-                        // Even if we find property key on other nodes with those labels, set all of them nullable
-                        nodeMappings.nullableLabelSets.add(labels);
-                    }
+    /**
+     * Partitioned scans cannot see transaction state, so a transaction with changes is scanned in the calling thread.
+     */
+    private boolean canScanInPartitions() {
+        return executor != null && !dataRead.transactionStateHasChanges();
+    }
 
-                    propertyIds.addAll(oldPropertyKeySet);
-                } else {
-                    MutableIntSet currentPropertyIdsHelperSet = new IntHashSet(propertyIds.size());
-                    currentPropertyIdsHelperSet.addAll(propertyIds);
-                    propertyIds.removeAll(oldPropertyKeySet); // only the brand new ones in propIds now
-                    oldPropertyKeySet.removeAll(
-                            currentPropertyIdsHelperSet); // only the old ones that are not on the new node
-
-                    propertyIds.addAll(oldPropertyKeySet);
-                    propertyIds.forEach(id -> {
-                        var key = new LabelSetPropertyKey(labels, id);
-                        nodeMappings
-                                .labelSetANDNodePropertyKeyIdToValueType
-                                .get(key)
-                                .setNullable();
-                    });
+    private int desiredNumberOfPartitions() {
+        return (int) Math.min(MAX_PARTITIONS, Math.ceil(workers * PARTITIONS_PER_WORKER / sampleFraction));
+    }
 
-                    propertyIds.addAll(currentPropertyIdsHelperSet);
-                }
+    /**
+     * Spreads partitions evenly over the scan when sampling; the first partition is always included.
+     */
+    private boolean includePartition(long partition) {
+        return Math.floor(partition * sampleFraction) > Math.floor((partition - 1) * sampleFraction);
+    }
 
-                nodeMappings.labelSetToPropertyKeys.put(labels, propertyIds);
-            }
-        }
+    /**
+     * Lets each worker reserve partitions from the shared scan and accumulate into its own mappings, so that no
+     * synchronization is needed until all workers are done and the mappings are merged in the calling thread.
+     */
+    private <CURSOR extends org.neo4j.internal.kernel.api.Cursor, MAPPINGS> List<MAPPINGS> scanPartitions(
+            PartitionedScan<CURSOR> scan,
+            Function<ExecutionContext, CURSOR> cursorAllocator,
+            Supplier<MAPPINGS> mappingsFactory,
+            EntityVisitor<CURSOR, MAPPINGS> visitor) {
+        AtomicLong reservedPartitions = new AtomicLong();
+        return PartitionedScanWorkers.scan(
+                ktx, executor, workers, scan, cursorAllocator, (workerId, context, cursor, propertyCursor) -> {
+                    MAPPINGS mappings = mappingsFactory.get();
+                    while (scan.reservePartition(cursor, context)) {
+                        if (includePartition(reservedPartitions.getAndIncrement())) {
+                            while (cursor.next()) {
+                                visitor.visit(cursor, propertyCursor, mappings);
+                            }
+                        }
+                    }
+                    return mappings;
+                });
     }
 
     private static <T> void updateValueTypeInMapping(
@@ -302,6 +315,35 @@ public class SchemaCalculator {
         }
     }
 
+    /**
+     * Merges the property keys seen for one label set or relationship type by another worker into {@code propertyIds}.
+     * Keys seen by only one of the workers are nullable, since the other worker saw entities without them.
+     */
+    private static <T> void mergePropertyKeys(
+            MutableIntSet propertyIds,
+            MutableIntSet otherPropertyIds,
+            Map<T, ValueTypeListHelper> valueTypes,
+            Map<T, ValueTypeListHelper> otherValueTypes,
+            IntFunction<T> keyFactory) {
+        propertyIds.forEach(id -> {
+            if (!otherPropertyIds.contains(id)) {
+                valueTypes.get(keyFactory.apply(id)).setNullable();
+            }
+        });
+        otherPropertyIds.forEach(id -> {
+            T key = keyFactory.apply(id);
+            ValueTypeListHelper otherHelper = otherValueTypes.get(key);
+            ValueTypeListHelper helper = valueTypes.get(key);
+            if (helper == null) {
+                otherHelper.setNullable();
+                valueTypes.put(key, otherHelper);
+                propertyIds.add(id);
+            } else {
+                helper.mergeWith(otherHelper);
+            }
+        });
+    }
+
     private static void addNamesToCollection(Iterator<NamedToken> labelIterator, Map<Integer, String> collection) {
         while (labelIterator.hasNext()) {
             NamedToken label = labelIterator.next();
@@ -309,6 +351,11 @@ public class SchemaCalculator {
         }
     }
 
+    @FunctionalInterface
+    private interface EntityVisitor<CURSOR, MAPPINGS> {
+        void visit(CURSOR cursor, PropertyCursor propertyCursor, MAPPINGS mappings);
+    }
+
     private static class ValueTypeListHelper {
         private final Set<String> seenValueTypes;
         private boolean isMandatory = true;
@@ -336,6 +383,11 @@ public class SchemaCalculator {
             }
             seenValueTypes.add(newValue.getTypeName());
         }
+
+        void mergeWith(ValueTypeListHelper other) {
+            seenValueTypes.addAll(other.seenValueTypes);
+            isMandatory &= other.isMandatory;
+        }
     }
 
     /*
@@ -355,6 +407,71 @@ public class SchemaCalculator {
             labelSetANDNodePropertyKeyIdToValueType = new HashMap<>();
             nullableLabelSets = new HashSet<>();
         }
+
+        void add(NodeCursor nodeCursor, PropertyCursor propertyCursor) {
+            // each node
+            SortedLabels labels = SortedLabels.from(nodeCursor.labels());
+            nodeCursor.properties(propertyCursor);
+            MutableIntSet propertyIds = IntSets.mutable.empty();
+
+            while (propertyCursor.next()) {
+                Value currentValue = propertyCursor.propertyValue();
+                int propertyKeyId = propertyCursor.propertyKey();
+                var key = new LabelSetPropertyKey(labels, propertyKeyId);
+                updateValueTypeInMapping(currentValue, key, labelSetANDNodePropertyKeyIdToValueType);
+
+                propertyIds.add(propertyKeyId);
+            }
+            propertyCursor.close();
+
+            MutableIntSet oldPropertyKeySet = labelSetToPropertyKeys.get(labels);
+
+            // find out which old properties we did not visited and mark them as nullable
+            if (oldPropertyKeySet == null) {
+                if (propertyIds.size() == 0) {
+                    // Even if we find property key on other nodes with those labels, set all of them nullable
+                    nullableLabelSets.add(labels);
+                }
+            } else {
+                MutableIntSet currentPropertyIdsHelperSet = new IntHashSet(propertyIds.size());
+                currentPropertyIdsHelperSet.addAll(propertyIds);
+                propertyIds.removeAll(oldPropertyKeySet); // only the brand new ones in propIds now
+                oldPropertyKeySet.removeAll(
+                        currentPropertyIdsHelperSet); // only the old ones that are not on the new node
+
+                propertyIds.addAll(oldPropertyKeySet);
+                propertyIds.forEach(id -> {
+                    var key = new LabelSetPropertyKey(labels, id);
+                    labelSetANDNodePropertyKeyIdToValueType.get(key).setNullable();
+                });
+
+                propertyIds.addAll(currentPropertyIdsHelperSet);
+            }
+
+            labelSetToPropertyKeys.put(labels, propertyIds);
+        }
+
+        void merge(NodeMappings other) {
+            nullableLabelSets.addAll(other.nullableLabelSets);
+            other.labelSetToPropertyKeys.forEach((labels, otherPropertyIds) -> {
+                MutableIntSet propertyIds = labelSetToPropertyKeys.get(labels);
+                if (propertyIds == null) {
+                    labelSetToPropertyKeys.put(labels, otherPropertyIds);
+                    otherPropertyIds.forEach(id -> {
+                        var key = new LabelSetPropertyKey(labels, id);
+                        labelSetANDNodePropertyKeyIdToValueType.put(
+                                key, other.labelSetANDNodePropertyKeyIdToValueType.get(key));
+                    });
+                } else {
+                    mergePropertyKeys(
+                            propertyIds,
+                            otherPropertyIds,
+                            labelSetANDNodePropertyKeyIdToValueType,
+                            other.labelSetANDNodePropertyKeyIdToValueType,
+                            id -> new LabelSetPropertyKey(labels, id));
+                }
+            });
+        }
     }
 
     private record LabelSetPropertyKey(SortedLabels sortedLabels, int proprtyId) {}
@@ -375,6 +492,71 @@ public class SchemaCalculator {
             relationshipTypeIdANDPropertyTypeIdToValueType = new HashMap<>();
             nullableRelationshipTypes = new HashSet<>();
         }
+
+        void add(RelationshipScanCursor relationshipScanCursor, PropertyCursor propertyCursor) {
+            int typeId = relationshipScanCursor.type();
+            relationshipScanCursor.properties(propertyCursor);
+            MutableIntSet propertyIds = IntSets.mutable.empty();
+
+            while (propertyCursor.next()) {
+                int propertyKey = propertyCursor.propertyKey();
+
+                Value currentValue = propertyCursor.propertyValue();
+                var key = new RelationshipTypePropertyKey(typeId, propertyKey);
+                updateValueTypeInMapping(currentValue, key, relationshipTypeIdANDPropertyTypeIdToValueType);
+
+                propertyIds.add(propertyKey);
+            }
+            propertyCursor.close();
+
+            MutableIntSet oldPropertyKeySet = relationshipTypeIdToPropertyKeys.get(typeId);
+
+            // find out which old properties we did not visited and mark them as nullable
+            if (oldPropertyKeySet == null) {
+                if (propertyIds.size() == 0) {
+                    // Even if we find property key on other rels with this type, set all of them nullable
+                    nullableRelationshipTypes.add(typeId);
+                }
+            } else {
+                MutableIntSet currentPropertyIdsHelperSet = new IntHashSet(propertyIds.size());
+                currentPropertyIdsHelperSet.addAll(propertyIds);
+                propertyIds.removeAll(oldPropertyKeySet); // only the brand new ones in propIds now
+                oldPropertyKeySet.removeAll(
+                        currentPropertyIdsHelperSet); // only the old ones that are not on the new rel
+
+                propertyIds.addAll(oldPropertyKeySet);
+                propertyIds.forEach(id -> {
+                    var key = new RelationshipTypePropertyKey(typeId, id);
+                    relationshipTypeIdANDPropertyTypeIdToValueType.get(key).setNullable();
+                });
+
+                propertyIds.addAll(currentPropertyIdsHelperSet);
+            }
+
+            relationshipTypeIdToPropertyKeys.put(typeId, propertyIds);
+        }
+
+        void merge(RelationshipMappings other) {
+            nullableRelationshipTypes.addAll(other.nullableRelationshipTypes);
+            other.relationshipTypeIdToPropertyKeys.forEach((typeId, otherPropertyIds) -> {
+                MutableIntSet propertyIds = relationshipTypeIdToPropertyKeys.get(typeId);
+                if (propertyIds == null) {
+                    relationshipTypeIdToPropertyKeys.put(typeId, otherPropertyIds);
+                    otherPropertyIds.forEach(id -> {
+                        var key = new RelationshipTypePropertyKey(typeId, id);
+                        relationshipTypeIdANDPropertyTypeIdToValueType.put(
+                                key, other.relationshipTypeIdANDPropertyTypeIdToValueType.get(key));
+                    });
+                } else {
+                    mergePropertyKeys(
+                            propertyIds,
+                            otherPropertyIds,
+                            relationshipTypeIdANDPropertyTypeIdToValueType,
+                            other.relationshipTypeIdANDPropertyTypeIdToValueType,
+                            id -> new RelationshipTypePropertyKey(typeId, id));
+                }
+            });
+        }
     }
 
     private record RelationshipTypePropertyKey(int relationshipType, int propertyId) {}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.csv.reader.Configuration.COMMAS;
+import static org.neo4j.internal.batchimport.input.InputEntityDecorators.NO_DECORATOR;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.BOOLEAN;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.DOUBLE;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.LONG;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.MAGIC;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.NONE;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.STRING;
+import static org.neo4j.internal.batchimport.input.columnar.ColumnarFormat.VERSION;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.defaultFormatNodeFileHeader;
+import static org.neo4j.internal.batchimport.input.csv.DataFactories.defaultFormatRelationshipFileHeader;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.input.Collector;
+import org.neo4j.internal.batchimport.input.Groups;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.Input;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.input.InputEntity;
+import org.neo4j.internal.batchimport.input.columnar.ColumnarInput;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.TokenRead;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+@TestDirectoryExtension
+class ColumnarFileWriterTest {
+    private static final int NAME = 1;
+    private static final int AGE = 2;
+    private static final int SCORE = 3;
+    private static final int ACTIVE = 4;
+    private static final int OTHER = 5;
+    private static final int LATE = 6;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Test
+    void shouldWriteRowsInColumnarBatches() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                bytes,
+                new String[] {":LABEL"},
+                new String[] {"name", "age", "score", "active", "missing", "late"},
+                new int[] {NAME, AGE, SCORE, ACTIVE, TokenRead.NO_TOKEN, LATE},
+                3)) {
+            writer.add(10, labels("A"), properties(NAME, "a", AGE, 1L, SCORE, 0.5, ACTIVE, true, OTHER, "ignored"));
+            writer.add(11, labels("A;B"), properties(NAME, "b", SCORE, 1.5, ACTIVE, false));
+            writer.add(12, labels("B"), properties(NAME, "c", AGE, 3, SCORE, 2.5, ACTIVE, true));
+            writer.add(13, labels("A"), properties(NAME, "ä", AGE, 4, LATE, 7));
+            writer.add(14, labels(""), properties());
+            assertEquals(5, writer.rows());
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertArrayEquals(MAGIC, in.readNBytes(MAGIC.length));
+        assertEquals(VERSION, in.readInt());
+        assertEquals(7, in.readInt());
+        for (String name : new String[] {":LABEL", "name", "age", "score", "active", "missing", "late"}) {
+            assertEquals(name, new String(in.readNBytes(in.readInt()), UTF_8));
+        }
+
+        // first batch, where the columns without values yet have no type
+        assertEquals(3, in.readInt());
+        assertArrayEquals(new long[] {10, 11, 12}, readLongs(in, 3));
+        assertColumn(in, STRING, 0b000);
+        assertArrayEquals(new String[] {"A", "A;B", "B"}, readStrings(in, 3));
+        assertColumn(in, STRING, 0b000);
+        assertArrayEquals(new String[] {"a", "b", "c"}, readStrings(in, 3));
+        assertColumn(in, LONG, 0b010);
+        assertArrayEquals(new long[] {1, 0, 3}, readLongs(in, 3));
+        assertColumn(in, DOUBLE, 0b000);
+        assertArrayEquals(new double[] {0.5, 1.5, 2.5}, readDoubles(in, 3));
+        assertColumn(in, BOOLEAN, 0b000);
+        assertEquals(0b101, in.readByte());
+        assertColumn(in, NONE, 0b111);
+        assertColumn(in, NONE, 0b111);
+
+        // second batch, where columns keep the type of their first value
+        assertEquals(2, in.readInt());
+        assertArrayEquals(new long[] {13, 14}, readLongs(in, 2));
+        assertColumn(in, STRING, 0b00);
+        assertArrayEquals(new String[] {"A", ""}, readStrings(in, 2));
+        assertColumn(in, STRING, 0b10);
+        assertArrayEquals(new String[] {"ä", ""}, readStrings(in, 2));
+        assertColumn(in, LONG, 0b10);
+        assertArrayEquals(new long[] {4, 0}, readLongs(in, 2));
+        assertColumn(in, DOUBLE, 0b11);
+        readDoubles(in, 2);
+        assertColumn(in, BOOLEAN, 0b11);
+        assertEquals(0, in.readByte());
+        assertColumn(in, NONE, 0b11);
+        assertColumn(in, LONG, 0b10);
+        assertArrayEquals(new long[] {7, 0}, readLongs(in, 2));
+
+        assertEquals(0, in.readInt());
+        assertThat(in.read()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldFailOnValueOfOtherTypeThanColumn() throws IOException {
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                new ByteArrayOutputStream(), new String[0], new String[] {"age"}, new int[] {AGE}, 1)) {
+            writer.add(0, new Value[0], properties(AGE, 1L));
+
+            assertThatThrownBy(() -> writer.add(1, new Value[0], properties(AGE, "four")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("column 'age' of entity 1")
+                    .hasMessageContaining("already has values of another type");
+        }
+    }
+
+    @Test
+    void shouldFailOnValueOfTypeThatCannotBeExported() throws IOException {
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                new ByteArrayOutputStream(), new String[0], new String[] {"scores"}, new int[] {SCORE}, 1)) {
+            assertThatThrownBy(() -> writer.add(0, new Value[0], properties(SCORE, new long[] {1, 2})))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("column 'scores' of entity 0 cannot be exported");
+        }
+    }
+
+    @Test
+    void shouldWriteNodesAndRelationshipsThatColumnarInputCanImport() throws IOException {
+        // given
+        Path nodes = directory.file("nodes.col");
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                directory.getFileSystem().openAsOutputStream(nodes, false),
+                new String[] {":LABEL"},
+                new String[] {"name"},
+                new int[] {NAME},
+                ColumnarExporter.BATCH_SIZE)) {
+            writer.add(3, labels("Person;Employee"), properties(NAME, "Alice"));
+            writer.add(7, labels("Person"), properties());
+        }
+        Path relationships = directory.file("relationships.col");
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(
+                directory.getFileSystem().openAsOutputStream(relationships, false),
+                new String[] {":START_ID", ":END_ID", ":TYPE"},
+                new String[] {"since"},
+                new int[] {AGE},
+                ColumnarExporter.BATCH_SIZE)) {
+            writer.add(
+                    0,
+                    new Value[] {Values.longValue(3), Values.longValue(7), Values.stringValue("KNOWS")},
+                    properties(AGE, 2010L));
+        }
+
+        // when
+        Groups groups = new Groups();
+        Input input = new ColumnarInput(
+                List.of(new ColumnarInput.DataFiles(NO_DECORATOR, nodes)),
+                defaultFormatNodeFileHeader(),
+                List.of(new ColumnarInput.DataFiles(NO_DECORATOR, relationships)),
+                defaultFormatRelationshipFileHeader(),
+                IdType.INTEGER,
+                COMMAS,
+                groups,
+                INSTANCE);
+        List<InputEntity> importedNodes = read(input.nodes(Collector.EMPTY).iterator());
+        List<InputEntity> importedRelationships =
+                read(input.relationships(Collector.EMPTY).iterator());
+
+        // then
+        assertThat(importedNodes).extracting(InputEntity::id).containsExactly(3L, 7L);
+        assertArrayEquals(
+                new String[] {"Person", "Employee"}, importedNodes.get(0).labels());
+        assertEquals(Map.of("name", "Alice"), importedNodes.get(0).propertiesAsMap());
+        assertArrayEquals(new String[] {"Person"}, importedNodes.get(1).labels());
+        InputEntity relationship = importedRelationships.get(0);
+        assertEquals(3L, relationship.startId());
+        assertEquals(7L, relationship.endId());
+        assertEquals(groups.get(null), relationship.startIdGroup);
+        assertEquals("KNOWS", relationship.stringType);
+        assertEquals(Map.of("since", 2010L), relationship.propertiesAsMap());
+    }
+
+    private static Value[] labels(String labels) {
+        return new Value[] {Values.stringValue(labels)};
+    }
+
+    private static List<InputEntity> read(InputIterator iterator) throws IOException {
+        List<InputEntity> entities = new ArrayList<>();
+        try (iterator;
+                InputChunk chunk = iterator.newChunk()) {
+            while (iterator.next(chunk)) {
+                InputEntity entity = new InputEntity();
+                while (chunk.next(entity)) {
+                    entities.add(entity);
+                    entity = new InputEntity();
+                }
+            }
+        }
+        return entities;
+    }
+
+    private static void assertColumn(DataInputStream in, byte type, int nulls) throws IOException {
+        assertEquals(type, in.readByte());
+        assertEquals(nulls, in.readByte());
+    }
+
+    private static long[] readLongs(DataInputStream in, int count) throws IOException {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    private static double[] readDoubles(DataInputStream in, int count) throws IOException {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+
+    private static String[] readStrings(DataInputStream in, int count) throws IOException {
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i <= count; i++) {
+            offsets[i] = in.readInt();
+        }
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = new String(in.readNBytes(offsets[i + 1] - offsets[i]), UTF_8);
+        }
+        return values;
+    }
+
+    private static PropertyCursor properties(Object... keysAndValues) {
+        int[] offset = {-1};
+        PropertyCursor cursor = mock(PropertyCursor.class);
+        when(cursor.next()).thenAnswer(invocation -> (offset[0] += 2) < keysAndValues.length);
+        when(cursor.propertyKey()).thenAnswer(invocation -> keysAndValues[offset[0] - 1]);
+        when(cursor.propertyValue()).thenAnswer(invocation -> Values.of(keysAndValues[offset[0]]));
+        return cursor;
+    }
+}
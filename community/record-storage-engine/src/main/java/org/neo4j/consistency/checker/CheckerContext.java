@@ -66,6 +66,7 @@ class CheckerContext {
     final IndexAccessor relationshipTypeIndex;
     final CursorContextFactory contextFactory;
     final FreeIdCache propertyFreeIdCache;
+    final IncrementalCheckScope scope;
 
     private final AtomicBoolean cancelled;
     private final InternalLog log;
@@ -88,6 +89,44 @@ class CheckerContext {
             boolean verbose,
             ConsistencyFlags consistencyFlags,
             CursorContextFactory contextFactory) {
+        this(
+                neoStores,
+                indexAccessors,
+                execution,
+                reporter,
+                cacheAccess,
+                tokenHolders,
+                recordLoader,
+                observedCounts,
+                limiter,
+                progress,
+                pageCache,
+                memoryTracker,
+                log,
+                verbose,
+                consistencyFlags,
+                contextFactory,
+                IncrementalCheckScope.FULL);
+    }
+
+    CheckerContext(
+            NeoStores neoStores,
+            IndexAccessors indexAccessors,
+            ParallelExecution execution,
+            ConsistencyReport.Reporter reporter,
+            CacheAccess cacheAccess,
+            TokenHolders tokenHolders,
+            RecordLoading recordLoader,
+            CountsState observedCounts,
+            EntityBasedMemoryLimiter limiter,
+            ProgressMonitorFactory.MultiPartBuilder progress,
+            PageCache pageCache,
+            MemoryTracker memoryTracker,
+            InternalLog log,
+            boolean verbose,
+            ConsistencyFlags consistencyFlags,
+            CursorContextFactory contextFactory,
+            IncrementalCheckScope scope) {
         this(
                 neoStores,
                 indexAccessors,
@@ -106,7 +145,8 @@ class CheckerContext {
                 verbose,
                 new AtomicBoolean(),
                 consistencyFlags,
-                contextFactory);
+                contextFactory,
+                scope);
     }
 
     private CheckerContext(
@@ -127,7 +167,8 @@ class CheckerContext {
             boolean verbose,
             AtomicBoolean cancelled,
             ConsistencyFlags consistencyFlags,
-            CursorContextFactory contextFactory) {
+            CursorContextFactory contextFactory,
+            IncrementalCheckScope scope) {
         this.neoStores = neoStores;
         this.highNodeId = neoStores.getNodeStore().getIdGenerator().getHighId();
         this.highRelationshipId =
@@ -139,7 +180,9 @@ class CheckerContext {
         this.verbose = verbose;
         this.consistencyFlags = consistencyFlags;
         this.contextFactory = contextFactory;
-        this.indexSizes = new IndexSizes(execution, indexAccessors, highNodeId, highRelationshipId, contextFactory);
+        this.scope = scope;
+        this.indexSizes = new IndexSizes(
+                execution, indexAccessors, highNodeId, highRelationshipId, contextFactory, !scope.isFull());
         this.execution = execution;
         this.reporter = reporter;
         this.cacheAccess = cacheAccess;
@@ -174,11 +217,15 @@ class CheckerContext {
                 verbose,
                 cancelled,
                 consistencyFlags,
-                contextFactory);
+                contextFactory,
+                scope);
     }
 
     void initialize() throws Exception {
         debug(limiter.toString());
+        if (!scope.isFull()) {
+            debug(scope.toString());
+        }
         timeOperation("Initialize index sizes", indexSizes::initialize, false);
         timeOperation("Initialize free-id cache for properties", propertyFreeIdCache::initialize, false);
         if (verbose) {
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.consistency.checker;
+
+import static java.lang.Long.max;
+import static java.lang.Long.min;
+import static org.neo4j.kernel.impl.store.record.Record.NULL_REFERENCE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.neo4j.internal.helpers.collection.LongRange;
+import org.neo4j.internal.recordstorage.Command;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.StorageCommand;
+
+/**
+ * Limits which parts of the stores the {@link RecordStorageConsistencyChecker} looks at. The {@link #FULL} scope checks
+ * everything, whereas an incremental scope is built from the entities touched since a previously verified point,
+ * typically by feeding it the commands of all transactions in the transaction log after that point.
+ * <p>
+ * The checkers are designed around sequential scans, so instead of checking individual entities an incremental scope
+ * selects blocks of {@link #BLOCK_SIZE} ids. When building the scope the touched entities are expanded into everything
+ * that the checkers need to see in order to not report false inconsistencies: the nodes owning touched relationships,
+ * groups and properties, and then the complete relationship group and relationship chains of every node in the
+ * selected node blocks.
+ * <p>
+ * Checks that are global by nature, i.e. the counts and degrees stores, id generators and index structures, are not
+ * covered by an incremental check. Indexes are checked for the entities in scope by looking up each entity.
+ */
+public final class IncrementalCheckScope {
+    public static final IncrementalCheckScope FULL = new IncrementalCheckScope(null, null, null);
+    static final int BLOCK_SIZE = 64;
+
+    // Sorted block indexes, or null if all blocks are in scope
+    private final long[] nodeBlocks;
+    private final long[] relationshipBlocks;
+    private final long[] groupBlocks;
+
+    private IncrementalCheckScope(long[] nodeBlocks, long[] relationshipBlocks, long[] groupBlocks) {
+        this.nodeBlocks = nodeBlocks;
+        this.relationshipBlocks = relationshipBlocks;
+        this.groupBlocks = groupBlocks;
+    }
+
+    public boolean isFull() {
+        return nodeBlocks == null;
+    }
+
+    boolean containsNode(long nodeId) {
+        return contains(nodeBlocks, nodeId);
+    }
+
+    /**
+     * @return the parts of the given node id range which are in scope, coalesced into as few ranges as possible.
+     */
+    List<LongRange> nodeRanges(LongRange range) {
+        return ranges(nodeBlocks, range);
+    }
+
+    List<LongRange> relationshipRanges(LongRange range) {
+        return ranges(relationshipBlocks, range);
+    }
+
+    List<LongRange> groupRanges(LongRange range) {
+        return ranges(groupBlocks, range);
+    }
+
+    private static boolean contains(long[] blocks, long id) {
+        return blocks == null || (id >= 0 && Arrays.binarySearch(blocks, id / BLOCK_SIZE) >= 0);
+    }
+
+    private static List<LongRange> ranges(long[] blocks, LongRange range) {
+        if (blocks == null) {
+            return List.of(range);
+        }
+        List<LongRange> ranges = new ArrayList<>();
+        int index = Arrays.binarySearch(blocks, range.from() / BLOCK_SIZE);
+        for (int i = index >= 0 ? index : -index - 1; i < blocks.length; i++) {
+            long from = max(range.from(), blocks[i] * BLOCK_SIZE);
+            if (from >= range.to()) {
+                break;
+            }
+            long to = min(range.to(), (blocks[i] + 1) * BLOCK_SIZE);
+            if (!ranges.isEmpty() && ranges.get(ranges.size() - 1).to() == from) {
+                from = ranges.remove(ranges.size() - 1).from();
+            }
+            ranges.add(LongRange.range(from, to));
+        }
+        return ranges;
+    }
+
+    @Override
+    public String toString() {
+        return isFull()
+                ? "IncrementalCheckScope[FULL]"
+                : String.format(
+                        "IncrementalCheckScope[nodeBlocks:%d,relationshipBlocks:%d,groupBlocks:%d,blockSize:%d]",
+                        nodeBlocks.length, relationshipBlocks.length, groupBlocks.length, BLOCK_SIZE);
+    }
+
+    /**
+     * Collects touched entities and builds an {@link IncrementalCheckScope} from them.
+     */
+    public static class Builder {
+        private static final String SCOPE_BUILDER_TAG = "incrementalCheckScopeBuilder";
+
+        private final MutableLongSet nodes = new LongHashSet();
+        private final MutableLongSet relationships = new LongHashSet();
+        private final MutableLongSet groups = new LongHashSet();
+
+        public Builder node(long nodeId) {
+            if (nodeId >= 0) {
+                nodes.add(nodeId);
+            }
+            return this;
+        }
+
+        public Builder relationship(long relationshipId) {
+            if (relationshipId >= 0) {
+                relationships.add(relationshipId);
+            }
+            return this;
+        }
+
+        public Builder relationshipGroup(long groupId) {
+            if (groupId >= 0) {
+                groups.add(groupId);
+            }
+            return this;
+        }
+
+        /**
+         * Collects the entities touched by a command, e.g. one read from the transaction log. Commands not changing
+         * nodes, relationships, relationship groups or properties are ignored.
+         */
+        public Builder collect(StorageCommand command) {
+            if (command instanceof Command.NodeCommand nodeCommand) {
+                node(nodeCommand.getKey());
+            } else if (command instanceof Command.RelationshipCommand relationshipCommand) {
+                relationship(relationshipCommand.getKey());
+                collectNodes(relationshipCommand.getBefore());
+                collectNodes(relationshipCommand.getAfter());
+            } else if (command instanceof Command.RelationshipGroupCommand groupCommand) {
+                relationshipGroup(groupCommand.getKey());
+                collectOwner(groupCommand.getBefore());
+                collectOwner(groupCommand.getAfter());
+            } else if (command instanceof Command.PropertyCommand propertyCommand) {
+                collectOwner(propertyCommand.getBefore());
+                collectOwner(propertyCommand.getAfter());
+            }
+            return this;
+        }
+
+        private void collectNodes(RelationshipRecord record) {
+            if (record != null && record.inUse()) {
+                node(record.getFirstNode());
+                node(record.getSecondNode());
+            }
+        }
+
+        private void collectOwner(RelationshipGroupRecord record) {
+            if (record != null && record.inUse()) {
+                node(record.getOwningNode());
+            }
+        }
+
+        private void collectOwner(PropertyRecord record) {
+            if (record != null) {
+                if (record.isNodeSet()) {
+                    node(record.getNodeId());
+                } else if (record.isRelSet()) {
+                    relationship(record.getRelId());
+                }
+            }
+        }
+
+        /**
+         * Expands the collected entities into the scope the checkers need, reading the current contents of the stores.
+         */
+        public IncrementalCheckScope build(NeoStores neoStores, CursorContextFactory contextFactory) {
+            try (var cursorContext = contextFactory.create(SCOPE_BUILDER_TAG);
+                    var nodeReader = new RecordReader<>(neoStores.getNodeStore(), false, cursorContext);
+                    var relationshipReader =
+                            new RecordReader<>(neoStores.getRelationshipStore(), false, cursorContext);
+                    var groupReader = new RecordReader<>(neoStores.getRelationshipGroupStore(), false, cursorContext)) {
+                long highNodeId = neoStores.getNodeStore().getIdGenerator().getHighId();
+                long highRelationshipId =
+                        neoStores.getRelationshipStore().getIdGenerator().getHighId();
+                long highGroupId =
+                        neoStores.getRelationshipGroupStore().getIdGenerator().getHighId();
+
+                // Owners of touched relationships and groups, as they look in the store now
+                relationships.forEach(id -> {
+                    if (id < highRelationshipId) {
+                        collectNodes(relationshipReader.read(id));
+                    }
+                });
+                groups.forEach(id -> {
+                    if (id < highGroupId) {
+                        collectOwner(groupReader.read(id));
+                    }
+                });
+
+                // Every node in the selected blocks is checked, so their chains must be seen in full
+                long[] nodeBlocks = blocks(nodes);
+                for (long block : nodeBlocks) {
+                    long end = min(highNodeId, (block + 1) * BLOCK_SIZE);
+                    for (long nodeId = block * BLOCK_SIZE; nodeId < end; nodeId++) {
+                        NodeRecord node = nodeReader.read(nodeId);
+                        if (!node.inUse()) {
+                            continue;
+                        }
+                        if (node.isDense()) {
+                            collectGroupChain(
+                                    nodeId,
+                                    node.getNextRel(),
+                                    groupReader,
+                                    relationshipReader,
+                                    highGroupId,
+                                    highRelationshipId);
+                        } else {
+                            collectRelationshipChain(nodeId, node.getNextRel(), relationshipReader, highRelationshipId);
+                        }
+                    }
+                }
+                return new IncrementalCheckScope(nodeBlocks, blocks(relationships), blocks(groups));
+            }
+        }
+
+        private void collectGroupChain(
+                long nodeId,
+                long firstGroupId,
+                RecordReader<RelationshipGroupRecord> groupReader,
+                RecordReader<RelationshipRecord> relationshipReader,
+                long highGroupId,
+                long highRelationshipId) {
+            long groupId = firstGroupId;
+            // Guard against cycles in inconsistent chains, those are reported by the checkers
+            MutableLongSet seen = new LongHashSet();
+            while (!NULL_REFERENCE.is(groupId) && groupId >= 0 && groupId < highGroupId && seen.add(groupId)) {
+                RelationshipGroupRecord group = groupReader.read(groupId);
+                groups.add(groupId);
+                if (!group.inUse()) {
+                    break;
+                }
+                long next = group.getNext();
+                long firstOut = group.getFirstOut();
+                long firstIn = group.getFirstIn();
+                long firstLoop = group.getFirstLoop();
+                collectRelationshipChain(nodeId, firstOut, relationshipReader, highRelationshipId);
+                collectRelationshipChain(nodeId, firstIn, relationshipReader, highRelationshipId);
+                collectRelationshipChain(nodeId, firstLoop, relationshipReader, highRelationshipId);
+                groupId = next;
+            }
+        }
+
+        private void collectRelationshipChain(
+                long nodeId,
+                long firstRelationshipId,
+                RecordReader<RelationshipRecord> relationshipReader,
+                long highRelationshipId) {
+            long relationshipId = firstRelationshipId;
+            MutableLongSet seen = new LongHashSet();
+            while (!NULL_REFERENCE.is(relationshipId)
+                    && relationshipId >= 0
+                    && relationshipId < highRelationshipId
+                    && seen.add(relationshipId)) {
+                RelationshipRecord relationship = relationshipReader.read(relationshipId);
+                relationships.add(relationshipId);
+                if (!relationship.inUse()) {
+                    break;
+                }
+                if (relationship.getFirstNode() == nodeId) {
+                    relationshipId = relationship.getFirstNextRel();
+                } else if (relationship.getSecondNode() == nodeId) {
+                    relationshipId = relationship.getSecondNextRel();
+                } else {
+                    break;
+                }
+            }
+        }
+
+        private static long[] blocks(LongSet ids) {
+            MutableLongSet blocks = new LongHashSet();
+            ids.forEach(id -> blocks.add(id / BLOCK_SIZE));
+            long[] sorted = blocks.toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -45,6 +45,7 @@ class IndexSizes {
     private final long highNodeId;
     private final long highRelationshipId;
     private final CursorContextFactory contextFactory;
+    private final boolean lookupAll;
 
     IndexSizes(
             ParallelExecution execution,
@@ -52,6 +53,21 @@ class IndexSizes {
             long highNodeId,
             long highRelationshipId,
             CursorContextFactory contextFactory) {
+        this(execution, indexAccessors, highNodeId, highRelationshipId, contextFactory, false);
+    }
+
+    /**
+     * @param lookupAll consider all indexes small, i.e. check them by looking up each entity rather than by caching
+     * their contents. Used when only a small part of the store is checked.
+     */
+    IndexSizes(
+            ParallelExecution execution,
+            IndexAccessors indexAccessors,
+            long highNodeId,
+            long highRelationshipId,
+            CursorContextFactory contextFactory,
+            boolean lookupAll) {
+        this.lookupAll = lookupAll;
         this.execution = execution;
         this.indexAccessors = indexAccessors;
         this.highNodeId = highNodeId;
@@ -90,6 +106,9 @@ class IndexSizes {
     }
 
     List<IndexDescriptor> largeIndexes(EntityType entityType) {
+        if (lookupAll) {
+            return new ArrayList<>();
+        }
         List<IndexDescriptor> indexes = getAllIndexes(entityType);
         indexes.sort(Comparator.comparingLong(this::getEstimatedIndexSize).reversed());
         int threshold = 0;
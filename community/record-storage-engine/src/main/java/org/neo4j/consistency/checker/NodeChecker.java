@@ -107,7 +107,10 @@ class NodeChecker implements Checker {
         ParallelExecution execution = context.execution;
         execution.run(
                 getClass().getSimpleName() + "-checkNodes",
-                execution.partition(nodeIdRange, (from, to, last) -> () -> check(from, to, lastRange && last)));
+                execution.partition(
+                        nodeIdRange,
+                        context.scope.nodeRanges(nodeIdRange),
+                        (from, to, last) -> () -> check(from, to, lastRange && last)));
 
         if (context.consistencyFlags.checkIndexes()) {
             execution.run(
@@ -463,6 +466,10 @@ class NodeChecker implements Checker {
                 var allEntriesReader = accessor.newAllEntriesValueReader(
                         range.from(), lastRange ? Long.MAX_VALUE : range.to(), cursorContext)) {
             for (long entityId : allEntriesReader) {
+                if (!context.scope.containsNode(entityId)) {
+                    // Only nodes in scope have been cached
+                    continue;
+                }
                 try {
                     boolean entityExists = client.getBooleanFromCache(entityId, CacheSlots.NodeLink.SLOT_IN_USE);
                     if (!entityExists) {
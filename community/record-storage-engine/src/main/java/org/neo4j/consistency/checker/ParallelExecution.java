@@ -87,9 +87,12 @@ class ParallelExecution {
     }
 
     ThrowingRunnable[] partition(RecordStore<?> store, RangeOperation rangeOperation) {
-        LongRange range = LongRange.range(
+        return partition(idRange(store), rangeOperation);
+    }
+
+    static LongRange idRange(RecordStore<?> store) {
+        return LongRange.range(
                 store.getNumberOfReservedLowIds(), store.getIdGenerator().getHighId());
-        return partition(range, rangeOperation);
     }
 
     ThrowingRunnable[] partition(LongRange range, RangeOperation rangeOperation) {
@@ -102,6 +105,22 @@ class ParallelExecution {
         return partitions.toArray(new ThrowingRunnable[0]);
     }
 
+    /**
+     * Partitions only the given parts of the range, e.g. the ones in an {@link IncrementalCheckScope}. Only the
+     * partition ending at the end of {@code range} is considered the last one.
+     */
+    ThrowingRunnable[] partition(LongRange range, List<LongRange> parts, RangeOperation rangeOperation) {
+        List<ThrowingRunnable> partitions = new ArrayList<>();
+        for (LongRange part : parts) {
+            for (long id = part.from(); id < part.to(); id += idsPerChunk) {
+                long to = min(id + idsPerChunk, part.to());
+                boolean last = to == range.to();
+                partitions.add(rangeOperation.operation(id, to, last));
+            }
+        }
+        return partitions.toArray(new ThrowingRunnable[0]);
+    }
+
     int getNumberOfThreads() {
         return numberOfThreads;
     }
@@ -121,6 +121,7 @@ public class RecordStorageConsistencyChecker implements AutoCloseable {
     private final IndexAccessors indexAccessors;
     private final InconsistencyReport report;
     private final ByteArray cacheAccessMemory;
+    private final IncrementalCheckScope scope;
 
     public RecordStorageConsistencyChecker(
             FileSystemAbstraction fileSystem,
@@ -141,6 +142,52 @@ public class RecordStorageConsistencyChecker implements AutoCloseable {
             MemoryTracker memoryTracker,
             CursorContextFactory contextFactory,
             PageCacheTracer cacheTracer) {
+        this(
+                fileSystem,
+                databaseLayout,
+                pageCache,
+                neoStores,
+                indexProviders,
+                idGeneratorFactory,
+                summary,
+                progressFactory,
+                config,
+                numberOfThreads,
+                reportLog,
+                verboseLog,
+                verbose,
+                consistencyFlags,
+                memoryLimit,
+                memoryTracker,
+                contextFactory,
+                cacheTracer,
+                IncrementalCheckScope.FULL);
+    }
+
+    /**
+     * @param scope limits the check to the parts of the stores selected by it, see {@link IncrementalCheckScope}.
+     */
+    public RecordStorageConsistencyChecker(
+            FileSystemAbstraction fileSystem,
+            RecordDatabaseLayout databaseLayout,
+            PageCache pageCache,
+            NeoStores neoStores,
+            IndexProviderMap indexProviders,
+            IdGeneratorFactory idGeneratorFactory,
+            ConsistencySummaryStatistics summary,
+            ProgressMonitorFactory progressFactory,
+            Config config,
+            int numberOfThreads,
+            InternalLog reportLog,
+            InternalLog verboseLog,
+            boolean verbose,
+            ConsistencyFlags consistencyFlags,
+            EntityBasedMemoryLimiter.Factory memoryLimit,
+            MemoryTracker memoryTracker,
+            CursorContextFactory contextFactory,
+            PageCacheTracer cacheTracer,
+            IncrementalCheckScope scope) {
+        this.scope = scope;
         this.fileSystem = fileSystem;
         this.databaseLayout = databaseLayout;
         this.pageCache = pageCache;
@@ -193,7 +240,8 @@ public class RecordStorageConsistencyChecker implements AutoCloseable {
                 verboseLog,
                 verbose,
                 consistencyFlags,
-                contextFactory);
+                contextFactory,
+                scope);
     }
 
     private IndexAccessors instantiateIndexAccessors(
@@ -221,8 +269,11 @@ public class RecordStorageConsistencyChecker implements AutoCloseable {
 
         assert !context.isCancelled();
         try {
-            consistencyCheckIdGenerator();
-            consistencyCheckIndexes();
+            if (scope.isFull()) {
+                // These look at whole id generators and index structures, which is not what an incremental check is for
+                consistencyCheckIdGenerator();
+                consistencyCheckIndexes();
+            }
 
             context.initialize();
             // Starting by loading all tokens from store into the TokenHolders, loaded in a safe way of course
@@ -262,6 +313,10 @@ public class RecordStorageConsistencyChecker implements AutoCloseable {
                 }
 
                 EntityBasedMemoryLimiter.CheckRange range = limiter.next();
+                if (!scope.isFull() && range.from() > 0 && !hasNodesInScope(range)) {
+                    // The first range is always checked since some checks only run as part of that range
+                    continue;
+                }
                 if (numberOfRanges > 1) {
                     context.debug("=== Checking range %d/%d (%s) ===", i, numberOfRanges, range);
                 }
@@ -295,7 +350,7 @@ public class RecordStorageConsistencyChecker implements AutoCloseable {
                 }
             }
 
-            if (!isCancelled()) {
+            if (!isCancelled() && scope.isFull()) {
                 // All counts we've observed while doing other checking along the way we compare against the counts
                 // store here
                 checkCounts();
@@ -308,6 +363,11 @@ public class RecordStorageConsistencyChecker implements AutoCloseable {
         }
     }
 
+    private boolean hasNodesInScope(EntityBasedMemoryLimiter.CheckRange range) {
+        return range.applicableForNodeBasedChecks()
+                && !scope.nodeRanges(range.getNodeRange()).isEmpty();
+    }
+
     private void consistencyCheckIdGenerator() {
         if (!consistencyFlags.checkStructure()) {
             return;
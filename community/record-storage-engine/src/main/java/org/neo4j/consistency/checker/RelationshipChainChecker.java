@@ -29,6 +29,9 @@ import static org.neo4j.internal.recordstorage.RecordCursorTypes.RELATIONSHIP_CU
 import static org.neo4j.kernel.impl.store.record.Record.NULL_REFERENCE;
 import static org.neo4j.kernel.impl.store.record.RecordLoad.FORCE;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -39,6 +42,7 @@ import org.neo4j.consistency.checking.cache.CacheSlots;
 import org.neo4j.consistency.report.ConsistencyReport;
 import org.neo4j.internal.helpers.collection.LongRange;
 import org.neo4j.internal.helpers.progress.ProgressListener;
+import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
@@ -89,6 +93,7 @@ class RelationshipChainChecker implements Checker {
     private void checkDirection(LongRange nodeIdRange, ScanDirection direction) throws Exception {
         RelationshipStore relationshipStore = context.neoStores.getRelationshipStore();
         long highId = relationshipStore.getIdGenerator().getHighId();
+        List<LongRange> relationshipIdRanges = context.scope.relationshipRanges(LongRange.range(0, highId));
         AtomicBoolean end = new AtomicBoolean();
         int numberOfThreads = numberOfChainCheckers + 1;
         ThrowingRunnable[] workers = new ThrowingRunnable[numberOfThreads];
@@ -108,13 +113,17 @@ class RelationshipChainChecker implements Checker {
                     var cursor = relationshipStore.openPageCursorForReadingWithPrefetching(0, cursorContext);
                     var localProgress = progress.threadLocalReporter()) {
                 int recordsPerPage = relationshipStore.getRecordsPerPage();
-                long id = direction.startingId(highId);
-                while (id >= 0 && id < highId && !context.isCancelled()) {
-                    for (int i = 0; i < recordsPerPage && id >= 0 && id < highId; i++, id = direction.nextId(id)) {
-                        relationshipStore.getRecordByCursor(id, relationship, FORCE, cursor);
-                        localProgress.add(1);
-                        if (relationship.inUse()) {
-                            queueRelationshipCheck(threadQueues, threadBatches, relationship);
+                for (LongRange range : direction.inScanOrder(relationshipIdRanges)) {
+                    long id = direction.startingId(range);
+                    while (range.isWithinRangeExclusiveTo(id) && !context.isCancelled()) {
+                        for (int i = 0;
+                                i < recordsPerPage && range.isWithinRangeExclusiveTo(id);
+                                i++, id = direction.nextId(id)) {
+                            relationshipStore.getRecordByCursor(id, relationship, FORCE, cursor);
+                            localProgress.add(1);
+                            if (relationship.inUse()) {
+                                queueRelationshipCheck(threadQueues, threadBatches, relationship);
+                            }
                         }
                     }
                 }
@@ -139,38 +148,47 @@ class RelationshipChainChecker implements Checker {
         RelationshipStore relationshipStore = context.neoStores.getRelationshipStore();
         try (var cursorContext = context.contextFactory.create(SINGLE_RELATIONSHIP_CONSISTENCY_CHECKER_TAG);
                 var relationshipCursor = relationshipStore.openPageCursorForReading(0, cursorContext)) {
-            for (long nodeId = nodeIdRange.from(); nodeId < nodeIdRange.to(); nodeId++) {
-                boolean inUse = client.getBooleanFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_IN_USE);
-                boolean hasMultipleRelationships =
-                        client.getBooleanFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_HAS_MULTIPLE_RELATIONSHIPS);
-                if (inUse && !hasMultipleRelationships) {
-                    long reference = client.getFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_REFERENCE);
-                    long relationshipId = client.getFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_RELATIONSHIP_ID);
-                    long sourceOrTarget =
-                            client.getFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_SOURCE_OR_TARGET);
-                    long prevOrNext = client.getFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_PREV_OR_NEXT);
-                    boolean isFirstInChain =
-                            client.getBooleanFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_FIRST_IN_CHAIN);
-
-                    boolean consistent;
-                    if (prevOrNext == CacheSlots.RelationshipLink.PREV) {
-                        // we don't know here if this chain belongs to a group and has external degrees, because if so
-                        // it could have any value here
-                        consistent = isFirstInChain;
-                    } else {
-                        consistent = NULL_REFERENCE.is(reference);
-                    }
+            for (LongRange range : context.scope.nodeRanges(nodeIdRange)) {
+                detectSingleRelationshipChainInconsistencies(range, client, relationshipStore, relationshipCursor);
+            }
+        }
+    }
 
-                    if (!consistent) {
-                        RelationshipRecord relationship = relationshipStore.getRecordByCursor(
-                                relationshipId, relationshipStore.newRecord(), FORCE, relationshipCursor);
-                        RelationshipRecord referenceRelationship = relationshipStore.getRecordByCursor(
-                                reference, relationshipStore.newRecord(), FORCE, relationshipCursor);
-                        linkOf(
-                                        sourceOrTarget == CacheSlots.RelationshipLink.SOURCE,
-                                        prevOrNext == CacheSlots.RelationshipLink.PREV)
-                                .reportDoesNotReferenceBack(reporter, relationship, referenceRelationship);
-                    }
+    private void detectSingleRelationshipChainInconsistencies(
+            LongRange nodeIdRange,
+            CacheAccess.Client client,
+            RelationshipStore relationshipStore,
+            PageCursor relationshipCursor) {
+        for (long nodeId = nodeIdRange.from(); nodeId < nodeIdRange.to(); nodeId++) {
+            boolean inUse = client.getBooleanFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_IN_USE);
+            boolean hasMultipleRelationships =
+                    client.getBooleanFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_HAS_MULTIPLE_RELATIONSHIPS);
+            if (inUse && !hasMultipleRelationships) {
+                long reference = client.getFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_REFERENCE);
+                long relationshipId = client.getFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_RELATIONSHIP_ID);
+                long sourceOrTarget = client.getFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_SOURCE_OR_TARGET);
+                long prevOrNext = client.getFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_PREV_OR_NEXT);
+                boolean isFirstInChain =
+                        client.getBooleanFromCache(nodeId, CacheSlots.RelationshipLink.SLOT_FIRST_IN_CHAIN);
+
+                boolean consistent;
+                if (prevOrNext == CacheSlots.RelationshipLink.PREV) {
+                    // we don't know here if this chain belongs to a group and has external degrees, because if so
+                    // it could have any value here
+                    consistent = isFirstInChain;
+                } else {
+                    consistent = NULL_REFERENCE.is(reference);
+                }
+
+                if (!consistent) {
+                    RelationshipRecord relationship = relationshipStore.getRecordByCursor(
+                            relationshipId, relationshipStore.newRecord(), FORCE, relationshipCursor);
+                    RelationshipRecord referenceRelationship = relationshipStore.getRecordByCursor(
+                            reference, relationshipStore.newRecord(), FORCE, relationshipCursor);
+                    linkOf(
+                                    sourceOrTarget == CacheSlots.RelationshipLink.SOURCE,
+                                    prevOrNext == CacheSlots.RelationshipLink.PREV)
+                            .reportDoesNotReferenceBack(reporter, relationship, referenceRelationship);
                 }
             }
         }
@@ -208,9 +226,11 @@ class RelationshipChainChecker implements Checker {
                             // Intentionally not checking nodes outside highId of node store because RelationshipChecker
                             // will spot this inconsistency
                             boolean processStartNode = Math.abs(firstNode % numberOfChainCheckers) == threadId
-                                    && nodeIdRange.isWithinRangeExclusiveTo(firstNode);
+                                    && nodeIdRange.isWithinRangeExclusiveTo(firstNode)
+                                    && context.scope.containsNode(firstNode);
                             boolean processEndNode = Math.abs(secondNode % numberOfChainCheckers) == threadId
-                                    && nodeIdRange.isWithinRangeExclusiveTo(secondNode);
+                                    && nodeIdRange.isWithinRangeExclusiveTo(secondNode)
+                                    && context.scope.containsNode(secondNode);
                             if (processStartNode) {
                                 checkRelationshipLink(
                                         direction,
@@ -442,8 +462,13 @@ class RelationshipChainChecker implements Checker {
             }
 
             @Override
-            long startingId(long highId) {
-                return 0;
+            long startingId(LongRange range) {
+                return range.from();
+            }
+
+            @Override
+            List<LongRange> inScanOrder(List<LongRange> ranges) {
+                return ranges;
             }
         },
         BACKWARD(SOURCE_NEXT, TARGET_NEXT, CacheSlots.RelationshipLink.NEXT) {
@@ -458,8 +483,15 @@ class RelationshipChainChecker implements Checker {
             }
 
             @Override
-            long startingId(long highId) {
-                return highId - 1;
+            long startingId(LongRange range) {
+                return range.to() - 1;
+            }
+
+            @Override
+            List<LongRange> inScanOrder(List<LongRange> ranges) {
+                List<LongRange> reversed = new ArrayList<>(ranges);
+                Collections.reverse(reversed);
+                return reversed;
             }
         };
 
@@ -477,6 +509,8 @@ class RelationshipChainChecker implements Checker {
 
         abstract long nextId(long id);
 
-        abstract long startingId(long highId);
+        abstract long startingId(LongRange range);
+
+        abstract List<LongRange> inScanOrder(List<LongRange> ranges);
     }
 }
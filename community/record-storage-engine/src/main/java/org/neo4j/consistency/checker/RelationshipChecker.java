@@ -103,16 +103,19 @@ class RelationshipChecker implements Checker {
 
     @Override
     public void check(LongRange nodeIdRange, boolean firstRange, boolean lastRange) throws Exception {
+        LongRange relationshipIdRange = ParallelExecution.idRange(neoStores.getRelationshipStore());
         execution.run(
                 getClass().getSimpleName() + "-relationships",
                 execution.partition(
-                        neoStores.getRelationshipStore(),
+                        relationshipIdRange,
+                        context.scope.relationshipRanges(relationshipIdRange),
                         (from, to, last) -> () -> check(nodeIdRange, firstRange, from, to, firstRange && last)));
         // Let's not report progress for this since it's so much faster than store checks, it's just scanning the cache
         execution.run(
                 getClass().getSimpleName() + "-unusedRelationships",
                 execution.partition(
                         nodeIdRange,
+                        context.scope.nodeRanges(nodeIdRange),
                         (from, to, last) ->
                                 () -> checkNodesReferencingUnusedRelationships(from, to, context.contextFactory)));
     }
@@ -169,7 +172,8 @@ class RelationshipChecker implements Checker {
 
                 // Start/end nodes
                 long startNode = relationshipRecord.getFirstNode();
-                boolean startNodeIsWithinRange = nodeIdRange.isWithinRangeExclusiveTo(startNode);
+                boolean startNodeIsWithinRange =
+                        nodeIdRange.isWithinRangeExclusiveTo(startNode) && context.scope.containsNode(startNode);
                 boolean startNodeIsNegativeOnFirstRound = startNode < 0 && firstRound;
                 if (startNodeIsWithinRange || startNodeIsNegativeOnFirstRound) {
                     checkRelationshipVsNode(
@@ -190,7 +194,8 @@ class RelationshipChecker implements Checker {
                             storeCursors);
                 }
                 long endNode = relationshipRecord.getSecondNode();
-                boolean endNodeIsWithinRange = nodeIdRange.isWithinRangeExclusiveTo(endNode);
+                boolean endNodeIsWithinRange =
+                        nodeIdRange.isWithinRangeExclusiveTo(endNode) && context.scope.containsNode(endNode);
                 boolean endNodeIsNegativeOnFirstRound = endNode < 0 && firstRound;
                 if (endNodeIsWithinRange || endNodeIsNegativeOnFirstRound) {
                     checkRelationshipVsNode(
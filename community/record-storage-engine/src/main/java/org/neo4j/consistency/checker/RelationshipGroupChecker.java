@@ -22,6 +22,7 @@ package org.neo4j.consistency.checker;
 import static org.neo4j.consistency.checker.RecordLoading.checkValidToken;
 import static org.neo4j.kernel.impl.store.record.Record.NULL_REFERENCE;
 
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.neo4j.consistency.checking.ConsistencyFlags;
@@ -65,10 +66,12 @@ class RelationshipGroupChecker implements Checker {
         ParallelExecution execution = context.execution;
         checkToOwner(nodeIdRange, context.contextFactory);
         if (firstRange) {
+            LongRange groupIdRange = ParallelExecution.idRange(neoStores.getRelationshipGroupStore());
             execution.run(
                     getClass().getSimpleName(),
                     execution.partition(
-                            neoStores.getRelationshipGroupStore(),
+                            groupIdRange,
+                            context.scope.groupRanges(groupIdRange),
                             (from, to, last) -> () -> checkToRelationship(from, to, context.contextFactory)));
         }
     }
@@ -84,44 +87,54 @@ class RelationshipGroupChecker implements Checker {
     private void checkToOwner(LongRange nodeIdRange, CursorContextFactory contextFactory) {
         RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
         CacheAccess.Client client = context.cacheAccess.client();
-        final long highId = groupStore.getIdGenerator().getHighId();
+        List<LongRange> groupIdRanges = context.scope.groupRanges(ParallelExecution.idRange(groupStore));
 
         try (var cursorContext = contextFactory.create(RELATIONSHIP_GROUPS_CHECKER_TAG);
                 var storeCursors = new CachedStoreCursors(neoStores, cursorContext);
                 RecordReader<RelationshipGroupRecord> groupReader =
                         new RecordReader<>(neoStores.getRelationshipGroupStore(), true, cursorContext);
                 var localProgress = progress.threadLocalReporter()) {
-            for (long id = groupStore.getNumberOfReservedLowIds(); id < highId && !context.isCancelled(); id++) {
-                localProgress.add(1);
-                RelationshipGroupRecord record = groupReader.read(id);
-                if (!record.inUse()) {
-                    continue;
+            for (LongRange groupIdRange : groupIdRanges) {
+                for (long id = groupIdRange.from(); id < groupIdRange.to() && !context.isCancelled(); id++) {
+                    checkToOwner(nodeIdRange, groupReader.read(id), client, storeCursors);
+                    localProgress.add(1);
                 }
+            }
+        }
+    }
 
-                long owningNode = record.getOwningNode();
-                if (nodeIdRange.isWithinRangeExclusiveTo(owningNode)) {
-                    long cachedOwnerNextRel = client.getFromCache(owningNode, CacheSlots.NodeLink.SLOT_RELATIONSHIP_ID);
-                    boolean nodeIsInUse = client.getBooleanFromCache(owningNode, CacheSlots.NodeLink.SLOT_IN_USE);
-                    if (!nodeIsInUse) {
-                        reporter.forRelationshipGroup(record).ownerNotInUse();
-                    } else if (cachedOwnerNextRel == id) {
-                        // The old checker only verified that the relationship group that node.nextGroup pointed to had
-                        // this node as its owner
-                        client.putToCacheSingle(owningNode, CacheSlots.NodeLink.SLOT_CHECK_MARK, 0);
-                    }
+    private void checkToOwner(
+            LongRange nodeIdRange,
+            RelationshipGroupRecord record,
+            CacheAccess.Client client,
+            CachedStoreCursors storeCursors) {
+        if (!record.inUse()) {
+            return;
+        }
 
-                    if (NULL_REFERENCE.is(record.getNext())) {
-                        // This is the last group in the chain for this node. Verify that there's only one such last
-                        // group.
-                        boolean hasAlreadySeenLastGroup =
-                                client.getBooleanFromCache(owningNode, CacheSlots.NodeLink.SLOT_HAS_LAST_GROUP);
-                        if (hasAlreadySeenLastGroup) {
-                            reporter.forRelationshipGroup(record)
-                                    .multipleLastGroups(context.recordLoader.node(owningNode, storeCursors));
-                        }
-                        client.putToCacheSingle(owningNode, CacheSlots.NodeLink.SLOT_HAS_LAST_GROUP, 1);
-                    }
+        long id = record.getId();
+        long owningNode = record.getOwningNode();
+        if (nodeIdRange.isWithinRangeExclusiveTo(owningNode) && context.scope.containsNode(owningNode)) {
+            long cachedOwnerNextRel = client.getFromCache(owningNode, CacheSlots.NodeLink.SLOT_RELATIONSHIP_ID);
+            boolean nodeIsInUse = client.getBooleanFromCache(owningNode, CacheSlots.NodeLink.SLOT_IN_USE);
+            if (!nodeIsInUse) {
+                reporter.forRelationshipGroup(record).ownerNotInUse();
+            } else if (cachedOwnerNextRel == id) {
+                // The old checker only verified that the relationship group that node.nextGroup pointed to had
+                // this node as its owner
+                client.putToCacheSingle(owningNode, CacheSlots.NodeLink.SLOT_CHECK_MARK, 0);
+            }
+
+            if (NULL_REFERENCE.is(record.getNext())) {
+                // This is the last group in the chain for this node. Verify that there's only one such last
+                // group.
+                boolean hasAlreadySeenLastGroup =
+                        client.getBooleanFromCache(owningNode, CacheSlots.NodeLink.SLOT_HAS_LAST_GROUP);
+                if (hasAlreadySeenLastGroup) {
+                    reporter.forRelationshipGroup(record)
+                            .multipleLastGroups(context.recordLoader.node(owningNode, storeCursors));
                 }
+                client.putToCacheSingle(owningNode, CacheSlots.NodeLink.SLOT_HAS_LAST_GROUP, 1);
             }
         }
     }
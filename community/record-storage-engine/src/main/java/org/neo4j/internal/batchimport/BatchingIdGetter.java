@@ -42,8 +42,15 @@ public class BatchingIdGetter implements IdSequence {
     private int currentBatchIndex;
 
     BatchingIdGetter(CommonAbstractStore<? extends AbstractBaseRecord, ?> source) {
+        this(source, 1);
+    }
+
+    /**
+     * @param pagesPerBatch number of pages worth of ids to get from the id generator at a time.
+     */
+    BatchingIdGetter(CommonAbstractStore<? extends AbstractBaseRecord, ?> source, int pagesPerBatch) {
         this.source = source.getIdGenerator();
-        this.batchSize = source.getRecordsPerPage();
+        this.batchSize = source.getRecordsPerPage() * pagesPerBatch;
     }
 
     @Override
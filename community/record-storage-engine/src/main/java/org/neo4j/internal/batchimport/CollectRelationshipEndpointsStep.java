@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+import static org.neo4j.internal.batchimport.SortedRunRelationshipLinker.END;
+import static org.neo4j.internal.batchimport.SortedRunRelationshipLinker.LOOP;
+import static org.neo4j.internal.batchimport.SortedRunRelationshipLinker.START;
+import static org.neo4j.internal.batchimport.SortedRunRelationshipLinker.endpoint;
+
+import org.neo4j.internal.batchimport.staging.BatchSender;
+import org.neo4j.internal.batchimport.staging.ProcessorStep;
+import org.neo4j.internal.batchimport.staging.StageControl;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+
+/**
+ * Adds the two end points of each relationship to {@link SortedRuns} as {@code (nodeId, relationship id and side)},
+ * for {@link SortedRunRelationshipLinker} to link chains from. A loop is added once since it only occurs once in
+ * the chain of its node. Single-threaded since {@link SortedRuns} isn't thread-safe.
+ */
+public class CollectRelationshipEndpointsStep extends ProcessorStep<RelationshipRecord[]> {
+    private final SortedRuns endpoints;
+
+    public CollectRelationshipEndpointsStep(
+            StageControl control, Configuration config, SortedRuns endpoints, CursorContextFactory contextFactory) {
+        super(control, "COLLECT", config, 1, contextFactory);
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    protected void process(RelationshipRecord[] batch, BatchSender sender, CursorContext cursorContext) {
+        for (RelationshipRecord record : batch) {
+            if (record != null && record.inUse()) {
+                long id = record.getId();
+                long startNode = record.getFirstNode();
+                long endNode = record.getSecondNode();
+                if (startNode == endNode) {
+                    endpoints.add(startNode, endpoint(id, LOOP));
+                } else {
+                    endpoints.add(startNode, endpoint(id, START));
+                    endpoints.add(endNode, endpoint(id, END));
+                }
+            }
+        }
+    }
+}
@@ -75,6 +75,7 @@ public class DataImporter {
         private final LongAdder nodes = new LongAdder();
         private final LongAdder relationships = new LongAdder();
         private final LongAdder properties = new LongAdder();
+        private final LongAdder propertyData = new LongAdder();
 
         public void nodesImported(long nodes) {
             this.nodes.add(nodes);
@@ -100,6 +101,13 @@ public class DataImporter {
             this.properties.add(-properties);
         }
 
+        /**
+         * @param bytes size of property and dynamic string/array records written.
+         */
+        public void propertyDataImported(long bytes) {
+            this.propertyData.add(bytes);
+        }
+
         public long nodesImported() {
             return this.nodes.sum();
         }
@@ -112,6 +120,10 @@ public class DataImporter {
             return this.properties.sum();
         }
 
+        public long propertyDataImported() {
+            return this.propertyData.sum();
+        }
+
         @Override
         public String toString() {
             return format(
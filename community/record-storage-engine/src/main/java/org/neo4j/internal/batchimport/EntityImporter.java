@@ -23,6 +23,7 @@ import static org.neo4j.storageengine.util.IdUpdateListener.IGNORE;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.collections.api.map.primitive.IntObjectMap;
 import org.neo4j.exceptions.KernelException;
@@ -32,12 +33,14 @@ import org.neo4j.internal.batchimport.store.BatchingNeoStores;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.impl.store.AbstractDynamicStore;
 import org.neo4j.kernel.impl.store.CommonAbstractStore;
 import org.neo4j.kernel.impl.store.DynamicRecordAllocator;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.PropertyType;
 import org.neo4j.kernel.impl.store.StandardDynamicRecordAllocator;
 import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
@@ -54,10 +57,21 @@ import org.neo4j.values.storable.Values;
  */
 abstract class EntityImporter extends InputEntityVisitor.Adapter {
     private static final String ENTITY_IMPORTER_TAG = "entityImporter";
+    /**
+     * Number of pages worth of ids to grab at a time for the dynamic string and array stores. Long strings and arrays
+     * take many dynamic records each, so grabbing bigger ranges lets each importer write longer contiguous stretches
+     * of those stores and contend less on their id generators.
+     */
+    static final int DYNAMIC_RECORD_ID_BATCH_PAGES = 16;
+
     private final TokenHolder propertyKeyTokenRepository;
     private final PropertyStore propertyStore;
     private final PropertyRecord propertyRecord;
     private final PageCursor propertyUpdateCursor;
+    private final AbstractDynamicStore stringStore;
+    private final AbstractDynamicStore arrayStore;
+    private final PageCursor stringUpdateCursor;
+    private final PageCursor arrayUpdateCursor;
     protected final StoreCursors storeCursors;
     protected final StoreCursors tempStoreCursors;
     private PropertyBlock[] propertyBlocks = new PropertyBlock[100];
@@ -69,6 +83,7 @@ abstract class EntityImporter extends InputEntityVisitor.Adapter {
     protected final MemoryTracker memoryTracker;
     protected final SchemaMonitor schemaMonitor;
     private long propertyCount;
+    private long propertyDataSize;
     protected int entityPropertyCount; // just for the current entity
     private boolean hasPropertyId;
     private long propertyId;
@@ -94,14 +109,18 @@ abstract class EntityImporter extends InputEntityVisitor.Adapter {
             propertyBlocks[i] = new PropertyBlock();
         }
         this.propertyRecord = propertyStore.newRecord();
+        this.stringStore = propertyStore.getStringStore();
+        this.arrayStore = propertyStore.getArrayStore();
         this.propertyIds = new BatchingIdGetter(propertyStore);
-        this.stringPropertyIds = new BatchingIdGetter(propertyStore.getStringStore());
-        this.dynamicStringRecordAllocator = new StandardDynamicRecordAllocator(
-                stringPropertyIds, propertyStore.getStringStore().getRecordDataSize());
-        this.arrayPropertyIds = new BatchingIdGetter(propertyStore.getArrayStore());
-        this.dynamicArrayRecordAllocator = new StandardDynamicRecordAllocator(
-                arrayPropertyIds, propertyStore.getStringStore().getRecordDataSize());
+        this.stringPropertyIds = new BatchingIdGetter(stringStore, DYNAMIC_RECORD_ID_BATCH_PAGES);
+        this.dynamicStringRecordAllocator =
+                new StandardDynamicRecordAllocator(stringPropertyIds, stringStore.getRecordDataSize());
+        this.arrayPropertyIds = new BatchingIdGetter(arrayStore, DYNAMIC_RECORD_ID_BATCH_PAGES);
+        this.dynamicArrayRecordAllocator =
+                new StandardDynamicRecordAllocator(arrayPropertyIds, stringStore.getRecordDataSize());
         this.propertyUpdateCursor = propertyStore.openPageCursorForWriting(0, cursorContext);
+        this.stringUpdateCursor = stringStore.openPageCursorForWriting(0, cursorContext);
+        this.arrayUpdateCursor = arrayStore.openPageCursorForWriting(0, cursorContext);
     }
 
     @Override
@@ -191,22 +210,49 @@ abstract class EntityImporter extends InputEntityVisitor.Adapter {
                 long nextPropertyId = propertyIds.nextId(cursorContext);
                 long prevId = currentRecord.getId();
                 currentRecord.setNextProp(nextPropertyId);
-                propertyStore.updateRecord(currentRecord, IGNORE, propertyUpdateCursor, cursorContext, storeCursors);
+                writePropertyRecord(currentRecord);
                 currentRecord = propertyRecord(nextPropertyId);
                 currentRecord.setPrevProp(prevId);
             }
 
             // Add this block, there's room for it
+            writeDynamicRecords(block);
             currentRecord.addPropertyBlock(block);
         }
 
         if (currentRecord.size() > 0) {
-            propertyStore.updateRecord(currentRecord, IGNORE, propertyUpdateCursor, cursorContext, storeCursors);
+            writePropertyRecord(currentRecord);
         }
 
         return firstRecordId;
     }
 
+    private void writePropertyRecord(PropertyRecord record) {
+        propertyStore.updateRecord(record, IGNORE, propertyUpdateCursor, cursorContext, storeCursors);
+        propertyDataSize += propertyStore.getRecordSize();
+    }
+
+    /**
+     * Writes the dynamic records of a long string or array value through this importer's own long-lived cursor
+     * for that store, instead of letting {@link PropertyStore#updateRecord} open a new cursor for every property record.
+     * The ids of these records come in contiguous ranges per importer, so the cursor mostly moves forward page by page.
+     * The block is left light afterwards so that only the property record itself is written later.
+     */
+    private void writeDynamicRecords(PropertyBlock block) {
+        List<DynamicRecord> valueRecords = block.getValueRecords();
+        if (valueRecords.isEmpty()) {
+            return;
+        }
+        boolean string = valueRecords.get(0).getType() == PropertyType.STRING;
+        AbstractDynamicStore store = string ? stringStore : arrayStore;
+        PageCursor cursor = string ? stringUpdateCursor : arrayUpdateCursor;
+        for (DynamicRecord valueRecord : valueRecords) {
+            store.updateRecord(valueRecord, IGNORE, cursor, cursorContext, storeCursors);
+        }
+        propertyDataSize += (long) valueRecords.size() * store.getRecordSize();
+        valueRecords.clear();
+    }
+
     protected abstract PrimitiveRecord primitiveRecord();
 
     private PropertyRecord propertyRecord(long nextPropertyId) {
@@ -221,7 +267,10 @@ abstract class EntityImporter extends InputEntityVisitor.Adapter {
     @Override
     public void close() {
         monitor.propertiesImported(propertyCount);
+        monitor.propertyDataImported(propertyDataSize);
         propertyUpdateCursor.close();
+        stringUpdateCursor.close();
+        arrayUpdateCursor.close();
         storeCursors.close();
         tempStoreCursors.close();
     }
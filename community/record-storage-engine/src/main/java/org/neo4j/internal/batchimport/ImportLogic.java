@@ -129,6 +129,8 @@ public class ImportLogic implements Closeable {
     private IdMapper idMapper;
     private long peakMemoryUsage;
     private long availableMemoryForLinking;
+    private long dataImportMillis;
+    private boolean sortedRunLinking;
 
     /**
      * @param databaseLayout directory which the db will be created in.
@@ -165,7 +167,10 @@ public class ImportLogic implements Closeable {
         this.indexImporterFactory = indexImporterFactory;
         this.pageCacheTracer = pageCacheTracer;
         this.memoryTracker = memoryTracker;
-        this.executionMonitor = ExecutionSupervisors.withDynamicProcessorAssignment(executionMonitor, config);
+        this.executionMonitor = ExecutionSupervisors.withStageTelemetry(
+                ExecutionSupervisors.withDynamicProcessorAssignment(executionMonitor, config),
+                config,
+                neoStore.fileSystem());
         this.maxMemory = config.maxOffHeapMemory();
     }
 
@@ -255,6 +260,7 @@ public class ImportLogic implements Closeable {
      */
     public void importNodes(Supplier<SchemaMonitor> schemaMonitors) throws IOException {
         // Import nodes, properties, labels
+        long importStartTime = currentTimeMillis();
         neoStore.startFlushingPageCache();
         DataImporter.importNodes(
                 config,
@@ -268,6 +274,7 @@ public class ImportLogic implements Closeable {
                 memoryTracker,
                 schemaMonitors);
         neoStore.stopFlushingPageCache();
+        dataImportMillis += currentTimeMillis() - importStartTime;
         updatePeakMemoryUsage();
     }
 
@@ -322,6 +329,7 @@ public class ImportLogic implements Closeable {
      */
     public void importRelationships(Supplier<SchemaMonitor> schemaMonitors) throws IOException {
         // Import relationships (unlinked), properties
+        long importStartTime = currentTimeMillis();
         neoStore.startFlushingPageCache();
         DataStatistics typeDistribution = DataImporter.importRelationships(
                 config,
@@ -337,6 +345,7 @@ public class ImportLogic implements Closeable {
                 memoryTracker,
                 schemaMonitors);
         neoStore.stopFlushingPageCache();
+        dataImportMillis += currentTimeMillis() - importStartTime;
         updatePeakMemoryUsage();
         idMapper.close();
         idMapper = null;
@@ -362,6 +371,16 @@ public class ImportLogic implements Closeable {
         executeStage(nodeDegreeStage);
         nodeRelationshipCache.countingCompleted();
         availableMemoryForLinking = maxMemory - totalMemoryUsageOf(nodeRelationshipCache, neoStore);
+        sortedRunLinking = switch (config.relationshipLinkingStrategy()) {
+            case SORTED_RUNS -> true;
+            case NODE_CACHE -> false;
+            case AUTO -> ImportMemoryCalculator.preferSortedRunRelationshipLinking(
+                    totalMemoryUsageOf(nodeRelationshipCache), maxMemory);};
+        if (sortedRunLinking) {
+            log.info("Linking relationship chains of sparse nodes from sorted runs since node relationship cache of "
+                    + bytesToString(totalMemoryUsageOf(nodeRelationshipCache)) + " doesn't fit in "
+                    + bytesToString(maxMemory));
+        }
     }
 
     /**
@@ -427,7 +446,11 @@ public class ImportLogic implements Closeable {
                 ? String.valueOf(oneBased(startingFromType))
                 : oneBased(startingFromType) + "-" + (startingFromType + typesImported);
         String topic = " " + range + "/" + relationshipTypeDistribution.getNumberOfRelationshipTypes();
-        int nodeTypes = thisIsTheFirstRound ? NodeType.NODE_TYPE_ALL : NodeType.NODE_TYPE_DENSE;
+        // When linking from sorted runs the sparse chains are linked separately after the dense chains of the first
+        // round
+        boolean linkSparseFromSortedRuns = thisIsTheFirstRound && sortedRunLinking;
+        int nodeTypes =
+                thisIsTheFirstRound && !linkSparseFromSortedRuns ? NodeType.NODE_TYPE_ALL : NodeType.NODE_TYPE_DENSE;
         Predicate<RelationshipRecord> readFilter = thisIsTheFirstRound
                 ? alwaysTrue() // optimization when all rels are imported in this round
                 : record -> typesToLinkThisRound.contains(record.getType());
@@ -460,7 +483,7 @@ public class ImportLogic implements Closeable {
                 nodeRelationshipCache,
                 contextFactory,
                 cursorContext -> new CachedStoreCursors(neoStore.getTemporaryNeoStores(), cursorContext)));
-        if (thisIsTheFirstRound) {
+        if (thisIsTheFirstRound && !linkSparseFromSortedRuns) {
             // Set node nextRel fields for sparse nodes
             executeStage(new SparseNodeFirstRelationshipStage(
                     nodeConfig,
@@ -485,6 +508,18 @@ public class ImportLogic implements Closeable {
                 contextFactory,
                 new RelationshipLinkingProgress(),
                 memoryUsageStats));
+        if (linkSparseFromSortedRuns) {
+            new SortedRunRelationshipLinker(
+                            relationshipConfig,
+                            nodeConfig,
+                            neoStore,
+                            nodeRelationshipCache,
+                            executionMonitor,
+                            contextFactory,
+                            memoryTracker,
+                            SortedRunRelationshipLinker.DEFAULT_RUN_SIZE)
+                    .link();
+        }
         linkingMonitor.backwardLinkingCompleted(startingFromType, upToType, thisIsTheFirstRound, thisIsTheLastRound);
 
         updatePeakMemoryUsage();
@@ -651,10 +686,16 @@ public class ImportLogic implements Closeable {
         long totalTimeMillis = startTime > 0 ? currentTimeMillis() - startTime : 0;
         DataStatistics state = getState(DataStatistics.class);
         String additionalInformation = Objects.toString(state, "Data statistics is not available.");
+        long propertyData = storeUpdateMonitor.propertyDataImported();
         executionMonitor.done(
                 successful,
                 totalTimeMillis,
-                format("%n%s%nPeak memory usage: %s", additionalInformation, bytesToString(peakMemoryUsage)));
+                format(
+                        "%n%s%nProperty data: %s (%s/s during node and relationship import)%nPeak memory usage: %s",
+                        additionalInformation,
+                        bytesToString(propertyData),
+                        bytesToString(propertyData * 1000 / max(dataImportMillis, 1)),
+                        bytesToString(peakMemoryUsage)));
         log.info("Import " + (successful ? "completed successfully" : "failed") + ", took " + duration(totalTimeMillis)
                 + ". " + additionalInformation);
         closeAll(nodeRelationshipCache, nodeLabelsCache, idMapper);
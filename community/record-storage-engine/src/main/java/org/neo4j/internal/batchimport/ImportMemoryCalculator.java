@@ -77,6 +77,20 @@ public class ImportMemoryCalculator {
                 estimatedStoreSize / 2_000;
     }
 
+    /**
+     * Whether relationship chains of sparse nodes should be linked from sorted runs, see {@link SortedRunRelationshipLinker},
+     * rather than by random access into the node relationship cache. That is the case when the cache, padded like other
+     * estimates here, doesn't fit in the memory available to the import, since random access into it would then be
+     * served by the page cache or by the OS swapping.
+     *
+     * @param nodeRelationshipCacheSize memory usage of the node relationship cache.
+     * @param maxMemory max memory available for import cache data structures.
+     * @return {@code true} if sparse chains should be linked from sorted runs.
+     */
+    public static boolean preferSortedRunRelationshipLinking(long nodeRelationshipCacheSize, long maxMemory) {
+        return defensivelyPadMemoryEstimate(nodeRelationshipCacheSize) > maxMemory;
+    }
+
     public static long defensivelyPadMemoryEstimate(long bytes) {
         return (long) (bytes * 1.1);
     }
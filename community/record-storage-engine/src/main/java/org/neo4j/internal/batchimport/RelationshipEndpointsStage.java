@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+import static org.neo4j.internal.batchimport.RecordIdIterator.forwards;
+
+import org.neo4j.internal.batchimport.staging.BatchFeedStep;
+import org.neo4j.internal.batchimport.staging.ReadRecordsStep;
+import org.neo4j.internal.batchimport.staging.Stage;
+import org.neo4j.internal.batchimport.staging.Step;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.impl.store.RelationshipStore;
+
+/**
+ * Reads all relationships sequentially and collects their end points into {@link SortedRuns},
+ * see {@link CollectRelationshipEndpointsStep}.
+ */
+public class RelationshipEndpointsStage extends Stage {
+    public static final String NAME = "Relationship end points";
+
+    public RelationshipEndpointsStage(
+            Configuration config, RelationshipStore store, SortedRuns endpoints, CursorContextFactory contextFactory) {
+        super(NAME, null, config, Step.RECYCLE_BATCHES);
+        add(new BatchFeedStep(
+                control(), config, forwards(0, store.getIdGenerator().getHighId(), config), store.getRecordSize()));
+        add(new ReadRecordsStep<>(control(), config, false, store, contextFactory));
+        add(new CollectRelationshipEndpointsStep(control(), config, endpoints, contextFactory));
+    }
+}
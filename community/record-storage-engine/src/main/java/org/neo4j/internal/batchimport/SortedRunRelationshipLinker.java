@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.RELATIONSHIP_CURSOR;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Function;
+import org.neo4j.internal.batchimport.cache.NodeRelationshipCache;
+import org.neo4j.internal.batchimport.staging.ExecutionMonitor;
+import org.neo4j.internal.batchimport.staging.ExecutionSupervisors;
+import org.neo4j.internal.batchimport.store.BatchingNeoStores;
+import org.neo4j.internal.batchimport.store.PrepareIdSequence;
+import org.neo4j.internal.batchimport.store.StorePrepareIdSequence;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+
+/**
+ * Links relationship chains of sparse nodes using sequential access only, as an alternative to linking them in
+ * {@link RelationshipLinkforwardStage}, {@link RelationshipLinkbackStage} and {@link SparseNodeFirstRelationshipStage},
+ * which all do random access into {@link NodeRelationshipCache} and so degrade badly when it doesn't fit in memory.
+ * Chains of dense nodes are left untouched, they are still linked through the cache.
+ *
+ * <ol>
+ * <li>{@link RelationshipEndpointsStage} collects {@code (node, relationship)} for both end points of all
+ * relationships into {@link SortedRuns}.</li>
+ * <li>Merging those runs gives the relationships of each node in id order, i.e. its whole chain. The chain is laid out
+ * exactly like the cache-based linking would: the relationship with the highest id first, pointing to lower ids.
+ * The resulting pointers go into runs sorted by relationship id and the first relationship of each node into
+ * another run, which is already sorted by node id.</li>
+ * <li>{@link SortedRunUpdateStage} applies those to the relationship store and then the node store,
+ * both in a single sequential pass.</li>
+ * </ol>
+ */
+public class SortedRunRelationshipLinker {
+    public static final String RELATIONSHIP_LINK_NAME = "Relationship <-> Relationship";
+    public static final String NODE_LINK_NAME = "Node --> Relationship";
+    static final int DEFAULT_RUN_SIZE = 1 << 19;
+    static final String DIRECTORY_NAME = "temp-relationship-link";
+
+    static final int START = 0;
+    static final int END = 1;
+    static final int LOOP = 2;
+
+    private final Configuration relationshipConfig;
+    private final Configuration nodeConfig;
+    private final BatchingNeoStores neoStore;
+    private final NodeRelationshipCache cache;
+    private final ExecutionMonitor executionMonitor;
+    private final CursorContextFactory contextFactory;
+    private final MemoryTracker memoryTracker;
+    private final int runSize;
+
+    public SortedRunRelationshipLinker(
+            Configuration relationshipConfig,
+            Configuration nodeConfig,
+            BatchingNeoStores neoStore,
+            NodeRelationshipCache cache,
+            ExecutionMonitor executionMonitor,
+            CursorContextFactory contextFactory,
+            MemoryTracker memoryTracker,
+            int runSize) {
+        this.relationshipConfig = relationshipConfig;
+        this.nodeConfig = nodeConfig;
+        this.neoStore = neoStore;
+        this.cache = cache;
+        this.executionMonitor = executionMonitor;
+        this.contextFactory = contextFactory;
+        this.memoryTracker = memoryTracker;
+        this.runSize = runSize;
+    }
+
+    static long endpoint(long relationshipId, int side) {
+        return relationshipId << 2 | side;
+    }
+
+    public void link() throws IOException {
+        FileSystemAbstraction fs = neoStore.fileSystem();
+        Path directory = neoStore.databaseLayout().file(DIRECTORY_NAME);
+        fs.mkdirs(directory);
+        Function<CursorContext, StoreCursors> storeCursorsCreator =
+                cursorContext -> new CachedStoreCursors(neoStore.getNeoStores(), cursorContext);
+        try (SortedRuns links = new SortedRuns(fs, directory, "links", 4, runSize, memoryTracker);
+                SortedRuns firstRelationships = new SortedRuns(fs, directory, "nodes", 2, runSize, memoryTracker)) {
+            try (SortedRuns endpoints = new SortedRuns(fs, directory, "endpoints", 2, runSize, memoryTracker)) {
+                ExecutionSupervisors.superviseExecution(
+                        executionMonitor,
+                        new RelationshipEndpointsStage(
+                                relationshipConfig, neoStore.getRelationshipStore(), endpoints, contextFactory));
+                try (SortedRuns.Reader reader = endpoints.reader()) {
+                    buildChains(reader, links, firstRelationships);
+                }
+            }
+
+            try (SortedRuns.Reader reader = links.reader()) {
+                ExecutionSupervisors.superviseExecution(
+                        executionMonitor,
+                        new SortedRunUpdateStage<>(
+                                RELATIONSHIP_LINK_NAME,
+                                relationshipConfig,
+                                neoStore.getRelationshipStore(),
+                                reader,
+                                SortedRunRelationshipLinker::applyLink,
+                                PrepareIdSequence.of(neoStore.usesDoubleRelationshipRecordUnits()),
+                                contextFactory,
+                                storeCursorsCreator,
+                                RELATIONSHIP_CURSOR));
+            }
+            try (SortedRuns.Reader reader = firstRelationships.reader()) {
+                ExecutionSupervisors.superviseExecution(
+                        executionMonitor,
+                        new SortedRunUpdateStage<>(
+                                NODE_LINK_NAME,
+                                nodeConfig,
+                                neoStore.getNodeStore(),
+                                reader,
+                                SortedRunRelationshipLinker::applyFirstRelationship,
+                                new StorePrepareIdSequence(),
+                                contextFactory,
+                                storeCursorsCreator,
+                                NODE_CURSOR));
+            }
+        } finally {
+            fs.deleteRecursively(directory);
+        }
+    }
+
+    private void buildChains(SortedRuns.Reader endpoints, SortedRuns links, SortedRuns firstRelationships)
+            throws IOException {
+        long[] chain = new long[16];
+        int length = 0;
+        long nodeId = -1;
+        boolean sparse = false;
+        while (endpoints.next()) {
+            long endpointNodeId = endpoints.get(0);
+            if (endpointNodeId != nodeId) {
+                if (sparse) {
+                    linkChain(nodeId, chain, length, links, firstRelationships);
+                }
+                nodeId = endpointNodeId;
+                // The endpoints come in node id order so these lookups into the cache are sequential
+                sparse = !cache.isDense(nodeId);
+                length = 0;
+            }
+            if (sparse) {
+                if (length == chain.length) {
+                    chain = Arrays.copyOf(chain, length * 2);
+                }
+                chain[length++] = endpoints.get(1);
+            }
+        }
+        if (sparse) {
+            linkChain(nodeId, chain, length, links, firstRelationships);
+        }
+    }
+
+    /**
+     * Lays out the chain of a sparse node the same way as {@link RelationshipLinkforwardStep} and
+     * {@link RelationshipLinkbackStep} would: next pointers go towards lower relationship ids and the relationship
+     * with the highest id is first in the chain, having the chain length (degree) as its prev pointer.
+     */
+    private static void linkChain(
+            long nodeId, long[] chain, int length, SortedRuns links, SortedRuns firstRelationships) {
+        for (int i = 0; i < length; i++) {
+            boolean first = i == length - 1;
+            long next = i == 0 ? Record.NO_NEXT_RELATIONSHIP.longValue() : chain[i - 1] >>> 2;
+            long prev = first ? length : chain[i + 1] >>> 2;
+            long flags = (chain[i] & 0x3) << 1 | (first ? 1 : 0);
+            links.add(chain[i] >>> 2, flags, next, prev);
+        }
+        firstRelationships.add(nodeId, chain[length - 1] >>> 2);
+    }
+
+    private static void applyLink(RelationshipRecord record, SortedRuns.Reader link) {
+        long flags = link.get(1);
+        int side = (int) (flags >>> 1);
+        boolean first = (flags & 1) != 0;
+        long next = link.get(2);
+        long prev = link.get(3);
+        if (side != END) {
+            record.setFirstNextRel(next);
+            record.setFirstPrevRel(prev);
+            record.setFirstInFirstChain(first);
+        }
+        if (side != START) {
+            record.setSecondNextRel(next);
+            record.setSecondPrevRel(prev);
+            record.setFirstInSecondChain(first);
+        }
+    }
+
+    private static void applyFirstRelationship(NodeRecord record, SortedRuns.Reader firstRelationship) {
+        record.setNextRel(firstRelationship.get(1));
+    }
+}
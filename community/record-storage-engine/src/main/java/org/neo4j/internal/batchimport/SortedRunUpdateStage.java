@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+import static org.neo4j.internal.batchimport.RecordIdIterator.forwards;
+
+import java.util.function.Function;
+import org.neo4j.internal.batchimport.staging.BatchFeedStep;
+import org.neo4j.internal.batchimport.staging.ReadRecordsStep;
+import org.neo4j.internal.batchimport.staging.Stage;
+import org.neo4j.internal.batchimport.staging.Step;
+import org.neo4j.internal.batchimport.store.PrepareIdSequence;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.impl.store.RecordStore;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.storageengine.api.cursor.CursorType;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+
+/**
+ * Sequentially reads all records of a store, applies updates from {@link SortedRuns} to them,
+ * see {@link SortedRunUpdateStep}, and writes the updated records back.
+ */
+public class SortedRunUpdateStage<RECORD extends AbstractBaseRecord> extends Stage {
+    public SortedRunUpdateStage(
+            String name,
+            Configuration config,
+            RecordStore<RECORD> store,
+            SortedRuns.Reader updates,
+            SortedRunUpdateStep.Applier<RECORD> applier,
+            PrepareIdSequence prepareIdSequence,
+            CursorContextFactory contextFactory,
+            Function<CursorContext, StoreCursors> storeCursorsCreator,
+            CursorType cursorType) {
+        super(name, null, config, Step.ORDER_SEND_DOWNSTREAM | Step.RECYCLE_BATCHES);
+        add(new BatchFeedStep(
+                control(), config, forwards(0, store.getIdGenerator().getHighId(), config), store.getRecordSize()));
+        add(new ReadRecordsStep<>(control(), config, true, store, contextFactory));
+        add(new SortedRunUpdateStep<>(control(), config, updates, applier, contextFactory));
+        add(new UpdateRecordsStep<>(
+                control(), config, store, prepareIdSequence, contextFactory, storeCursorsCreator, cursorType));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+import org.neo4j.internal.batchimport.staging.BatchSender;
+import org.neo4j.internal.batchimport.staging.ProcessorStep;
+import org.neo4j.internal.batchimport.staging.StageControl;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+
+/**
+ * Applies updates, read from {@link SortedRuns} where the first value of each tuple is a record id, to the records
+ * passing through this step. Both are expected to come in ascending id order, which is why this step is
+ * single-threaded. Records without any update are marked as not in use in the batch so that they're not written back.
+ */
+public class SortedRunUpdateStep<RECORD extends AbstractBaseRecord> extends ProcessorStep<RECORD[]> {
+    private final SortedRuns.Reader updates;
+    private final Applier<RECORD> applier;
+    private boolean started;
+    private boolean hasUpdate;
+
+    public SortedRunUpdateStep(
+            StageControl control,
+            Configuration config,
+            SortedRuns.Reader updates,
+            Applier<RECORD> applier,
+            CursorContextFactory contextFactory) {
+        super(control, "LINK", config, 1, contextFactory);
+        this.updates = updates;
+        this.applier = applier;
+    }
+
+    @Override
+    protected void process(RECORD[] batch, BatchSender sender, CursorContext cursorContext) throws Throwable {
+        if (!started) {
+            hasUpdate = updates.next();
+            started = true;
+        }
+        for (RECORD record : batch) {
+            if (record == null || !record.inUse()) {
+                continue;
+            }
+            long id = record.getId();
+            while (hasUpdate && updates.get(0) < id) {
+                hasUpdate = updates.next();
+            }
+            boolean updated = false;
+            while (hasUpdate && updates.get(0) == id) {
+                applier.apply(record, updates);
+                updated = true;
+                hasUpdate = updates.next();
+            }
+            if (!updated) {
+                record.setInUse(false);
+            }
+        }
+        sender.send(batch);
+    }
+
+    public interface Applier<RECORD> {
+        /**
+         * Applies the current tuple of {@code update} to {@code record}.
+         */
+        void apply(RECORD record, SortedRuns.Reader update);
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+import static org.neo4j.memory.HeapEstimator.sizeOfLongArray;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * Sorts fixed-size tuples of longs, ordered by their first and then second value, using a bounded amount of heap.
+ * Added tuples are gathered in a buffer which, when full, is sorted and written to a file as a sorted run.
+ * {@link #reader() Reading} merges all runs, first merging them down to at most {@link #MERGE_FACTOR} runs if needed,
+ * so that all file access is sequential.
+ */
+public class SortedRuns implements AutoCloseable {
+    static final int MERGE_FACTOR = 64;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final FileSystemAbstraction fs;
+    private final Path directory;
+    private final String name;
+    private final int tupleSize;
+    private final MemoryTracker memoryTracker;
+    private final List<Path> runs = new ArrayList<>();
+    private long[] buffer;
+    private int bufferedTuples;
+    private int runCounter;
+    private long size;
+
+    /**
+     * @param directory directory to write the runs into.
+     * @param name prefix of the run files, to tell them apart from other runs in the same directory.
+     * @param tupleSize number of longs in each tuple, at least 2.
+     * @param runSize max number of tuples to buffer on heap before writing them as a run.
+     */
+    public SortedRuns(
+            FileSystemAbstraction fs,
+            Path directory,
+            String name,
+            int tupleSize,
+            int runSize,
+            MemoryTracker memoryTracker) {
+        if (tupleSize < 2) {
+            throw new IllegalArgumentException("Tuple size must be at least 2, was " + tupleSize);
+        }
+        this.fs = fs;
+        this.directory = directory;
+        this.name = name;
+        this.tupleSize = tupleSize;
+        this.memoryTracker = memoryTracker;
+        memoryTracker.allocateHeap(sizeOfLongArray(runSize * tupleSize));
+        this.buffer = new long[runSize * tupleSize];
+    }
+
+    public void add(long first, long second) {
+        int offset = nextOffset();
+        buffer[offset] = first;
+        buffer[offset + 1] = second;
+    }
+
+    public void add(long first, long second, long third, long fourth) {
+        int offset = nextOffset();
+        buffer[offset] = first;
+        buffer[offset + 1] = second;
+        buffer[offset + 2] = third;
+        buffer[offset + 3] = fourth;
+    }
+
+    private int nextOffset() {
+        if (bufferedTuples * tupleSize == buffer.length) {
+            try {
+                writeRun();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        size++;
+        return bufferedTuples++ * tupleSize;
+    }
+
+    /**
+     * @return number of tuples added.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Reads all added tuples in sorted order. No more tuples may be added after this call.
+     */
+    public Reader reader() throws IOException {
+        if (runs.isEmpty()) {
+            sort(buffer, tupleSize, 0, bufferedTuples - 1);
+            return new BufferReader();
+        }
+        if (bufferedTuples > 0) {
+            writeRun();
+        }
+        releaseBuffer();
+        while (runs.size() > MERGE_FACTOR) {
+            List<Path> toMerge = new ArrayList<>(runs.subList(0, MERGE_FACTOR));
+            runs.subList(0, MERGE_FACTOR).clear();
+            Path merged = nextRunFile();
+            try (MergingReader reader = new MergingReader(toMerge);
+                    DataOutputStream out = openRun(merged, reader.remaining)) {
+                while (reader.next()) {
+                    for (int i = 0; i < tupleSize; i++) {
+                        out.writeLong(reader.get(i));
+                    }
+                }
+            }
+            for (Path run : toMerge) {
+                fs.deleteFile(run);
+            }
+            runs.add(merged);
+        }
+        return new MergingReader(runs);
+    }
+
+    private void writeRun() throws IOException {
+        sort(buffer, tupleSize, 0, bufferedTuples - 1);
+        Path run = nextRunFile();
+        try (DataOutputStream out = openRun(run, bufferedTuples)) {
+            int length = bufferedTuples * tupleSize;
+            for (int i = 0; i < length; i++) {
+                out.writeLong(buffer[i]);
+            }
+        }
+        runs.add(run);
+        bufferedTuples = 0;
+    }
+
+    private Path nextRunFile() {
+        return directory.resolve(name + "-" + runCounter++);
+    }
+
+    private DataOutputStream openRun(Path run, long tuples) throws IOException {
+        DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(fs.openAsOutputStream(run, false), IO_BUFFER_SIZE));
+        out.writeLong(tuples);
+        return out;
+    }
+
+    private void releaseBuffer() {
+        if (buffer != null) {
+            memoryTracker.releaseHeap(sizeOfLongArray(buffer.length));
+            buffer = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        releaseBuffer();
+        for (Path run : runs) {
+            fs.deleteFile(run);
+        }
+        runs.clear();
+    }
+
+    /**
+     * Sorts the tuples {@code from} through {@code to}, both inclusive, with a quick sort which recurses into the
+     * smaller partition only to keep the stack shallow.
+     */
+    static void sort(long[] tuples, int tupleSize, int from, int to) {
+        while (to - from > 16) {
+            int middle = (from + to) >>> 1;
+            if (compare(tuples, tupleSize, middle, from) < 0) {
+                swap(tuples, tupleSize, middle, from);
+            }
+            if (compare(tuples, tupleSize, to, from) < 0) {
+                swap(tuples, tupleSize, to, from);
+            }
+            if (compare(tuples, tupleSize, to, middle) < 0) {
+                swap(tuples, tupleSize, to, middle);
+            }
+            // Median of three is now at middle, park it next to the end and partition around it
+            swap(tuples, tupleSize, middle, to - 1);
+            int pivot = to - 1;
+            int low = from;
+            int high = to - 1;
+            while (true) {
+                while (compare(tuples, tupleSize, ++low, pivot) < 0) {}
+                while (compare(tuples, tupleSize, --high, pivot) > 0) {}
+                if (low >= high) {
+                    break;
+                }
+                swap(tuples, tupleSize, low, high);
+            }
+            swap(tuples, tupleSize, low, pivot);
+            if (low - from < to - low) {
+                sort(tuples, tupleSize, from, low - 1);
+                from = low + 1;
+            } else {
+                sort(tuples, tupleSize, low + 1, to);
+                to = low - 1;
+            }
+        }
+        for (int i = from + 1; i <= to; i++) {
+            for (int j = i; j > from && compare(tuples, tupleSize, j, j - 1) < 0; j--) {
+                swap(tuples, tupleSize, j, j - 1);
+            }
+        }
+    }
+
+    private static int compare(long[] tuples, int tupleSize, int a, int b) {
+        int offsetA = a * tupleSize;
+        int offsetB = b * tupleSize;
+        int result = Long.compare(tuples[offsetA], tuples[offsetB]);
+        return result != 0 ? result : Long.compare(tuples[offsetA + 1], tuples[offsetB + 1]);
+    }
+
+    private static void swap(long[] tuples, int tupleSize, int a, int b) {
+        int offsetA = a * tupleSize;
+        int offsetB = b * tupleSize;
+        for (int i = 0; i < tupleSize; i++) {
+            long value = tuples[offsetA + i];
+            tuples[offsetA + i] = tuples[offsetB + i];
+            tuples[offsetB + i] = value;
+        }
+    }
+
+    /**
+     * Cursor over sorted tuples.
+     */
+    public interface Reader extends AutoCloseable {
+        /**
+         * @return {@code true} if there was another tuple, which is then available from {@link #get(int)}.
+         */
+        boolean next() throws IOException;
+
+        /**
+         * @param index index into the current tuple.
+         * @return the value at {@code index} of the current tuple.
+         */
+        long get(int index);
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private class BufferReader implements Reader {
+        private int tuple = -1;
+
+        @Override
+        public boolean next() {
+            return ++tuple < bufferedTuples;
+        }
+
+        @Override
+        public long get(int index) {
+            return buffer[tuple * tupleSize + index];
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private class RunReader implements Comparable<RunReader> {
+        private final DataInputStream in;
+        private final long[] tuple = new long[tupleSize];
+        private long remaining;
+
+        RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(fs.openAsInputStream(run), IO_BUFFER_SIZE));
+            this.remaining = in.readLong();
+        }
+
+        boolean next() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            for (int i = 0; i < tupleSize; i++) {
+                tuple[i] = in.readLong();
+            }
+            return true;
+        }
+
+        @Override
+        public int compareTo(RunReader other) {
+            int result = Long.compare(tuple[0], other.tuple[0]);
+            return result != 0 ? result : Long.compare(tuple[1], other.tuple[1]);
+        }
+    }
+
+    private class MergingReader implements Reader {
+        private final List<RunReader> readers = new ArrayList<>();
+        private final PriorityQueue<RunReader> queue = new PriorityQueue<>();
+        private RunReader current;
+        private long remaining;
+
+        MergingReader(List<Path> runs) throws IOException {
+            try {
+                for (Path run : runs) {
+                    RunReader reader = new RunReader(run);
+                    readers.add(reader);
+                    remaining += reader.remaining;
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (current != null && current.next()) {
+                queue.add(current);
+            }
+            current = queue.poll();
+            return current != null;
+        }
+
+        @Override
+        public long get(int index) {
+            return current.tuple[index];
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOUtils.closeAll(readers.stream().map(reader -> reader.in).toList());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.counts;
+
+import static java.lang.String.format;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.token.api.TokenConstants.ANY_RELATIONSHIP_TYPE;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.RelationshipDirection;
+
+/**
+ * Store for degrees of nodes, keyed by node ID, relationship type and relationship direction. In addition to
+ * the degree of each type there's a degree for {@link org.neo4j.token.api.TokenConstants#ANY_RELATIONSHIP_TYPE}
+ * per direction, which is the sum over all types. Unlike {@link GBPTreeRelationshipGroupDegreesStore} this store
+ * has degrees for sparse nodes too, so that looking up their degrees doesn't require traversing their
+ * relationship chains.
+ * <p>
+ * This store isn't fed by commands of its own. The degrees are derived from the relationships that transactions
+ * create and delete when they are applied, see {@code NodeDegreesTransactionApplier}.
+ */
+public class GBPTreeNodeDegreesStore extends GBPTreeGenericCountsStore {
+    private static final String NAME = "Node degrees store";
+    static final byte TYPE_NODE_DEGREE = (byte) 4;
+
+    public GBPTreeNodeDegreesStore(
+            PageCache pageCache,
+            Path file,
+            FileSystemAbstraction fileSystem,
+            RecoveryCleanupWorkCollector recoveryCollector,
+            NodeDegreesRebuilder rebuilder,
+            boolean readOnly,
+            Monitor monitor,
+            String databaseName,
+            int maxCacheSize,
+            InternalLogProvider userLogProvider,
+            CursorContextFactory contextFactory,
+            PageCacheTracer pageCacheTracer,
+            ImmutableSet<OpenOption> openOptions)
+            throws IOException {
+        super(
+                pageCache,
+                file,
+                fileSystem,
+                recoveryCollector,
+                new RebuilderWrapper(rebuilder),
+                readOnly,
+                NAME,
+                monitor,
+                databaseName,
+                maxCacheSize,
+                userLogProvider,
+                contextFactory,
+                pageCacheTracer,
+                openOptions);
+    }
+
+    /**
+     * @param txId id of the transaction that produces the changes that are being applied.
+     * @param isLast whether this is the last batch of the transaction.
+     * @param cursorContext underlying page cursor context
+     * @return an updater where degree deltas are being applied onto.
+     */
+    public NodeDegreeUpdater updater(long txId, boolean isLast, CursorContext cursorContext) {
+        CountUpdater updater = updaterImpl(txId, isLast, cursorContext);
+        return updater != null ? new TreeUpdater(updater) : NodeDegreeUpdater.NO_OP_UPDATER;
+    }
+
+    /**
+     * @param nodeId the node to look for.
+     * @param type the relationship type to look for, or {@link org.neo4j.token.api.TokenConstants#ANY_RELATIONSHIP_TYPE}
+     * for the degree of all types.
+     * @param direction the direction to look for.
+     * @param cursorContext page cache access context.
+     * @return the degree for the given node, type and direction, or {@code 0} if it wasn't found.
+     */
+    public long degree(long nodeId, int type, RelationshipDirection direction, CursorContext cursorContext) {
+        return read(degreeKey(nodeId, type, direction), cursorContext);
+    }
+
+    public interface NodeDegreeUpdater extends AutoCloseable {
+        NodeDegreeUpdater NO_OP_UPDATER = new NodeDegreeUpdater() {
+            @Override
+            public void increment(long nodeId, int type, RelationshipDirection direction, long delta) {}
+
+            @Override
+            public void close() {}
+        };
+
+        /**
+         * Changes the degree of the given node, type and direction. Changes to the degree of
+         * {@link org.neo4j.token.api.TokenConstants#ANY_RELATIONSHIP_TYPE} are not derived from this,
+         * they are made separately.
+         *
+         * @param nodeId the node to make the change for.
+         * @param type the relationship type to make the change for.
+         * @param direction the direction to make the change for.
+         * @param delta delta value to apply, can be either positive or negative.
+         */
+        void increment(long nodeId, int type, RelationshipDirection direction, long delta);
+
+        @Override
+        void close();
+    }
+
+    public interface NodeDegreesRebuilder {
+        /**
+         * @param updater the updater to write the degrees into. Note: the updater will write all degrees as absolute.
+         */
+        void rebuild(NodeDegreeUpdater updater, CursorContext cursorContext, MemoryTracker memoryTracker);
+
+        long lastCommittedTxId();
+    }
+
+    private static class TreeUpdater implements NodeDegreeUpdater {
+        private final CountUpdater actual;
+
+        TreeUpdater(CountUpdater actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void increment(long nodeId, int type, RelationshipDirection direction, long delta) {
+            actual.increment(degreeKey(nodeId, type, direction), delta);
+        }
+
+        @Override
+        public void close() {
+            actual.close();
+        }
+    }
+
+    /**
+     * Key data layout for this type:
+     * <pre>
+     * first:  [nnnn,nnnn][nnnn,nnnn][nnnn,nnnn][nnnn,nnnn] [nnnn,nnnn][nnnn,nnnn][nnnn,nnnn][nnnn,nndd]
+     *         n: node id
+     *         d: {@link RelationshipDirection#id()}
+     * second: relationship type id, or {@link org.neo4j.token.api.TokenConstants#ANY_RELATIONSHIP_TYPE}
+     * </pre>
+     */
+    static CountsKey degreeKey(long nodeId, int type, RelationshipDirection direction) {
+        return new CountsKey(TYPE_NODE_DEGREE, nodeId << 2 | direction.id(), type);
+    }
+
+    static String keyToString(CountsKey key) {
+        if (key.type == TYPE_NODE_DEGREE) {
+            String type = key.second == ANY_RELATIONSHIP_TYPE ? "any" : String.valueOf(key.second);
+            return format(
+                    "NodeDegree[nodeId:%d, type:%s, direction:%s]",
+                    key.first >> 2, type, RelationshipDirection.ofId((int) (key.first & 0x3)));
+        }
+        throw new IllegalArgumentException("Unknown type " + key.type);
+    }
+
+    public static void dump(
+            PageCache pageCache,
+            FileSystemAbstraction fileSystem,
+            Path file,
+            PrintStream out,
+            CursorContextFactory contextFactory,
+            PageCacheTracer pageCacheTracer,
+            ImmutableSet<OpenOption> openOptions)
+            throws IOException {
+        GBPTreeGenericCountsStore.dump(
+                pageCache,
+                fileSystem,
+                file,
+                out,
+                DEFAULT_DATABASE_NAME,
+                NAME,
+                contextFactory,
+                pageCacheTracer,
+                GBPTreeNodeDegreesStore::keyToString,
+                openOptions);
+    }
+
+    private static class RebuilderWrapper implements Rebuilder {
+        private final NodeDegreesRebuilder rebuilder;
+
+        RebuilderWrapper(NodeDegreesRebuilder rebuilder) {
+            this.rebuilder = rebuilder;
+        }
+
+        @Override
+        public void rebuild(CountUpdater updater, CursorContext cursorContext, MemoryTracker memoryTracker) {
+            rebuilder.rebuild(new TreeUpdater(updater), cursorContext, memoryTracker);
+        }
+
+        @Override
+        public long lastCommittedTxId() {
+            return rebuilder.lastCommittedTxId();
+        }
+    }
+}
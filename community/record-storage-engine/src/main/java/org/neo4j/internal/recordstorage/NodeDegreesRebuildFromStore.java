@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIPS;
+import static org.neo4j.token.api.TokenConstants.ANY_RELATIONSHIP_TYPE;
+
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.neo4j.internal.counts.GBPTreeNodeDegreesStore.NodeDegreeUpdater;
+import org.neo4j.internal.counts.GBPTreeNodeDegreesStore.NodeDegreesRebuilder;
+import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.Degrees;
+import org.neo4j.storageengine.api.RelationshipDirection;
+
+/**
+ * Rebuilds the node degrees store by reading the degrees of every node in the store, from their relationship chains
+ * for sparse nodes and from their relationship groups for dense nodes. The relationship group degrees store must
+ * therefore have been started before this runs.
+ */
+class NodeDegreesRebuildFromStore implements NodeDegreesRebuilder {
+    private final NeoStores neoStores;
+    private final RelationshipGroupDegreesStore groupDegreesStore;
+
+    NodeDegreesRebuildFromStore(NeoStores neoStores, RelationshipGroupDegreesStore groupDegreesStore) {
+        this.neoStores = neoStores;
+        this.groupDegreesStore = groupDegreesStore;
+    }
+
+    @Override
+    public long lastCommittedTxId() {
+        return neoStores.getMetaDataStore().getLastCommittedTransactionId();
+    }
+
+    @Override
+    public void rebuild(NodeDegreeUpdater updater, CursorContext cursorContext, MemoryTracker memoryTracker) {
+        try (var storeCursors = new CachedStoreCursors(neoStores, cursorContext);
+                var nodeCursor = new RecordNodeCursor(
+                        neoStores.getNodeStore(),
+                        neoStores.getRelationshipStore(),
+                        neoStores.getRelationshipGroupStore(),
+                        groupDegreesStore,
+                        cursorContext,
+                        storeCursors)) {
+            NodeDegrees degrees = new NodeDegrees();
+            nodeCursor.scan();
+            while (nodeCursor.next()) {
+                nodeCursor.degrees(ALL_RELATIONSHIPS, degrees);
+                degrees.writeTo(nodeCursor.entityReference(), updater);
+            }
+        }
+    }
+
+    /**
+     * Sums up the degrees of a single node per type, since the updater writes absolute degrees.
+     */
+    private static class NodeDegrees implements Degrees.Mutator {
+        private final MutableIntObjectMap<long[]> degrees = new IntObjectHashMap<>();
+
+        @Override
+        public boolean add(int type, int outgoing, int incoming, int loop) {
+            long[] typeDegrees = degrees.getIfAbsentPut(type, () -> new long[3]);
+            typeDegrees[0] += outgoing;
+            typeDegrees[1] += incoming;
+            typeDegrees[2] += loop;
+            long[] anyDegrees = degrees.getIfAbsentPut(ANY_RELATIONSHIP_TYPE, () -> new long[3]);
+            anyDegrees[0] += outgoing;
+            anyDegrees[1] += incoming;
+            anyDegrees[2] += loop;
+            return true;
+        }
+
+        @Override
+        public boolean isSplit() {
+            return true;
+        }
+
+        void writeTo(long nodeId, NodeDegreeUpdater updater) {
+            degrees.forEachKeyValue((type, typeDegrees) -> {
+                write(updater, nodeId, type, RelationshipDirection.OUTGOING, typeDegrees[0]);
+                write(updater, nodeId, type, RelationshipDirection.INCOMING, typeDegrees[1]);
+                write(updater, nodeId, type, RelationshipDirection.LOOP, typeDegrees[2]);
+            });
+            degrees.clear();
+        }
+
+        private static void write(
+                NodeDegreeUpdater updater, long nodeId, int type, RelationshipDirection direction, long degree) {
+            if (degree != 0) {
+                updater.increment(nodeId, type, direction, degree);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
+import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
+import static org.neo4j.token.api.TokenConstants.ANY_RELATIONSHIP_TYPE;
+
+import org.neo4j.internal.counts.GBPTreeNodeDegreesStore;
+import org.neo4j.internal.counts.GBPTreeNodeDegreesStore.NodeDegreeUpdater;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.CommandBatchToApply;
+import org.neo4j.storageengine.api.RelationshipDirection;
+
+/**
+ * Keeps the {@link GBPTreeNodeDegreesStore} up to date with the relationships that a transaction creates and deletes.
+ * A relationship record going from not in use to in use is a created relationship and one going from in use to not in
+ * use a deleted one, all other relationship changes are updates of chain pointers which don't affect degrees.
+ */
+class NodeDegreesTransactionApplier extends TransactionApplier.Adapter {
+    private final GBPTreeNodeDegreesStore nodeDegreesStore;
+    private final CommandBatchToApply commandsBatch;
+    private NodeDegreeUpdater updater;
+
+    NodeDegreesTransactionApplier(GBPTreeNodeDegreesStore nodeDegreesStore, CommandBatchToApply commandsBatch) {
+        this.nodeDegreesStore = nodeDegreesStore;
+        this.commandsBatch = commandsBatch;
+    }
+
+    @Override
+    public boolean visitRelationshipCommand(Command.RelationshipCommand command) {
+        RelationshipRecord before = command.getBefore();
+        RelationshipRecord after = command.getAfter();
+        if (!before.inUse() && after.inUse()) {
+            applyDegrees(after, 1);
+        } else if (before.inUse() && !after.inUse()) {
+            applyDegrees(before, -1);
+        }
+        return false;
+    }
+
+    private void applyDegrees(RelationshipRecord relationship, long delta) {
+        long firstNode = relationship.getFirstNode();
+        long secondNode = relationship.getSecondNode();
+        int type = relationship.getType();
+        if (firstNode == secondNode) {
+            increment(firstNode, type, LOOP, delta);
+        } else {
+            increment(firstNode, type, OUTGOING, delta);
+            increment(secondNode, type, INCOMING, delta);
+        }
+    }
+
+    private void increment(long nodeId, int type, RelationshipDirection direction, long delta) {
+        NodeDegreeUpdater updater = updater();
+        updater.increment(nodeId, type, direction, delta);
+        updater.increment(nodeId, ANY_RELATIONSHIP_TYPE, direction, delta);
+    }
+
+    @Override
+    public void close() {
+        // Open the updater even if there were no relationship changes, all transactions need to be registered
+        // to the store for it to know which transactions it has seen, just like the counts store
+        updater().close();
+    }
+
+    private NodeDegreeUpdater updater() {
+        if (updater == null) {
+            updater = nodeDegreesStore.updater(
+                    commandsBatch.transactionId(),
+                    commandsBatch.commandBatch().isLast(),
+                    commandsBatch.cursorContext());
+        }
+        return updater;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.neo4j.common.Subject;
+import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.internal.helpers.NamedThreadFactory;
+import org.neo4j.internal.helpers.collection.Visitor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.lock.LockGroup;
+import org.neo4j.lock.LockService;
+import org.neo4j.lock.ReentrantLockService;
+import org.neo4j.storageengine.api.CommandBatch;
+import org.neo4j.storageengine.api.CommandBatchToApply;
+import org.neo4j.storageengine.api.StorageCommand;
+import org.neo4j.storageengine.api.TransactionApplicationMode;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+
+/**
+ * Applies the transactions of a {@link CommandBatchToApply batch} to the store in parallel.
+ * <p>
+ * Transactions are handed to a pool of appliers in batch order. Before applying its transaction an applier waits for
+ * the applier of the previous transaction to have locked its records, and then locks the records its own transaction
+ * touches, using the same {@link Command#lockForRecovery(LockService,
+ * LockGroup, TransactionApplicationMode) record locks} as parallel recovery. Transactions touching the same
+ * entities are therefore applied in batch order, while transactions touching disjoint entities are applied
+ * concurrently. Counts and index updates of each transaction are applied while its record locks are held, which
+ * keeps them ordered per entity as well.
+ * <p>
+ * Batches containing anything other than entity and counts commands, e.g. schema, token or version upgrade
+ * commands, are not eligible, see {@link #canApplyInParallel(CommandBatchToApply)}.
+ */
+class ParallelBatchApplier implements AutoCloseable {
+    private static final String BATCH_APPLIER_TAG = "batchApplier";
+
+    private final RecordStorageEngine storageEngine;
+    private final CursorContextFactory contextFactory;
+    private final ExecutorService appliers;
+
+    ParallelBatchApplier(RecordStorageEngine storageEngine, CursorContextFactory contextFactory, int numAppliers) {
+        this.storageEngine = storageEngine;
+        this.contextFactory = contextFactory;
+        this.appliers = new ThreadPoolExecutor(
+                numAppliers,
+                numAppliers,
+                1,
+                TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(numAppliers),
+                new NamedThreadFactory("BatchApplier"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @param batch batch of transactions to check.
+     * @return {@code true} if the batch contains more than one transaction and all of them only contain commands
+     * which are safe to apply concurrently with the other transactions of the batch.
+     */
+    static boolean canApplyInParallel(CommandBatchToApply batch) {
+        if (batch.next() == null) {
+            return false;
+        }
+        for (CommandBatchToApply tx = batch; tx != null; tx = tx.next()) {
+            if (tx.previousBatchLogPosition() != LogPosition.UNSPECIFIED) {
+                // A later chunk of a transaction must be applied after the chunks before it
+                return false;
+            }
+            for (StorageCommand command : tx) {
+                if (!(command instanceof Command.NodeCommand
+                        || command instanceof Command.RelationshipCommand
+                        || command instanceof Command.RelationshipGroupCommand
+                        || command instanceof Command.PropertyCommand
+                        || command instanceof Command.NodeCountsCommand
+                        || command instanceof Command.RelationshipCountsCommand
+                        || command instanceof Command.GroupDegreeCommand)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    void apply(CommandBatchToApply batch, TransactionApplicationMode mode) throws Exception {
+        // Record locks are only ever contended between transactions of the same batch, contention with other
+        // committing transactions is handled by the lock service of the storage engine as usual
+        LockService recordLocks = new ReentrantLockService();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<?>> applications = new ArrayList<>();
+        CountDownLatch previousLocked = null;
+        for (CommandBatchToApply tx = batch; tx != null; tx = tx.next()) {
+            CommandBatchToApply transaction = tx;
+            CountDownLatch awaitLocked = previousLocked;
+            CountDownLatch locked = new CountDownLatch(1);
+            applications.add(appliers.submit(() -> {
+                try {
+                    if (awaitLocked != null) {
+                        awaitLocked.await();
+                    }
+                    if (failure.get() == null) {
+                        applyTransaction(transaction, mode, recordLocks, locked);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    // Also on failure, so that the transactions after this one don't wait forever
+                    locked.countDown();
+                }
+            }));
+            previousLocked = locked;
+        }
+        for (Future<?> application : applications) {
+            application.get();
+        }
+        Throwable cause = failure.get();
+        if (cause != null) {
+            Exceptions.throwIfUnchecked(cause);
+            throw new Exception("One or more transactions in " + batch + " failed to apply", cause);
+        }
+    }
+
+    /**
+     * Locks the records of the transaction, signals {@code locked} so that the next transaction of the batch can lock
+     * its records, and then applies the transaction. The transaction is applied with a cursor context and store
+     * cursors of its own, since the ones of the batch belong to the committing thread.
+     */
+    private void applyTransaction(
+            CommandBatchToApply transaction,
+            TransactionApplicationMode mode,
+            LockService recordLocks,
+            CountDownLatch locked)
+            throws Exception {
+        try (LockGroup locks = new LockGroup();
+                CursorContext cursorContext = contextFactory.create(BATCH_APPLIER_TAG);
+                StoreCursors storeCursors = storageEngine.createStorageCursors(cursorContext)) {
+            for (StorageCommand command : transaction) {
+                ((Command) command).lockForRecovery(recordLocks, locks, mode);
+            }
+            locked.countDown();
+            storageEngine.apply(new DetachedBatch(transaction, cursorContext, storeCursors), mode);
+        }
+    }
+
+    @Override
+    public void close() {
+        appliers.shutdown();
+        try {
+            if (!appliers.awaitTermination(1, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Couldn't gracefully await remaining batch appliers");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A single transaction of a batch, cut off from the transactions after it so that it can be applied on its own,
+     * by another thread than the one owning the batch and with that thread's cursors. Closing the transaction is left
+     * to the owner of the whole batch.
+     */
+    private static class DetachedBatch implements CommandBatchToApply {
+        private final CommandBatchToApply transaction;
+        private final CursorContext cursorContext;
+        private final StoreCursors storeCursors;
+
+        DetachedBatch(CommandBatchToApply transaction, CursorContext cursorContext, StoreCursors storeCursors) {
+            this.transaction = transaction;
+            this.cursorContext = cursorContext;
+            this.storeCursors = storeCursors;
+        }
+
+        @Override
+        public long transactionId() {
+            return transaction.transactionId();
+        }
+
+        @Override
+        public long chunkId() {
+            return transaction.chunkId();
+        }
+
+        @Override
+        public LogPosition previousBatchLogPosition() {
+            return transaction.previousBatchLogPosition();
+        }
+
+        @Override
+        public Subject subject() {
+            return transaction.subject();
+        }
+
+        @Override
+        public CursorContext cursorContext() {
+            return cursorContext;
+        }
+
+        @Override
+        public StoreCursors storeCursors() {
+            return storeCursors;
+        }
+
+        @Override
+        public CommandBatchToApply next() {
+            return null;
+        }
+
+        @Override
+        public void next(CommandBatchToApply next) {
+            throw new UnsupportedOperationException("Detached transaction can't be linked to other transactions");
+        }
+
+        @Override
+        public void commit() {
+            transaction.commit();
+        }
+
+        @Override
+        public CommandBatch commandBatch() {
+            return transaction.commandBatch();
+        }
+
+        @Override
+        public void batchAppended(LogPosition beforeCommit, LogPosition positionAfter, int checksum) {
+            transaction.batchAppended(beforeCommit, positionAfter, checksum);
+        }
+
+        @Override
+        public boolean accept(Visitor<StorageCommand, IOException> visitor) throws IOException {
+            return transaction.accept(visitor);
+        }
+
+        @Override
+        public Iterator<StorageCommand> iterator() {
+            return transaction.iterator();
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public String toString() {
+            return transaction.toString();
+        }
+    }
+}
@@ -27,6 +27,7 @@ import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIP
 
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.neo4j.internal.counts.GBPTreeNodeDegreesStore;
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
@@ -52,6 +53,7 @@ import org.neo4j.storageengine.api.cursor.StoreCursors;
 public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
     private final NodeStore read;
     private final RelationshipGroupDegreesStore groupDegreesStore;
+    private final GBPTreeNodeDegreesStore nodeDegreesStore;
     private final CursorContext cursorContext;
     private final StoreCursors storeCursors;
     private final RelationshipStore relationshipStore;
@@ -76,9 +78,25 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
             RelationshipGroupDegreesStore groupDegreesStore,
             CursorContext cursorContext,
             StoreCursors storeCursors) {
+        this(read, relationshipStore, groupStore, groupDegreesStore, null, cursorContext, storeCursors);
+    }
+
+    /**
+     * @param nodeDegreesStore store with the degrees of all nodes, or {@code null} if it isn't enabled in which case
+     * degrees of sparse nodes are read from their relationship chains.
+     */
+    RecordNodeCursor(
+            NodeStore read,
+            RelationshipStore relationshipStore,
+            RelationshipGroupStore groupStore,
+            RelationshipGroupDegreesStore groupDegreesStore,
+            GBPTreeNodeDegreesStore nodeDegreesStore,
+            CursorContext cursorContext,
+            StoreCursors storeCursors) {
         super(NO_ID);
         this.read = read;
         this.groupDegreesStore = groupDegreesStore;
+        this.nodeDegreesStore = nodeDegreesStore;
         this.cursorContext = cursorContext;
         this.storeCursors = storeCursors;
         this.relationshipStore = relationshipStore;
@@ -247,6 +265,13 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
             return;
         }
 
+        if (!isDense() && nodeDegreesStore != null && (selection.isTypeLimited() || !mutator.isSplit())) {
+            // The store has the degrees of each selected type, or of all types together when they don't need to be
+            // split up by type. Only degrees split up by type for all types require traversing the chain
+            storedDegrees(selection, mutator);
+            return;
+        }
+
         if (!isDense()) {
             ensureRelationshipTraversalCursorInitialized();
             relationshipCursor.init(this, ALL_RELATIONSHIPS);
@@ -292,9 +317,51 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor {
         }
     }
 
+    private void storedDegrees(RelationshipSelection selection, Degrees.Mutator mutator) {
+        if (!selection.isTypeLimited()) {
+            storedDegree(ANY_RELATIONSHIP_TYPE, selection, mutator);
+            return;
+        }
+        int numCriteria = selection.numberOfCriteria();
+        for (int i = 0; i < numCriteria; i++) {
+            int type = selection.criterionType(i);
+            if (!isFirstCriterionOfType(selection, i, type)) {
+                // The degrees of this type have already been added, in all the selected directions
+                continue;
+            }
+            if (!storedDegree(type, selection, mutator)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isFirstCriterionOfType(RelationshipSelection selection, int index, int type) {
+        for (int i = 0; i < index; i++) {
+            if (selection.criterionType(i) == type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean storedDegree(int type, RelationshipSelection selection, Degrees.Mutator mutator) {
+        int outgoing = storedDegree(type, RelationshipDirection.OUTGOING, selection);
+        int incoming = storedDegree(type, RelationshipDirection.INCOMING, selection);
+        int loop = storedDegree(type, RelationshipDirection.LOOP, selection);
+        if (outgoing == 0 && incoming == 0 && loop == 0) {
+            return true;
+        }
+        return mutator.add(type, outgoing, incoming, loop);
+    }
+
+    private int storedDegree(int type, RelationshipDirection direction, RelationshipSelection selection) {
+        boolean selected = type == ANY_RELATIONSHIP_TYPE ? selection.test(direction) : selection.test(type, direction);
+        return selected ? (int) nodeDegreesStore.degree(getId(), type, direction, cursorContext) : 0;
+    }
+
     @Override
     public boolean supportsFastDegreeLookup() {
-        return isDense();
+        return isDense() || nodeDegreesStore != null;
     }
 
     @Override
@@ -32,6 +32,7 @@ import org.neo4j.io.memory.HeapScopedBuffer;
 import org.neo4j.io.memory.ScopedBuffer;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.AbstractDynamicStore;
 import org.neo4j.kernel.impl.store.GeometryType;
 import org.neo4j.kernel.impl.store.InvalidRecordException;
 import org.neo4j.kernel.impl.store.LongerShortString;
@@ -45,10 +46,12 @@ import org.neo4j.kernel.impl.store.record.RecordLoadOverride;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.LongReference;
 import org.neo4j.storageengine.api.PropertySelection;
+import org.neo4j.storageengine.api.ReadTracer;
 import org.neo4j.storageengine.api.Reference;
 import org.neo4j.storageengine.api.StoragePropertyCursor;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.util.BitBuffer;
+import org.neo4j.util.FeatureToggles;
 import org.neo4j.values.storable.ArrayValue;
 import org.neo4j.values.storable.BooleanValue;
 import org.neo4j.values.storable.ByteValue;
@@ -66,9 +69,12 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
     private static final int MAX_BYTES_IN_SHORT_STRING_OR_SHORT_ARRAY = 32;
     private static final int INITIAL_POSITION = -1;
     public static final int DEFAULT_PROPERTY_BUFFER_CAPACITY = 512;
+    private static final boolean PREFETCH_ON_COLD_READS =
+            FeatureToggles.flag(RecordPropertyCursor.class, "prefetchOnColdReads", false);
 
     private final PropertyStore propertyStore;
     private final CursorContext cursorContext;
+    private final boolean prefetchOnColdReads;
     private final StoreCursors storeCursors;
     private final MemoryTracker memoryTracker;
     private long next;
@@ -88,15 +94,30 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
     private RecordLoadOverride loadMode;
     private PropertySelection selection;
     private int propertyKey;
+    // Set once reading a record of the current chain had to fault a page in, from then on we hint upcoming pages
+    private boolean prefetching;
+    // Number of selected keys not yet returned from this chain, or -1 if the selection isn't limited
+    private int selectedKeysLeft;
+    private ReadTracer tracer;
 
     RecordPropertyCursor(
             PropertyStore propertyStore,
             CursorContext cursorContext,
             StoreCursors storeCursors,
             MemoryTracker memoryTracker) {
+        this(propertyStore, cursorContext, storeCursors, memoryTracker, PREFETCH_ON_COLD_READS);
+    }
+
+    RecordPropertyCursor(
+            PropertyStore propertyStore,
+            CursorContext cursorContext,
+            StoreCursors storeCursors,
+            MemoryTracker memoryTracker,
+            boolean prefetchOnColdReads) {
         super(NO_ID);
         this.propertyStore = propertyStore;
         this.cursorContext = cursorContext;
+        this.prefetchOnColdReads = prefetchOnColdReads;
         this.storeCursors = storeCursors;
         this.memoryTracker = memoryTracker;
         loadMode = RecordLoadOverride.none();
@@ -141,10 +162,16 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
         this.cycleDetection = null;
         this.open = true;
         this.selection = selection;
+        this.prefetching = false;
+        this.selectedKeysLeft = selection.isLimited() ? selection.numberOfKeys() : -1;
     }
 
     @Override
     public boolean next() {
+        if (selectedKeysLeft == 0) {
+            // Keys are unique within a chain, so there's nothing more to find once all selected keys have been returned
+            return false;
+        }
         while (true) {
             // Figure out number of blocks of record
             int numberOfBlocks = getNumberOfBlocks();
@@ -167,7 +194,13 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
                 }
 
                 propertyKey = PropertyBlock.keyIndexId(currentBlock());
+                if (tracer != null) {
+                    tracer.onPropertyBlock(propertyKey);
+                }
                 if (selection.test(propertyKey)) {
+                    if (selectedKeysLeft > 0) {
+                        selectedKeysLeft--;
+                    }
                     return true;
                 }
             }
@@ -176,9 +209,17 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
                 return false;
             }
 
+            long faultsBefore = prefetchOnColdReads ? faults() : 0;
             property(this, next, page);
+            if (tracer != null) {
+                tracer.onPropertyRecord();
+            }
             next = getNextProp();
             block = INITIAL_POSITION;
+            if (prefetchOnColdReads && (prefetching || faults() != faultsBefore)) {
+                prefetching = true;
+                prefetchAhead();
+            }
 
             if (++numSeenPropertyRecords >= CYCLE_DETECTION_THRESHOLD) {
                 if (cycleDetection == null) {
@@ -193,6 +234,38 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
         }
     }
 
+    private long faults() {
+        return cursorContext.getCursorTracer().faults();
+    }
+
+    /**
+     * The chain is on a cold part of the page cache, so instead of faulting in the next property record and the dynamic
+     * records of the selected values one by one as we get to them, let the page cache load them in the background
+     * while the values of this record are decoded.
+     */
+    private void prefetchAhead() {
+        if (next != NO_ID) {
+            propertyStore.prefetchRecord(next, cursorContext);
+        }
+        long[] blocks = getBlocks();
+        int numberOfBlocks = getNumberOfBlocks();
+        int i = 0;
+        while (i < numberOfBlocks) {
+            long header = blocks[i];
+            PropertyType type = PropertyType.getPropertyTypeOrNull(header);
+            if (type == null) {
+                break;
+            }
+            if ((type == PropertyType.STRING || type == PropertyType.ARRAY)
+                    && selection.test(PropertyBlock.keyIndexId(header))) {
+                AbstractDynamicStore dynamicStore =
+                        type == PropertyType.STRING ? propertyStore.getStringStore() : propertyStore.getArrayStore();
+                dynamicStore.prefetchRecord(PropertyBlock.fetchLong(header), cursorContext);
+            }
+            i += type.calculateNumberOfBlocksUsed(header);
+        }
+    }
+
     private long currentBlock() {
         return getBlocks()[block];
     }
@@ -210,6 +283,16 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
         }
     }
 
+    @Override
+    public void setTracer(ReadTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void removeTracer() {
+        this.tracer = null;
+    }
+
     @Override
     public void setForceLoad() {
         this.loadMode = RecordLoadOverride.FORCE;
@@ -19,11 +19,14 @@
  */
 package org.neo4j.internal.recordstorage;
 
+import static java.lang.Math.max;
 import static java.util.Collections.emptyList;
 import static org.neo4j.function.ThrowingAction.executeAll;
 import static org.neo4j.internal.recordstorage.RecordStorageEngineFactory.ID;
 import static org.neo4j.internal.recordstorage.RecordStorageEngineFactory.NAME;
 import static org.neo4j.lock.LockService.NO_LOCK_SERVICE;
+import static org.neo4j.storageengine.api.TransactionApplicationMode.EXTERNAL;
+import static org.neo4j.storageengine.api.TransactionApplicationMode.INTERNAL;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.RECOVERY;
 import static org.neo4j.util.Preconditions.checkState;
 
@@ -45,12 +48,15 @@ import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.counts.CountsStore;
 import org.neo4j.counts.CountsUpdater;
 import org.neo4j.exceptions.KernelException;
+import org.neo4j.exceptions.UnderlyingStorageException;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.internal.batchimport.Configuration;
 import org.neo4j.internal.counts.CountsBuilder;
 import org.neo4j.internal.counts.CountsStoreProvider;
 import org.neo4j.internal.counts.DegreeStoreProvider;
 import org.neo4j.internal.counts.DegreesRebuildFromStore;
+import org.neo4j.internal.counts.GBPTreeGenericCountsStore;
+import org.neo4j.internal.counts.GBPTreeNodeDegreesStore;
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
 import org.neo4j.internal.diagnostics.DiagnosticsLogger;
 import org.neo4j.internal.diagnostics.DiagnosticsManager;
@@ -153,6 +159,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     private final LockService lockService;
     private final boolean consistencyCheckApply;
     private final boolean parallelIndexUpdatesApply;
+    private final ParallelBatchApplier parallelBatchApplier;
     private final InternalLog log;
     private IndexUpdatesWorkSync indexUpdatesSync;
     private final IdGeneratorFactory idGeneratorFactory;
@@ -162,6 +169,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     private final LockVerificationFactory lockVerificationFactory;
     private final CountsStore countsStore;
     private final RelationshipGroupDegreesStore groupDegreesStore;
+    private final GBPTreeNodeDegreesStore nodeDegreesStore;
     private final int denseNodeThreshold;
     private final IdGeneratorUpdatesWorkSync idGeneratorWorkSyncs;
     private final Map<TransactionApplicationMode, TransactionApplierFactoryChain> applierChains =
@@ -259,9 +267,25 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
                     contextFactory,
                     pageCacheTracer);
 
+            nodeDegreesStore = config.get(GraphDatabaseInternalSettings.node_degrees_store) && !multiVersion
+                    ? openNodeDegreesStore(
+                            pageCache,
+                            fs,
+                            databaseLayout,
+                            userLogProvider,
+                            recoveryCleanupWorkCollector,
+                            config,
+                            contextFactory,
+                            pageCacheTracer)
+                    : null;
+
             consistencyCheckApply = config.get(GraphDatabaseInternalSettings.consistency_check_on_apply);
             storeEntityCounters = new RecordDatabaseEntityCounters(idGeneratorFactory, countsStore);
             parallelIndexUpdatesApply = config.get(GraphDatabaseInternalSettings.parallel_index_updates_apply);
+            parallelBatchApplier = config.get(GraphDatabaseInternalSettings.parallel_batch_apply) && !multiVersion
+                    ? new ParallelBatchApplier(
+                            this, contextFactory, max(1, Runtime.getRuntime().availableProcessors() - 1))
+                    : null;
         } catch (Throwable failure) {
             neoStores.close();
             throw failure;
@@ -305,6 +329,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         } else if (mode.needsAuxiliaryStores()) {
             // Counts store application
             appliers.add(new CountsStoreTransactionApplierFactory(countsStore, groupDegreesStore));
+            if (nodeDegreesStore != null) {
+                appliers.add(new NodeDegreesTransactionApplierFactory(nodeDegreesStore));
+            }
         }
         if (mode.needsAuxiliaryStores()) {
             // Schema index application
@@ -370,6 +397,35 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
                         false);
     }
 
+    private GBPTreeNodeDegreesStore openNodeDegreesStore(
+            PageCache pageCache,
+            FileSystemAbstraction fs,
+            RecordDatabaseLayout layout,
+            InternalLogProvider userLogProvider,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            Config config,
+            CursorContextFactory contextFactory,
+            PageCacheTracer pageCacheTracer) {
+        try {
+            return new GBPTreeNodeDegreesStore(
+                    pageCache,
+                    layout.nodeDegreesStore(),
+                    fs,
+                    recoveryCleanupWorkCollector,
+                    new NodeDegreesRebuildFromStore(neoStores, groupDegreesStore),
+                    false,
+                    GBPTreeGenericCountsStore.NO_MONITOR,
+                    layout.getDatabaseName(),
+                    config.get(GraphDatabaseInternalSettings.counts_store_max_cached_entries),
+                    userLogProvider,
+                    contextFactory,
+                    pageCacheTracer,
+                    getOpenOptions());
+        } catch (IOException e) {
+            throw new UnderlyingStorageException(e);
+        }
+    }
+
     @Override
     public String name() {
         return NAME;
@@ -382,7 +438,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
 
     @Override
     public RecordStorageReader newReader() {
-        return new RecordStorageReader(tokenHolders, neoStores, countsStore, groupDegreesStore, schemaCache);
+        return new RecordStorageReader(
+                tokenHolders, neoStores, countsStore, groupDegreesStore, nodeDegreesStore, schemaCache);
     }
 
     @Override
@@ -533,6 +590,12 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
 
     @Override
     public void apply(CommandBatchToApply batch, TransactionApplicationMode mode) throws Exception {
+        if (parallelBatchApplier != null
+                && (mode == INTERNAL || mode == EXTERNAL)
+                && ParallelBatchApplier.canApplyInParallel(batch)) {
+            applyInParallel(batch, mode);
+            return;
+        }
         TransactionApplierFactoryChain batchApplier = applierChain(mode);
         CommandBatchToApply initialBatch = batch;
         try (BatchContext context = createBatchContext(batchApplier, batch)) {
@@ -550,6 +613,17 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         }
     }
 
+    private void applyInParallel(CommandBatchToApply batch, TransactionApplicationMode mode) throws Exception {
+        try {
+            parallelBatchApplier.apply(batch, mode);
+        } catch (Throwable cause) {
+            TransactionApplyKernelException kernelException =
+                    new TransactionApplyKernelException(cause, "Failed to apply transactions: %s", batch);
+            databaseHealth.panic(kernelException);
+            throw kernelException;
+        }
+    }
+
     @Override
     public void rollback(ReadableTransactionState txState, CursorContext cursorContext) {
         // Extract allocated IDs from created nodes/relationships from txState
@@ -613,6 +687,10 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
             neoStores.start(cursorContext);
             countsStore.start(cursorContext, otherMemoryTracker);
             groupDegreesStore.start(cursorContext, otherMemoryTracker);
+            if (nodeDegreesStore != null) {
+                // After the group degrees store, since rebuilding this store reads the degrees of dense nodes from it
+                nodeDegreesStore.start(cursorContext, otherMemoryTracker);
+            }
         }
     }
 
@@ -631,7 +709,20 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     public void shutdown() {
         if (!closed) {
             try {
-                executeAll(countsStore::close, groupDegreesStore::close, neoStores::close);
+                executeAll(
+                        () -> {
+                            if (parallelBatchApplier != null) {
+                                parallelBatchApplier.close();
+                            }
+                        },
+                        countsStore::close,
+                        groupDegreesStore::close,
+                        () -> {
+                            if (nodeDegreesStore != null) {
+                                nodeDegreesStore.close();
+                            }
+                        },
+                        neoStores::close);
             } catch (Throwable e) {
                 throw new RuntimeException(e);
             } finally {
@@ -651,6 +742,12 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         try (var fileFlushEvent = flushEvent.beginFileFlush()) {
             groupDegreesStore.checkpoint(fileFlushEvent, cursorContext);
         }
+        if (nodeDegreesStore != null) {
+            log.debug("Checkpointing %s", databaseLayout.nodeDegreesStore().getFileName());
+            try (var fileFlushEvent = flushEvent.beginFileFlush()) {
+                nodeDegreesStore.checkpoint(fileFlushEvent, cursorContext);
+            }
+        }
         neoStores.checkpoint(flushEvent, cursorContext);
     }
 
@@ -664,6 +761,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
     public void listStorageFiles(Collection<StoreFileMetadata> atomic, Collection<StoreFileMetadata> replayable) {
         atomic.add(new StoreFileMetadata(databaseLayout.countStore(), RecordFormat.NO_RECORD_SIZE));
         atomic.add(new StoreFileMetadata(databaseLayout.relationshipGroupDegreesStore(), RecordFormat.NO_RECORD_SIZE));
+        if (nodeDegreesStore != null) {
+            atomic.add(new StoreFileMetadata(databaseLayout.nodeDegreesStore(), RecordFormat.NO_RECORD_SIZE));
+        }
         for (StoreType type : StoreType.STORE_TYPES) {
             final RecordStore<AbstractBaseRecord> recordStore = neoStores.getRecordStore(type);
             StoreFileMetadata metadata =
@@ -717,6 +817,11 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         return groupDegreesStore;
     }
 
+    @VisibleForTesting
+    public GBPTreeNodeDegreesStore nodeDegreesStore() {
+        return nodeDegreesStore;
+    }
+
     @Override
     public MetaDataStore metadataProvider() {
         return neoStores.getMetaDataStore();
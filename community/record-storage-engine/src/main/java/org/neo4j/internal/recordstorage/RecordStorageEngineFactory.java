@@ -58,6 +58,7 @@ import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.annotations.service.ServiceProvider;
 import org.neo4j.configuration.Config;
 import org.neo4j.consistency.checker.EntityBasedMemoryLimiter;
+import org.neo4j.consistency.checker.IncrementalCheckScope;
 import org.neo4j.consistency.checker.RecordStorageConsistencyChecker;
 import org.neo4j.consistency.checking.ByteArrayBitsManipulator;
 import org.neo4j.consistency.checking.ConsistencyCheckIncompleteException;
@@ -112,6 +113,7 @@ import org.neo4j.kernel.impl.store.LegacyMetadataHandler;
 import org.neo4j.kernel.impl.store.MetaDataStore;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.RelationshipGroupStoreDefragmenter;
 import org.neo4j.kernel.impl.store.SchemaStore;
 import org.neo4j.kernel.impl.store.StoreFactory;
 import org.neo4j.kernel.impl.store.StoreType;
@@ -140,9 +142,11 @@ import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandReaderFactory;
+import org.neo4j.storageengine.api.CommandStream;
 import org.neo4j.storageengine.api.ConstraintRuleAccessor;
 import org.neo4j.storageengine.api.LogFilesInitializer;
 import org.neo4j.storageengine.api.MetadataProvider;
+import org.neo4j.storageengine.api.RelationshipGroupDefragmenter;
 import org.neo4j.storageengine.api.SchemaRule44;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.StorageEngineFactory;
@@ -864,7 +868,8 @@ public class RecordStorageEngineFactory implements StorageEngineFactory {
             ConsistencyFlags flags,
             CursorContextFactory contextFactory,
             PageCacheTracer pageCacheTracer,
-            LogTailMetadata logTailMetadata)
+            LogTailMetadata logTailMetadata,
+            CommandStream incrementalCommands)
             throws ConsistencyCheckIncompleteException {
         IdGeneratorFactory idGeneratorFactory = new DefaultIdGeneratorFactory(
                 fileSystem, RecoveryCleanupWorkCollector.ignore(), pageCacheTracer, layout.getDatabaseName());
@@ -884,6 +889,7 @@ public class RecordStorageEngineFactory implements StorageEngineFactory {
             ProgressMonitorFactory progressMonitorFactory = progressOutput != null
                     ? ProgressMonitorFactory.textual(progressOutput)
                     : ProgressMonitorFactory.NONE;
+            IncrementalCheckScope scope = incrementalCheckScope(neoStores, incrementalCommands, contextFactory);
             try (RecordStorageConsistencyChecker checker = new RecordStorageConsistencyChecker(
                     fileSystem,
                     formatSpecificDatabaseLayout(layout),
@@ -902,7 +908,8 @@ public class RecordStorageEngineFactory implements StorageEngineFactory {
                     EntityBasedMemoryLimiter.defaultMemoryLimiter(maxOffHeapCachingMemory),
                     EmptyMemoryTracker.INSTANCE,
                     contextFactory,
-                    pageCacheTracer)) {
+                    pageCacheTracer,
+                    scope)) {
                 checker.check();
             }
         } catch (IOException e) {
@@ -910,6 +917,20 @@ public class RecordStorageEngineFactory implements StorageEngineFactory {
         }
     }
 
+    private static IncrementalCheckScope incrementalCheckScope(
+            NeoStores neoStores, CommandStream incrementalCommands, CursorContextFactory contextFactory)
+            throws IOException {
+        if (incrementalCommands == null) {
+            return IncrementalCheckScope.FULL;
+        }
+        IncrementalCheckScope.Builder builder = new IncrementalCheckScope.Builder();
+        incrementalCommands.accept(command -> {
+            builder.collect(command);
+            return false;
+        });
+        return builder.build(neoStores, contextFactory);
+    }
+
     @Override
     public ImmutableSet<OpenOption> getStoreOpenOptions(
             FileSystemAbstraction fs, PageCache pageCache, DatabaseLayout layout, CursorContextFactory contextFactory) {
@@ -923,6 +944,18 @@ public class RecordStorageEngineFactory implements StorageEngineFactory {
         return PageCacheOptionsSelector.select(recordFormats);
     }
 
+    @Override
+    public Optional<RelationshipGroupDefragmenter> relationshipGroupDefragmenter(
+            FileSystemAbstraction fs,
+            DatabaseLayout databaseLayout,
+            Config config,
+            PageCache pageCache,
+            PageCacheTracer pageCacheTracer,
+            CursorContextFactory contextFactory) {
+        return Optional.of(new RelationshipGroupStoreDefragmenter(
+                fs, pageCache, formatSpecificDatabaseLayout(databaseLayout), config, pageCacheTracer, contextFactory));
+    }
+
     public static SchemaRuleMigrationAccess createMigrationTargetSchemaRuleAccess(
             NeoStores stores, CursorContextFactory contextFactory, MemoryTracker memoryTracker) {
         SchemaStore dstSchema = stores.getSchemaStore();
@@ -30,6 +30,7 @@ import org.eclipse.collections.api.set.primitive.IntSet;
 import org.neo4j.common.EntityType;
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.counts.CountsStore;
+import org.neo4j.internal.counts.GBPTreeNodeDegreesStore;
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
 import org.neo4j.internal.schema.ConstraintDescriptor;
 import org.neo4j.internal.schema.IndexDescriptor;
@@ -65,6 +66,7 @@ public class RecordStorageReader implements StorageReader {
     private final PropertyStore propertyStore;
     private final CountsStore counts;
     private final RelationshipGroupDegreesStore groupDegreesStore;
+    private final GBPTreeNodeDegreesStore nodeDegreesStore;
     private final SchemaCache schemaCache;
 
     private boolean closed;
@@ -74,6 +76,7 @@ public class RecordStorageReader implements StorageReader {
             NeoStores neoStores,
             CountsStore counts,
             RelationshipGroupDegreesStore groupDegreesStore,
+            GBPTreeNodeDegreesStore nodeDegreesStore,
             SchemaCache schemaCache) {
         this.tokenHolders = tokenHolders;
         this.nodeStore = neoStores.getNodeStore();
@@ -82,6 +85,7 @@ public class RecordStorageReader implements StorageReader {
         this.propertyStore = neoStores.getPropertyStore();
         this.counts = counts;
         this.groupDegreesStore = groupDegreesStore;
+        this.nodeDegreesStore = nodeDegreesStore;
         this.schemaCache = schemaCache;
     }
 
@@ -90,11 +94,11 @@ public class RecordStorageReader implements StorageReader {
      * separating index stuff out from store stuff.
      */
     public RecordStorageReader(NeoStores stores) {
-        this(null, stores, null, null, null);
+        this(null, stores, null, null, null, null);
     }
 
     public RecordStorageReader(NeoStores stores, SchemaCache schemaCache) {
-        this(null, stores, null, null, schemaCache);
+        this(null, stores, null, null, null, schemaCache);
     }
 
     @Override
@@ -139,8 +143,7 @@ public class RecordStorageReader implements StorageReader {
 
     @Override
     public Collection<IndexDescriptor> valueIndexesGetRelated(long[] labels, int propertyKeyId, EntityType entityType) {
-        return schemaCache.getValueIndexesRelatedTo(
-                EMPTY_LONG_ARRAY, labels, new int[] {propertyKeyId}, false, entityType);
+        return schemaCache.getValueIndexesRelatedTo(labels, propertyKeyId, entityType);
     }
 
     @Override
@@ -152,8 +155,7 @@ public class RecordStorageReader implements StorageReader {
     @Override
     public Collection<IndexBackedConstraintDescriptor> uniquenessConstraintsGetRelated(
             long[] tokens, int propertyKeyId, EntityType entityType) {
-        return schemaCache.getUniquenessConstraintsRelatedTo(
-                EMPTY_LONG_ARRAY, tokens, new int[] {propertyKeyId}, false, entityType);
+        return schemaCache.getUniquenessConstraintsRelatedTo(tokens, propertyKeyId, entityType);
     }
 
     @Override
@@ -312,7 +314,13 @@ public class RecordStorageReader implements StorageReader {
     @Override
     public RecordNodeCursor allocateNodeCursor(CursorContext cursorContext, StoreCursors storeCursors) {
         return new RecordNodeCursor(
-                nodeStore, relationshipStore, relationshipGroupStore, groupDegreesStore, cursorContext, storeCursors);
+                nodeStore,
+                relationshipStore,
+                relationshipGroupStore,
+                groupDegreesStore,
+                nodeDegreesStore,
+                cursorContext,
+                storeCursors);
     }
 
     @Override
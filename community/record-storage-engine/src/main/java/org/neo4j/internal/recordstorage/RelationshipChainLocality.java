@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.GROUP_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.RELATIONSHIP_CURSOR;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.RelationshipGroupStore;
+import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.storageengine.api.RelationshipDirection;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+
+/**
+ * Measures how well the relationship chains of a dense node are clustered in the relationship store.
+ * <p>
+ * A dense node has one chain of relationships per type and direction, reached through its relationship groups.
+ * Relationships are linked into these chains in creation order, while their records are placed wherever the id
+ * generator hands out ids, so expanding one type of a node which got its relationships over a long time is
+ * mostly random I/O. For every chain this reports how many store pages it touches compared to the fewest pages
+ * that could hold it, as well as how many times a traversal of it moves to another page.
+ * <p>
+ * Sparse nodes have a single chain mixing all types and directions and are not measured.
+ * <p>
+ * The locality of all dense nodes is reported by the {@code defragment-relationship-groups --report} admin command,
+ * see {@link org.neo4j.kernel.impl.store.RelationshipGroupStoreDefragmenter}.
+ */
+public class RelationshipChainLocality {
+    private final NodeStore nodeStore;
+    private final RelationshipGroupStore groupStore;
+    private final RelationshipStore relationshipStore;
+
+    public RelationshipChainLocality(NeoStores neoStores) {
+        this.nodeStore = neoStores.getNodeStore();
+        this.groupStore = neoStores.getRelationshipGroupStore();
+        this.relationshipStore = neoStores.getRelationshipStore();
+    }
+
+    /**
+     * @param nodeId node to measure the relationship chains of.
+     * @param storeCursors cursors to read the stores with.
+     * @return locality of every relationship chain of the node, in group order, or an empty list if the node
+     * isn't in use or isn't dense.
+     */
+    public List<ChainLocality> measure(long nodeId, StoreCursors storeCursors) {
+        NodeRecord node =
+                nodeStore.getRecordByCursor(nodeId, nodeStore.newRecord(), CHECK, storeCursors.readCursor(NODE_CURSOR));
+        if (!node.inUse() || !node.isDense()) {
+            return List.of();
+        }
+        List<ChainLocality> chains = new ArrayList<>();
+        RelationshipGroupRecord group = groupStore.newRecord();
+        for (long groupId = node.getNextRel(); !Record.isNull(groupId); groupId = group.getNext()) {
+            groupStore.getRecordByCursor(groupId, group, CHECK, storeCursors.readCursor(GROUP_CURSOR));
+            if (!group.inUse()) {
+                break;
+            }
+            addChain(
+                    chains, nodeId, group.getType(), RelationshipDirection.OUTGOING, group.getFirstOut(), storeCursors);
+            addChain(chains, nodeId, group.getType(), RelationshipDirection.INCOMING, group.getFirstIn(), storeCursors);
+            addChain(chains, nodeId, group.getType(), RelationshipDirection.LOOP, group.getFirstLoop(), storeCursors);
+        }
+        return chains;
+    }
+
+    private void addChain(
+            List<ChainLocality> chains,
+            long nodeId,
+            int type,
+            RelationshipDirection direction,
+            long firstRelationship,
+            StoreCursors storeCursors) {
+        if (Record.isNull(firstRelationship)) {
+            return;
+        }
+        int recordsPerPage = relationshipStore.getRecordsPerPage();
+        // A broken chain could be cyclic, don't follow it further than there are relationships in the store
+        long maxRelationships = relationshipStore.getIdGenerator().getHighId();
+        MutableLongSet pages = new LongHashSet();
+        RelationshipRecord relationship = relationshipStore.newRecord();
+        long relationships = 0;
+        long pageSwitches = 0;
+        long currentPage = -1;
+        for (long id = firstRelationship; !Record.isNull(id) && relationships < maxRelationships; relationships++) {
+            long page = id / recordsPerPage;
+            if (page != currentPage) {
+                if (currentPage != -1) {
+                    pageSwitches++;
+                }
+                currentPage = page;
+                pages.add(page);
+            }
+            relationshipStore.getRecordByCursor(id, relationship, CHECK, storeCursors.readCursor(RELATIONSHIP_CURSOR));
+            if (!relationship.inUse()) {
+                break;
+            }
+            id = relationship.getFirstNode() == nodeId
+                    ? relationship.getFirstNextRel()
+                    : relationship.getSecondNextRel();
+        }
+        long minimumPages = (relationships + recordsPerPage - 1) / recordsPerPage;
+        chains.add(new ChainLocality(type, direction, relationships, pages.size(), minimumPages, pageSwitches));
+    }
+
+    /**
+     * Locality of one relationship chain of a dense node.
+     *
+     * @param type relationship type of the chain.
+     * @param direction direction of the chain.
+     * @param relationships number of relationships in the chain.
+     * @param pages number of distinct relationship store pages the chain touches.
+     * @param minimumPages fewest number of relationship store pages which could hold the chain.
+     * @param pageSwitches number of times a traversal of the chain moves to another page than the one it's on.
+     */
+    public record ChainLocality(
+            int type,
+            RelationshipDirection direction,
+            long relationships,
+            long pages,
+            long minimumPages,
+            long pageSwitches) {
+        /**
+         * @return ratio between the fewest pages which could hold the chain and the pages it actually touches,
+         * where {@code 1.0} means perfectly clustered and values close to {@code 0.0} means scattered.
+         */
+        public double locality() {
+            return pages == 0 ? 1.0 : (double) minimumPages / pages;
+        }
+    }
+}
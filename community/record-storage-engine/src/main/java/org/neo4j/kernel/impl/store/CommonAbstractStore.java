@@ -418,6 +418,14 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord, HEA
         }
     }
 
+    /**
+     * Hints the page cache that the record with the given id is about to be read, so that its page can be faulted in
+     * asynchronously while the caller is busy with other things. See {@link PagedFile#prefetch(long, int, CursorContext)}.
+     */
+    public void prefetchRecord(long id, CursorContext cursorContext) {
+        pagedFile.prefetch(pageIdForRecord(id), 1, cursorContext);
+    }
+
     /**
      * Opens a new {@link PageCursor} to this store, mainly for use in {@link #getRecordByCursor(long, AbstractBaseRecord, RecordLoad, PageCursor)}.
      * The opened cursor will make use of the {@link PagedFile#PF_READ_AHEAD} flag for optimal scanning performance.
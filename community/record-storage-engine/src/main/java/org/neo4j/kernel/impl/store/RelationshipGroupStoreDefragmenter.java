@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.eclipse.collections.api.factory.Sets.immutable;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.GROUP_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.NORMAL;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.internal.recordstorage.RelationshipChainLocality;
+import org.neo4j.internal.recordstorage.RelationshipChainLocality.ChainLocality;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.DatabaseFlushEvent;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.format.RecordFormatSelector;
+import org.neo4j.kernel.impl.store.format.RecordFormats;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.transaction.log.LogTailLogVersionsMetadata;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.RelationshipGroupDefragmenter;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.storageengine.util.IdUpdateListener;
+
+/**
+ * Offline defragmentation of the {@link RelationshipGroupStore}. After many deletes the relationship groups of a
+ * dense node end up scattered all over a sparse group store, so traversing a dense node touches a page per group.
+ * This defragmenter rewrites the group store so that all groups are in a dense id range where the groups of each
+ * node are sequential, in node id order.
+ * <p>
+ * Relationship group ids are never exposed outside of the store, which is what makes it possible to relocate the
+ * groups. Node and relationship records are left in place since their ids are part of the public API, although
+ * the {@link NodeRecord#getNextRel() first group pointer} of every dense node is rewritten. The files derived from
+ * the group store and keyed by group id, i.e. the relationship group degrees store and the group id file, are
+ * deleted as part of the defragmentation and are rebuilt from the store the next time the database starts.
+ * <p>
+ * The defragmentation is crash safe. The groups are first copied into a new group store in a separate directory,
+ * leaving the database untouched. Once that store is flushed a status file is written, after which the new store
+ * replaces the old one and the nodes are pointed to their new groups. An interrupted defragmentation without the
+ * status file is discarded, one with the status file is completed, by the next call to {@link #defragment(boolean)}.
+ * The database must not be started in between. The stores are opened by the defragmenter itself, so it must not
+ * run while anything else is accessing them.
+ * <p>
+ * The transaction logs are not touched. Transactions in them refer to the old group ids, so the caller must make
+ * sure they are never applied to the defragmented store.
+ */
+public class RelationshipGroupStoreDefragmenter implements RelationshipGroupDefragmenter {
+    static final String DEFRAGMENT_TAG = "defragmentRelationshipGroups";
+    static final String DEFRAGMENT_DIRECTORY = "defragment";
+    static final String DEFRAGMENT_STATUS_FILE = "_copied";
+
+    private final FileSystemAbstraction fs;
+    private final PageCache pageCache;
+    private final RecordDatabaseLayout databaseLayout;
+    private final RecordDatabaseLayout defragmentLayout;
+    private final Config config;
+    private final PageCacheTracer pageCacheTracer;
+    private final CursorContextFactory contextFactory;
+
+    public RelationshipGroupStoreDefragmenter(
+            FileSystemAbstraction fs,
+            PageCache pageCache,
+            RecordDatabaseLayout databaseLayout,
+            Config config,
+            PageCacheTracer pageCacheTracer,
+            CursorContextFactory contextFactory) {
+        this.fs = fs;
+        this.pageCache = pageCache;
+        this.databaseLayout = databaseLayout;
+        this.defragmentLayout = RecordDatabaseLayout.ofFlat(databaseLayout.file(DEFRAGMENT_DIRECTORY));
+        this.config = config;
+        this.pageCacheTracer = pageCacheTracer;
+        this.contextFactory = contextFactory;
+    }
+
+    /**
+     * Rewrites the relationship group store with all groups in a dense id range, completing or discarding any
+     * previously interrupted defragmentation first. If asked to, the time it takes to traverse the group chains of
+     * all dense nodes, with the stores freshly opened, is measured before and after, and so is the
+     * {@link RelationshipChainLocality locality} of the relationship chains of all dense nodes.
+     */
+    @Override
+    public Result defragment(boolean report) throws IOException {
+        Path statusFile = defragmentLayout.file(DEFRAGMENT_STATUS_FILE);
+        if (fs.fileExists(statusFile)) {
+            completeDefragmentation();
+        } else if (fs.fileExists(defragmentLayout.databaseDirectory())) {
+            fs.deleteRecursively(defragmentLayout.databaseDirectory());
+        }
+        Duration scanTimeBefore = report ? scanGroupChains() : null;
+        Copy copy = copyGroups();
+        completeDefragmentation();
+        Report layoutReport = null;
+        if (report) {
+            Duration scanTimeAfter = scanGroupChains();
+            layoutReport = measureChainLocality(scanTimeBefore, scanTimeAfter);
+        }
+        return new Result(copy.groups(), copy.pagesBefore(), copy.pagesAfter(), layoutReport);
+    }
+
+    /**
+     * Copies the group chains of all dense nodes, in node id order, to sequential ids in a new group store and
+     * writes the status file once that store has been flushed, which is the point of no return.
+     */
+    Copy copyGroups() throws IOException {
+        Copy copy;
+        try (NeoStores neoStores = openStores(databaseLayout, config, StoreType.NODE, StoreType.RELATIONSHIP_GROUP);
+                var cursorContext = contextFactory.create(DEFRAGMENT_TAG);
+                var storeCursors = new CachedStoreCursors(neoStores, cursorContext)) {
+            NodeStore nodeStore = neoStores.getNodeStore();
+            RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
+            Config defragmentConfig = Config.newBuilder()
+                    .fromConfig(config)
+                    .set(GraphDatabaseSettings.dense_node_threshold, groupStore.getStoreHeaderInt())
+                    .build();
+            try (NeoStores defragmentStores =
+                            openStores(defragmentLayout, defragmentConfig, StoreType.RELATIONSHIP_GROUP);
+                    var defragmentStoreCursors = new CachedStoreCursors(defragmentStores, cursorContext)) {
+                defragmentStores.start(cursorContext);
+                RelationshipGroupStore defragmentStore = defragmentStores.getRelationshipGroupStore();
+                long groups = copyGroups(
+                        nodeStore, groupStore, defragmentStore, cursorContext, storeCursors, defragmentStoreCursors);
+                defragmentStores.flush(DatabaseFlushEvent.NULL, cursorContext);
+                copy = new Copy(groups, groupStore.getLastPageId() + 1, defragmentStore.getLastPageId() + 1);
+            }
+        }
+        try (StoreChannel statusChannel = fs.write(defragmentLayout.file(DEFRAGMENT_STATUS_FILE))) {
+            statusChannel.force(true);
+        }
+        return copy;
+    }
+
+    /**
+     * @return the number of copied groups.
+     */
+    private static long copyGroups(
+            NodeStore nodeStore,
+            RelationshipGroupStore groupStore,
+            RelationshipGroupStore defragmentStore,
+            CursorContext cursorContext,
+            StoreCursors storeCursors,
+            StoreCursors defragmentStoreCursors) {
+        long highGroupId = groupStore.getIdGenerator().getHighId();
+        long highNodeId = nodeStore.getIdGenerator().getHighId();
+        long nextGroupId = defragmentStore.getNumberOfReservedLowIds();
+        NodeRecord node = nodeStore.newRecord();
+        RelationshipGroupRecord group = groupStore.newRecord();
+        PageCursor nodeCursor = storeCursors.readCursor(NODE_CURSOR);
+        PageCursor groupCursor = storeCursors.readCursor(GROUP_CURSOR);
+        try (PageCursor defragmentCursor = defragmentStoreCursors.writeCursor(GROUP_CURSOR)) {
+            for (long nodeId = 0; nodeId < highNodeId; nodeId++) {
+                nodeStore.getRecordByCursor(nodeId, node, CHECK, nodeCursor);
+                if (!node.inUse() || !node.isDense() || Record.isNull(node.getNextRel())) {
+                    continue;
+                }
+                long chainLength = 0;
+                for (long groupId = node.getNextRel(); !Record.isNull(groupId); ) {
+                    groupStore.getRecordByCursor(groupId, group, NORMAL, groupCursor);
+                    if (group.getOwningNode() != nodeId) {
+                        throw new IllegalStateException("Relationship group " + groupId + " in the group chain of "
+                                + node + " is owned by another node " + group);
+                    }
+                    if (group.hasSecondaryUnitId()) {
+                        throw new IllegalStateException(
+                                "Defragmenting relationship groups with secondary units is not supported " + group);
+                    }
+                    if (++chainLength > highGroupId) {
+                        throw new IllegalStateException("The group chain of " + node + " is cyclic");
+                    }
+                    groupId = group.getNext();
+                    group.setId(nextGroupId++);
+                    if (!Record.isNull(groupId)) {
+                        group.setNext(nextGroupId);
+                    }
+                    defragmentStore.updateRecord(
+                            group, IdUpdateListener.IGNORE, defragmentCursor, cursorContext, defragmentStoreCursors);
+                }
+            }
+        }
+        defragmentStore.setHighId(nextGroupId);
+        return nextGroupId - defragmentStore.getNumberOfReservedLowIds();
+    }
+
+    /**
+     * Replaces the group store with the one written by {@link #copyGroups()}, deletes the files derived from the old
+     * group ids and points every dense node to the new id of its first group. Every step can be repeated, so an
+     * interrupted completion is simply done again.
+     */
+    private void completeDefragmentation() throws IOException {
+        Path defragmentedStore = defragmentLayout.relationshipGroupStore();
+        if (fs.fileExists(defragmentedStore)) {
+            fs.renameFile(defragmentedStore, databaseLayout.relationshipGroupStore(), ATOMIC_MOVE, REPLACE_EXISTING);
+        }
+        deleteFilesDerivedFromGroupIds();
+        relinkNodes();
+        fs.deleteRecursively(defragmentLayout.databaseDirectory());
+    }
+
+    private void deleteFilesDerivedFromGroupIds() throws IOException {
+        fs.deleteFile(databaseLayout.relationshipGroupDegreesStore());
+        fs.deleteFile(databaseLayout.idRelationshipGroupStore());
+    }
+
+    /**
+     * Points every dense node to its first group. The groups of a node are sequential in the defragmented store,
+     * so the first group of a node is the one following a group owned by another node.
+     */
+    private void relinkNodes() throws IOException {
+        try (NeoStores neoStores = openStores(databaseLayout, config, StoreType.NODE, StoreType.RELATIONSHIP_GROUP);
+                var cursorContext = contextFactory.create(DEFRAGMENT_TAG);
+                var storeCursors = new CachedStoreCursors(neoStores, cursorContext)) {
+            neoStores.start(cursorContext);
+            NodeStore nodeStore = neoStores.getNodeStore();
+            RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
+            long highGroupId = groupStore.getIdGenerator().getHighId();
+            long previousOwner = Record.NULL_REFERENCE.longValue();
+            NodeRecord node = nodeStore.newRecord();
+            RelationshipGroupRecord group = groupStore.newRecord();
+            PageCursor groupCursor = storeCursors.readCursor(GROUP_CURSOR);
+            // Nodes are both read and written through the same write cursor, since a read cursor would
+            // spin on a page that is write locked by a separate write cursor
+            try (PageCursor nodeCursor = storeCursors.writeCursor(NODE_CURSOR)) {
+                for (long groupId = groupStore.getNumberOfReservedLowIds(); groupId < highGroupId; groupId++) {
+                    groupStore.getRecordByCursor(groupId, group, CHECK, groupCursor);
+                    if (!group.inUse() || group.getOwningNode() == previousOwner) {
+                        continue;
+                    }
+                    previousOwner = group.getOwningNode();
+                    nodeStore.getRecordByCursor(previousOwner, node, NORMAL, nodeCursor);
+                    if (node.getNextRel() != groupId) {
+                        node.setNextRel(groupId);
+                        nodeStore.updateRecord(node, IdUpdateListener.IGNORE, nodeCursor, cursorContext, storeCursors);
+                    }
+                }
+            }
+            neoStores.flush(DatabaseFlushEvent.NULL, cursorContext);
+        }
+    }
+
+    /**
+     * Traverses the group chains of all dense nodes, with the stores freshly opened and therefore not yet in the
+     * page cache.
+     *
+     * @return the time the traversal took.
+     */
+    private Duration scanGroupChains() throws IOException {
+        try (NeoStores neoStores = openStores(databaseLayout, config, StoreType.NODE, StoreType.RELATIONSHIP_GROUP);
+                var cursorContext = contextFactory.create(DEFRAGMENT_TAG);
+                var storeCursors = new CachedStoreCursors(neoStores, cursorContext)) {
+            NodeStore nodeStore = neoStores.getNodeStore();
+            RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
+            long highNodeId = nodeStore.getIdGenerator().getHighId();
+            NodeRecord node = nodeStore.newRecord();
+            RelationshipGroupRecord group = groupStore.newRecord();
+            PageCursor nodeCursor = storeCursors.readCursor(NODE_CURSOR);
+            PageCursor groupCursor = storeCursors.readCursor(GROUP_CURSOR);
+            long startTime = System.nanoTime();
+            for (long nodeId = 0; nodeId < highNodeId; nodeId++) {
+                nodeStore.getRecordByCursor(nodeId, node, CHECK, nodeCursor);
+                if (!node.inUse() || !node.isDense()) {
+                    continue;
+                }
+                for (long groupId = node.getNextRel(); !Record.isNull(groupId); groupId = group.getNext()) {
+                    groupStore.getRecordByCursor(groupId, group, NORMAL, groupCursor);
+                }
+            }
+            return Duration.ofNanos(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Measures the locality of every relationship chain of every dense node, weighing the chains by the number of
+     * pages they touch.
+     */
+    private Report measureChainLocality(Duration scanTimeBefore, Duration scanTimeAfter) {
+        try (NeoStores neoStores = openStores(
+                        databaseLayout, config, StoreType.NODE, StoreType.RELATIONSHIP_GROUP, StoreType.RELATIONSHIP);
+                var cursorContext = contextFactory.create(DEFRAGMENT_TAG);
+                var storeCursors = new CachedStoreCursors(neoStores, cursorContext)) {
+            RelationshipChainLocality chainLocality = new RelationshipChainLocality(neoStores);
+            long highNodeId = neoStores.getNodeStore().getIdGenerator().getHighId();
+            long chains = 0;
+            long pages = 0;
+            long minimumPages = 0;
+            for (long nodeId = 0; nodeId < highNodeId; nodeId++) {
+                for (ChainLocality chain : chainLocality.measure(nodeId, storeCursors)) {
+                    chains++;
+                    pages += chain.pages();
+                    minimumPages += chain.minimumPages();
+                }
+            }
+            double locality = pages == 0 ? 1.0 : (double) minimumPages / pages;
+            return new Report(scanTimeBefore, scanTimeAfter, chains, locality);
+        }
+    }
+
+    private NeoStores openStores(RecordDatabaseLayout layout, Config storeConfig, StoreType... storeTypes) {
+        RecordFormats formats = RecordFormatSelector.selectForStore(
+                databaseLayout, fs, pageCache, NullLogProvider.getInstance(), contextFactory);
+        if (formats == null) {
+            throw new IllegalStateException("There is no store in " + databaseLayout.databaseDirectory());
+        }
+        return new StoreFactory(
+                        layout,
+                        storeConfig,
+                        new DefaultIdGeneratorFactory(fs, immediate(), pageCacheTracer, layout.getDatabaseName()),
+                        pageCache,
+                        pageCacheTracer,
+                        fs,
+                        formats,
+                        NullLogProvider.getInstance(),
+                        contextFactory,
+                        false,
+                        LogTailLogVersionsMetadata.EMPTY_LOG_TAIL,
+                        immutable.empty())
+                .openNeoStores(storeTypes);
+    }
+
+    /**
+     * @param groups number of groups copied to the new group store.
+     * @param pagesBefore number of pages in the group store file that was copied from.
+     * @param pagesAfter number of pages in the new group store file.
+     */
+    record Copy(long groups, long pagesBefore, long pagesAfter) {}
+}
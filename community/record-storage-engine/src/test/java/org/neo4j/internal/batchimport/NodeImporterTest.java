@@ -28,13 +28,16 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.neo4j.internal.batchimport.SchemaMonitor.NO_MONITOR;
 import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.PROPERTY_CURSOR;
 import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
 import static org.neo4j.io.pagecache.context.FixedVersionContextSupplier.EMPTY_CONTEXT_SUPPLIER;
 import static org.neo4j.io.pagecache.tracing.PageCacheTracer.NULL;
 import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,8 +57,12 @@ import org.neo4j.io.pagecache.context.CursorContextFactory;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.kernel.impl.store.NodeLabelsField;
 import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.impl.transaction.log.LogTailLogVersionsMetadata;
 import org.neo4j.logging.internal.NullLogService;
@@ -64,6 +71,8 @@ import org.neo4j.test.extension.Neo4jLayoutExtension;
 import org.neo4j.test.extension.pagecache.PageCacheExtension;
 import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
 import org.neo4j.token.api.TokenHolder;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 @PageCacheExtension
 @Neo4jLayoutExtension
@@ -175,9 +184,9 @@ class NodeImporterTest {
         long[] labels = NodeLabelsField.parseLabelsField(record).get(nodeStore, storeCursors);
         assertEquals(numberOfLabels, labels.length);
         assertThat(cacheTracer.faults()).isEqualTo(2);
-        assertThat(cacheTracer.pins()).isEqualTo(5);
-        assertThat(cacheTracer.unpins()).isEqualTo(5);
-        assertThat(cacheTracer.hits()).isEqualTo(3);
+        assertThat(cacheTracer.pins()).isEqualTo(4);
+        assertThat(cacheTracer.unpins()).isEqualTo(4);
+        assertThat(cacheTracer.hits()).isEqualTo(2);
     }
 
     @Test
@@ -204,6 +213,46 @@ class NodeImporterTest {
         verify(schemaMonitor).endOfEntity(anyLong(), any());
     }
 
+    @Test
+    void shouldWriteLongStringAndArrayProperties() {
+        // given
+        long nodeId = 0;
+        String longString = randomAscii(5_000);
+        long[] longArray = new long[2_000];
+        Arrays.setAll(longArray, i -> i * 31L);
+        DataImporter.Monitor monitor = new DataImporter.Monitor();
+
+        // when
+        try (NodeImporter importer = new NodeImporter(
+                stores, IdMappers.actual(), monitor, Collector.EMPTY, NULL_CONTEXT_FACTORY, INSTANCE, NO_MONITOR)) {
+            importer.id(nodeId);
+            importer.property("string", longString);
+            importer.property("array", longArray);
+            importer.property("short", "short");
+            importer.endOfEntity();
+        }
+
+        // then
+        NodeStore nodeStore = stores.getNodeStore();
+        PropertyStore propertyStore = stores.getPropertyStore();
+        NodeRecord node = nodeStore.getRecordByCursor(
+                nodeId, nodeStore.newRecord(), RecordLoad.NORMAL, storeCursors.readCursor(NODE_CURSOR));
+        List<Value> values = new ArrayList<>();
+        long propertyId = node.getNextProp();
+        while (!Record.NO_NEXT_PROPERTY.is(propertyId)) {
+            PropertyRecord property = propertyStore.getRecordByCursor(
+                    propertyId, propertyStore.newRecord(), RecordLoad.NORMAL, storeCursors.readCursor(PROPERTY_CURSOR));
+            for (PropertyBlock block : property) {
+                values.add(block.newPropertyValue(propertyStore, storeCursors));
+            }
+            propertyId = property.getNextProp();
+        }
+        assertThat(values)
+                .containsExactlyInAnyOrder(
+                        Values.stringValue(longString), Values.longArray(longArray), Values.stringValue("short"));
+        assertThat(monitor.propertyDataImported()).isGreaterThan(longString.length());
+    }
+
     private int[] labelIds(String... labels) throws KernelException {
         return tokenIds(stores.getTokenHolders().labelTokens(), labels);
     }
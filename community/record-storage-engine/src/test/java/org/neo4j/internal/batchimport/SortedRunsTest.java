@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@EphemeralTestDirectoryExtension
+@ExtendWith(RandomExtension.class)
+class SortedRunsTest {
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private RandomSupport random;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 100, 1_000, 100_000})
+    void shouldReadTuplesInSortedOrder(int count) throws IOException {
+        // given
+        List<long[]> expected = new ArrayList<>();
+        try (SortedRuns runs = new SortedRuns(fs, directory.homePath(), "test", 4, 1_000, INSTANCE)) {
+            for (int i = 0; i < count; i++) {
+                // A narrow range of first values to exercise sorting on the second value too
+                long[] tuple = {random.nextInt(count / 10 + 1), random.nextLong(), i, -i};
+                runs.add(tuple[0], tuple[1], tuple[2], tuple[3]);
+                expected.add(tuple);
+            }
+            expected.sort(Comparator.<long[]>comparingLong(tuple -> tuple[0]).thenComparingLong(tuple -> tuple[1]));
+
+            // when
+            List<long[]> actual = new ArrayList<>();
+            try (SortedRuns.Reader reader = runs.reader()) {
+                while (reader.next()) {
+                    actual.add(new long[] {reader.get(0), reader.get(1), reader.get(2), reader.get(3)});
+                }
+            }
+
+            // then
+            assertThat(runs.size()).isEqualTo(count);
+            assertThat(actual).hasSameSizeAs(expected);
+            for (int i = 0; i < count; i++) {
+                assertThat(actual.get(i)).containsExactly(expected.get(i));
+            }
+        }
+    }
+
+    @Test
+    void shouldMergeManyRunsInMultipleLevels() throws IOException {
+        // given runs enough to need merging down to MERGE_FACTOR before reading
+        int runSize = 10;
+        int count = runSize * SortedRuns.MERGE_FACTOR * 3 + 7;
+        long[] expected = new long[count];
+        Path runsDirectory = directory.directory("runs");
+        try (SortedRuns runs = new SortedRuns(fs, runsDirectory, "test", 2, runSize, INSTANCE)) {
+            for (int i = 0; i < count; i++) {
+                long value = random.nextLong();
+                runs.add(value, i);
+                expected[i] = value;
+            }
+            Arrays.sort(expected);
+
+            // when
+            try (SortedRuns.Reader reader = runs.reader()) {
+                // then
+                for (long value : expected) {
+                    assertThat(reader.next()).isTrue();
+                    assertThat(reader.get(0)).isEqualTo(value);
+                }
+                assertThat(reader.next()).isFalse();
+            }
+            assertThat(fs.listFiles(runsDirectory)).hasSizeLessThanOrEqualTo(SortedRuns.MERGE_FACTOR);
+        }
+        assertThat(fs.listFiles(runsDirectory)).isEmpty();
+    }
+}
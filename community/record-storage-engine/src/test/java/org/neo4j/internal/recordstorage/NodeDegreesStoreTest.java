@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.node_degrees_store;
+import static org.neo4j.configuration.GraphDatabaseSettings.dense_node_threshold;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.applyLogicalChanges;
+import static org.neo4j.internal.recordstorage.RecordStorageEngineTestUtils.openSimpleStorageEngine;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.storageengine.api.RelationshipSelection.selection;
+import static org.neo4j.token.api.TokenConstants.ANY_RELATIONSHIP_TYPE;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.collection.diffset.LongDiffSets;
+import org.neo4j.configuration.Config;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.internal.id.IdGenerator;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.tracing.DatabaseFlushEvent;
+import org.neo4j.kernel.impl.api.FlatRelationshipModifications;
+import org.neo4j.kernel.impl.api.FlatRelationshipModifications.RelationshipData;
+import org.neo4j.kernel.lifecycle.Lifespan;
+import org.neo4j.storageengine.api.RelationshipSelection;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.storageengine.api.txstate.NodeState;
+import org.neo4j.storageengine.util.EagerDegrees;
+import org.neo4j.storageengine.util.SingleDegree;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@ExtendWith(RandomExtension.class)
+@EphemeralPageCacheExtension
+class NodeDegreesStoreTest {
+    private static final int DENSE_THRESHOLD = 10;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Inject
+    private RandomSupport random;
+
+    private RecordDatabaseLayout layout;
+    private final List<RelationshipData> relationships = new ArrayList<>();
+    private long[] nodes;
+    private int[] types;
+
+    @BeforeEach
+    void setUp() {
+        layout = RecordDatabaseLayout.ofFlat(directory.homePath());
+    }
+
+    @Test
+    void shouldMaintainDegreesOfCreatedAndDeletedRelationships() throws Exception {
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(true));
+            generateData(storageEngine);
+
+            assertDegrees(storageEngine);
+        }
+    }
+
+    @Test
+    void shouldKeepDegreesOverRestart() throws Exception {
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(true));
+            generateData(storageEngine);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+
+        try (Lifespan life = new Lifespan()) {
+            assertDegrees(life.add(openStorageEngine(true)));
+        }
+    }
+
+    @Test
+    void shouldRebuildMissingStore() throws Exception {
+        try (Lifespan life = new Lifespan()) {
+            RecordStorageEngine storageEngine = life.add(openStorageEngine(false));
+            assertThat(storageEngine.nodeDegreesStore()).isNull();
+            generateData(storageEngine);
+            storageEngine.checkpoint(DatabaseFlushEvent.NULL, NULL_CONTEXT);
+        }
+        assertThat(directory.getFileSystem().fileExists(layout.nodeDegreesStore()))
+                .isFalse();
+
+        try (Lifespan life = new Lifespan()) {
+            assertDegrees(life.add(openStorageEngine(true)));
+        }
+    }
+
+    private void assertDegrees(RecordStorageEngine storageEngine) {
+        try (StoreCursors storeCursors = storageEngine.createStorageCursors(NULL_CONTEXT);
+                RecordStorageReader reader = storageEngine.newReader();
+                RecordNodeCursor nodeCursor = reader.allocateNodeCursor(NULL_CONTEXT, storeCursors)) {
+            for (long node : nodes) {
+                nodeCursor.single(node);
+                assertThat(nodeCursor.next()).isTrue();
+                assertThat(nodeCursor.supportsFastDegreeLookup()).isTrue();
+                for (Direction direction : Direction.values()) {
+                    assertThat(degree(nodeCursor, selection(direction)))
+                            .as("node %d %s", node, direction)
+                            .isEqualTo(expectedDegree(node, ANY_RELATIONSHIP_TYPE, direction));
+                    for (int type : types) {
+                        assertThat(degree(nodeCursor, selection(type, direction)))
+                                .as("node %d type %d %s", node, type, direction)
+                                .isEqualTo(expectedDegree(node, type, direction));
+                    }
+                    EagerDegrees degrees = new EagerDegrees();
+                    nodeCursor.degrees(selection(new int[] {types[0], types[1]}, direction), degrees);
+                    assertThat(degrees.degree(types[0], direction))
+                            .isEqualTo(expectedDegree(node, types[0], direction));
+                    assertThat(degrees.degree(types[1], direction))
+                            .isEqualTo(expectedDegree(node, types[1], direction));
+                    assertThat(degrees.degree(types[2], direction)).isZero();
+                }
+            }
+        }
+    }
+
+    private static int degree(RecordNodeCursor nodeCursor, RelationshipSelection selection) {
+        SingleDegree degree = new SingleDegree();
+        nodeCursor.degrees(selection, degree);
+        return degree.getTotal();
+    }
+
+    private int expectedDegree(long node, int type, Direction direction) {
+        int degree = 0;
+        for (RelationshipData relationship : relationships) {
+            if (type != ANY_RELATIONSHIP_TYPE && relationship.type() != type) {
+                continue;
+            }
+            boolean outgoing = relationship.startNode() == node;
+            boolean incoming = relationship.endNode() == node;
+            boolean matches =
+                    switch (direction) {
+                        case OUTGOING -> outgoing;
+                        case INCOMING -> incoming;
+                        case BOTH -> outgoing || incoming;
+                    };
+            if (matches) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    private void generateData(RecordStorageEngine storageEngine) throws Exception {
+        types = new int[3];
+        IdGenerator typeIds = storageEngine
+                .testAccessNeoStores()
+                .getRelationshipTypeTokenStore()
+                .getIdGenerator();
+        for (int i = 0; i < types.length; i++) {
+            types[i] = (int) typeIds.nextId(NULL_CONTEXT);
+        }
+
+        nodes = new long[50];
+        IdGenerator nodeIds = storageEngine.testAccessNeoStores().getNodeStore().getIdGenerator();
+        applyLogicalChanges(storageEngine, (state, tx) -> {
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = nodeIds.nextId(NULL_CONTEXT);
+                tx.visitCreatedNode(nodes[i]);
+            }
+        });
+
+        // A mix of sparse and dense nodes, with some loops
+        IdGenerator relationshipIds =
+                storageEngine.testAccessNeoStores().getRelationshipStore().getIdGenerator();
+        for (int t = 0; t < 5; t++) {
+            List<RelationshipData> created = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                long startNode = random.among(nodes);
+                long endNode = random.nextInt(10) == 0 ? startNode : random.among(nodes);
+                created.add(new RelationshipData(
+                        relationshipIds.nextId(NULL_CONTEXT), random.among(types), startNode, endNode));
+            }
+            applyRelationshipChanges(storageEngine, created, List.of());
+            relationships.addAll(created);
+        }
+
+        List<RelationshipData> deleted = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            deleted.add(relationships.remove(random.nextInt(relationships.size())));
+        }
+        applyRelationshipChanges(storageEngine, List.of(), deleted);
+    }
+
+    private static void applyRelationshipChanges(
+            RecordStorageEngine storageEngine, List<RelationshipData> created, List<RelationshipData> deleted)
+            throws Exception {
+        applyLogicalChanges(storageEngine, (state, tx) -> {
+            NodeState nodeState = mock(NodeState.class);
+            when(nodeState.labelDiffSets()).thenReturn(LongDiffSets.EMPTY);
+            when(state.getNodeState(anyLong())).thenReturn(nodeState);
+            tx.visitRelationshipModifications(new FlatRelationshipModifications(
+                    created.toArray(new RelationshipData[0]), deleted.toArray(new RelationshipData[0])));
+        });
+    }
+
+    private RecordStorageEngine openStorageEngine(boolean nodeDegreesStore) {
+        Config config = Config.newBuilder()
+                .set(dense_node_threshold, DENSE_THRESHOLD)
+                .set(node_degrees_store, nodeDegreesStore)
+                .build();
+        return openSimpleStorageEngine(directory.getFileSystem(), pageCache, layout, config);
+    }
+}
@@ -20,6 +20,7 @@
 package org.neo4j.internal.recordstorage;
 
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -34,6 +35,7 @@ import static org.neo4j.kernel.impl.store.record.RecordLoad.NORMAL;
 import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 import static org.neo4j.storageengine.api.LongReference.longReference;
 import static org.neo4j.storageengine.api.PropertySelection.ALL_PROPERTIES;
+import static org.neo4j.test.assertion.Assert.assertEventually;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -54,6 +56,7 @@ import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.impl.store.DynamicAllocatorProvider;
 import org.neo4j.kernel.impl.store.DynamicAllocatorProviders;
@@ -72,12 +75,14 @@ import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.impl.transaction.log.LogTailLogVersionsMetadata;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.storageengine.api.PropertySelection;
+import org.neo4j.storageengine.api.ReadTracer;
 import org.neo4j.test.RandomSupport;
 import org.neo4j.test.extension.EphemeralNeo4jLayoutExtension;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
 import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 @EphemeralPageCacheExtension
 @EphemeralNeo4jLayoutExtension
@@ -268,6 +273,176 @@ public class RecordPropertyCursorTest {
         assertThat(valueMapping.isEmpty()).isTrue();
     }
 
+    @Test
+    void shouldStopTraversingChainWhenAllSelectedPropertiesHaveBeenFound() {
+        // given a wide entity
+        Value[] values = new Value[100];
+        for (int key = 0; key < values.length; key++) {
+            values[key] = Values.intValue(key);
+        }
+        long firstPropertyId = storeValuesAsPropertyChain(owner, values);
+        CountingReadTracer tracer = new CountingReadTracer();
+        RecordPropertyCursor cursor = createCursor();
+        cursor.setTracer(tracer);
+
+        // when reading all properties
+        int[] keysInChainOrder = new int[values.length];
+        int count = 0;
+        cursor.initNodeProperties(longReference(firstPropertyId), ALL_PROPERTIES);
+        while (cursor.next()) {
+            keysInChainOrder[count++] = cursor.propertyKey();
+        }
+
+        // then
+        assertThat(count).isEqualTo(values.length);
+        assertThat(tracer.blocks).isEqualTo(values.length);
+        int recordsInChain = tracer.records;
+        assertThat(recordsInChain).isGreaterThan(1);
+
+        // when narrowly projecting properties from the first record
+        tracer.clear();
+        cursor.initNodeProperties(
+                longReference(firstPropertyId), PropertySelection.selection(keysInChainOrder[1], keysInChainOrder[0]));
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.next()).isFalse();
+
+        // then
+        assertThat(tracer.records).isEqualTo(1);
+        assertThat(tracer.blocks).isEqualTo(2);
+
+        // when projecting a property that isn't there
+        tracer.clear();
+        cursor.initNodeProperties(longReference(firstPropertyId), PropertySelection.selection(values.length));
+        assertThat(cursor.next()).isFalse();
+
+        // then
+        assertThat(tracer.records).isEqualTo(recordsInChain);
+        assertThat(tracer.blocks).isEqualTo(values.length);
+
+        // when selecting nothing
+        tracer.clear();
+        cursor.initNodeProperties(longReference(firstPropertyId), PropertySelection.NO_PROPERTIES);
+        assertThat(cursor.next()).isFalse();
+
+        // then
+        assertThat(tracer.records).isZero();
+    }
+
+    @Test
+    void shouldPrefetchDynamicRecordsOfSelectedValuesOnColdReads() {
+        // given a chain surrounded by others, away from the pages that opening the stores reads
+        Value[] values = new Value[40];
+        for (int key = 0; key < values.length; key++) {
+            values[key] = Values.stringValue("cold".repeat(100) + key);
+        }
+        storeValuesAsPropertyChain(owner, fillerValues());
+        long firstPropertyId = storeValuesAsPropertyChain(owner, values);
+        storeValuesAsPropertyChain(owner, fillerValues());
+        evictAllPages();
+
+        // when only walking the chain, never reading the values themselves
+        var tracer = new DefaultPageCacheTracer();
+        var contextFactory = new CursorContextFactory(tracer, EMPTY_CONTEXT_SUPPLIER);
+        long readerFaults;
+        try (var context = contextFactory.create("coldRead");
+                var cursors = new CachedStoreCursors(neoStores, context);
+                var cursor = new RecordPropertyCursor(neoStores.getPropertyStore(), context, cursors, INSTANCE, true)) {
+            cursor.initNodeProperties(longReference(firstPropertyId), ALL_PROPERTIES, owner.getId());
+            int count = 0;
+            while (cursor.next()) {
+                count++;
+            }
+            assertThat(count).isEqualTo(values.length);
+            readerFaults = context.getCursorTracer().faults();
+        }
+
+        // then the string records were still faulted in, by the page cache pre-fetchers
+        assertThat(readerFaults).isPositive();
+        assertEventually(tracer::faults, faults -> faults > readerFaults, 1, MINUTES);
+    }
+
+    @Test
+    void shouldReadAllPropertiesOfRandomNodesFromColdPageCache() {
+        // given
+        int nodeCount = 100;
+        Value[][] nodeValues = new Value[nodeCount][];
+        long[] firstPropertyIds = new long[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            nodeValues[node] = createValues(30, 60);
+            firstPropertyIds[node] = storeValuesAsPropertyChain(owner, nodeValues[node]);
+        }
+        evictAllPages();
+
+        // when/then
+        var contextFactory = new CursorContextFactory(new DefaultPageCacheTracer(), EMPTY_CONTEXT_SUPPLIER);
+        try (var context = contextFactory.create("coldRead");
+                var cursors = new CachedStoreCursors(neoStores, context);
+                var cursor = new RecordPropertyCursor(neoStores.getPropertyStore(), context, cursors, INSTANCE, true)) {
+            for (int i = 0; i < nodeCount; i++) {
+                int node = random.nextInt(nodeCount);
+                assertPropertyChain(nodeValues[node], firstPropertyIds[node], cursor);
+            }
+        }
+    }
+
+    private static Value[] fillerValues() {
+        Value[] values = new Value[1_000];
+        for (int key = 0; key < values.length; key++) {
+            values[key] = key % 10 == 0 ? Values.stringValue("filler".repeat(50)) : Values.intValue(key);
+        }
+        return values;
+    }
+
+    /**
+     * Closing the stores unmaps their files, which evicts all their pages from the page cache.
+     */
+    private void evictAllPages() {
+        closeStore();
+        setup();
+    }
+
+    private static class CountingReadTracer implements ReadTracer {
+        private int records;
+        private int blocks;
+
+        @Override
+        public void onPropertyRecord() {
+            records++;
+        }
+
+        @Override
+        public void onPropertyBlock(int propertyKey) {
+            blocks++;
+        }
+
+        void clear() {
+            records = 0;
+            blocks = 0;
+        }
+
+        @Override
+        public void onNode(long nodeReference) {}
+
+        @Override
+        public void onAllNodesScan() {}
+
+        @Override
+        public void onRelationship(long relationshipReference) {}
+
+        @Override
+        public void onProperty(int propertyKey) {}
+
+        @Override
+        public void onHasLabel(int label) {}
+
+        @Override
+        public void onHasLabel() {}
+
+        @Override
+        public void dbHit() {}
+    }
+
     protected RecordPropertyCursor createCursor() {
         return new RecordPropertyCursor(neoStores.getPropertyStore(), NULL_CONTEXT, storeCursors, INSTANCE);
     }
@@ -29,8 +29,12 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
 import static org.neo4j.lock.LockType.EXCLUSIVE;
+import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_ID;
+import static org.neo4j.test.Race.throwing;
+import static org.neo4j.token.api.TokenConstants.ANY_LABEL;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -38,7 +42,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
@@ -47,14 +53,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.exceptions.KernelException;
 import org.neo4j.exceptions.UnderlyingStorageException;
 import org.neo4j.internal.helpers.collection.Visitor;
 import org.neo4j.io.fs.EphemeralFileSystemAbstraction;
 import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
 import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.exceptions.Status;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.lock.Lock;
 import org.neo4j.lock.LockService;
 import org.neo4j.monitoring.DatabaseHealth;
@@ -63,9 +75,11 @@ import org.neo4j.storageengine.api.CommandBatchToApply;
 import org.neo4j.storageengine.api.StorageCommand;
 import org.neo4j.storageengine.api.StoreFileMetadata;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
+import org.neo4j.storageengine.api.cursor.CursorType;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.storageengine.util.IdGeneratorUpdatesWorkSync;
 import org.neo4j.test.LatestVersions;
+import org.neo4j.test.Race;
 import org.neo4j.test.extension.EphemeralNeo4jLayoutExtension;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
@@ -83,6 +97,9 @@ class RecordStorageEngineTest {
     @Inject
     private RecordDatabaseLayout databaseLayout;
 
+    private static final LogCommandSerialization SERIALIZATION =
+            RecordStorageCommandReaderFactory.INSTANCE.get(LatestVersions.LATEST_KERNEL_VERSION);
+
     private final DatabaseHealth databaseHealth = mock(DatabaseHealth.class);
     private final RecordStorageEngineSupport storageEngineRule = new RecordStorageEngineSupport();
 
@@ -207,6 +224,173 @@ class RecordStorageEngineTest {
         }
     }
 
+    @Test
+    void shouldApplyTransactionsOfBatchInParallelInCommitOrderPerEntity() throws Throwable {
+        // given
+        RecordStorageEngine engine = recordStorageEngineBuilder()
+                .setting(GraphDatabaseInternalSettings.parallel_batch_apply, true)
+                .build();
+        int committers = 8;
+        int nodesPerCommitter = 10;
+        int batchesPerCommitter = 20;
+        int transactionsPerBatch = 16;
+        AtomicLong txIds = new AtomicLong(BASE_TX_ID);
+
+        // when
+        Race race = new Race();
+        race.addContestants(
+                committers,
+                committer -> throwing(() -> {
+                    NodeRecord[] nodes = new NodeRecord[nodesPerCommitter];
+                    for (int i = 0; i < nodesPerCommitter; i++) {
+                        nodes[i] = new NodeRecord((long) committer * nodesPerCommitter + i);
+                    }
+                    try (StoreCursors storeCursors = engine.createStorageCursors(NULL_CONTEXT)) {
+                        for (int b = 0; b < batchesPerCommitter; b++) {
+                            GroupOfCommands first = null;
+                            GroupOfCommands last = null;
+                            for (int t = 0; t < transactionsPerBatch; t++) {
+                                int node = ThreadLocalRandom.current().nextInt(nodesPerCommitter);
+                                NodeRecord before = nodes[node];
+                                NodeRecord after = new NodeRecord(before);
+                                after.setInUse(true);
+                                after.setNextRel(b * transactionsPerBatch + t);
+                                nodes[node] = after;
+                                GroupOfCommands tx = new GroupOfCommands(
+                                        txIds.incrementAndGet(),
+                                        storeCursors,
+                                        new Command.NodeCommand(SERIALIZATION, before, after),
+                                        new Command.NodeCountsCommand(SERIALIZATION, ANY_LABEL, 1));
+                                if (first == null) {
+                                    first = tx;
+                                } else {
+                                    last.next = tx;
+                                }
+                                last = tx;
+                            }
+                            engine.apply(first, TransactionApplicationMode.INTERNAL);
+                        }
+                        // then the last change to each node wins, regardless of what other transactions it was applied
+                        // with
+                        NodeStore nodeStore = engine.testAccessNeoStores().getNodeStore();
+                        for (NodeRecord expected : nodes) {
+                            NodeRecord actual = nodeStore.getRecordByCursor(
+                                    expected.getId(),
+                                    nodeStore.newRecord(),
+                                    RecordLoad.CHECK,
+                                    storeCursors.readCursor(NODE_CURSOR));
+                            assertThat(actual.inUse()).isEqualTo(expected.inUse());
+                            assertThat(actual.getNextRel()).isEqualTo(expected.getNextRel());
+                        }
+                    }
+                }));
+        race.go();
+
+        // then
+        assertThat(engine.countsAccessor().nodeCount(ANY_LABEL, NULL_CONTEXT))
+                .isEqualTo((long) committers * batchesPerCommitter * transactionsPerBatch);
+    }
+
+    @Test
+    void shouldApplyTransactionsOfBatchInParallelWithCursorsOfTheirOwn() throws Exception {
+        // given
+        RecordStorageEngine engine = recordStorageEngineBuilder()
+                .setting(GraphDatabaseInternalSettings.parallel_batch_apply, true)
+                .build();
+        int transactions = 64;
+        Thread committer = Thread.currentThread();
+        Set<Thread> foreignThreads = ConcurrentHashMap.newKeySet();
+        try (StoreCursors committerCursors = engine.createStorageCursors(NULL_CONTEXT)) {
+            // store cursors are not thread safe and must only be used by the thread owning them
+            StoreCursors storeCursors = new StoreCursors() {
+                @Override
+                public void reset(CursorContext cursorContext) {
+                    checkThread();
+                    committerCursors.reset(cursorContext);
+                }
+
+                @Override
+                public PageCursor readCursor(CursorType type) {
+                    checkThread();
+                    return committerCursors.readCursor(type);
+                }
+
+                @Override
+                public PageCursor writeCursor(CursorType type) {
+                    checkThread();
+                    return committerCursors.writeCursor(type);
+                }
+
+                @Override
+                public void close() {
+                    checkThread();
+                }
+
+                private void checkThread() {
+                    if (Thread.currentThread() != committer) {
+                        foreignThreads.add(Thread.currentThread());
+                    }
+                }
+            };
+            GroupOfCommands first = null;
+            GroupOfCommands last = null;
+            for (int t = 0; t < transactions; t++) {
+                NodeRecord before = new NodeRecord(t);
+                NodeRecord after = new NodeRecord(before);
+                after.setInUse(true);
+                GroupOfCommands tx = new GroupOfCommands(
+                        BASE_TX_ID + 1 + t, storeCursors, new Command.NodeCommand(SERIALIZATION, before, after));
+                if (first == null) {
+                    first = tx;
+                } else {
+                    last.next = tx;
+                }
+                last = tx;
+            }
+
+            // when
+            engine.apply(first, TransactionApplicationMode.INTERNAL);
+
+            // then
+            assertThat(foreignThreads).isEmpty();
+            NodeStore nodeStore = engine.testAccessNeoStores().getNodeStore();
+            for (int t = 0; t < transactions; t++) {
+                assertThat(nodeStore
+                                .getRecordByCursor(
+                                        t,
+                                        nodeStore.newRecord(),
+                                        RecordLoad.CHECK,
+                                        committerCursors.readCursor(NODE_CURSOR))
+                                .inUse())
+                        .isTrue();
+            }
+        }
+    }
+
+    @Test
+    void shouldOnlyApplyBatchesOfEntityChangesInParallel() {
+        StoreCursors storeCursors = StoreCursors.NULL;
+        NodeRecord node = new NodeRecord(0);
+        NodeRecord createdNode = new NodeRecord(node);
+        createdNode.setInUse(true);
+        Command nodeCommand = new Command.NodeCommand(SERIALIZATION, node, createdNode);
+        LabelTokenRecord token = new LabelTokenRecord(0);
+        LabelTokenRecord createdToken = new LabelTokenRecord(token);
+        createdToken.setInUse(true);
+        Command tokenCommand = new Command.LabelTokenCommand(SERIALIZATION, token, createdToken);
+
+        GroupOfCommands single = new GroupOfCommands(storeCursors, nodeCommand);
+        assertThat(ParallelBatchApplier.canApplyInParallel(single)).isFalse();
+
+        GroupOfCommands entityChanges = new GroupOfCommands(storeCursors, nodeCommand);
+        entityChanges.next = new GroupOfCommands(storeCursors, nodeCommand);
+        assertThat(ParallelBatchApplier.canApplyInParallel(entityChanges)).isTrue();
+
+        GroupOfCommands tokenChanges = new GroupOfCommands(storeCursors, nodeCommand);
+        tokenChanges.next = new GroupOfCommands(storeCursors, tokenCommand);
+        assertThat(ParallelBatchApplier.canApplyInParallel(tokenChanges)).isFalse();
+    }
+
     private RecordStorageEngine buildRecordStorageEngine() {
         return recordStorageEngineBuilder().build();
     }
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.GROUP_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.RELATIONSHIP_CURSOR;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.kernel.impl.store.record.Record.NULL_REFERENCE;
+
+import java.util.List;
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.RecordStore;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.format.aligned.PageAligned;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.kernel.impl.transaction.log.LogTailLogVersionsMetadata;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.RelationshipDirection;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.storageengine.util.IdUpdateListener;
+import org.neo4j.test.extension.EphemeralNeo4jLayoutExtension;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
+
+@EphemeralPageCacheExtension
+@EphemeralNeo4jLayoutExtension
+class RelationshipChainLocalityTest {
+    private static final long DENSE_NODE = 0;
+    private static final long SPARSE_NODE = 1;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private RecordDatabaseLayout databaseLayout;
+
+    private NeoStores neoStores;
+    private StoreCursors storeCursors;
+
+    @BeforeEach
+    void openStores() {
+        var pageCacheTracer = PageCacheTracer.NULL;
+        neoStores = new StoreFactory(
+                        databaseLayout,
+                        Config.defaults(),
+                        new DefaultIdGeneratorFactory(
+                                fs, immediate(), pageCacheTracer, databaseLayout.getDatabaseName()),
+                        pageCache,
+                        pageCacheTracer,
+                        fs,
+                        PageAligned.LATEST_RECORD_FORMATS,
+                        NullLogProvider.getInstance(),
+                        CursorContextFactory.NULL_CONTEXT_FACTORY,
+                        false,
+                        LogTailLogVersionsMetadata.EMPTY_LOG_TAIL,
+                        Sets.immutable.empty())
+                .openAllNeoStores();
+        storeCursors = new CachedStoreCursors(neoStores, NULL_CONTEXT);
+    }
+
+    @AfterEach
+    void closeStores() {
+        storeCursors.close();
+        neoStores.close();
+    }
+
+    @Test
+    void shouldMeasureLocalityOfEachChainOfDenseNode() {
+        // given a clustered outgoing chain and a scattered incoming chain of the same type
+        int recordsPerPage = neoStores.getRelationshipStore().getRecordsPerPage();
+        int chainLength = recordsPerPage * 2;
+        long[] clustered = new long[chainLength];
+        long[] scattered = new long[chainLength];
+        for (int i = 0; i < chainLength; i++) {
+            clustered[i] = i;
+            scattered[i] = (long) (i + 2) * recordsPerPage;
+        }
+        createChain(clustered, RelationshipDirection.OUTGOING);
+        createChain(scattered, RelationshipDirection.INCOMING);
+        long groupId = neoStores.getRelationshipGroupStore().getNumberOfReservedLowIds();
+        update(
+                neoStores.getRelationshipGroupStore(),
+                new RelationshipGroupRecord(groupId)
+                        .initialize(
+                                true,
+                                0,
+                                clustered[0],
+                                scattered[0],
+                                NULL_REFERENCE.longValue(),
+                                DENSE_NODE,
+                                NULL_REFERENCE.longValue()),
+                GROUP_CURSOR);
+        update(
+                neoStores.getNodeStore(),
+                new NodeRecord(DENSE_NODE).initialize(true, NULL_REFERENCE.longValue(), true, groupId, 0),
+                NODE_CURSOR);
+        neoStores.getRelationshipStore().setHighId(scattered[chainLength - 1] + 1);
+
+        // when
+        List<RelationshipChainLocality.ChainLocality> chains =
+                new RelationshipChainLocality(neoStores).measure(DENSE_NODE, storeCursors);
+
+        // then
+        assertThat(chains).hasSize(2);
+        RelationshipChainLocality.ChainLocality out = chains.get(0);
+        assertThat(out.direction()).isEqualTo(RelationshipDirection.OUTGOING);
+        assertThat(out.relationships()).isEqualTo(chainLength);
+        assertThat(out.pages()).isEqualTo(2);
+        assertThat(out.minimumPages()).isEqualTo(2);
+        assertThat(out.pageSwitches()).isEqualTo(1);
+        assertThat(out.locality()).isEqualTo(1.0);
+
+        RelationshipChainLocality.ChainLocality in = chains.get(1);
+        assertThat(in.direction()).isEqualTo(RelationshipDirection.INCOMING);
+        assertThat(in.relationships()).isEqualTo(chainLength);
+        assertThat(in.pages()).isEqualTo(chainLength);
+        assertThat(in.minimumPages()).isEqualTo(2);
+        assertThat(in.pageSwitches()).isEqualTo(chainLength - 1);
+        assertThat(in.locality()).isEqualTo(2.0 / chainLength);
+    }
+
+    @Test
+    void shouldNotMeasureSparseNodes() {
+        // given
+        long relationshipId = 0;
+        createChain(new long[] {relationshipId}, RelationshipDirection.OUTGOING);
+        update(
+                neoStores.getNodeStore(),
+                new NodeRecord(SPARSE_NODE).initialize(true, NULL_REFERENCE.longValue(), false, relationshipId, 0),
+                NODE_CURSOR);
+
+        // when
+        List<RelationshipChainLocality.ChainLocality> chains =
+                new RelationshipChainLocality(neoStores).measure(SPARSE_NODE, storeCursors);
+
+        // then
+        assertThat(chains).isEmpty();
+    }
+
+    private void createChain(long[] ids, RelationshipDirection direction) {
+        boolean outgoing = direction == RelationshipDirection.OUTGOING;
+        for (int i = 0; i < ids.length; i++) {
+            long otherNode = 100 + i;
+            long prev = i == 0 ? ids.length : ids[i - 1];
+            long next = i == ids.length - 1 ? NULL_REFERENCE.longValue() : ids[i + 1];
+            RelationshipRecord relationship = new RelationshipRecord(ids[i])
+                    .initialize(
+                            true,
+                            NULL_REFERENCE.longValue(),
+                            outgoing ? DENSE_NODE : otherNode,
+                            outgoing ? otherNode : DENSE_NODE,
+                            0,
+                            outgoing ? prev : 1,
+                            outgoing ? next : NULL_REFERENCE.longValue(),
+                            outgoing ? 1 : prev,
+                            outgoing ? NULL_REFERENCE.longValue() : next,
+                            !outgoing || i == 0,
+                            outgoing || i == 0);
+            update(neoStores.getRelationshipStore(), relationship, RELATIONSHIP_CURSOR);
+        }
+    }
+
+    private <R extends AbstractBaseRecord> void update(RecordStore<R> store, R record, RecordCursorTypes cursorType) {
+        try (PageCursor cursor = storeCursors.writeCursor(cursorType)) {
+            store.updateRecord(record, IdUpdateListener.IGNORE, cursor, NULL_CONTEXT, storeCursors);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.GROUP_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.kernel.impl.store.RelationshipGroupStoreDefragmenter.DEFRAGMENT_DIRECTORY;
+import static org.neo4j.kernel.impl.store.RelationshipGroupStoreDefragmenter.DEFRAGMENT_STATUS_FILE;
+import static org.neo4j.kernel.impl.store.record.Record.NULL_REFERENCE;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.NORMAL;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.internal.recordstorage.RecordCursorTypes;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.format.aligned.PageAligned;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.kernel.impl.transaction.log.LogTailLogVersionsMetadata;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.RelationshipGroupDefragmenter;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.storageengine.util.IdUpdateListener;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.EphemeralNeo4jLayoutExtension;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
+
+@EphemeralPageCacheExtension
+@EphemeralNeo4jLayoutExtension
+@ExtendWith(RandomExtension.class)
+class RelationshipGroupStoreDefragmenterTest {
+    private static final int NODE_COUNT = 100;
+    private static final int GROUP_STORE_PAGES = 20;
+
+    @Inject
+    private FileSystemAbstraction fs;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private RecordDatabaseLayout databaseLayout;
+
+    @Inject
+    private RandomSupport random;
+
+    private NeoStores neoStores;
+    private StoreCursors storeCursors;
+    private final List<List<RelationshipGroupRecord>> expectedChains = new ArrayList<>();
+    private final long[] expectedNextRels = new long[NODE_COUNT];
+    private int groupCount;
+
+    @BeforeEach
+    void openStores() {
+        var pageCacheTracer = PageCacheTracer.NULL;
+        neoStores = new StoreFactory(
+                        databaseLayout,
+                        Config.defaults(),
+                        new DefaultIdGeneratorFactory(
+                                fs, immediate(), pageCacheTracer, databaseLayout.getDatabaseName()),
+                        pageCache,
+                        pageCacheTracer,
+                        fs,
+                        PageAligned.LATEST_RECORD_FORMATS,
+                        NullLogProvider.getInstance(),
+                        CursorContextFactory.NULL_CONTEXT_FACTORY,
+                        false,
+                        LogTailLogVersionsMetadata.EMPTY_LOG_TAIL,
+                        Sets.immutable.empty())
+                .openAllNeoStores();
+        storeCursors = new CachedStoreCursors(neoStores, NULL_CONTEXT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        closeStores();
+    }
+
+    @Test
+    void shouldRelocateScatteredGroupsSequentiallyPerNodeAndTruncateStore() throws IOException {
+        // given dense nodes with their groups scattered over a sparse group store
+        createScatteredGroupChains();
+        closeStores();
+        fs.write(databaseLayout.relationshipGroupDegreesStore()).close();
+
+        // when
+        RelationshipGroupDefragmenter.Result result = defragmenter().defragment(true);
+
+        // then
+        assertThat(result.groups()).isEqualTo(groupCount);
+        assertThat(result.pagesBefore()).isEqualTo(GROUP_STORE_PAGES);
+        assertThat(result.pagesAfter()).isLessThan(result.pagesBefore());
+        assertThat(result.report().scanTimeBefore()).isPositive();
+        assertThat(result.report().scanTimeAfter()).isPositive();
+        assertThat(fs.fileExists(databaseLayout.relationshipGroupDegreesStore()))
+                .isFalse();
+        assertThat(fs.fileExists(databaseLayout.file(DEFRAGMENT_DIRECTORY))).isFalse();
+        openStores();
+        assertThat(neoStores.getRelationshipGroupStore().getLastPageId() + 1).isEqualTo(result.pagesAfter());
+        assertDefragmented();
+    }
+
+    @Test
+    void shouldCompleteDefragmentationInterruptedAfterGroupsWereCopied() throws IOException {
+        // given a defragmentation which crashed right after replacing the group store
+        createScatteredGroupChains();
+        closeStores();
+        defragmenter().copyGroups();
+        fs.renameFile(
+                databaseLayout
+                        .file(DEFRAGMENT_DIRECTORY)
+                        .resolve(databaseLayout.relationshipGroupStore().getFileName()),
+                databaseLayout.relationshipGroupStore(),
+                REPLACE_EXISTING);
+
+        // when
+        defragmenter().defragment(false);
+
+        // then
+        openStores();
+        assertDefragmented();
+    }
+
+    @Test
+    void shouldDiscardDefragmentationInterruptedBeforeGroupsWereCopied() throws IOException {
+        // given a defragmentation which crashed before the status file was written
+        createScatteredGroupChains();
+        closeStores();
+        defragmenter().copyGroups();
+        Path statusFile = databaseLayout.file(DEFRAGMENT_DIRECTORY).resolve(DEFRAGMENT_STATUS_FILE);
+        fs.deleteFile(statusFile);
+
+        // when
+        RelationshipGroupDefragmenter.Result result = defragmenter().defragment(false);
+
+        // then
+        assertThat(result.pagesBefore()).isEqualTo(GROUP_STORE_PAGES);
+        assertThat(result.report()).isNull();
+        openStores();
+        assertDefragmented();
+    }
+
+    @Test
+    void shouldFailOnGroupsSharedBetweenChains() {
+        // given
+        RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
+        NodeStore nodeStore = neoStores.getNodeStore();
+        long groupId = groupStore.getNumberOfReservedLowIds();
+        update(
+                groupStore,
+                new RelationshipGroupRecord(groupId)
+                        .initialize(
+                                true,
+                                0,
+                                NULL_REFERENCE.longValue(),
+                                NULL_REFERENCE.longValue(),
+                                NULL_REFERENCE.longValue(),
+                                0,
+                                NULL_REFERENCE.longValue()),
+                GROUP_CURSOR);
+        for (long nodeId = 0; nodeId < 2; nodeId++) {
+            update(
+                    nodeStore,
+                    new NodeRecord(nodeId).initialize(true, NULL_REFERENCE.longValue(), true, groupId, 0),
+                    NODE_CURSOR);
+        }
+        nodeStore.setHighId(2);
+        groupStore.setHighId(groupId + 1);
+        closeStores();
+
+        // when/then
+        RelationshipGroupStoreDefragmenter defragmenter = defragmenter();
+        assertThatThrownBy(() -> defragmenter.defragment(false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("owned by another node");
+    }
+
+    private RelationshipGroupStoreDefragmenter defragmenter() {
+        return new RelationshipGroupStoreDefragmenter(
+                fs,
+                pageCache,
+                databaseLayout,
+                Config.defaults(),
+                PageCacheTracer.NULL,
+                CursorContextFactory.NULL_CONTEXT_FACTORY);
+    }
+
+    private void createScatteredGroupChains() {
+        RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
+        NodeStore nodeStore = neoStores.getNodeStore();
+        long highGroupId = (long) groupStore.getRecordsPerPage() * GROUP_STORE_PAGES;
+        List<Long> freeGroupIds = new ArrayList<>();
+        for (long id = groupStore.getNumberOfReservedLowIds(); id < highGroupId; id++) {
+            freeGroupIds.add(id);
+        }
+        Collections.shuffle(freeGroupIds, random.random());
+
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            boolean dense = nodeId % 10 != 0;
+            List<RelationshipGroupRecord> chain = new ArrayList<>();
+            if (dense) {
+                int numberOfGroups = random.nextInt(1, 6);
+                for (int type = 0; type < numberOfGroups; type++) {
+                    RelationshipGroupRecord group = new RelationshipGroupRecord(freeGroupIds.remove(0))
+                            .initialize(
+                                    true,
+                                    type,
+                                    random.nextLong(1_000_000),
+                                    NULL_REFERENCE.longValue(),
+                                    random.nextLong(1_000_000),
+                                    nodeId,
+                                    NULL_REFERENCE.longValue());
+                    if (!chain.isEmpty()) {
+                        chain.get(chain.size() - 1).setNext(group.getId());
+                    }
+                    chain.add(group);
+                }
+                groupCount += numberOfGroups;
+            }
+            expectedNextRels[nodeId] = dense ? NULL_REFERENCE.longValue() : random.nextLong(1_000_000);
+            NodeRecord node = new NodeRecord(nodeId)
+                    .initialize(
+                            true,
+                            NULL_REFERENCE.longValue(),
+                            dense,
+                            dense ? chain.get(0).getId() : expectedNextRels[nodeId],
+                            0);
+            update(nodeStore, node, NODE_CURSOR);
+            chain.forEach(group -> update(groupStore, group, GROUP_CURSOR));
+            expectedChains.add(chain);
+        }
+        nodeStore.setHighId(NODE_COUNT);
+        groupStore.setHighId(highGroupId);
+    }
+
+    private void assertDefragmented() throws IOException {
+        RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
+        NodeStore nodeStore = neoStores.getNodeStore();
+        long expectedGroupId = groupStore.getNumberOfReservedLowIds();
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            NodeRecord node = nodeStore.getRecordByCursor(
+                    nodeId, nodeStore.newRecord(), NORMAL, storeCursors.readCursor(NODE_CURSOR));
+            if (!node.isDense()) {
+                assertThat(node.getNextRel()).isEqualTo(expectedNextRels[nodeId]);
+                continue;
+            }
+            long groupId = node.getNextRel();
+            for (RelationshipGroupRecord expected : expectedChains.get(nodeId)) {
+                assertThat(groupId).isEqualTo(expectedGroupId++);
+                RelationshipGroupRecord group = groupStore.getRecordByCursor(
+                        groupId, groupStore.newRecord(), NORMAL, storeCursors.readCursor(GROUP_CURSOR));
+                assertThat(group.getType()).isEqualTo(expected.getType());
+                assertThat(group.getFirstOut()).isEqualTo(expected.getFirstOut());
+                assertThat(group.getFirstIn()).isEqualTo(expected.getFirstIn());
+                assertThat(group.getFirstLoop()).isEqualTo(expected.getFirstLoop());
+                assertThat(group.getOwningNode()).isEqualTo(nodeId);
+                groupId = group.getNext();
+            }
+            assertThat(groupId).isEqualTo(NULL_REFERENCE.longValue());
+        }
+        long firstIdAfterLastPage = (groupStore.getLastPageId() + 1) * groupStore.getRecordsPerPage();
+        for (long id = expectedGroupId; id < firstIdAfterLastPage; id++) {
+            RelationshipGroupRecord group = groupStore.getRecordByCursor(
+                    id, groupStore.newRecord(), CHECK, storeCursors.readCursor(GROUP_CURSOR));
+            assertThat(group.inUse()).isFalse();
+        }
+        assertThat(groupStore.getIdGenerator().getHighId())
+                .isEqualTo(groupStore.getNumberOfReservedLowIds() + groupCount);
+    }
+
+    private void closeStores() {
+        if (neoStores != null) {
+            storeCursors.close();
+            neoStores.close();
+            neoStores = null;
+        }
+    }
+
+    private <R extends AbstractBaseRecord> void update(RecordStore<R> store, R record, RecordCursorTypes cursorType) {
+        try (PageCursor cursor = storeCursors.writeCursor(cursorType)) {
+            store.updateRecord(record, IdUpdateListener.IGNORE, cursor, NULL_CONTEXT, storeCursors);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import static org.neo4j.internal.schema.PropertySchemaType.PARTIAL_ANY_TOKEN;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
@@ -177,6 +178,27 @@ public class SchemaDescriptorLookupSet<T extends SchemaDescriptorSupplier> {
         }
     }
 
+    /**
+     * Looks up descriptors matching the given entity token and property key, for when the property list is only partly known.
+     * This is the same as {@link #matchingDescriptorsForPartialListOfProperties(Collection, long[], int[])} for a single entity token
+     * and a single property key, but hands out the set that this lookup set already keeps, instead of collecting into a new one.
+     * The returned set must not be modified.
+     *
+     * @param entityTokenId entity token id for the entity.
+     * @param propertyKey property key token id to look up.
+     * @return the descriptors that have the entity token and the property key, or an empty set if there are none.
+     */
+    public Set<T> matchingDescriptorsForProperty(int entityTokenId, int propertyKey) {
+        PropertyMultiSet set = byEntityToken.get(entityTokenId);
+        if (set != null) {
+            Set<T> descriptors = set.byAnyProperty.get(propertyKey);
+            if (descriptors != null) {
+                return descriptors;
+            }
+        }
+        return Collections.emptySet();
+    }
+
     /**
      * Collects descriptors matching the given complete list of entity tokens.
      *
@@ -19,6 +19,7 @@
  */
 package org.neo4j.internal.schema;
 
+import static java.lang.Math.toIntExact;
 import static java.util.Collections.emptySet;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_INT_ARRAY;
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
@@ -197,6 +198,24 @@ public class SchemaCache {
                 entityType, changedLabels, unchangedLabels, properties, propertyListIsComplete);
     }
 
+    /**
+     * Same as {@link #getValueIndexesRelatedTo(long[], long[], int[], boolean, EntityType)} for a single changed property
+     * on an entity with unchanged tokens. Doesn't allocate when the related indexes all come from one of the tokens, which is
+     * the common case on the write path.
+     */
+    public Set<IndexDescriptor> getValueIndexesRelatedTo(long[] entityTokens, int propertyKey, EntityType entityType) {
+        return schemaCacheState.getIndexesRelatedTo(entityType, entityTokens, propertyKey);
+    }
+
+    /**
+     * Same as {@link #getUniquenessConstraintsRelatedTo(long[], long[], int[], boolean, EntityType)} for a single changed property
+     * on an entity with unchanged tokens. Doesn't allocate when the related constraints all come from one of the tokens.
+     */
+    public Collection<IndexBackedConstraintDescriptor> getUniquenessConstraintsRelatedTo(
+            long[] entityTokens, int propertyKey, EntityType entityType) {
+        return schemaCacheState.getUniquenessConstraintsRelatedTo(entityType, entityTokens, propertyKey);
+    }
+
     public boolean hasRelatedSchema(long[] tokens, int propertyKey, EntityType entityType) {
         return schemaCacheState.hasRelatedSchema(tokens, propertyKey, entityType);
     }
@@ -444,6 +463,56 @@ public class SchemaCache {
                             set, changedEntityTokens, unchangedEntityTokens, properties, propertyListIsComplete));
         }
 
+        Set<IndexDescriptor> getIndexesRelatedTo(EntityType entityType, long[] entityTokens, int propertyKey) {
+            SchemaDescriptorLookupSet<IndexDescriptor> set = selectIndexSetByEntityType(entityType);
+            if (set.isEmpty()) {
+                return emptySet();
+            }
+            Set<IndexDescriptor> result = getSchemaRelatedToSingleToken(set, entityTokens, propertyKey);
+            if (result != null) {
+                return result;
+            }
+            return getIndexesRelatedTo(entityType, EMPTY_LONG_ARRAY, entityTokens, new int[] {propertyKey}, false);
+        }
+
+        Set<IndexBackedConstraintDescriptor> getUniquenessConstraintsRelatedTo(
+                EntityType entityType, long[] entityTokens, int propertyKey) {
+            SchemaDescriptorLookupSet<IndexBackedConstraintDescriptor> set =
+                    selectUniquenessConstraintSetByEntityType(entityType);
+            if (set.isEmpty()) {
+                return emptySet();
+            }
+            Set<IndexBackedConstraintDescriptor> result = getSchemaRelatedToSingleToken(set, entityTokens, propertyKey);
+            if (result != null) {
+                return result;
+            }
+            return getUniquenessConstraintsRelatedTo(
+                    entityType, EMPTY_LONG_ARRAY, entityTokens, new int[] {propertyKey}, false);
+        }
+
+        /**
+         * Finds the descriptors related to the property on any of the given tokens, as long as they are all found on one token.
+         * That set is kept by the lookup set itself, and since this state is never modified after it has been published it can be
+         * handed out as is.
+         *
+         * @return the related descriptors, or {@code null} if more than one token has related descriptors and the results would
+         * have to be merged.
+         */
+        private static <T extends SchemaDescriptorSupplier> Set<T> getSchemaRelatedToSingleToken(
+                SchemaDescriptorLookupSet<T> set, long[] entityTokens, int propertyKey) {
+            Set<T> result = emptySet();
+            for (long entityToken : entityTokens) {
+                Set<T> descriptors = set.matchingDescriptorsForProperty(toIntExact(entityToken), propertyKey);
+                if (!descriptors.isEmpty()) {
+                    if (!result.isEmpty()) {
+                        return null;
+                    }
+                    result = descriptors;
+                }
+            }
+            return result;
+        }
+
         private static <T extends SchemaDescriptorSupplier> Set<T> getSchemaRelatedTo(
                 SchemaDescriptorLookupSet<T> set,
                 long[] changedEntityTokens,
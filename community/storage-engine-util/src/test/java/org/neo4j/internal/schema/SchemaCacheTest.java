@@ -40,6 +40,7 @@ import static org.neo4j.internal.schema.constraints.ConstraintDescriptorFactory.
 import static org.neo4j.internal.schema.constraints.ConstraintDescriptorFactory.uniqueForSchema;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -52,6 +53,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.common.EntityType;
 import org.neo4j.internal.helpers.collection.Iterables;
 import org.neo4j.internal.helpers.collection.Iterators;
 import org.neo4j.internal.schema.IndexQuery.IndexQueryType;
@@ -531,6 +533,32 @@ class SchemaCacheTest {
                 .contains(schema5_6_7);
     }
 
+    @Test
+    void shouldGetSameRelatedIndexesForSinglePropertyAsForGeneralLookup() {
+        SchemaCache cache = newSchemaCacheWithRulesForRelatedToCalls();
+        long[][] tokenCombinations = {
+            noEntityToken, entityTokens(2), entityTokens(3), entityTokens(5), entityTokens(3, 4), entityTokens(3, 5)
+        };
+        for (EntityType entityType : EntityType.values()) {
+            for (long[] tokens : tokenCombinations) {
+                for (int propertyKey = 0; propertyKey < 10; propertyKey++) {
+                    assertThat(cache.getValueIndexesRelatedTo(tokens, propertyKey, entityType))
+                            .as("tokens %s property %d", Arrays.toString(tokens), propertyKey)
+                            .containsExactlyInAnyOrderElementsOf(cache.getValueIndexesRelatedTo(
+                                    noEntityToken, tokens, properties(propertyKey), false, entityType));
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldNotAllocateNewSetForSinglePropertyLookupOnSingleToken() {
+        SchemaCache cache = newSchemaCacheWithRulesForRelatedToCalls();
+        Set<IndexDescriptor> first = cache.getValueIndexesRelatedTo(entityTokens(5), 7, NODE);
+        assertThat(first).containsExactly(schema5_6_7);
+        assertThat(cache.getValueIndexesRelatedTo(entityTokens(4, 5), 7, NODE)).isSameAs(first);
+    }
+
     @Test
     void shouldHandleUnrelated() {
         SchemaCache cache = newSchemaCacheWithRulesForRelatedToCalls();
@@ -118,6 +118,11 @@ public class DelegatingPagedFile implements PagedFile {
         return delegate.touch(pageId, count, cursorContext);
     }
 
+    @Override
+    public void prefetch(long pageId, int count, CursorContext cursorContext) {
+        delegate.prefetch(pageId, count, cursorContext);
+    }
+
     @Override
     public boolean preAllocateSupported() {
         return delegate.preAllocateSupported();
@@ -94,6 +94,14 @@ final class StringWrappingStringValue extends StringValue {
         return hashFunction.update(hash, codePointCount);
     }
 
+    @Override
+    public int compareTo(TextValue other) {
+        if (other instanceof UTF8StringValue utf8 && utf8.isAscii()) {
+            return -utf8.asciiCompareTo(value);
+        }
+        return super.compareTo(other);
+    }
+
     @Override
     public TextValue substring(int start, int length) {
         if (start < 0 || length < 0) {
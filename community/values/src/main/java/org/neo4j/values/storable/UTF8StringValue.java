@@ -24,6 +24,9 @@ import static org.neo4j.memory.HeapEstimator.sizeOf;
 import static org.neo4j.values.storable.Values.utf8Value;
 import static org.neo4j.values.utils.ValueMath.HASH_CONSTANT;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.regex.Matcher;
@@ -42,11 +45,22 @@ public final class UTF8StringValue extends StringValue {
     private static final int HIGH_BIT_MASK = 0b0111_1111;
     /** Used for detecting non-continuation bytes. For example {@code 0b10xx_xxxx}. */
     private static final int NON_CONTINUATION_BIT_MASK = 0b0100_0000;
+    /** Used for detecting non-ascii bytes in a word of eight bytes. */
+    private static final long NON_ASCII_WORD_MASK = 0x8080_8080_8080_8080L;
+
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final byte ASCII_UNKNOWN = 0;
+    private static final byte ASCII = 1;
+    private static final byte NOT_ASCII = 2;
 
     private volatile String value;
     private final byte[] bytes;
     private final int offset;
     private final int byteLength;
+    // Not volatile, racing threads all compute the same state
+    private byte asciiState = ASCII_UNKNOWN;
 
     UTF8StringValue(byte[] bytes, int offset, int length) {
         assert bytes != null;
@@ -65,11 +79,86 @@ public final class UTF8StringValue extends StringValue {
         if (value instanceof UTF8StringValue other) {
             return Arrays.equals(
                     bytes, offset, offset + byteLength, other.bytes, other.offset, other.offset + other.byteLength);
+        } else if (value instanceof StringWrappingStringValue other && isAscii()) {
+            return asciiEquals(other.value());
         } else {
             return super.equals(value);
         }
     }
 
+    @Override
+    public boolean equals(char x) {
+        if (isAscii()) {
+            return byteLength == 1 && bytes[offset] == x;
+        }
+        return super.equals(x);
+    }
+
+    @Override
+    public boolean equals(String x) {
+        if (isAscii()) {
+            return asciiEquals(x);
+        }
+        return super.equals(x);
+    }
+
+    /**
+     * Whether all bytes of this value are ascii, in which case every byte is a code point as well as a UTF-16 char
+     * and comparing, hashing and counting can be done without decoding. Computed on first use.
+     */
+    boolean isAscii() {
+        byte state = asciiState;
+        if (state == ASCII_UNKNOWN) {
+            state = isAscii(bytes, offset, byteLength) ? ASCII : NOT_ASCII;
+            asciiState = state;
+        }
+        return state == ASCII;
+    }
+
+    private static boolean isAscii(byte[] bytes, int offset, int byteLength) {
+        int i = offset, len = offset + byteLength;
+        // Look at eight bytes at a time, any of them having the high bit set is a multi-byte code point
+        for (; i + Long.BYTES <= len; i += Long.BYTES) {
+            if (((long) LONG_VIEW.get(bytes, i) & NON_ASCII_WORD_MASK) != 0) {
+                return false;
+            }
+        }
+        for (; i < len; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean asciiEquals(String other) {
+        if (other.length() != byteLength) {
+            return false;
+        }
+        for (int i = 0; i < byteLength; i++) {
+            if (bytes[offset + i] != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares this ascii value with a string the same way as {@link String#compareTo(String)} would, without
+     * decoding this value into a string.
+     */
+    int asciiCompareTo(String other) {
+        int otherLength = other.length();
+        int lim = Math.min(byteLength, otherLength);
+        for (int i = 0; i < lim; i++) {
+            int diff = bytes[offset + i] - other.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return byteLength - otherLength;
+    }
+
     @Override
     String value() {
         String s = value;
@@ -86,7 +175,7 @@ public final class UTF8StringValue extends StringValue {
 
     @Override
     public int length() {
-        return numberOfCodePoints(bytes, offset, byteLength);
+        return isAscii() ? byteLength : numberOfCodePoints(bytes, offset, byteLength);
     }
 
     @Override
@@ -129,6 +218,14 @@ public final class UTF8StringValue extends StringValue {
             return 0;
         }
 
+        if (isAscii()) {
+            int hash = 1;
+            for (int i = offset, len = offset + byteLength; i < len; i++) {
+                hash = HASH_CONSTANT * hash + bytes[i];
+            }
+            return hash;
+        }
+
         CodePointCursor cpc = new CodePointCursor(bytes, offset);
         int hash = 1;
         int len = offset + byteLength;
@@ -141,6 +238,18 @@ public final class UTF8StringValue extends StringValue {
 
     @Override
     public long updateHash(HashFunction hashFunction, long hash) {
+        if (isAscii()) {
+            // Same as below, two code points per update, but without decoding
+            int i = offset, len = offset + byteLength;
+            for (; i + 1 < len; i += 2) {
+                hash = hashFunction.update(hash, ((long) bytes[i] << 32) + bytes[i + 1]);
+            }
+            if (i < len) {
+                hash = hashFunction.update(hash, (long) bytes[i] << 32);
+            }
+            return hashFunction.update(hash, byteLength);
+        }
+
         CodePointCursor cpc = new CodePointCursor(bytes, offset);
         int len = offset + byteLength;
 
@@ -419,23 +528,20 @@ public final class UTF8StringValue extends StringValue {
 
     @Override
     public int compareTo(TextValue other) {
-        if (!(other instanceof UTF8StringValue otherUTF8)) {
-            return super.compareTo(other);
+        if (other instanceof UTF8StringValue otherUTF8) {
+            // Unsigned byte order of UTF-8 is code point order. Arrays.compareUnsigned compares a word at a time.
+            return Arrays.compareUnsigned(
+                    bytes,
+                    offset,
+                    offset + byteLength,
+                    otherUTF8.bytes,
+                    otherUTF8.offset,
+                    otherUTF8.offset + otherUTF8.byteLength);
         }
-        return byteArrayCompare(bytes, offset, byteLength, otherUTF8.bytes, otherUTF8.offset, otherUTF8.byteLength);
-    }
-
-    private static int byteArrayCompare(
-            byte[] value1, int value1Offset, int value1Length, byte[] value2, int value2Offset, int value2Length) {
-        int lim = Math.min(value1Length, value2Length);
-        for (int i = 0; i < lim; i++) {
-            byte b1 = value1[i + value1Offset];
-            byte b2 = value2[i + value2Offset];
-            if (b1 != b2) {
-                return (((int) b1) & 0xFF) - (((int) b2) & 0xFF);
-            }
+        if (other instanceof StringWrappingStringValue otherString && isAscii()) {
+            return asciiCompareTo(otherString.value());
         }
-        return value1Length - value2Length;
+        return super.compareTo(other);
     }
 
     @Override
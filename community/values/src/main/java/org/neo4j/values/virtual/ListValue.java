@@ -21,6 +21,7 @@ package org.neo4j.values.virtual;
 
 import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
 import static org.neo4j.memory.HeapEstimator.shallowSizeOfObjectArray;
+import static org.neo4j.memory.HeapEstimator.sizeOf;
 import static org.neo4j.values.SequenceValue.IterationPreference.RANDOM_ACCESS;
 import static org.neo4j.values.utils.ValueMath.HASH_CONSTANT;
 import static org.neo4j.values.virtual.ArrayHelpers.assertValueRepresentation;
@@ -47,6 +48,7 @@ import org.neo4j.values.TernaryComparator;
 import org.neo4j.values.ValueMapper;
 import org.neo4j.values.VirtualValue;
 import org.neo4j.values.storable.ArrayValue;
+import org.neo4j.values.storable.NumberValues;
 import org.neo4j.values.storable.ValueRepresentation;
 import org.neo4j.values.storable.Values;
 
@@ -431,6 +433,238 @@ public abstract class ListValue extends VirtualValue implements SequenceValue, I
         }
     }
 
+    private static final long LONG_LIST_VALUE_SHALLOW_SIZE = shallowSizeOfInstance(LongListValue.class);
+
+    /**
+     * List of integers kept in a {@code long[]}, elements are only boxed when accessed one by one.
+     * Slices share the array of the list they were taken from.
+     */
+    public static final class LongListValue extends ListValue {
+        private final long[] values;
+        private final int from;
+        private final int to;
+
+        LongListValue(long[] values, int from, int to) {
+            assert values != null;
+            assert 0 <= from && from <= to && to <= values.length;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public IterationPreference iterationPreference() {
+            return RANDOM_ACCESS;
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return from == to;
+        }
+
+        @Override
+        public AnyValue value(int offset) {
+            if (offset < 0 || offset >= size()) {
+                throw new IndexOutOfBoundsException(offset + " is outside range " + size());
+            }
+            return Values.longValue(values[from + offset]);
+        }
+
+        public long longValue(int offset) {
+            if (offset < 0 || offset >= size()) {
+                throw new IndexOutOfBoundsException(offset + " is outside range " + size());
+            }
+            return values[from + offset];
+        }
+
+        @Override
+        protected int computeHashToMemoize() {
+            int hashCode = 1;
+            for (int i = from; i < to; i++) {
+                hashCode = HASH_CONSTANT * hashCode + NumberValues.hash(values[i]);
+            }
+            return hashCode;
+        }
+
+        @Override
+        public <E extends Exception> void writeTo(AnyValueWriter<E> writer) throws E {
+            writer.beginList(size());
+            for (int i = from; i < to; i++) {
+                writer.writeInteger(values[i]);
+            }
+            writer.endList();
+        }
+
+        @Override
+        public ListValue slice(int from, int to) {
+            int f = Math.max(from, 0);
+            int t = Math.min(to, size());
+            if (f > t) {
+                return EMPTY_LIST;
+            }
+            return new LongListValue(values, this.from + f, this.from + t);
+        }
+
+        @Override
+        public ListValue drop(int n) {
+            return slice(n, size());
+        }
+
+        @Override
+        public ListValue take(int n) {
+            return slice(0, n);
+        }
+
+        @Override
+        public ListValue reverse() {
+            int size = size();
+            long[] reversed = new long[size];
+            for (int i = 0; i < size; i++) {
+                reversed[i] = values[to - 1 - i];
+            }
+            return new LongListValue(reversed, 0, size);
+        }
+
+        @Override
+        public ArrayValue toStorableArray() {
+            if (isEmpty()) {
+                return super.toStorableArray();
+            }
+            return Values.longArray(from == 0 && to == values.length ? values : Arrays.copyOfRange(values, from, to));
+        }
+
+        @Override
+        public long estimatedHeapUsage() {
+            return LONG_LIST_VALUE_SHALLOW_SIZE + sizeOf(values);
+        }
+
+        @Override
+        public ValueRepresentation itemValueRepresentation() {
+            return isEmpty() ? ValueRepresentation.ANYTHING : ValueRepresentation.INT64;
+        }
+    }
+
+    private static final long DOUBLE_LIST_VALUE_SHALLOW_SIZE = shallowSizeOfInstance(DoubleListValue.class);
+
+    /**
+     * List of floats kept in a {@code double[]}, elements are only boxed when accessed one by one.
+     * Slices share the array of the list they were taken from.
+     */
+    public static final class DoubleListValue extends ListValue {
+        private final double[] values;
+        private final int from;
+        private final int to;
+
+        DoubleListValue(double[] values, int from, int to) {
+            assert values != null;
+            assert 0 <= from && from <= to && to <= values.length;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public IterationPreference iterationPreference() {
+            return RANDOM_ACCESS;
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return from == to;
+        }
+
+        @Override
+        public AnyValue value(int offset) {
+            if (offset < 0 || offset >= size()) {
+                throw new IndexOutOfBoundsException(offset + " is outside range " + size());
+            }
+            return Values.doubleValue(values[from + offset]);
+        }
+
+        public double doubleValue(int offset) {
+            if (offset < 0 || offset >= size()) {
+                throw new IndexOutOfBoundsException(offset + " is outside range " + size());
+            }
+            return values[from + offset];
+        }
+
+        @Override
+        protected int computeHashToMemoize() {
+            int hashCode = 1;
+            for (int i = from; i < to; i++) {
+                hashCode = HASH_CONSTANT * hashCode + NumberValues.hash(values[i]);
+            }
+            return hashCode;
+        }
+
+        @Override
+        public <E extends Exception> void writeTo(AnyValueWriter<E> writer) throws E {
+            writer.beginList(size());
+            for (int i = from; i < to; i++) {
+                writer.writeFloatingPoint(values[i]);
+            }
+            writer.endList();
+        }
+
+        @Override
+        public ListValue slice(int from, int to) {
+            int f = Math.max(from, 0);
+            int t = Math.min(to, size());
+            if (f > t) {
+                return EMPTY_LIST;
+            }
+            return new DoubleListValue(values, this.from + f, this.from + t);
+        }
+
+        @Override
+        public ListValue drop(int n) {
+            return slice(n, size());
+        }
+
+        @Override
+        public ListValue take(int n) {
+            return slice(0, n);
+        }
+
+        @Override
+        public ListValue reverse() {
+            int size = size();
+            double[] reversed = new double[size];
+            for (int i = 0; i < size; i++) {
+                reversed[i] = values[to - 1 - i];
+            }
+            return new DoubleListValue(reversed, 0, size);
+        }
+
+        @Override
+        public ArrayValue toStorableArray() {
+            if (isEmpty()) {
+                return super.toStorableArray();
+            }
+            return Values.doubleArray(from == 0 && to == values.length ? values : Arrays.copyOfRange(values, from, to));
+        }
+
+        @Override
+        public long estimatedHeapUsage() {
+            return DOUBLE_LIST_VALUE_SHALLOW_SIZE + sizeOf(values);
+        }
+
+        @Override
+        public ValueRepresentation itemValueRepresentation() {
+            return isEmpty() ? ValueRepresentation.ANYTHING : ValueRepresentation.FLOAT64;
+        }
+    }
+
     private static final long CONCAT_LIST_SHALLOW_SIZE = shallowSizeOfInstance(ConcatList.class);
 
     static final class ConcatList extends ListValue {
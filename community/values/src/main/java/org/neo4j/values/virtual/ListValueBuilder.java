@@ -22,6 +22,7 @@ package org.neo4j.values.virtual;
 import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -31,7 +32,10 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.DoubleValue;
+import org.neo4j.values.storable.LongValue;
 import org.neo4j.values.storable.ValueRepresentation;
+import org.neo4j.values.storable.Values;
 
 public abstract class ListValueBuilder {
     /**
@@ -75,30 +79,82 @@ public abstract class ListValueBuilder {
 
     protected abstract void internalAdd(AnyValue value);
 
+    /**
+     * Lists consisting only of integers or only of floats are packed into primitive arrays, see
+     * {@link ListValue.LongListValue} and {@link ListValue.DoubleListValue}. The builder falls back to
+     * boxed storage as soon as a value of any other type is added.
+     */
     private static class FixedSizeListValueBuilder extends ListValueBuilder {
-        private final AnyValue[] values;
+        private final int size;
+        private AnyValue[] values;
+        private long[] longs;
+        private double[] doubles;
         private int index;
 
         private FixedSizeListValueBuilder(int size) {
             super();
-            this.values = new AnyValue[size];
+            this.size = size;
         }
 
         @Override
         public ListValue build() {
+            if (values == null && index == size) {
+                if (longs != null) {
+                    return new ListValue.LongListValue(longs, 0, size);
+                }
+                if (doubles != null) {
+                    return new ListValue.DoubleListValue(doubles, 0, size);
+                }
+            }
+            if (values == null) {
+                box();
+            }
             return new ListValue.ArrayListValue(values, estimatedHeapSize, valueRepresentation);
         }
 
         @Override
         public void internalAdd(AnyValue value) {
+            if (values == null) {
+                if (doubles == null && value instanceof LongValue longValue) {
+                    if (longs == null) {
+                        longs = new long[size];
+                    }
+                    longs[index++] = longValue.value();
+                    return;
+                }
+                if (longs == null && value instanceof DoubleValue doubleValue) {
+                    if (doubles == null) {
+                        doubles = new double[size];
+                    }
+                    doubles[index++] = doubleValue.value();
+                    return;
+                }
+                box();
+            }
             values[index++] = value;
         }
+
+        private void box() {
+            values = new AnyValue[size];
+            for (int i = 0; i < index; i++) {
+                values[i] = longs != null ? Values.longValue(longs[i]) : Values.doubleValue(doubles[i]);
+            }
+            longs = null;
+            doubles = null;
+        }
     }
 
     private static final long ARRAY_LIST_SHALLOW_SIZE = shallowSizeOfInstance(ArrayList.class);
+    private static final int INITIAL_PRIMITIVE_CAPACITY = 8;
 
+    /**
+     * Packs integers and floats into primitive arrays in the same way as {@link FixedSizeListValueBuilder}.
+     */
     private static class UnknownSizeListValueBuilder extends ListValueBuilder {
-        private final List<AnyValue> values = new ArrayList<>();
+        private List<AnyValue> values;
+        private long[] longs;
+        private double[] doubles;
+        private int size;
 
         UnknownSizeListValueBuilder() {
             super();
@@ -106,19 +162,84 @@ public abstract class ListValueBuilder {
         }
 
         public UnknownSizeListValueBuilder combine(UnknownSizeListValueBuilder rhs) {
-            values.addAll(rhs.values);
+            if (rhs.size > 0) {
+                if (values == null && rhs.values == null && (size == 0 || samePrimitiveType(rhs))) {
+                    if (rhs.longs != null) {
+                        longs = longs == null ? new long[rhs.size] : Arrays.copyOf(longs, size + rhs.size);
+                        System.arraycopy(rhs.longs, 0, longs, size, rhs.size);
+                    } else {
+                        doubles = doubles == null ? new double[rhs.size] : Arrays.copyOf(doubles, size + rhs.size);
+                        System.arraycopy(rhs.doubles, 0, doubles, size, rhs.size);
+                    }
+                    size += rhs.size;
+                } else {
+                    if (values == null) {
+                        box();
+                    }
+                    if (rhs.values == null) {
+                        rhs.box();
+                    }
+                    values.addAll(rhs.values);
+                    size = values.size();
+                }
+            }
             estimatedHeapSize += rhs.estimatedHeapSize;
+            valueRepresentation = valueRepresentation.coerce(rhs.valueRepresentation);
             return this;
         }
 
         @Override
         public ListValue build() {
+            if (values == null) {
+                if (longs != null) {
+                    return new ListValue.LongListValue(longs, 0, size);
+                }
+                if (doubles != null) {
+                    return new ListValue.DoubleListValue(doubles, 0, size);
+                }
+                box();
+            }
             return new ListValue.JavaListListValue(values, estimatedHeapSize, valueRepresentation);
         }
 
         @Override
         public void internalAdd(AnyValue value) {
+            if (values == null) {
+                if (doubles == null && value instanceof LongValue longValue) {
+                    if (longs == null) {
+                        longs = new long[INITIAL_PRIMITIVE_CAPACITY];
+                    } else if (size == longs.length) {
+                        longs = Arrays.copyOf(longs, size * 2);
+                    }
+                    longs[size++] = longValue.value();
+                    return;
+                }
+                if (longs == null && value instanceof DoubleValue doubleValue) {
+                    if (doubles == null) {
+                        doubles = new double[INITIAL_PRIMITIVE_CAPACITY];
+                    } else if (size == doubles.length) {
+                        doubles = Arrays.copyOf(doubles, size * 2);
+                    }
+                    doubles[size++] = doubleValue.value();
+                    return;
+                }
+                box();
+            }
             values.add(value);
+            size++;
+        }
+
+        private boolean samePrimitiveType(UnknownSizeListValueBuilder rhs) {
+            return (longs != null && rhs.longs != null) || (doubles != null && rhs.doubles != null);
+        }
+
+        private void box() {
+            values = new ArrayList<>(Math.max(size, 10));
+            for (int i = 0; i < size; i++) {
+                values.add(longs != null ? Values.longValue(longs[i]) : Values.doubleValue(doubles[i]));
+            }
+            longs = null;
+            doubles = null;
         }
     }
 
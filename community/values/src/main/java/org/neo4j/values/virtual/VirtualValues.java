@@ -75,6 +75,20 @@ public final class VirtualValues {
         return new ListValue.ArrayValueListValue(arrayValue);
     }
 
+    /**
+     * Note that the array is not copied and must not be modified after calling this method.
+     */
+    public static ListValue.LongListValue fromLongs(long[] values) {
+        return new ListValue.LongListValue(values, 0, values.length);
+    }
+
+    /**
+     * Note that the array is not copied and must not be modified after calling this method.
+     */
+    public static ListValue.DoubleListValue fromDoubles(double[] values) {
+        return new ListValue.DoubleListValue(values, 0, values.length);
+    }
+
     /*
     TOMBSTONE: TransformedListValue & FilteredListValue
 
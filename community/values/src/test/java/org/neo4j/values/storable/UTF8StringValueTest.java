@@ -29,6 +29,7 @@ import static org.neo4j.values.storable.Values.utf8Value;
 import static org.neo4j.values.utils.AnyValueTestUtil.assertEqual;
 
 import org.junit.jupiter.api.Test;
+import org.neo4j.hashing.HashFunction;
 
 class UTF8StringValueTest {
     @Test
@@ -128,6 +129,54 @@ class UTF8StringValueTest {
         assertThat(Math.signum(a)).isEqualTo(Math.signum(z));
     }
 
+    @Test
+    void shouldCompareAsciiAndNonAsciiStrings() {
+        String[] strings = {"", "a", "ab", "abc", "abd", "abcdefghijk", "abcdefghijkl", "abé", "ab\uD83D\uDE21"};
+        for (String string1 : strings) {
+            for (String string2 : strings) {
+                assertCompareTo(string1, string2);
+            }
+        }
+    }
+
+    @Test
+    void shouldHashAndEqualAsciiWithOffsetLikeString() {
+        String string = "abcdefghijklmnopqrstuvwxyz0123456789";
+        byte[] bytes = string.getBytes(UTF_8);
+        HashFunction hashFunction = HashFunction.incrementalXXH64();
+        for (int start = 0; start < string.length(); start++) {
+            for (int length = 0; start + length <= string.length(); length++) {
+                TextValue stringValue = stringValue(string.substring(start, start + length));
+                TextValue utf8 = utf8Value(bytes, start, length);
+                assertEqual(stringValue, utf8);
+                assertThat(utf8.length()).isEqualTo(length);
+                assertThat(utf8.updateHash(hashFunction, hashFunction.initialise(0)))
+                        .isEqualTo(stringValue.updateHash(hashFunction, hashFunction.initialise(0)));
+            }
+        }
+    }
+
+    @Test
+    void shouldHashDifferentTypesOfStringsLikeString() {
+        HashFunction hashFunction = HashFunction.incrementalXXH64();
+        for (String string : STRINGS) {
+            TextValue stringValue = stringValue(string);
+            TextValue utf8 = utf8Value(string.getBytes(UTF_8));
+            assertThat(utf8.updateHash(hashFunction, hashFunction.initialise(0)))
+                    .isEqualTo(stringValue.updateHash(hashFunction, hashFunction.initialise(0)));
+        }
+    }
+
+    @Test
+    void shouldNotEqualStringOfSameLengthWithDifferentChars() {
+        TextValue utf8 = utf8Value("abc".getBytes(UTF_8));
+        assertThat(utf8.equals("abd")).isFalse();
+        assertThat(utf8.equals("ab")).isFalse();
+        assertThat(utf8.equals(stringValue("abd"))).isFalse();
+        assertThat(utf8Value("a".getBytes(UTF_8)).equals('a')).isTrue();
+        assertThat(utf8Value("é".getBytes(UTF_8)).equals('é')).isTrue();
+    }
+
     @Test
     void shouldReverse() {
         for (String string : STRINGS) {
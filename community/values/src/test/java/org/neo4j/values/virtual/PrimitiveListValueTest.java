@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.values.virtual;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.values.storable.Values.doubleValue;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.longValue;
+import static org.neo4j.values.storable.Values.stringValue;
+import static org.neo4j.values.virtual.VirtualValues.EMPTY_LIST;
+import static org.neo4j.values.virtual.VirtualValues.fromDoubles;
+import static org.neo4j.values.virtual.VirtualValues.fromLongs;
+import static org.neo4j.values.virtual.VirtualValues.list;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.neo4j.values.storable.ValueRepresentation;
+import org.neo4j.values.storable.Values;
+
+class PrimitiveListValueTest {
+    @Test
+    void shouldBeEqualToBoxedList() {
+        ListValue longs = fromLongs(new long[] {1L, 2L, 3L});
+        ListValue doubles = fromDoubles(new double[] {1.0, 2.5, 3.0});
+
+        ListValue expectedLongs = list(longValue(1L), longValue(2L), longValue(3L));
+        ListValue expectedDoubles = list(doubleValue(1.0), doubleValue(2.5), doubleValue(3.0));
+
+        assertEquals(expectedLongs, longs);
+        assertEquals(expectedLongs.hashCode(), longs.hashCode());
+        assertEquals(expectedDoubles, doubles);
+        assertEquals(expectedDoubles.hashCode(), doubles.hashCode());
+        assertEquals(longValue(2L), longs.value(1));
+        assertEquals(doubleValue(2.5), doubles.value(1));
+    }
+
+    @Test
+    void shouldSliceWithoutCopying() {
+        ListValue longs = fromLongs(new long[] {1L, 2L, 3L, 4L, 5L});
+
+        assertEquals(list(longValue(2L), longValue(3L)), longs.slice(1, 3));
+        assertEquals(list(longValue(4L), longValue(5L)), longs.drop(3));
+        assertEquals(list(longValue(1L), longValue(2L)), longs.take(2));
+        assertEquals(list(longValue(3L)), longs.drop(1).slice(1, 2));
+        assertEquals(EMPTY_LIST, longs.slice(4, 2));
+        assertEquals(
+                longs.slice(1, 3).hashCode(), list(longValue(2L), longValue(3L)).hashCode());
+        assertThat(longs.slice(1, 3)).isInstanceOf(ListValue.LongListValue.class);
+    }
+
+    @Test
+    void shouldReverse() {
+        ListValue doubles = fromDoubles(new double[] {1.0, 2.0, 3.0, 4.0});
+
+        assertEquals(
+                list(doubleValue(3.0), doubleValue(2.0)), doubles.slice(1, 3).reverse());
+        assertEquals(list(doubleValue(4.0), doubleValue(3.0), doubleValue(2.0), doubleValue(1.0)), doubles.reverse());
+    }
+
+    @Test
+    void shouldConvertToStorableArrays() {
+        ListValue longs = fromLongs(new long[] {1L, 2L, 3L});
+        ListValue doubles = fromDoubles(new double[] {1.0, 2.0, 3.0});
+
+        assertEquals(Values.longArray(new long[] {1L, 2L, 3L}), longs.toStorableArray());
+        assertEquals(Values.longArray(new long[] {2L, 3L}), longs.drop(1).toStorableArray());
+        assertEquals(Values.doubleArray(new double[] {1.0, 2.0, 3.0}), doubles.toStorableArray());
+        assertEquals(Values.doubleArray(new double[] {1.0}), doubles.take(1).toStorableArray());
+        assertEquals(ValueRepresentation.INT64, longs.itemValueRepresentation());
+        assertEquals(ValueRepresentation.FLOAT64, doubles.itemValueRepresentation());
+    }
+
+    @Test
+    void builderShouldPackPrimitiveValues() {
+        ListValueBuilder fixed = ListValueBuilder.newListBuilder(3);
+        fixed.add(longValue(1L));
+        fixed.add(longValue(2L));
+        fixed.add(longValue(3L));
+
+        ListValueBuilder unknown = ListValueBuilder.newListBuilder();
+        for (int i = 0; i < 100; i++) {
+            unknown.add(doubleValue(i));
+        }
+
+        assertThat(fixed.build()).isInstanceOf(ListValue.LongListValue.class);
+        assertEquals(list(longValue(1L), longValue(2L), longValue(3L)), fixed.build());
+        ListValue doubles = unknown.build();
+        assertThat(doubles).isInstanceOf(ListValue.DoubleListValue.class);
+        assertEquals(100, doubles.size());
+        assertEquals(doubleValue(99.0), doubles.value(99));
+    }
+
+    @Test
+    void builderShouldFallBackToBoxedValuesOnMixedTypes() {
+        ListValueBuilder fixed = ListValueBuilder.newListBuilder(3);
+        fixed.add(longValue(1L));
+        fixed.add(intValue(2));
+        fixed.add(doubleValue(3.0));
+
+        ListValueBuilder unknown = ListValueBuilder.newListBuilder();
+        unknown.add(doubleValue(1.0));
+        unknown.add(stringValue("two"));
+
+        assertEquals(list(longValue(1L), intValue(2), doubleValue(3.0)), fixed.build());
+        assertThat(fixed.build()).isNotInstanceOf(ListValue.LongListValue.class);
+        assertEquals(list(doubleValue(1.0), stringValue("two")), unknown.build());
+    }
+
+    @Test
+    void collectorShouldCombinePrimitiveAndBoxedParts() {
+        ListValue longs = Stream.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L)
+                .parallel()
+                .map(Values::longValue)
+                .collect(ListValueBuilder.collector());
+        ListValue mixed = Stream.of(longValue(1L), doubleValue(2.0), longValue(3L), stringValue("four"))
+                .parallel()
+                .collect(ListValueBuilder.collector());
+
+        assertEquals(fromLongs(new long[] {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L}), longs);
+        assertEquals(list(longValue(1L), doubleValue(2.0), longValue(3L), stringValue("four")), mixed);
+    }
+}